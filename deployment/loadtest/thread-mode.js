@@ -0,0 +1,71 @@
+// Compares platform-thread and virtual-thread request handling under the mobile read mix.
+//
+// Run the same script against each mode and compare the summaries:
+//
+//   VIRTUAL_THREADS_ENABLED=false ./mvnw spring-boot:run
+//   k6 run -e MODE=platform deployment/loadtest/thread-mode.js
+//
+//   VIRTUAL_THREADS_ENABLED=true ./mvnw spring-boot:run
+//   k6 run -e MODE=virtual deployment/loadtest/thread-mode.js
+//
+// Each run writes loadtest-<MODE>.json. Compare http_reqs (throughput) and the p(95)/p(99) of
+// http_req_duration (tail latency); checks show the error rate once the connection permits run out.
+// Optional: -e BASE_URL=http://host:8080 -e RATE=400 -e DURATION=2m -e PRODUCT_IDS=1,2,3
+//           -e TOKEN=<access token> for endpoints that need a signed-in user
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const MODE = __ENV.MODE || 'unknown';
+const PRODUCT_IDS = (__ENV.PRODUCT_IDS || '1,2,3,4,5,6,7,8,9,10').split(',');
+const HEADERS = __ENV.TOKEN ? { Authorization: `Bearer ${__ENV.TOKEN}` } : {};
+
+export const options = {
+  scenarios: {
+    mobile_reads: {
+      // Open model: arrivals keep coming when the server slows down, which is what exposes
+      // queueing in front of a fixed thread pool
+      executor: 'constant-arrival-rate',
+      rate: Number(__ENV.RATE || 300),
+      timeUnit: '1s',
+      duration: __ENV.DURATION || '2m',
+      preAllocatedVUs: 200,
+      maxVUs: 2000,
+    },
+  },
+  summaryTrendStats: ['avg', 'med', 'p(90)', 'p(95)', 'p(99)', 'max'],
+  tags: { mode: MODE },
+};
+
+// Weighted like app traffic: home and product detail dominate
+const REQUESTS = [
+  { weight: 40, path: () => '/api/client/v1/home' },
+  { weight: 35, path: () => `/api/client/v1/products/${pick(PRODUCT_IDS)}` },
+  { weight: 10, path: () => '/api/client/v1/products/new?page=1&pageSize=20' },
+  { weight: 10, path: () => '/api/client/v1/brands' },
+  { weight: 5, path: () => '/api/client/v1/store-location' },
+];
+const TOTAL_WEIGHT = REQUESTS.reduce((sum, r) => sum + r.weight, 0);
+
+function pick(values) {
+  return values[Math.floor(Math.random() * values.length)];
+}
+
+function nextPath() {
+  let roll = Math.random() * TOTAL_WEIGHT;
+  for (const request of REQUESTS) {
+    roll -= request.weight;
+    if (roll < 0) return request.path();
+  }
+  return REQUESTS[0].path();
+}
+
+export default function () {
+  // No If-None-Match — measure full responses, not 304s
+  const res = http.get(`${BASE_URL}${nextPath()}`, { headers: HEADERS });
+  check(res, { 'status is 200': (r) => r.status === 200 });
+}
+
+export function handleSummary(data) {
+  return { [`loadtest-${MODE}.json`]: JSON.stringify(data, null, 2) };
+}
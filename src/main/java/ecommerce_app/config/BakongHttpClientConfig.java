@@ -0,0 +1,56 @@
+package ecommerce_app.config;
+
+import ecommerce_app.property.KHQRConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import java.time.Duration;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Pooled HTTP client dedicated to the Bakong API, so a slow payment provider cannot tie up
+ * connections other outbound calls need. Timeouts per call, the bulkhead and the circuit breaker
+ * sit on top in {@link ecommerce_app.service.impl.BakongApiClient}.
+ */
+@Configuration
+public class BakongHttpClientConfig {
+
+  @Bean(destroyMethod = "close")
+  public CloseableHttpClient bakongHttpClient(KHQRConfig khqrConfig, MeterRegistry meterRegistry) {
+    KHQRConfig.Http http = khqrConfig.getHttp();
+
+    PoolingHttpClientConnectionManager connectionManager =
+        PoolingHttpClientConnectionManagerBuilder.create()
+            .setMaxConnTotal(http.getMaxConnections())
+            .setMaxConnPerRoute(http.getMaxConnections())
+            .setDefaultConnectionConfig(
+                ConnectionConfig.custom()
+                    .setConnectTimeout(timeout(http.getConnectTimeout()))
+                    .setTimeToLive(TimeValue.ofMilliseconds(http.getConnectionTtl().toMillis()))
+                    // Re-check connections idle this long before reuse — gateways drop them
+                    .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                    .build())
+            .build();
+    new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "bakong")
+        .bindTo(meterRegistry);
+
+    return HttpClients.custom()
+        .setConnectionManager(connectionManager)
+        .evictExpiredConnections()
+        .evictIdleConnections(TimeValue.ofMilliseconds(http.getIdleTimeout().toMillis()))
+        // Retries are decided per endpoint — a repeated pull could charge the customer twice
+        .disableAutomaticRetries()
+        .build();
+  }
+
+  private static Timeout timeout(Duration duration) {
+    return Timeout.ofMilliseconds(duration.toMillis());
+  }
+}
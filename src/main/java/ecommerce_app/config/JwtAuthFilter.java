@@ -1,7 +1,8 @@
 package ecommerce_app.config;
 
-import ecommerce_app.service.impl.UserDetailServiceImpl;
+import ecommerce_app.service.impl.PrincipalCache;
 import ecommerce_app.util.JwtService;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -14,7 +15,6 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
@@ -24,7 +24,7 @@ import org.springframework.web.filter.OncePerRequestFilter;
 public class JwtAuthFilter extends OncePerRequestFilter {
 
   private final JwtService jwtService;
-  private final UserDetailServiceImpl userDetailsService;
+  private final PrincipalCache principalCache;
 
   @Override
   protected void doFilterInternal(
@@ -36,17 +36,18 @@ public class JwtAuthFilter extends OncePerRequestFilter {
       if (authHeader != null
           && (authHeader.startsWith("bearer ") || authHeader.startsWith("Bearer "))) {
         String token = authHeader.substring(7);
-        String subject = jwtService.getSubject(token);
+        // Signature and expiry checked in a single parse
+        Claims claims = jwtService.verify(token);
 
-        if (subject != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-          Long userId = Long.parseLong(subject);
-          UserDetails userDetails = userDetailsService.loadUserById(userId);
-          if (jwtService.isValidToken(token)) {
-            Authentication authentication =
-                new UsernamePasswordAuthenticationToken(
-                    userDetails, null, userDetails.getAuthorities());
-            SecurityContextHolder.getContext().setAuthentication(authentication);
-          }
+        if (claims != null
+            && claims.getSubject() != null
+            && SecurityContextHolder.getContext().getAuthentication() == null) {
+          Long userId = Long.parseLong(claims.getSubject());
+          UserDetails userDetails = principalCache.get(userId);
+          Authentication authentication =
+              new UsernamePasswordAuthenticationToken(
+                  userDetails, null, userDetails.getAuthorities());
+          SecurityContextHolder.getContext().setAuthentication(authentication);
         }
       }
 
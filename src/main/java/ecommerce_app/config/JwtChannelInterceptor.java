@@ -1,6 +1,8 @@
 package ecommerce_app.config;
 
+import ecommerce_app.service.impl.PrincipalCache;
 import ecommerce_app.util.JwtService;
+import io.jsonwebtoken.Claims;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import org.springframework.messaging.Message;
@@ -12,7 +14,6 @@ import org.springframework.messaging.support.MessageHeaderAccessor;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -20,7 +21,7 @@ import org.springframework.stereotype.Component;
 public class JwtChannelInterceptor implements ChannelInterceptor {
 
   private final JwtService jwtService;
-  private final UserDetailsService userDetailsService;
+  private final PrincipalCache principalCache;
 
   @Override
   public Message<?> preSend(@NonNull Message<?> message, @NonNull MessageChannel channel) {
@@ -35,10 +36,11 @@ public class JwtChannelInterceptor implements ChannelInterceptor {
     if (token == null || !token.startsWith("Bearer ")) return message;
 
     token = token.substring(7);
-    String email = jwtService.getSubject(token);
+    Claims claims = jwtService.verify(token);
 
-    if (email != null && jwtService.isValidToken(token)) {
-      UserDetails userDetails = userDetailsService.loadUserByUsername(email);
+    // The subject is the user ID (see JwtService.generateAccessToken)
+    if (claims != null && claims.getSubject() != null) {
+      UserDetails userDetails = principalCache.get(Long.parseLong(claims.getSubject()));
       Authentication auth =
           new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
       accessor.setUser(auth);
@@ -0,0 +1,58 @@
+package ecommerce_app.config;
+
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Creates the product search structures that {@code ddl-auto} cannot express.
+ *
+ * <ul>
+ *   <li>{@code products.search_vector} — a stored generated {@code tsvector} over name and code
+ *       (weight A) and description (weight C). PostgreSQL recomputes it on every write, so the
+ *       index never lags the catalog.
+ *   <li>A GIN index on it for ranked term and prefix matches.
+ *   <li>{@code pg_trgm} GIN indexes on {@code lower(name|code|description)} — they serve typo
+ *       tolerance ({@code <%}) and substring matches in scripts without word breaks (Khmer), and
+ *       make the admin {@code LIKE '%q%'} filters index scans.
+ * </ul>
+ *
+ * <p>Every statement is idempotent. Runs after the schema update, before the web server starts.
+ */
+@Slf4j
+@Component
+@DependsOn("entityManagerFactory")
+public class SearchIndexInitializer implements InitializingBean {
+
+  private static final List<String> STATEMENTS =
+      List.of(
+          "CREATE EXTENSION IF NOT EXISTS pg_trgm",
+          "ALTER TABLE products ADD COLUMN IF NOT EXISTS search_vector tsvector "
+              + "GENERATED ALWAYS AS ("
+              + "setweight(to_tsvector('simple', coalesce(name, '')), 'A') || "
+              + "setweight(to_tsvector('simple', coalesce(code, '')), 'A') || "
+              + "setweight(to_tsvector('simple', coalesce(description, '')), 'C')) STORED",
+          "CREATE INDEX IF NOT EXISTS idx_product_search_vector "
+              + "ON products USING GIN (search_vector)",
+          "CREATE INDEX IF NOT EXISTS idx_product_name_trgm "
+              + "ON products USING GIN (lower(name) gin_trgm_ops)",
+          "CREATE INDEX IF NOT EXISTS idx_product_code_trgm "
+              + "ON products USING GIN (lower(code) gin_trgm_ops)",
+          "CREATE INDEX IF NOT EXISTS idx_product_description_trgm "
+              + "ON products USING GIN (lower(description) gin_trgm_ops)");
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public SearchIndexInitializer(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  @Override
+  public void afterPropertiesSet() {
+    STATEMENTS.forEach(jdbcTemplate::execute);
+    log.info("Product search indexes ready");
+  }
+}
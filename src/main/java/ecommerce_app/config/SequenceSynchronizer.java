@@ -0,0 +1,54 @@
+package ecommerce_app.config;
+
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves every {@code <table>_seq} entity sequence past the table's highest ID.
+ *
+ * <p>Entities used IDENTITY columns before switching to pooled sequences. {@code ddl-auto} creates
+ * the sequences starting at 1, which would hand out IDs the identity columns already used. Runs
+ * after the schema update and before the web server and schedulers start. Sequences never move
+ * backwards, so restarts are a no-op.
+ *
+ * <p>With the pooled optimizer a sequence value {@code v} reserves {@code (v - 50, v]}, so setting
+ * the sequence to the max ID makes the next block start right after it.
+ */
+@Slf4j
+@Component
+@DependsOn("entityManagerFactory")
+public class SequenceSynchronizer implements InitializingBean {
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public SequenceSynchronizer(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  @Override
+  public void afterPropertiesSet() {
+    List<String> tables =
+        jdbcTemplate.queryForList(
+            "SELECT t.table_name FROM information_schema.tables t "
+                + "JOIN information_schema.sequences s "
+                + "ON s.sequence_schema = t.table_schema "
+                + "AND s.sequence_name = t.table_name || '_seq' "
+                + "WHERE t.table_schema = current_schema()",
+            String.class);
+
+    for (String table : tables) {
+      String sequence = table + "_seq";
+      String sql =
+          "SELECT setval('%1$s', m.max_id) FROM (SELECT max(id) AS max_id FROM %2$s) m "
+              + "WHERE m.max_id > (SELECT last_value FROM %1$s)";
+      List<Long> moved = jdbcTemplate.queryForList(sql.formatted(sequence, table), Long.class);
+      if (!moved.isEmpty()) {
+        log.info("Moved sequence {} to {}", sequence, moved.getFirst());
+      }
+    }
+  }
+}
@@ -1,7 +1,15 @@
 package ecommerce_app.config;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.time.Duration;
+import java.util.regex.Pattern;
 import lombok.RequiredArgsConstructor;
+import org.jspecify.annotations.NonNull;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.servlet.HandlerInterceptor;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
@@ -11,12 +19,60 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 @Configuration
 public class StaticResourceConfig implements WebMvcConfigurer {
 
+  public static final String STORAGE_PATTERN = "/storage/**";
+  public static final String STORAGE_LOCATION = "storage/";
+
+  /**
+   * Images saved by {@code FileManagerService.saveImage}: a 32-hex content hash, optionally a size
+   * suffix for derivatives ({@code _thumb}, {@code _card}, {@code _detail}), and an extension.
+   */
+  private static final Pattern CONTENT_NAMED =
+      Pattern.compile("[0-9a-f]{32}(_[a-z]+)?(\\.[a-z0-9]{1,5})?");
+
+  /** A content-named image never changes, so anyone may keep it for good. */
+  private static final CacheControl IMMUTABLE_CACHE_CONTROL =
+      CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable();
+
+  /**
+   * Everything else — avatars, logos, import reports — may be replaced or removed, and must not sit
+   * in shared caches.
+   */
+  private static final CacheControl DEFAULT_CACHE_CONTROL =
+      CacheControl.maxAge(Duration.ofMinutes(10)).cachePrivate();
+
+  /** The caching policy for a file under {@link #STORAGE_PATTERN}, chosen by its name. */
+  public static CacheControl cacheControlFor(String path) {
+    String fileName = path.substring(path.lastIndexOf('/') + 1);
+    return CONTENT_NAMED.matcher(fileName).matches()
+        ? IMMUTABLE_CACHE_CONTROL
+        : DEFAULT_CACHE_CONTROL;
+  }
+
   @Override
   public void addResourceHandlers(ResourceHandlerRegistry registry) {
+    // No cache control here — it depends on the file name, see addInterceptors
+    registry
+        .addResourceHandler(STORAGE_PATTERN)
+        .addResourceLocations("file:" + STORAGE_LOCATION); // file system path
+  }
+
+  @Override
+  public void addInterceptors(InterceptorRegistry registry) {
     registry
-        .addResourceHandler("/storage/**")
-        .addResourceLocations("file:storage/") // file system path
-        .setCachePeriod(0); // optional: disable caching in dev
+        .addInterceptor(
+            new HandlerInterceptor() {
+              @Override
+              public boolean preHandle(
+                  HttpServletRequest request,
+                  @NonNull HttpServletResponse response,
+                  @NonNull Object handler) {
+                response.setHeader(
+                    HttpHeaders.CACHE_CONTROL,
+                    cacheControlFor(request.getRequestURI()).getHeaderValue());
+                return true;
+              }
+            })
+        .addPathPatterns(STORAGE_PATTERN);
   }
 
   @Override
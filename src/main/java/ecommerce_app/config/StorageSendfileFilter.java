@@ -0,0 +1,86 @@
+package ecommerce_app.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
+
+/**
+ * Serves large files under {@code /storage/**} through Tomcat's sendfile, so image bytes go from
+ * the page cache to the socket without being copied through the JVM heap.
+ *
+ * <p>Only whole-file GETs are handled here. Range requests, small files and containers without
+ * sendfile support fall through to the resource handler in {@link StaticResourceConfig}.
+ */
+@Component
+public class StorageSendfileFilter extends OncePerRequestFilter {
+
+  private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+  private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+  private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+  private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+  // Below this a plain copy is cheaper than handing the file to the poller (Tomcat's own default)
+  private static final long MIN_SENDFILE_SIZE = 48 * 1024;
+
+  private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+  private static final UrlPathHelper PATH_HELPER = new UrlPathHelper();
+
+  private final Path storageRoot =
+      Paths.get(StaticResourceConfig.STORAGE_LOCATION).toAbsolutePath().normalize();
+
+  @Override
+  protected boolean shouldNotFilter(HttpServletRequest request) {
+    return !HttpMethod.GET.matches(request.getMethod())
+        || request.getHeader(HttpHeaders.RANGE) != null
+        || !Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))
+        || !PATH_MATCHER.match(
+            StaticResourceConfig.STORAGE_PATTERN, PATH_HELPER.getPathWithinApplication(request));
+  }
+
+  @Override
+  protected void doFilterInternal(
+      HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+      throws ServletException, IOException {
+    String relativePath =
+        PATH_MATCHER.extractPathWithinPattern(
+            StaticResourceConfig.STORAGE_PATTERN, PATH_HELPER.getPathWithinApplication(request));
+    Path file = storageRoot.resolve(relativePath).normalize();
+    long length =
+        file.startsWith(storageRoot) && Files.isRegularFile(file) ? Files.size(file) : -1;
+    if (length < MIN_SENDFILE_SIZE) {
+      filterChain.doFilter(request, response);
+      return;
+    }
+
+    response.setHeader(
+        HttpHeaders.CACHE_CONTROL,
+        StaticResourceConfig.cacheControlFor(relativePath).getHeaderValue());
+    ServletWebRequest webRequest = new ServletWebRequest(request, response);
+    if (webRequest.checkNotModified(Files.getLastModifiedTime(file).toMillis())) {
+      return;
+    }
+
+    response.setContentType(
+        MediaTypeFactory.getMediaType(file.getFileName().toString())
+            .orElse(MediaType.APPLICATION_OCTET_STREAM)
+            .toString());
+    response.setContentLengthLong(length);
+    request.setAttribute(SENDFILE_FILENAME, file.toString());
+    request.setAttribute(SENDFILE_START, 0L);
+    request.setAttribute(SENDFILE_END, length);
+  }
+}
@@ -3,19 +3,34 @@ package ecommerce_app.config;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ThreadPoolExecutor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.concurrent.ScheduledExecutorFactoryBean;
+import org.springframework.scheduling.concurrent.SimpleAsyncTaskScheduler;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
+/**
+ * Executors for async work.
+ *
+ * <p>With {@code spring.threads.virtual.enabled=true} Tomcat handles requests on virtual threads
+ * and the blocking pools ({@code taskExecutor}, {@code ioTaskExecutor}) start a virtual thread per
+ * task instead of queueing on a fixed pool; {@code scheduledTaskExecutor} becomes a virtual-thread
+ * scheduler that also runs the {@code @Scheduled} jobs. See {@link VirtualThreadConfig}. The
+ * notification pool keeps its bounded queue — rejection there is the outbox's backpressure — and
+ * the CPU pool stays sized to the cores.
+ */
 @Configuration
 @EnableAsync
 @EnableScheduling
 @Slf4j
 public class ThreadPoolConfig {
 
+  private static final String VIRTUAL_THREADS = "spring.threads.virtual.enabled";
+
   private static final int CORE_POOL_SIZE = 10;
   private static final int MAX_POOL_SIZE = 50;
   private static final int QUEUE_CAPACITY = 100;
@@ -23,6 +38,7 @@ public class ThreadPoolConfig {
 
   /** Thread pool for general async tasks */
   @Bean(name = "taskExecutor")
+  @ConditionalOnProperty(name = VIRTUAL_THREADS, havingValue = "false", matchIfMissing = true)
   public Executor taskExecutor() {
     ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
     executor.setCorePoolSize(CORE_POOL_SIZE);
@@ -39,6 +55,7 @@ public class ThreadPoolConfig {
 
   /** Thread pool for I/O intensive tasks (file operations, external API calls) */
   @Bean(name = "ioTaskExecutor")
+  @ConditionalOnProperty(name = VIRTUAL_THREADS, havingValue = "false", matchIfMissing = true)
   public Executor ioTaskExecutor() {
     ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
     executor.setCorePoolSize(20);
@@ -53,6 +70,40 @@ public class ThreadPoolConfig {
     return executor;
   }
 
+  /** Virtual-thread mode of {@code taskExecutor} — one virtual thread per task, no queue. */
+  @Bean(name = "taskExecutor")
+  @ConditionalOnProperty(name = VIRTUAL_THREADS, havingValue = "true")
+  public Executor virtualTaskExecutor() {
+    return virtualThreadExecutor("Async-", 60);
+  }
+
+  /** Virtual-thread mode of {@code ioTaskExecutor}. */
+  @Bean(name = "ioTaskExecutor")
+  @ConditionalOnProperty(name = VIRTUAL_THREADS, havingValue = "true")
+  public Executor virtualIoTaskExecutor() {
+    return virtualThreadExecutor("IO-Async-", 120);
+  }
+
+  /**
+   * Thread pool for push notification delivery. Rejects instead of running on the caller — a
+   * rejected outbox event is picked up by the outbox poller, so checkout threads never block on
+   * FCM.
+   */
+  @Bean(name = "notificationTaskExecutor")
+  public Executor notificationTaskExecutor() {
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(4);
+    executor.setMaxPoolSize(16);
+    executor.setQueueCapacity(500);
+    executor.setKeepAliveSeconds(60);
+    executor.setThreadNamePrefix("Notify-");
+    executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+    executor.setWaitForTasksToCompleteOnShutdown(true);
+    executor.setAwaitTerminationSeconds(30);
+    executor.initialize();
+    return executor;
+  }
+
   /** Thread pool for CPU intensive tasks */
   @Bean(name = "cpuTaskExecutor")
   public Executor cpuTaskExecutor() {
@@ -70,12 +121,35 @@ public class ThreadPoolConfig {
 
   /** Scheduled task executor */
   @Bean(name = "scheduledTaskExecutor")
+  @ConditionalOnProperty(name = VIRTUAL_THREADS, havingValue = "false", matchIfMissing = true)
   public Executor scheduledTaskExecutor() {
     ScheduledExecutorFactoryBean factoryBean = new ScheduledExecutorFactoryBean();
     factoryBean.setPoolSize(5);
     factoryBean.setThreadNamePrefix("Scheduled-");
-    factoryBean.setRejectedExecutionHandler(
-        (_, _) -> log.error("Scheduled task rejected"));
+    factoryBean.setRejectedExecutionHandler((_, _) -> log.error("Scheduled task rejected"));
     return factoryBean.getObject();
   }
+
+  /**
+   * Virtual-thread mode of {@code scheduledTaskExecutor}. Declared as a {@link
+   * org.springframework.scheduling.TaskScheduler}, so Spring Boot's own scheduler backs off and the
+   * {@code @Scheduled} jobs run here — on virtual threads instead of a pool of five.
+   */
+  @Bean(name = "scheduledTaskExecutor")
+  @ConditionalOnProperty(name = VIRTUAL_THREADS, havingValue = "true")
+  public SimpleAsyncTaskScheduler virtualScheduledTaskExecutor() {
+    SimpleAsyncTaskScheduler scheduler = new SimpleAsyncTaskScheduler();
+    scheduler.setThreadNamePrefix("Scheduled-");
+    scheduler.setVirtualThreads(true);
+    scheduler.setTaskTerminationTimeout(30_000);
+    return scheduler;
+  }
+
+  private static SimpleAsyncTaskExecutor virtualThreadExecutor(
+      String threadNamePrefix, int awaitTerminationSeconds) {
+    SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(threadNamePrefix);
+    executor.setVirtualThreads(true);
+    executor.setTaskTerminationTimeout(awaitTerminationSeconds * 1000L);
+    return executor;
+  }
 }
@@ -0,0 +1,49 @@
+package ecommerce_app.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import ecommerce_app.property.VirtualThreadProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Extra wiring for virtual-thread mode ({@code spring.threads.virtual.enabled=true}). Spring Boot
+ * moves Tomcat onto virtual threads; {@link ThreadPoolConfig} does the same for the blocking pools
+ * and the scheduler that runs the {@code @Scheduled} jobs. This adds the connection permit gate and
+ * pinning diagnostics.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+  /** Wrap the Hikari pool so virtual threads queue for a permit instead of inside the pool. */
+  @Bean
+  public static BeanPostProcessor connectionLimitingDataSourcePostProcessor(
+      ObjectProvider<VirtualThreadProperties> properties) {
+    return new BeanPostProcessor() {
+      @Override
+      public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof HikariDataSource hikari)) return bean;
+
+        VirtualThreadProperties config = properties.getObject();
+        int permits =
+            config.getConnectionPermits() > 0
+                ? config.getConnectionPermits()
+                : hikari.getMaximumPoolSize();
+        log.info("Limiting concurrent database connections to {} permits", permits);
+        return new ConnectionLimitingDataSource(
+            hikari, permits, config.getConnectionAcquireTimeout());
+      }
+    };
+  }
+
+  @Bean
+  public VirtualThreadPinningMonitor virtualThreadPinningMonitor(
+      VirtualThreadProperties properties) {
+    return new VirtualThreadPinningMonitor(properties.getPinnedThreshold());
+  }
+}
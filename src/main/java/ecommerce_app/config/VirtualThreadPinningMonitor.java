@@ -0,0 +1,71 @@
+package ecommerce_app.config;
+
+import java.time.Duration;
+import java.util.stream.Collectors;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+
+/**
+ * Logs virtual threads that stay pinned to their carrier, from the JFR {@code
+ * jdk.VirtualThreadPinned} event.
+ *
+ * <p>Since Java 24 {@code synchronized} no longer pins, so what this reports is what still does —
+ * native frames, class initialisers, and blocking inside libraries that do their own locking in
+ * native code. Each pinned thread holds a carrier, and there are only as many carriers as cores.
+ */
+@Slf4j
+public class VirtualThreadPinningMonitor implements InitializingBean, DisposableBean {
+
+  private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+  private static final int MAX_FRAMES = 15;
+
+  private final Duration threshold;
+  private RecordingStream stream;
+
+  public VirtualThreadPinningMonitor(Duration threshold) {
+    this.threshold = threshold;
+  }
+
+  @Override
+  public void afterPropertiesSet() {
+    stream = new RecordingStream();
+    stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+    stream.onEvent(PINNED_EVENT, this::logPinned);
+    stream.startAsync();
+    log.info("Reporting virtual threads pinned longer than {} ms", threshold.toMillis());
+  }
+
+  @Override
+  public void destroy() {
+    if (stream != null) {
+      stream.close();
+    }
+  }
+
+  private void logPinned(RecordedEvent event) {
+    String stack =
+        event.getStackTrace() == null
+            ? "  <no stack trace>"
+            : event.getStackTrace().getFrames().stream()
+                .limit(MAX_FRAMES)
+                .map(VirtualThreadPinningMonitor::formatFrame)
+                .collect(Collectors.joining("\n"));
+    log.warn(
+        "Virtual thread {} pinned for {} ms\n{}",
+        event.getThread() != null ? event.getThread().getJavaName() : "?",
+        event.getDuration().toMillis(),
+        stack);
+  }
+
+  private static String formatFrame(RecordedFrame frame) {
+    return "  at %s.%s:%d"
+        .formatted(
+            frame.getMethod().getType().getName(),
+            frame.getMethod().getName(),
+            frame.getLineNumber());
+  }
+}
@@ -0,0 +1,8 @@
+package ecommerce_app.constant.enums;
+
+public enum ImportJobStatus {
+  PENDING,    // file received, waiting for a worker
+  RUNNING,    // rows being read and inserted
+  COMPLETED,  // every row processed; some may have failed (see the error file)
+  FAILED      // the file could not be read
+}
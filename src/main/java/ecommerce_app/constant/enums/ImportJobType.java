@@ -0,0 +1,6 @@
+package ecommerce_app.constant.enums;
+
+public enum ImportJobType {
+  PRODUCT,
+  CATEGORY
+}
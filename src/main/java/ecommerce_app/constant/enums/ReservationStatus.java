@@ -0,0 +1,7 @@
+package ecommerce_app.constant.enums;
+
+public enum ReservationStatus {
+  RESERVED,   // stock held, waiting for payment
+  COMMITTED,  // payment settled, stock is sold
+  RELEASED    // order cancelled or hold expired, stock returned
+}
@@ -41,12 +41,24 @@ public class NotificationController {
         response, messageSourceService.getMessage(MessageKeyConstant.COMMON_MESSAGE_SUCCESS));
   }
 
-  /** Get user notifications with pagination GET /api/v1/notifications */
+  /**
+   * Get user notifications with pagination GET /api/v1/notifications
+   *
+   * <p>Passing {@code cursor} (empty for the first slice, then {@code meta.nextCursor}) switches to
+   * cursor mode for infinite scroll — no totals, constant cost per slice.
+   */
   @GetMapping
   public ResponseEntity<BaseBodyResponse<List<NotificationResponse>>> getUserNotifications(
       @AuthenticationPrincipal @Parameter(hidden = true) CustomUserDetails userDetails,
       @RequestParam(defaultValue = "1") int page,
-      @RequestParam(defaultValue = "50") int pageSize) {
+      @RequestParam(defaultValue = "50") int pageSize,
+      @RequestParam(required = false) String cursor) {
+
+    if (cursor != null) {
+      return BaseBodyResponse.cursorSuccess(
+          notificationService.scrollUserNotifications(userDetails.getId(), cursor, pageSize),
+          messageSourceService.getMessage(MessageKeyConstant.COMMON_MESSAGE_SUCCESS));
+    }
 
     Pageable pageable = PageRequest.of(page-1, pageSize);
     Page<NotificationResponse> notifications =
@@ -1,6 +1,7 @@
 package ecommerce_app.controller.admin;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import ecommerce_app.constant.enums.ExportFormat;
 import ecommerce_app.constant.enums.OrderStatus;
 import ecommerce_app.constant.enums.PaymentMethod;
 import ecommerce_app.constant.enums.PaymentStatus;
@@ -18,11 +19,15 @@ import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Sort;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -34,6 +39,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/admin/v1/orders")
@@ -85,6 +91,35 @@ public class AdminManageOrderController {
         messageSourceService.getMessage(MessageKeyConstant.ORDER_TITLE_LIST));
   }
 
+  @PreAuthorize("hasAnyAuthority('ORDER_READ', 'ORDER_UPDATE', 'ORDER_CANCEL', 'ORDER_DELETE')")
+  @GetMapping("/export")
+  @Operation(
+      summary = "Export orders",
+      description = "Download every order matching the filters as Excel, streamed as it is read")
+  public ResponseEntity<StreamingResponseBody> exportOrders(
+      @RequestParam(value = "orderNumber", required = false) String orderNumber,
+      @RequestParam(value = "orderStatus", required = false) OrderStatus orderStatus,
+      @RequestParam(value = "paymentStatus", required = false) PaymentStatus paymentStatus,
+      @RequestParam(value = "fromDate", required = false)
+          @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+          LocalDate fromDate,
+      @RequestParam(value = "toDate", required = false)
+          @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+          LocalDate toDate) {
+    String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
+    String filename =
+        String.format("orders_export_%s.%s", timestamp, ExportFormat.EXCEL.getExtension());
+
+    StreamingResponseBody body =
+        out ->
+            adminManageOrderService.exportOrders(
+                orderNumber, orderStatus, paymentStatus, fromDate, toDate, out);
+    return ResponseEntity.ok()
+        .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+        .contentType(MediaType.parseMediaType(ExportFormat.EXCEL.getContentType()))
+        .body(body);
+  }
+
   @PreAuthorize("hasAnyAuthority('ORDER_READ', 'ORDER_UPDATE', 'ORDER_CANCEL', 'ORDER_DELETE')")
   @GetMapping("/{orderId}")
   public ResponseEntity<BaseBodyResponse<OrderDetailResponse>> getOrderDetail(
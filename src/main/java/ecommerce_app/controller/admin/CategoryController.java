@@ -1,5 +1,6 @@
 package ecommerce_app.controller.admin;
 
+import ecommerce_app.constant.enums.ImportJobType;
 import ecommerce_app.constant.message.MessageKeyConstant;
 import ecommerce_app.constant.message.ResponseMessageConstant;
 import ecommerce_app.exception.BadRequestException;
@@ -7,8 +8,10 @@ import ecommerce_app.dto.response.BaseBodyResponse;
 import ecommerce_app.dto.request.BulkCategoryRequest;
 import ecommerce_app.dto.request.CategoryRequest;
 import ecommerce_app.dto.response.CategoryResponse;
+import ecommerce_app.dto.response.ImportJobResponse;
 import ecommerce_app.service.impl.CategoryExcelTemplateService;
 import ecommerce_app.service.CategoryService;
+import ecommerce_app.service.ImportJobService;
 import ecommerce_app.util.MessageSourceService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -45,6 +48,7 @@ import org.springframework.web.multipart.MultipartFile;
 public class CategoryController {
   private final CategoryService categoryService;
   private final CategoryExcelTemplateService categoryExcelTemplateService;
+  private final ImportJobService importJobService;
   private final MessageSourceService messageSourceService;
 
   @PreAuthorize("hasAuthority('CATEGORY_CREATE')")
@@ -104,11 +108,14 @@ public class CategoryController {
   }
 
   @PostMapping(path = "/import-from-excel", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
-  public ResponseEntity<BaseBodyResponse<Void>> importCategoriesFromExcel(
+  @Operation(
+      summary = "Import categories from Excel",
+      description =
+          "Runs in the background. Poll /api/admin/v1/import-jobs/{id} with the returned job ID")
+  public ResponseEntity<BaseBodyResponse<ImportJobResponse>> importCategoriesFromExcel(
       @RequestParam("file") MultipartFile file) {
-    // Implementation for importing categories from an Excel file
-    this.categoryService.importCategoriesFromExcel(file);
     return BaseBodyResponse.success(
+        importJobService.submit(ImportJobType.CATEGORY, file),
         messageSourceService.getMessage(MessageKeyConstant.COMMON_MESSAGE_SUCCESS));
   }
 
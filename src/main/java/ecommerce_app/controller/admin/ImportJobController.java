@@ -0,0 +1,52 @@
+package ecommerce_app.controller.admin;
+
+import ecommerce_app.constant.message.MessageKeyConstant;
+import ecommerce_app.dto.response.BaseBodyResponse;
+import ecommerce_app.dto.response.ImportJobResponse;
+import ecommerce_app.service.ImportJobService;
+import ecommerce_app.util.MessageSourceService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/admin/v1/import-jobs")
+@RequiredArgsConstructor
+@Tag(name = "Excel Import Jobs", description = "Progress and error reports of Excel imports")
+@PreAuthorize("hasAnyRole('ADMIN', 'SUPER_ADMIN', 'MANAGER', 'SUPERVISOR')")
+public class ImportJobController {
+
+  private final ImportJobService importJobService;
+  private final MessageSourceService messageSourceService;
+
+  @Operation(summary = "Get import job progress")
+  @GetMapping("/{id}")
+  public ResponseEntity<BaseBodyResponse<ImportJobResponse>> getJob(@PathVariable Long id) {
+    return BaseBodyResponse.success(
+        importJobService.getJob(id),
+        messageSourceService.getMessage(MessageKeyConstant.COMMON_MESSAGE_SUCCESS));
+  }
+
+  @Operation(summary = "Download the rows that failed, with the reason for each")
+  @GetMapping("/{id}/errors")
+  public ResponseEntity<Resource> downloadErrors(@PathVariable Long id) {
+    Resource resource = importJobService.getErrorFile(id);
+    return ResponseEntity.ok()
+        .header(
+            HttpHeaders.CONTENT_DISPOSITION,
+            "attachment; filename=\"import-job-" + id + "-errors.xlsx\"")
+        .contentType(
+            MediaType.parseMediaType(
+                "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"))
+        .body(resource);
+  }
+}
@@ -1,15 +1,17 @@
 package ecommerce_app.controller.admin;
 
 import ecommerce_app.constant.enums.ExportFormat;
+import ecommerce_app.constant.enums.ImportJobType;
 import ecommerce_app.constant.message.MessageKeyConstant;
 import ecommerce_app.constant.message.ResponseMessageConstant;
 import ecommerce_app.exception.BadRequestException;
 import ecommerce_app.dto.response.BaseBodyResponse;
-import ecommerce_app.dto.response.ImportProductFromExcelResponse;
+import ecommerce_app.dto.response.ImportJobResponse;
 import ecommerce_app.dto.response.NearEmptyStockResponse;
 import ecommerce_app.dto.request.ProductRequest;
 import ecommerce_app.dto.response.ProductResponse;
 import ecommerce_app.service.impl.ProductExcelTemplateService;
+import ecommerce_app.service.ImportJobService;
 import ecommerce_app.service.ProductService;
 import ecommerce_app.service.impl.ProductReportService;
 import ecommerce_app.util.MessageSourceService;
@@ -44,6 +46,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/admin/v1/products")
@@ -55,6 +58,7 @@ public class ProductController {
   private final ProductService productService;
   private final ProductExcelTemplateService productExcelTemplateService;
   private final ProductReportService productReportService;
+  private final ImportJobService importJobService;
   private final MessageSourceService messageSourceService;
 
   @PreAuthorize(
@@ -142,10 +146,14 @@ public class ProductController {
   @PreAuthorize(
       "hasAnyAuthority('PRODUCT_CREATE') or hasAnyRole('ADMIN', 'SUPER_ADMIN','MANAGER', 'SUPERVISOR')")
   @PostMapping(value = "/import-from-excel", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
-  public ResponseEntity<BaseBodyResponse<ImportProductFromExcelResponse>> importFromExcel(
+  @Operation(
+      summary = "Import products from Excel",
+      description =
+          "Runs in the background. Poll /api/admin/v1/import-jobs/{id} with the returned job ID")
+  public ResponseEntity<BaseBodyResponse<ImportJobResponse>> importFromExcel(
       @RequestParam("file") MultipartFile file) {
     return BaseBodyResponse.success(
-        productService.importProductFromExcel(file),
+        importJobService.submit(ImportJobType.PRODUCT, file),
         messageSourceService.getMessage(MessageKeyConstant.COMMON_MESSAGE_SUCCESS));
   }
 
@@ -198,13 +206,9 @@ public class ProductController {
   @Operation(
       summary = "Download product report",
       description = "Download product report as Excel and PDF")
-  public ResponseEntity<Resource> exportProductReport(
+  public ResponseEntity<StreamingResponseBody> exportProductReport(
       @RequestParam(defaultValue = "PDF", name = "format") ExportFormat format) {
 
-    // Report generation
-    byte[] reportData = productReportService.export(format);
-    ByteArrayResource resource = new ByteArrayResource(reportData);
-
     // Generate filename with timestamp
     String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
     String filename =
@@ -212,12 +216,14 @@ public class ProductController {
             "%s_%s.%s",
             productReportService.getBaseFilename(),
             timestamp,
-            format == ExportFormat.PDF ? "pdf" : "xlsx");
+            format.getExtension());
+
+    // Report is written straight to the response as rows are read
+    StreamingResponseBody body = out -> productReportService.export(format, out);
     return ResponseEntity.ok()
         .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
         .contentType(MediaType.parseMediaType(format.getContentType()))
-        .contentLength(reportData.length)
-        .body(resource);
+        .body(body);
   }
 
   // GET /api/admin/v1/products/near-empty-stock
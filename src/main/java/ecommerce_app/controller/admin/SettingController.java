@@ -7,6 +7,8 @@ import ecommerce_app.dto.request.BulkUpdateSettingRequest;
 import ecommerce_app.dto.response.SettingResponse;
 import ecommerce_app.dto.request.UpdateSettingRequest;
 import ecommerce_app.service.SettingService;
+import ecommerce_app.service.impl.ResourceVersionService;
+import ecommerce_app.util.ConditionalGetUtils;
 import ecommerce_app.util.MessageSourceService;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -15,6 +17,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
 @RestController
 @RequestMapping("/api/admin/v1/settings")
@@ -24,12 +27,19 @@ public class SettingController {
 
   private final SettingService settingService;
   private final MessageSourceService messageSourceService;
+  private final ResourceVersionService resourceVersionService;
 
   @PreAuthorize("hasAnyAuthority('SETTING_READ') or hasAnyRole('ADMIN', 'SUPER_ADMIN')")
   @GetMapping
-  public ResponseEntity<BaseBodyResponse<List<SettingResponse>>> getAll() {
-    return BaseBodyResponse.success(
-        settingService.getAll(), ResponseMessageConstant.FIND_ALL_SUCCESSFULLY);
+  public ResponseEntity<BaseBodyResponse<List<SettingResponse>>> getAll(
+      ServletWebRequest request) {
+    return ConditionalGetUtils.conditional(
+        request,
+        resourceVersionService.settings(),
+        ConditionalGetUtils.ADMIN,
+        () ->
+            BaseBodyResponse.success(
+                settingService.getAll(), ResponseMessageConstant.FIND_ALL_SUCCESSFULLY));
   }
 
   @PreAuthorize(
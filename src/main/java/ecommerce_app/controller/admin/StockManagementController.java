@@ -13,7 +13,6 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -64,7 +63,12 @@ public class StockManagementController {
         messageSourceService.getMessage(MessageKeyConstant.STOCK_MESSAGE_ADJUSTMENT_SUCCESS));
   }
 
-  @Operation(summary = "View stock movement history")
+  @Operation(
+      summary = "View stock movement history",
+      description =
+          "Newest first. totalCount is exact up to 100000 movements and capped above that. "
+              + "Pass cursor (empty for the first slice, then meta.nextCursor) to walk large "
+              + "ranges without counts at constant cost per slice.")
   @GetMapping("/movements")
   public ResponseEntity<BaseBodyResponse<List<StockHistoryResponse>>> getHistory(
       @RequestParam Long productId,
@@ -74,12 +78,19 @@ public class StockManagementController {
       @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
           LocalDateTime endDate,
       @RequestParam(defaultValue = "1") int page,
-      @RequestParam(defaultValue = "20") int pageSize) {
+      @RequestParam(defaultValue = "20") int pageSize,
+      @RequestParam(required = false) String cursor) {
 
     LocalDateTime start = startDate != null ? startDate : LocalDateTime.now().minusMonths(1);
     LocalDateTime end = endDate != null ? endDate : LocalDateTime.now();
-    Pageable pageable =
-        PageRequest.of(page - 1, pageSize, Sort.by(Sort.Direction.DESC, "createdAt"));
+
+    if (cursor != null) {
+      return BaseBodyResponse.cursorSuccess(
+          stockManagementService.scrollStockHistory(
+              productId, variantId, start, end, cursor, pageSize),
+          messageSourceService.getMessage(MessageKeyConstant.COMMON_MESSAGE_SUCCESS));
+    }
+    Pageable pageable = PageRequest.of(page - 1, pageSize);
 
     return BaseBodyResponse.pageSuccess(
         stockManagementService.getStockHistory(productId, variantId, start, end, pageable),
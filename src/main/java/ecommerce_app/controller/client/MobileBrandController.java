@@ -4,12 +4,15 @@ import ecommerce_app.constant.message.MessageKeyConstant;
 import ecommerce_app.dto.response.BaseBodyResponse;
 import ecommerce_app.dto.response.SimpleBrandResponse;
 import ecommerce_app.service.MobileBrandService;
+import ecommerce_app.service.impl.ResourceVersionService;
+import ecommerce_app.util.ConditionalGetUtils;
 import ecommerce_app.util.MessageSourceService;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
 @RestController
 @RequestMapping("/api/client/v1/brands")
@@ -21,12 +24,19 @@ public class MobileBrandController {
 
   private final MobileBrandService mobileBrandService;
   private final MessageSourceService messageSourceService;
+  private final ResourceVersionService resourceVersionService;
 
   @GetMapping
-  public ResponseEntity<BaseBodyResponse<List<SimpleBrandResponse>>> getActiveBrands() {
-    return BaseBodyResponse.success(
-        mobileBrandService.getActiveBrands(),
-        messageSourceService.getMessage(MessageKeyConstant.COMMON_MESSAGE_SUCCESS));
+  public ResponseEntity<BaseBodyResponse<List<SimpleBrandResponse>>> getActiveBrands(
+      ServletWebRequest request) {
+    return ConditionalGetUtils.conditional(
+        request,
+        resourceVersionService.brands(),
+        ConditionalGetUtils.REFERENCE_DATA,
+        () ->
+            BaseBodyResponse.success(
+                mobileBrandService.getActiveBrands(),
+                messageSourceService.getMessage(MessageKeyConstant.COMMON_MESSAGE_SUCCESS)));
   }
 
   /** GET Search and browse all active brands with pagination. */
@@ -2,7 +2,9 @@ package ecommerce_app.controller.client;
 
 import ecommerce_app.dto.response.BaseBodyResponse;
 import ecommerce_app.dto.response.MobileHomeScreenResponse;
+import ecommerce_app.service.impl.HomeScreenCache;
 import ecommerce_app.service.impl.MobileHomeService;
+import ecommerce_app.util.ConditionalGetUtils;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -10,6 +12,7 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
 
 @RestController
 @RequestMapping("/api/client/v1/home")
@@ -24,6 +27,8 @@ public class MobileHomeController {
    *
    * <p>Returns: - Featured promotions (banners/carousel) - Featured products - New arrivals -
    * Popular products - Categories (optional)
+   *
+   * <p>Carries an ETag of the cached snapshot; an unchanged home screen is answered with 304.
    */
   @GetMapping
   public ResponseEntity<BaseBodyResponse<MobileHomeScreenResponse>> getHomeScreenData(
@@ -32,16 +37,23 @@ public class MobileHomeController {
       @RequestParam(defaultValue = "5") int featuredPromotionsSize,
       @RequestParam(defaultValue = "10") int featuredProductsSize,
       @RequestParam(defaultValue = "10") int newArrivalsSize,
-      @RequestParam(defaultValue = "10") int popularProductsSize) {
+      @RequestParam(defaultValue = "10") int popularProductsSize,
+      ServletWebRequest request) {
 
-    return BaseBodyResponse.success(
+    HomeScreenCache.Entry homeScreen =
         homeService.getHomeScreenData(
             bannersSize,
             middleSectionSize,
             featuredPromotionsSize,
             featuredProductsSize,
             newArrivalsSize,
-            popularProductsSize),
-        "Get home screen data successfully");
+            popularProductsSize);
+    return ConditionalGetUtils.conditional(
+        request,
+        homeScreen.etag(),
+        ConditionalGetUtils.CATALOG,
+        () ->
+            BaseBodyResponse.success(
+                homeScreen.response(), "Get home screen data successfully"));
   }
 }
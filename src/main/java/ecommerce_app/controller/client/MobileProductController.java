@@ -6,6 +6,8 @@ import ecommerce_app.dto.response.BaseBodyResponse;
 import ecommerce_app.dto.response.MobileProductListResponse;
 import ecommerce_app.dto.response.MobileProductResponse;
 import ecommerce_app.service.MobileProductService;
+import ecommerce_app.service.impl.ResourceVersionService;
+import ecommerce_app.util.ConditionalGetUtils;
 import ecommerce_app.util.MessageSourceService;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import java.util.List;
@@ -17,6 +19,7 @@ import org.springframework.data.domain.Sort;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
 /**
  * Mobile Product Controller
@@ -31,6 +34,7 @@ import org.springframework.web.bind.annotation.*;
 public class MobileProductController {
 
   private final MobileProductService mobileProductService;
+  private final ResourceVersionService resourceVersionService;
   private final MessageSourceService messageSourceService;
 
   /**
@@ -68,10 +72,24 @@ public class MobileProductController {
    */
   @GetMapping("/{id}")
   public ResponseEntity<BaseBodyResponse<MobileProductResponse>> getProductById(
-      @PathVariable Long id, @AuthenticationPrincipal CustomUserDetails user) {
+      @PathVariable Long id,
+      @AuthenticationPrincipal CustomUserDetails user,
+      ServletWebRequest request) {
     Long userId = user != null ? user.getId() : null;
-    return BaseBodyResponse.success(
-        mobileProductService.getProductById(id, userId), "Get product by ID successfully");
+    ResponseEntity<BaseBodyResponse<MobileProductResponse>> response =
+        ConditionalGetUtils.conditional(
+            request,
+            resourceVersionService.productDetail(id),
+            ConditionalGetUtils.CATALOG,
+            () ->
+                BaseBodyResponse.success(
+                    mobileProductService.getProductById(id, userId),
+                    "Get product by ID successfully"));
+    if (response == null) {
+      // Not modified — the view still counts
+      mobileProductService.recordProductView(userId, id);
+    }
+    return response;
   }
 
   /**
@@ -140,32 +158,45 @@ public class MobileProductController {
   }
 
   /**
-   * Search products GET /api/mobile/v1/products/search?q=laptop&page=0&pageSize=20
+   * Search products GET /api/mobile/v1/products/search?query=laptop&categoryId=3&inStock=true
    *
-   * <p>Main search functionality
+   * <p>Main search functionality. Results are ordered by relevance.
    */
   @GetMapping("/search")
   public ResponseEntity<BaseBodyResponse<List<MobileProductListResponse>>> searchProducts(
       @RequestParam(value = "query") String query,
+      @RequestParam(value = "categoryId", required = false) Long categoryId,
+      @RequestParam(value = "brandId", required = false) Long brandId,
+      @RequestParam(value = "inStock", required = false) Boolean inStock,
       @RequestParam(value = "page", defaultValue = "1") int page,
       @RequestParam(value = "pageSize", defaultValue = "20") int pageSize) {
 
-    Pageable pageable =
-        PageRequest.of(page - 1, pageSize, Sort.by(Sort.Direction.DESC, "createdAt"));
+    Pageable pageable = PageRequest.of(page - 1, pageSize);
     return BaseBodyResponse.pageSuccess(
-        mobileProductService.searchProducts(query, pageable), "Search products successfully");
+        mobileProductService.searchProducts(query, categoryId, brandId, inStock, pageable),
+        "Search products successfully");
   }
 
   /**
    * Get new arrivals GET /api/mobile/v1/products/new?size=10
    *
    * <p>Shows recently added products
+   *
+   * <p>Passing {@code cursor} switches to cursor mode for infinite scroll: send it empty for the
+   * first slice, then the {@code meta.nextCursor} of the previous response. {@code page} is ignored
+   * and {@code meta} carries no totals.
    */
   @GetMapping("/new")
   public ResponseEntity<BaseBodyResponse<List<MobileProductListResponse>>> getNewArrivals(
       @RequestParam(value = "page", defaultValue = "1") int page,
-      @RequestParam(value = "pageSize", defaultValue = "20") int pageSize) {
-
+      @RequestParam(value = "pageSize", defaultValue = "20") int pageSize,
+      @RequestParam(value = "cursor", required = false) String cursor) {
+
+    if (cursor != null) {
+      return BaseBodyResponse.cursorSuccess(
+          mobileProductService.scrollNewArrivals(cursor, pageSize),
+          "Get new arrivals successfully");
+    }
     return BaseBodyResponse.pageSuccess(
         mobileProductService.getNewArrivals(page, pageSize), "Get new arrivals successfully");
   }
@@ -173,13 +204,19 @@ public class MobileProductController {
   /**
    * Get popular products GET /api/mobile/v1/products/popular?size=10
    *
-   * <p>Shows most-liked products
+   * <p>Shows most-liked products. Supports cursor mode like {@link #getNewArrivals}.
    */
   @GetMapping("/popular")
   public ResponseEntity<BaseBodyResponse<List<MobileProductListResponse>>> getPopularProducts(
       @RequestParam(value = "page", defaultValue = "1") int page,
-      @RequestParam(value = "pageSize", defaultValue = "20") int pageSize) {
-
+      @RequestParam(value = "pageSize", defaultValue = "20") int pageSize,
+      @RequestParam(value = "cursor", required = false) String cursor) {
+
+    if (cursor != null) {
+      return BaseBodyResponse.cursorSuccess(
+          mobileProductService.scrollPopularProducts(cursor, pageSize),
+          "Get popular products successfully");
+    }
     return BaseBodyResponse.pageSuccess(
         mobileProductService.getPopularProducts(page, pageSize),
         "Get popular products successfully");
@@ -240,6 +277,7 @@ public class MobileProductController {
    * @param page page number for pagination, default 0
    * @param size number of products per page, default 10
    * @param excludeIds list of product IDs to exclude (already viewed/seen by user)
+   * @param cursor switches to cursor mode like {@link #getNewArrivals}; {@code page} is ignored
    * @return paginated list of recommended products personalized for the user
    */
   @GetMapping("/recommended")
@@ -247,8 +285,15 @@ public class MobileProductController {
       @AuthenticationPrincipal CustomUserDetails userDetails,
       @RequestParam(defaultValue = "1") int page,
       @RequestParam(defaultValue = "20") int size,
-      @RequestParam(required = false) List<Long> excludeIds) {
-
+      @RequestParam(required = false) List<Long> excludeIds,
+      @RequestParam(required = false) String cursor) {
+
+    if (cursor != null) {
+      return BaseBodyResponse.cursorSuccess(
+          mobileProductService.scrollRecommendedProducts(
+              userDetails.getId(), excludeIds, cursor, size),
+          "Get recommended products successfully");
+    }
     return BaseBodyResponse.pageSuccess(
         mobileProductService.getRecommendedProducts(userDetails.getId(), excludeIds, page, size),
         "Get recommended products successfully");
@@ -258,8 +303,9 @@ public class MobileProductController {
    * Retrieves a list of product name suggestions based on the given search query.
    *
    * <p>This endpoint is intended for use in search autocomplete/typeahead UI components. Returns up
-   * to 8 matching product names that contain the query string (case-insensitive). Query must be at
-   * least 2 characters to return results.
+   * to 8 product names with a word starting with the query (case-insensitive), most popular first.
+   * Query must be at least 2 characters to return results. Served from memory, without a database
+   * round trip.
    *
    * @param q the search query string (minimum 2 characters recommended)
    * @return a {@link ResponseEntity} containing a list of matching product name suggestions
@@ -273,15 +319,21 @@ public class MobileProductController {
 
   /**
    * GET /api/mobile/products/brand/:brandId?search=shoes&page=1&size=10 Returns paginated products
-   * filtered by brand with optional search.
+   * filtered by brand with optional search. Supports cursor mode like {@link #getNewArrivals}.
    */
   @GetMapping("/brand/{brandId}")
   public ResponseEntity<BaseBodyResponse<List<MobileProductListResponse>>> getProductsByBrand(
       @PathVariable Long brandId,
       @RequestParam(value = "search", required = false) String search,
       @RequestParam(value = "page", defaultValue = "1") int page,
-      @RequestParam(value = "pageSize", defaultValue = "20") int pageSize) {
-
+      @RequestParam(value = "pageSize", defaultValue = "20") int pageSize,
+      @RequestParam(value = "cursor", required = false) String cursor) {
+
+    if (cursor != null) {
+      return BaseBodyResponse.cursorSuccess(
+          mobileProductService.scrollProductsByBrand(brandId, search, cursor, pageSize),
+          messageSourceService.getMessage(MessageKeyConstant.COMMON_MESSAGE_SUCCESS));
+    }
     return BaseBodyResponse.pageSuccess(
         mobileProductService.getProductsByBrand(brandId, search, page, pageSize),
         messageSourceService.getMessage(MessageKeyConstant.COMMON_MESSAGE_SUCCESS));
@@ -50,11 +50,18 @@ public class OrderController {
         messageSourceService.getMessage(MessageKeyConstant.ORDER_MESSAGE_PLACE_SUCCESS));
   }
 
+  /** Pass {@code cursor} (empty for the first slice) for cursor mode — no totals, no OFFSET. */
   @GetMapping
   public ResponseEntity<BaseBodyResponse<List<OrderResponse>>> getOrders(
       @RequestParam(value = "page", defaultValue = "1") int page,
       @RequestParam(value = "pageSize", defaultValue = "10") int pageSize,
+      @RequestParam(value = "cursor", required = false) String cursor,
       @AuthenticationPrincipal CustomUserDetails userDetails) {
+    if (cursor != null) {
+      return BaseBodyResponse.cursorSuccess(
+          orderService.scrollOrders(userDetails.getId(), cursor, pageSize),
+          messageSourceService.getMessage(MessageKeyConstant.COMMON_MESSAGE_SUCCESS));
+    }
     return BaseBodyResponse.pageSuccess(
         orderService.getOrders(userDetails.getId(), page, pageSize),
         messageSourceService.getMessage(MessageKeyConstant.COMMON_MESSAGE_SUCCESS));
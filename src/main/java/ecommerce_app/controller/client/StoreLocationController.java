@@ -3,7 +3,9 @@ package ecommerce_app.controller.client;
 import ecommerce_app.constant.message.MessageKeyConstant;
 import ecommerce_app.dto.response.BaseBodyResponse;
 import ecommerce_app.dto.response.StoreLocation;
+import ecommerce_app.service.impl.ResourceVersionService;
 import ecommerce_app.service.impl.StoreLocationService;
+import ecommerce_app.util.ConditionalGetUtils;
 import ecommerce_app.util.MessageSourceService;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
@@ -11,6 +13,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
 
 @RestController
 @RequiredArgsConstructor
@@ -19,12 +22,19 @@ import org.springframework.web.bind.annotation.RestController;
 public class StoreLocationController {
   private final StoreLocationService storeLocationService;
   private final MessageSourceService messageSourceService;
+  private final ResourceVersionService resourceVersionService;
 
   // ================= GET STORE LOCATION =================
   @GetMapping
-  public ResponseEntity<BaseBodyResponse<StoreLocation>> getStoreLocation() {
-    return BaseBodyResponse.success(
-        storeLocationService.getStoreLocation(),
-        messageSourceService.getMessage(MessageKeyConstant.COMMON_MESSAGE_SUCCESS));
+  public ResponseEntity<BaseBodyResponse<StoreLocation>> getStoreLocation(
+      ServletWebRequest request) {
+    return ConditionalGetUtils.conditional(
+        request,
+        resourceVersionService.storeLocation(),
+        ConditionalGetUtils.REFERENCE_DATA,
+        () ->
+            BaseBodyResponse.success(
+                storeLocationService.getStoreLocation(),
+                messageSourceService.getMessage(MessageKeyConstant.COMMON_MESSAGE_SUCCESS)));
   }
 }
@@ -0,0 +1,79 @@
+package ecommerce_app.core;
+
+import java.time.Duration;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Consecutive-failure circuit breaker for calls to an external service.
+ *
+ * <p>After {@code failureThreshold} failures in a row the circuit opens and calls are refused
+ * without touching the network. Once {@code openDuration} has passed a single probe is let
+ * through (half-open): success closes the circuit, failure opens it for another period. Callers
+ * report every permitted call through {@link #onSuccess()} or {@link #onFailure()}.
+ */
+@Slf4j
+public class CircuitBreaker {
+
+  public enum State {
+    CLOSED,
+    OPEN,
+    HALF_OPEN
+  }
+
+  private final String name;
+  private final int failureThreshold;
+  private final long openNanos;
+
+  private State state = State.CLOSED;
+  private int consecutiveFailures;
+  private long openedAt;
+  private boolean probeInFlight;
+
+  public CircuitBreaker(String name, int failureThreshold, Duration openDuration) {
+    this.name = name;
+    this.failureThreshold = failureThreshold;
+    this.openNanos = openDuration.toNanos();
+  }
+
+  /** Whether a call may proceed now. A {@code true} must be followed by a success or failure. */
+  public synchronized boolean tryAcquire() {
+    return switch (state) {
+      case CLOSED -> true;
+      case OPEN -> {
+        if (System.nanoTime() - openedAt < openNanos) yield false;
+        state = State.HALF_OPEN;
+        probeInFlight = true;
+        log.info("Circuit {} half-open, probing", name);
+        yield true;
+      }
+      case HALF_OPEN -> {
+        if (probeInFlight) yield false;
+        probeInFlight = true;
+        yield true;
+      }
+    };
+  }
+
+  public synchronized void onSuccess() {
+    if (state != State.CLOSED) {
+      log.info("Circuit {} closed", name);
+    }
+    state = State.CLOSED;
+    consecutiveFailures = 0;
+    probeInFlight = false;
+  }
+
+  public synchronized void onFailure() {
+    probeInFlight = false;
+    if (state == State.HALF_OPEN || ++consecutiveFailures >= failureThreshold) {
+      log.warn("Circuit {} opened for {} ms", name, Duration.ofNanos(openNanos).toMillis());
+      state = State.OPEN;
+      openedAt = System.nanoTime();
+      consecutiveFailures = 0;
+    }
+  }
+
+  public synchronized State getState() {
+    return state;
+  }
+}
@@ -4,6 +4,8 @@ import org.springframework.web.multipart.MultipartFile;
 
 public interface FileManagerService {
     String saveFile(MultipartFile file, String uploadDir);
+    String saveImage(MultipartFile file, String uploadDir);
     void deleteFile(String uploadDir, String fileName);
+    void deleteImage(String uploadDir, String fileName);
     String getResourceUrl(String uploadDir, String fileName);
 }
@@ -0,0 +1,7 @@
+package ecommerce_app.core.io.service;
+
+public interface ImageDerivativeService {
+    void generate(String uploadDir, String fileName);
+    String resolve(String uploadDir, String fileName, ImageSize size);
+    void delete(String uploadDir, String fileName);
+}
@@ -0,0 +1,18 @@
+package ecommerce_app.core.io.service;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/** Derivative sizes generated for uploaded images, by maximum width in pixels. */
+@Getter
+@RequiredArgsConstructor
+public enum ImageSize {
+  /** Order lines, dashboards, small lists. */
+  THUMB(240),
+  /** Product cards in listing grids. */
+  CARD(480),
+  /** Product gallery and banners, full phone width. */
+  DETAIL(1080);
+
+  private final int maxWidth;
+}
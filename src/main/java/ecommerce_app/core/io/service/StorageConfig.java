@@ -7,4 +7,6 @@ public interface StorageConfig {
     String getCommonFilePath();
     String getBannerPath();
     String getLogoPath();
+    /** Files that must never be served from {@code /storage/**}, only through an endpoint. */
+    String getImportErrorPath();
 }
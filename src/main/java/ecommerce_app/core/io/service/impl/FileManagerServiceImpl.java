@@ -2,12 +2,19 @@ package ecommerce_app.core.io.service.impl;
 
 import ecommerce_app.exception.BadRequestException;
 import ecommerce_app.core.io.service.FileManagerService;
+import ecommerce_app.core.io.service.ImageDerivativeService;
 import ecommerce_app.property.AppProperty;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
 
 import ecommerce_app.util.MessageSourceService;
 import lombok.RequiredArgsConstructor;
@@ -25,6 +32,7 @@ import org.springframework.web.multipart.MultipartFile;
 public class FileManagerServiceImpl implements FileManagerService {
   private final AppProperty appProperty;
   private final MessageSourceService messageSourceService;
+  private final ImageDerivativeService imageDerivativeService;
 
   /**
    * Saves the provided multipart file to the specified upload directory.
@@ -67,6 +75,63 @@ public class FileManagerServiceImpl implements FileManagerService {
     }
   }
 
+  /**
+   * Saves an uploaded image under a name derived from its content, then generates its sized
+   * derivatives in the background.
+   *
+   * <p>A content-named file never changes, so it and its derivatives can be served with immutable
+   * cache headers. Uploading the same bytes twice yields the same file.
+   *
+   * @param file the uploaded image
+   * @param uploadDir the target directory where the image should be stored
+   * @return the content-derived filename, e.g. {@code 3f2a…9c.jpg}
+   * @throws IllegalArgumentException if the file is empty or has no valid filename
+   * @throws BadRequestException if the file cannot be saved due to an I / O error
+   */
+  @Override
+  public String saveImage(MultipartFile file, String uploadDir) {
+    if (file.isEmpty()) {
+      throw new IllegalArgumentException(messageSourceService.getMessage("error.file.empty"));
+    }
+    String originalFilename = file.getOriginalFilename();
+    if (originalFilename == null || originalFilename.isBlank()) {
+      throw new IllegalArgumentException(
+          messageSourceService.getMessage("error.file.name.missing"));
+    }
+
+    Path tempFile = null;
+    try {
+      Path uploadPath = Paths.get(uploadDir);
+      if (Files.notExists(uploadPath)) {
+        Files.createDirectories(uploadPath);
+      }
+
+      // Hash while copying, then move into place under the hash
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      tempFile = Files.createTempFile(uploadPath, "upload-", ".tmp");
+      try (InputStream in = new DigestInputStream(file.getInputStream(), digest)) {
+        Files.copy(in, tempFile, StandardCopyOption.REPLACE_EXISTING);
+      }
+      String fileName =
+          HexFormat.of().formatHex(digest.digest(), 0, 16) + getFileExtension(originalFilename);
+
+      Path filePath = uploadPath.resolve(fileName);
+      if (Files.notExists(filePath)) {
+        Files.move(tempFile, filePath, StandardCopyOption.ATOMIC_MOVE);
+        log.info("Image saved: {}", filePath);
+      }
+
+      imageDerivativeService.generate(uploadDir, fileName);
+      return fileName;
+
+    } catch (IOException | NoSuchAlgorithmException e) {
+      log.error("Error saving image", e);
+      throw new BadRequestException(messageSourceService.getMessage("error.file.save.failed"));
+    } finally {
+      deleteQuietly(tempFile);
+    }
+  }
+
   /**
    * Deletes the specified file from the given directory if it exists.
    *
@@ -102,6 +167,20 @@ public class FileManagerServiceImpl implements FileManagerService {
     }
   }
 
+  /**
+   * Deletes an image saved by {@link #saveImage} together with its derivatives.
+   *
+   * @param uploadDir the directory containing the image
+   * @param fileName the name of the image to delete
+   */
+  @Override
+  public void deleteImage(String uploadDir, String fileName) {
+    deleteFile(uploadDir, fileName);
+    if (fileName != null && !fileName.isBlank()) {
+      imageDerivativeService.delete(uploadDir, fileName);
+    }
+  }
+
   /**
    * Constructs the absolute file path by resolving the given file name within the specified upload
    * directory.
@@ -126,6 +205,18 @@ public class FileManagerServiceImpl implements FileManagerService {
    */
   private String getFileExtension(String fileName) {
     int dotIndex = fileName.lastIndexOf(".");
-    return (dotIndex != -1) ? fileName.substring(dotIndex) : "";
+    String extension =
+        (dotIndex != -1) ? fileName.substring(dotIndex).toLowerCase(Locale.ROOT) : "";
+    // Client-supplied — keep only plain extensions out of stored names
+    return extension.matches("\\.[a-z0-9]{1,5}") ? extension : "";
+  }
+
+  private void deleteQuietly(Path path) {
+    if (path == null) return;
+    try {
+      Files.deleteIfExists(path);
+    } catch (IOException e) {
+      log.warn("Failed to delete temporary file {}", path, e);
+    }
   }
 }
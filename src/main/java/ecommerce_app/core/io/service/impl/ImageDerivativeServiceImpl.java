@@ -0,0 +1,195 @@
+package ecommerce_app.core.io.service.impl;
+
+import ecommerce_app.core.io.service.ImageDerivativeService;
+import ecommerce_app.core.io.service.ImageSize;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+/**
+ * Generates resized copies of uploaded images next to the original, one per {@link ImageSize}.
+ *
+ * <p>Derivatives are named after the original ({@code <name>_card.webp}), so an original that is
+ * never overwritten gives derivatives that never change either, and they can be cached forever.
+ * WebP is written when an ImageIO WebP plugin is on the classpath; otherwise JPEG, or PNG for
+ * images with transparency.
+ *
+ * <p>Generation runs on the CPU pool. Until a derivative exists {@link #resolve} returns the
+ * original and schedules the generation, which also backfills images uploaded before derivatives
+ * existed.
+ */
+@Slf4j
+@Service
+public class ImageDerivativeServiceImpl implements ImageDerivativeService {
+
+  // Resolve order — the first format found wins
+  private static final List<String> FORMATS = List.of("webp", "jpg", "png");
+  private static final boolean WEBP_SUPPORTED =
+      ImageIO.getImageWritersByFormatName("webp").hasNext();
+  private static final float QUALITY = 0.82f;
+
+  private final Set<String> pending = ConcurrentHashMap.newKeySet();
+  // Originals ImageIO cannot read (SVG, missing files) — not retried until restart
+  private final Set<String> unsupported = ConcurrentHashMap.newKeySet();
+  private final Executor executor;
+
+  public ImageDerivativeServiceImpl(@Qualifier("cpuTaskExecutor") Executor executor) {
+    this.executor = executor;
+  }
+
+  @Override
+  public void generate(String uploadDir, String fileName) {
+    String key = uploadDir + "/" + fileName;
+    if (unsupported.contains(key) || !pending.add(key)) return;
+
+    try {
+      executor.execute(
+          () -> {
+            try {
+              writeDerivatives(Paths.get(uploadDir), fileName, key);
+            } catch (Exception e) {
+              log.warn("Failed to generate derivatives of {}", key, e);
+            } finally {
+              pending.remove(key);
+            }
+          });
+    } catch (RejectedExecutionException e) {
+      // Pool is saturated — the next resolve schedules it again
+      pending.remove(key);
+    }
+  }
+
+  @Override
+  public String resolve(String uploadDir, String fileName, ImageSize size) {
+    Path dir = Paths.get(uploadDir);
+    for (String format : FORMATS) {
+      String derivative = derivativeName(fileName, size, format);
+      if (Files.exists(dir.resolve(derivative))) {
+        return derivative;
+      }
+    }
+    generate(uploadDir, fileName);
+    return fileName;
+  }
+
+  @Override
+  public void delete(String uploadDir, String fileName) {
+    Path dir = Paths.get(uploadDir);
+    for (ImageSize size : ImageSize.values()) {
+      for (String format : FORMATS) {
+        try {
+          Files.deleteIfExists(dir.resolve(derivativeName(fileName, size, format)));
+        } catch (IOException e) {
+          log.warn("Failed to delete derivative of {}/{}", uploadDir, fileName, e);
+        }
+      }
+    }
+  }
+
+  // ── Generation ────────────────────────────────────────────────────────────
+
+  private void writeDerivatives(Path dir, String fileName, String key) throws IOException {
+    BufferedImage original;
+    try {
+      original = ImageIO.read(dir.resolve(fileName).toFile());
+    } catch (IOException e) {
+      original = null;
+    }
+    if (original == null) {
+      unsupported.add(key);
+      return;
+    }
+
+    boolean alpha = original.getColorModel().hasAlpha();
+    String format = WEBP_SUPPORTED ? "webp" : alpha ? "png" : "jpg";
+    for (ImageSize size : ImageSize.values()) {
+      write(resize(original, size.getMaxWidth(), alpha), format, dir, fileName, size);
+    }
+    log.info("Generated derivatives of {}", key);
+  }
+
+  /** Downscale in halving steps — a single bicubic pass over a large ratio aliases badly. */
+  private static BufferedImage resize(BufferedImage source, int maxWidth, boolean alpha) {
+    int targetWidth = Math.min(maxWidth, source.getWidth());
+    BufferedImage current = source;
+    int width = source.getWidth();
+    do {
+      width = Math.max(targetWidth, width / 2);
+      int height =
+          Math.max(1, (int) Math.round((double) source.getHeight() * width / source.getWidth()));
+      current = draw(current, width, height, alpha);
+    } while (width > targetWidth);
+    return current;
+  }
+
+  private static BufferedImage draw(BufferedImage source, int width, int height, boolean alpha) {
+    int type = alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+    BufferedImage target = new BufferedImage(width, height, type);
+    Graphics2D graphics = target.createGraphics();
+    try {
+      graphics.setRenderingHint(
+          RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+      graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+      graphics.drawImage(source, 0, 0, width, height, null);
+    } finally {
+      graphics.dispose();
+    }
+    return target;
+  }
+
+  private static void write(
+      BufferedImage image, String format, Path dir, String fileName, ImageSize size)
+      throws IOException {
+    ImageWriter writer = ImageIO.getImageWritersByFormatName(format).next();
+    ImageWriteParam param = writer.getDefaultWriteParam();
+    if (param.canWriteCompressed()) {
+      param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+      if (param.getCompressionTypes() != null) {
+        param.setCompressionType(param.getCompressionTypes()[0]);
+      }
+      param.setCompressionQuality(QUALITY);
+    }
+
+    // Write aside and move into place, so a half-written file is never served
+    Path temp = Files.createTempFile(dir, "derivative-", ".tmp");
+    try {
+      try (ImageOutputStream out = ImageIO.createImageOutputStream(temp.toFile())) {
+        writer.setOutput(out);
+        writer.write(null, new IIOImage(image, null, null), param);
+      } finally {
+        writer.dispose();
+      }
+      Files.move(
+          temp,
+          dir.resolve(derivativeName(fileName, size, format)),
+          StandardCopyOption.ATOMIC_MOVE);
+    } finally {
+      Files.deleteIfExists(temp);
+    }
+  }
+
+  private static String derivativeName(String fileName, ImageSize size, String format) {
+    int dotIndex = fileName.lastIndexOf(".");
+    String baseName = dotIndex != -1 ? fileName.substring(0, dotIndex) : fileName;
+    return "%s_%s.%s".formatted(baseName, size.name().toLowerCase(Locale.ROOT), format);
+  }
+}
@@ -1,6 +1,8 @@
 package ecommerce_app.core.io.service.impl;
 
 import ecommerce_app.core.io.service.FileManagerService;
+import ecommerce_app.core.io.service.ImageDerivativeService;
+import ecommerce_app.core.io.service.ImageSize;
 import ecommerce_app.core.io.service.StaticResourceService;
 import ecommerce_app.core.io.service.StorageConfig;
 import ecommerce_app.property.StorageConfigProperty;
@@ -13,6 +15,7 @@ public class StaticResourceServiceImpl implements StaticResourceService {
   private final FileManagerService fileManagerService;
   private final StorageConfigProperty storageConfigProperty;
   private final StorageConfig storageConfig;
+  private final ImageDerivativeService imageDerivativeService;
 
   @Override
   public String getUserAvatarUrl(final String fileName) {
@@ -30,6 +33,16 @@ public class StaticResourceServiceImpl implements StaticResourceService {
     return fileManagerService.getResourceUrl(storageConfig.getProductPath(), fileName);
   }
 
+  @Override
+  public String getProductImageUrl(final String fileName, final ImageSize size) {
+    if (fileName == null || fileName.isEmpty()) {
+      return null;
+    }
+    String productPath = storageConfig.getProductPath();
+    return fileManagerService.getResourceUrl(
+        productPath, imageDerivativeService.resolve(productPath, fileName, size));
+  }
+
   @Override
   public String getBannerImageUrl(String fileName) {
     if (fileName == null || fileName.isEmpty()) {
@@ -38,6 +51,16 @@ public class StaticResourceServiceImpl implements StaticResourceService {
     return fileManagerService.getResourceUrl(storageConfig.getBannerPath(), fileName);
   }
 
+  @Override
+  public String getBannerImageUrl(String fileName, ImageSize size) {
+    if (fileName == null || fileName.isEmpty()) {
+      return null;
+    }
+    String bannerPath = storageConfig.getBannerPath();
+    return fileManagerService.getResourceUrl(
+        bannerPath, imageDerivativeService.resolve(bannerPath, fileName, size));
+  }
+
   @Override
   public String getCommonFileUrl(String fileName) {
     if (fileName == null || fileName.isEmpty()) {
@@ -39,4 +39,9 @@ public class StorageConfigImpl implements StorageConfig {
   public String getLogoPath() {
     return "%s/logo".formatted(getBasePath());
   }
+
+  @Override
+  public String getImportErrorPath() {
+    return "%s/imports".formatted(storageConfigProperty.getPrivateFiles());
+  }
 }
@@ -66,6 +66,15 @@ public class CouponRequest {
   @Schema(description = "Whether the coupon is active", example = "true", defaultValue = "true")
   private Boolean isActive = true;
 
+  @Builder.Default
+  @Schema(
+      description =
+          "Hand out the usage limit from a pre-created token pool (for limited drops). "
+              + "Requires a usage limit and can only change before the coupon is used",
+      example = "false",
+      defaultValue = "false")
+  private Boolean tokenPool = false;
+
   @Future(message = "Start date must be in the future")
   @Schema(description = "Coupon start date and time", example = "2026-06-01T00:00:00")
   private LocalDateTime startDate;
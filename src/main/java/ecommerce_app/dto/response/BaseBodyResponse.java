@@ -133,6 +133,22 @@ public class BaseBodyResponse<T> implements Serializable {
     return ResponseEntity.ok(response);
   }
 
+  /**
+   * Creates a successful cursor-paginated response.
+   *
+   * @param page the slice of a keyset-paginated feed
+   * @param message optional success message
+   * @param <T> the type of elements in the slice
+   * @return {@link ResponseEntity} wrapping {@link BaseBodyResponse}
+   */
+  public static <T> ResponseEntity<BaseBodyResponse<List<T>>> cursorSuccess(
+          CursorPage<T> page, String message) {
+    BaseBodyResponse<List<T>> response = buildSuccess(message);
+    response.setData(page.getContent());
+    response.setMeta(new PageResponse(page));
+    return ResponseEntity.ok(response);
+  }
+
   /* =========================
    * Failure Responses
    * ========================= */
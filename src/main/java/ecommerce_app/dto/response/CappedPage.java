@@ -0,0 +1,29 @@
+package ecommerce_app.dto.response;
+
+import java.util.List;
+import lombok.Getter;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * A {@code Page} whose total was counted only up to a cap. When {@link #isTotalCapped()} is true,
+ * {@code getTotalElements()} and {@code getTotalPages()} are lower bounds, not exact figures.
+ *
+ * @param <T> the type of elements in the page
+ */
+@Getter
+public class CappedPage<T> extends PageImpl<T> {
+
+  private final boolean totalCapped;
+
+  public CappedPage(List<T> content, Pageable pageable, long total, boolean totalCapped) {
+    super(content, pageable, total);
+    this.totalCapped = totalCapped;
+  }
+
+  public static <T> CappedPage<T> of(Page<T> page, boolean totalCapped) {
+    return new CappedPage<>(
+        page.getContent(), page.getPageable(), page.getTotalElements(), totalCapped);
+  }
+}
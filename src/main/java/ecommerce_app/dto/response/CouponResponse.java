@@ -44,6 +44,9 @@ public class CouponResponse {
   @Schema(description = "Total number of times this coupon has been used so far", example = "45")
   private Integer usedCount;
 
+  @Schema(description = "Whether the usage limit is handed out from a token pool")
+  private Boolean tokenPool;
+
   @Schema(description = "Whether the coupon is currently active", example = "true")
   private Boolean isActive;
 
@@ -0,0 +1,58 @@
+package ecommerce_app.dto.response;
+
+import ecommerce_app.util.PageCursor;
+import java.util.List;
+import java.util.function.Function;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * One slice of a keyset-paginated feed. Unlike {@code Page} it carries no total count — only the
+ * cursor of the next slice, {@code null} on the last one.
+ *
+ * @param <T> the type of elements in the slice
+ */
+@Getter
+@AllArgsConstructor
+public class CursorPage<T> {
+
+  private final List<T> content;
+  private final String nextCursor;
+  private final int pageSize;
+
+  public boolean hasNext() {
+    return nextCursor != null;
+  }
+
+  /**
+   * The row limit to fetch a slice of {@code pageSize} with — one extra row to tell whether another
+   * slice follows. A size below 1 is read as 1.
+   */
+  public static Pageable limit(int pageSize) {
+    return PageRequest.of(0, sizeOf(pageSize) + 1);
+  }
+
+  /**
+   * Build a slice from rows fetched with {@link #limit}; the extra row only tells whether another
+   * slice follows and is dropped.
+   */
+  public static <E> CursorPage<E> of(
+      List<E> rows, int requestedSize, Function<? super E, PageCursor> cursorOf) {
+    int pageSize = sizeOf(requestedSize);
+    if (rows.size() <= pageSize) {
+      return new CursorPage<>(rows, null, pageSize);
+    }
+    List<E> content = rows.subList(0, pageSize);
+    return new CursorPage<>(content, cursorOf.apply(content.getLast()).encode(), pageSize);
+  }
+
+  private static int sizeOf(int pageSize) {
+    return Math.max(1, pageSize);
+  }
+
+  public <R> CursorPage<R> map(Function<? super T, ? extends R> mapper) {
+    return new CursorPage<>(content.stream().<R>map(mapper).toList(), nextCursor, pageSize);
+  }
+}
@@ -0,0 +1,48 @@
+package ecommerce_app.dto.response;
+
+import ecommerce_app.constant.enums.ImportJobStatus;
+import ecommerce_app.constant.enums.ImportJobType;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Progress and result of a background Excel import")
+public class ImportJobResponse {
+
+  @Schema(description = "Import job ID, used to poll progress", example = "12")
+  private Long id;
+
+  private ImportJobType type;
+
+  private ImportJobStatus status;
+
+  @Schema(description = "Uploaded file name", example = "supplier-catalog.xlsx")
+  private String fileName;
+
+  @Schema(description = "Number of rows processed so far", example = "48")
+  private int totalCount;
+
+  @Schema(description = "Number of rows successfully imported", example = "45")
+  private int successCount;
+
+  @Schema(description = "Number of rows that failed to import", example = "3")
+  private int errorCount;
+
+  @Schema(description = "Whether a per-row error report can be downloaded")
+  private boolean hasErrorFile;
+
+  private String message;
+
+  private LocalDateTime startedAt;
+
+  private LocalDateTime finishedAt;
+}
@@ -108,6 +108,12 @@ public class MobileProductListResponse {
   @Schema(description = "Quick add to cart availability", example = "true")
   private Boolean quickAddAvailable;
 
+  @Schema(description = "Average review rating", example = "4.5")
+  private Double averageRating;
+
+  @Schema(description = "Number of reviews", example = "32")
+  private Long reviewCount;
+
 
   @Data
   @Builder
@@ -1,5 +1,6 @@
 package ecommerce_app.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -11,6 +12,7 @@ import org.springframework.data.domain.Page;
 @AllArgsConstructor
 @Getter
 @Setter
+@JsonInclude(JsonInclude.Include.NON_NULL)
 @Schema(description = "Pagination metadata response")
 public class PageResponse {
 
@@ -26,10 +28,35 @@ public class PageResponse {
   @Schema(description = "Number of records per page", example = "10")
   private Integer pageSize;
 
+  @Schema(
+      description =
+          "Present and true when the total was counted only up to a cap — totalCount and"
+              + " totalPage are then lower bounds",
+      example = "true")
+  private Boolean totalCapped;
+
+  @Schema(
+      description = "Cursor of the next slice in cursor mode, absent on the last slice",
+      example = "MjAyNi0xMC0xOFQwOToxNTozMHwxMjM")
+  private String nextCursor;
+
+  @Schema(description = "Whether another slice follows (cursor mode only)", example = "true")
+  private Boolean hasNext;
+
   public PageResponse(Page<?> page) {
     this.totalPage = page.getTotalPages();
     this.page = page.getNumber() + 1;
     this.totalCount = page.getTotalElements();
     this.pageSize = page.getSize();
+    if (page instanceof CappedPage<?> capped && capped.isTotalCapped()) {
+      this.totalCapped = true;
+    }
+  }
+
+  /** Cursor mode carries no page number or totals — computing them is what it avoids. */
+  public PageResponse(CursorPage<?> page) {
+    this.pageSize = page.getPageSize();
+    this.nextCursor = page.getNextCursor();
+    this.hasNext = page.hasNext();
   }
 }
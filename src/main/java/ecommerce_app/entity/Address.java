@@ -10,6 +10,7 @@ import jakarta.persistence.Id;
 import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -33,7 +34,8 @@ import lombok.ToString;
 @ToString(exclude = "user") // Exclude relationship
 public class Address {
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "addresses_seq")
+  @SequenceGenerator(name = "addresses_seq", sequenceName = "addresses_seq", allocationSize = 50)
   private Long id;
 
   @Column(name = "street", nullable = false, length = 100)
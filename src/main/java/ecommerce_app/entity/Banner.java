@@ -29,7 +29,8 @@ import java.time.LocalDateTime;
 public class Banner extends TimeAuditableEntity {
 
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "banners_seq")
+  @SequenceGenerator(name = "banners_seq", sequenceName = "banners_seq", allocationSize = 50)
   private Long id;
 
   @Column(nullable = false, length = 200)
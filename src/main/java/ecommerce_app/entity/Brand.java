@@ -24,7 +24,8 @@ import java.util.List;
 public class Brand extends TimeAuditableEntity {
 
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "brands_seq")
+  @SequenceGenerator(name = "brands_seq", sequenceName = "brands_seq", allocationSize = 50)
   private Long id;
 
   @Column(nullable = false, unique = true, length = 100)
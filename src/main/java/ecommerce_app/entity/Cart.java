@@ -17,6 +17,7 @@ import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import java.math.BigDecimal;
 import java.util.ArrayList;
@@ -45,7 +46,8 @@ import org.hibernate.annotations.OnDeleteAction;
 @Builder
 public class Cart extends TimeAuditableEntity {
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "carts_seq")
+  @SequenceGenerator(name = "carts_seq", sequenceName = "carts_seq", allocationSize = 50)
   private Long id;
 
   @Column(name = "status", nullable = false, length = 25)
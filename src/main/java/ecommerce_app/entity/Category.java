@@ -11,6 +11,7 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Index;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import java.util.List;
 import lombok.Getter;
@@ -31,7 +32,8 @@ import org.hibernate.annotations.OnDeleteAction;
 @Entity
 public class Category extends TimeAuditableEntity {
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "categories_seq")
+  @SequenceGenerator(name = "categories_seq", sequenceName = "categories_seq", allocationSize = 50)
   private Long id;
 
   @Column(nullable = false, unique = true, length = 100, name = "name")
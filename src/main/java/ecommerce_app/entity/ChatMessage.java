@@ -20,7 +20,11 @@ import lombok.*;
 public class ChatMessage extends TimeAuditableEntity {
 
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "chat_messages_seq")
+  @SequenceGenerator(
+      name = "chat_messages_seq",
+      sequenceName = "chat_messages_seq",
+      allocationSize = 50)
   private Long id;
 
   @ManyToOne(fetch = FetchType.LAZY)
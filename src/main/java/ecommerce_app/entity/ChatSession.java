@@ -18,7 +18,11 @@ import java.util.List;
 @Getter @Setter @Builder @NoArgsConstructor @AllArgsConstructor
 public class ChatSession extends TimeAuditableEntity {
 
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Id @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "chat_sessions_seq")
+    @SequenceGenerator(
+        name = "chat_sessions_seq",
+        sequenceName = "chat_sessions_seq",
+        allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -5,6 +5,7 @@ import ecommerce_app.constant.enums.CouponDiscountType;
 import ecommerce_app.entity.base.TimeAuditableEntity;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -28,7 +29,8 @@ import java.util.List;
 public class Coupon extends TimeAuditableEntity {
 
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "coupons_seq")
+  @SequenceGenerator(name = "coupons_seq", sequenceName = "coupons_seq", allocationSize = 50)
   private Long id;
 
   @Column(nullable = false, unique = true, length = 50)
@@ -57,10 +59,19 @@ public class Coupon extends TimeAuditableEntity {
   @Builder.Default
   private Integer usagePerUser = 1; // how many times one user can use
 
-  @Column(name = "used_count", nullable = false)
+  // Written only by conditional UPDATEs (CouponRepository) — an entity save must not overwrite
+  // concurrent increments with the value it loaded
+  @Column(name = "used_count", nullable = false, updatable = false)
   @Builder.Default
   private Integer usedCount = 0; // total times used so far
 
+  // true = usageLimit is handed out from pre-created coupon_tokens rows instead of used_count,
+  // so a limited drop does not funnel every redemption through this row
+  @Column(name = "token_pool", nullable = false)
+  @ColumnDefault("false")
+  @Builder.Default
+  private Boolean tokenPool = false;
+
   @Column(name = "is_active", nullable = false)
   @Builder.Default
   private Boolean isActive = true;
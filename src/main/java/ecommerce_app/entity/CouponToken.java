@@ -0,0 +1,58 @@
+package ecommerce_app.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * One redeemable use of a token-pool coupon. A coupon limited to N uses gets N rows; a redemption
+ * claims any free row with {@code FOR UPDATE SKIP LOCKED}, so concurrent checkouts take different
+ * rows instead of queueing on the coupon's {@code used_count}.
+ */
+@Entity
+@Table(
+    name = "coupon_tokens",
+    indexes = {@Index(name = "idx_coupon_token_coupon_user", columnList = "coupon_id, user_id")})
+@IdClass(CouponToken.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+public class CouponToken {
+
+  @Id
+  @Column(name = "coupon_id")
+  private Long couponId;
+
+  @Id
+  @Column(name = "slot")
+  private Integer slot;
+
+  @Column(name = "user_id")
+  private Long userId; // null = free
+
+  @Column(name = "order_id")
+  private Long orderId;
+
+  @Column(name = "claimed_at")
+  private LocalDateTime claimedAt;
+
+  @Getter
+  @Setter
+  @NoArgsConstructor
+  @AllArgsConstructor
+  @EqualsAndHashCode
+  public static class Key implements Serializable {
+    private Long couponId;
+    private Integer slot;
+  }
+}
@@ -24,7 +24,11 @@ import java.time.LocalDateTime;
 public class CouponUsage extends TimeAuditableEntity {
 
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "coupon_usages_seq")
+  @SequenceGenerator(
+      name = "coupon_usages_seq",
+      sequenceName = "coupon_usages_seq",
+      allocationSize = 50)
   private Long id;
 
   @ManyToOne(fetch = FetchType.LAZY)
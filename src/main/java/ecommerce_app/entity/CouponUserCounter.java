@@ -0,0 +1,48 @@
+package ecommerce_app.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import java.io.Serializable;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * How many times a user has redeemed a coupon. The primary key makes it one row per user and
+ * coupon; redemptions bump it with a conditional upsert ({@code used_count < usage_per_user}), so
+ * two concurrent checkouts by the same user cannot both pass the per-user limit.
+ */
+@Entity
+@Table(name = "coupon_user_counters")
+@IdClass(CouponUserCounter.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+public class CouponUserCounter {
+
+  @Id
+  @Column(name = "coupon_id")
+  private Long couponId;
+
+  @Id
+  @Column(name = "user_id")
+  private Long userId;
+
+  @Column(name = "used_count", nullable = false)
+  private Integer usedCount = 0;
+
+  @Getter
+  @Setter
+  @NoArgsConstructor
+  @AllArgsConstructor
+  @EqualsAndHashCode
+  public static class Key implements Serializable {
+    private Long couponId;
+    private Long userId;
+  }
+}
@@ -0,0 +1,46 @@
+package ecommerce_app.entity;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import lombok.*;
+
+/**
+ * Units and revenue per day and product, excluding cancelled and refunded orders. Rebuilt per day
+ * by {@code SalesRollupService}.
+ */
+@Entity
+@Table(
+    name = "daily_product_sales_rollups",
+    indexes = {@Index(name = "idx_product_rollup_product", columnList = "product_id")})
+@IdClass(DailyProductSalesRollup.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+public class DailyProductSalesRollup {
+
+  @Id
+  @Column(name = "sales_date", nullable = false)
+  private LocalDate day;
+
+  @Id
+  @Column(name = "product_id", nullable = false)
+  private Long productId;
+
+  @Column(name = "quantity", nullable = false)
+  private Long quantity;
+
+  @Column(name = "revenue", nullable = false, precision = 14, scale = 2)
+  private BigDecimal revenue;
+
+  @Getter
+  @Setter
+  @NoArgsConstructor
+  @AllArgsConstructor
+  @EqualsAndHashCode
+  public static class Key implements Serializable {
+    private LocalDate day;
+    private Long productId;
+  }
+}
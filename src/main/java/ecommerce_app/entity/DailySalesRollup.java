@@ -0,0 +1,46 @@
+package ecommerce_app.entity;
+
+import ecommerce_app.constant.enums.OrderStatus;
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import lombok.*;
+
+/**
+ * Orders and revenue per day and current order status. Rebuilt per day by {@code
+ * SalesRollupService}; the dashboard reads this instead of scanning orders.
+ */
+@Entity
+@Table(name = "daily_sales_rollups")
+@IdClass(DailySalesRollup.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+public class DailySalesRollup {
+
+  @Id
+  @Column(name = "sales_date", nullable = false)
+  private LocalDate day;
+
+  @Id
+  @Enumerated(EnumType.STRING)
+  @Column(name = "order_status", nullable = false, length = 30)
+  private OrderStatus orderStatus;
+
+  @Column(name = "order_count", nullable = false)
+  private Long orderCount;
+
+  @Column(name = "revenue", nullable = false, precision = 14, scale = 2)
+  private BigDecimal revenue;
+
+  @Getter
+  @Setter
+  @NoArgsConstructor
+  @AllArgsConstructor
+  @EqualsAndHashCode
+  public static class Key implements Serializable {
+    private LocalDate day;
+    private OrderStatus orderStatus;
+  }
+}
@@ -6,6 +6,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.Getter;
 import lombok.Setter;
@@ -16,7 +17,8 @@ import lombok.Setter;
 @Table(name = "dummies")
 public class Dummy extends TimeAuditableEntity {
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "dummies_seq")
+  @SequenceGenerator(name = "dummies_seq", sequenceName = "dummies_seq", allocationSize = 50)
   private Long id;
 
   @Column(nullable = false, unique = true, name = "dummy_name", length = 100)
@@ -0,0 +1,63 @@
+package ecommerce_app.entity;
+
+import ecommerce_app.constant.enums.ImportJobStatus;
+import ecommerce_app.constant.enums.ImportJobType;
+import ecommerce_app.entity.base.UserAuditableEntity;
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import lombok.*;
+
+/**
+ * A background Excel import. Progress counters are updated after every chunk, so clients can poll
+ * the job while it runs.
+ */
+@Entity
+@Table(
+    name = "import_jobs",
+    indexes = {
+        @Index(name = "idx_import_job_type_created", columnList = "type, created_at")
+    }
+)
+@Getter @Setter @Builder
+@NoArgsConstructor @AllArgsConstructor
+public class ImportJob extends UserAuditableEntity {
+
+    @Id @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "import_jobs_seq")
+    @SequenceGenerator(
+        name = "import_jobs_seq",
+        sequenceName = "import_jobs_seq",
+        allocationSize = 50)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type", nullable = false, length = 20)
+    private ImportJobType type;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private ImportJobStatus status;
+
+    @Column(name = "file_name")
+    private String fileName;
+
+    @Column(name = "processed_rows", nullable = false)
+    private int processedRows;
+
+    @Column(name = "success_rows", nullable = false)
+    private int successRows;
+
+    @Column(name = "error_rows", nullable = false)
+    private int errorRows;
+
+    @Column(name = "error_file_path", length = 500)
+    private String errorFilePath;         // per-row error report, null when every row succeeded
+
+    @Column(name = "message", length = 500)
+    private String message;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+}
@@ -23,6 +23,7 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
       @Index(name = "idx_is_read", columnList = "is_read"),
       @Index(name = "idx_user_status", columnList = "user_id, status"),
       @Index(name = "idx_user_read", columnList = "user_id, is_read"),
+      @Index(name = "idx_user_deleted_created", columnList = "user_id, is_deleted, created_at, id"),
       @Index(name = "idx_expires_at", columnList = "expires_at")
     })
 @Getter
@@ -34,7 +35,11 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 public class Notification {
 
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "notifications_seq")
+  @SequenceGenerator(
+      name = "notifications_seq",
+      sequenceName = "notifications_seq",
+      allocationSize = 50)
   private Long id;
 
   /** User who receives this notification */
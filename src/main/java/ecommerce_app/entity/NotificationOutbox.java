@@ -0,0 +1,52 @@
+package ecommerce_app.entity;
+
+import ecommerce_app.constant.enums.NotificationStatus;
+import ecommerce_app.entity.base.TimeAuditableEntity;
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import lombok.*;
+
+/**
+ * A push notification waiting to be delivered. Written in the same transaction as the business
+ * change that triggers it and delivered by {@code NotificationOutboxService} after commit.
+ */
+@Entity
+@Table(
+    name = "notification_outbox",
+    indexes = {
+        @Index(name = "idx_outbox_status_next_attempt", columnList = "status, next_attempt_at")
+    }
+)
+@Getter @Setter @Builder
+@NoArgsConstructor @AllArgsConstructor
+public class NotificationOutbox extends TimeAuditableEntity {
+
+    @Id @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "notification_outbox_seq")
+    @SequenceGenerator(
+        name = "notification_outbox_seq",
+        sequenceName = "notification_outbox_seq",
+        allocationSize = 50)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "notification_id")
+    private Long notificationId;          // saved notification to push
+
+    @Column(name = "payload", columnDefinition = "TEXT")
+    private String payload;               // NotificationRequest JSON when nothing was saved
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private NotificationStatus status;    // PENDING, SENT, FAILED
+
+    @Column(name = "attempts", nullable = false)
+    private Integer attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+}
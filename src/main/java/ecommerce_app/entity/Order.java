@@ -6,10 +6,12 @@ import ecommerce_app.constant.enums.PaymentMethod;
 import ecommerce_app.constant.enums.PaymentStatus;
 import ecommerce_app.constant.enums.ShippingMethod;
 import ecommerce_app.entity.base.UserAuditableEntity;
+import ecommerce_app.entity.listener.OrderSalesRollupListener;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
@@ -20,6 +22,7 @@ import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.OneToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -36,6 +39,7 @@ import lombok.Setter;
 @NoArgsConstructor
 @Builder
 @Setter
+@EntityListeners(OrderSalesRollupListener.class)
 @Table(
     name = "orders",
     indexes = {
@@ -43,12 +47,14 @@ import lombok.Setter;
       @Index(name = "idx_order_date", columnList = "order_date"),
       @Index(name = "idx_order_status", columnList = "order_status"),
       @Index(name = "idx_order_date_status", columnList = "order_date, order_status"),
-      @Index(name = "idx_order_user", columnList = "user_id")
+      @Index(name = "idx_order_user", columnList = "user_id"),
+      @Index(name = "idx_order_user_date", columnList = "user_id, order_date, id")
     })
 @Entity
 public class Order extends UserAuditableEntity {
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_seq")
+  @SequenceGenerator(name = "orders_seq", sequenceName = "orders_seq", allocationSize = 50)
   private Long id;
 
   /**
@@ -0,0 +1,29 @@
+package ecommerce_app.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Per-prefix, per-day order number counter, keyed by e.g. {@code ORD-20240208}. {@code nextValue}
+ * is the highest sequence number handed out so far; {@code OrderNumberGenerator} advances it in
+ * blocks and serves the block from memory.
+ */
+@Entity
+@Table(name = "order_number_counters")
+@Getter
+@Setter
+@NoArgsConstructor
+public class OrderNumberCounter {
+
+  @Id
+  @Column(name = "counter_key", length = 20)
+  private String counterKey;
+
+  @Column(name = "next_value", nullable = false)
+  private Long nextValue;
+}
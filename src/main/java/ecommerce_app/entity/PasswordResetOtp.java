@@ -7,6 +7,7 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -32,7 +33,11 @@ import java.time.LocalDateTime;
 public class PasswordResetOtp extends TimeAuditableEntity {
 
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "password_reset_otps_seq")
+  @SequenceGenerator(
+      name = "password_reset_otps_seq",
+      sequenceName = "password_reset_otps_seq",
+      allocationSize = 50)
   private Long id;
 
   @Column(nullable = false)
@@ -21,7 +21,8 @@ import lombok.*;
 public class Payment {
 
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "payments_seq")
+  @SequenceGenerator(name = "payments_seq", sequenceName = "payments_seq", allocationSize = 50)
   private Long id;
 
   // ── Order relationship ────────────────────────────────
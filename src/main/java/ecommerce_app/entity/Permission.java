@@ -9,6 +9,7 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -31,7 +32,11 @@ import lombok.Setter;
 @AllArgsConstructor
 public class Permission {
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "permissions_seq")
+  @SequenceGenerator(
+      name = "permissions_seq",
+      sequenceName = "permissions_seq",
+      allocationSize = 50)
   private Long id;
 
   @Enumerated(EnumType.STRING)
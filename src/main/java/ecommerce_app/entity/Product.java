@@ -29,7 +29,9 @@ import org.hibernate.annotations.SQLRestriction;
     name = "products",
     indexes = {
       @Index(columnList = "name", name = "product_name_index"),
-      @Index(columnList = "uuid", name = "product_uuid_index")
+      @Index(columnList = "uuid", name = "product_uuid_index"),
+      @Index(columnList = "favorites_count, created_at, id", name = "product_popular_index"),
+      @Index(columnList = "brand_id, created_at, id", name = "product_brand_created_index")
     })
 @Getter
 @Setter
@@ -41,7 +43,8 @@ import org.hibernate.annotations.SQLRestriction;
 public class Product extends SoftDeletableEntity {
 
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "products_seq")
+  @SequenceGenerator(name = "products_seq", sequenceName = "products_seq", allocationSize = 50)
   private Long id;
 
   @Column(nullable = false, unique = true, length = 100, name = "name")
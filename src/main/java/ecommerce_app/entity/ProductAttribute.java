@@ -18,7 +18,11 @@ import java.util.List;
 public class ProductAttribute extends UserAuditableEntity {
 
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "product_attributes_seq")
+  @SequenceGenerator(
+      name = "product_attributes_seq",
+      sequenceName = "product_attributes_seq",
+      allocationSize = 50)
   private Long id;
 
   @Column(nullable = false, unique = true, length = 50)
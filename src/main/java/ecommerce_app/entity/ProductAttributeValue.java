@@ -23,7 +23,11 @@ import java.util.List;
 public class ProductAttributeValue extends TimeAuditableEntity {
 
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "product_attribute_values_seq")
+  @SequenceGenerator(
+      name = "product_attribute_values_seq",
+      sequenceName = "product_attribute_values_seq",
+      allocationSize = 50)
   private Long id;
 
   @ManyToOne(fetch = FetchType.LAZY, optional = false)
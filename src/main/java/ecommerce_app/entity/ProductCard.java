@@ -0,0 +1,86 @@
+package ecommerce_app.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Denormalized product-card read model for mobile listings.
+ *
+ * <p>One row per live product. {@code cardJson} holds the fully computed {@code
+ * MobileProductListResponse} (prices, stock, variant options, best promotion, badge, rating); the
+ * scalar columns copy the values listing endpoints filter and sort on, so a listing page is a
+ * single indexed scan of this table with no joins. Rows are rebuilt by {@code ProductCardService}
+ * after product, variant, stock, promotion, favorite and review writes commit.
+ *
+ * <p>{@code validUntil} is the next promotion start/end boundary after the card was built — past
+ * that instant the discount fields are outdated and the card is queued for rebuild.
+ */
+@Entity
+@Table(
+    name = "product_cards",
+    indexes = {
+      @Index(name = "idx_card_created_id", columnList = "product_created_at, product_id"),
+      @Index(name = "idx_card_feature_created", columnList = "is_feature, product_created_at"),
+      @Index(name = "idx_card_category_created", columnList = "category_id, product_created_at"),
+      @Index(
+          name = "idx_card_brand_stock_created_id",
+          columnList = "brand_id, in_stock, product_created_at, product_id"),
+      @Index(
+          name = "idx_card_stock_popular_id",
+          columnList = "in_stock, favorites_count, product_created_at, product_id"),
+      @Index(name = "idx_card_promotion", columnList = "has_promotion"),
+      @Index(name = "idx_card_valid_until", columnList = "valid_until")
+    })
+@Getter
+@Setter
+@NoArgsConstructor
+public class ProductCard {
+
+  @Id
+  @Column(name = "product_id")
+  private Long productId;
+
+  @Column(name = "category_id")
+  private Long categoryId;
+
+  @Column(name = "brand_id")
+  private Long brandId;
+
+  @Column(name = "is_feature", nullable = false)
+  private Boolean isFeature = false;
+
+  @Column(name = "favorites_count", nullable = false)
+  private Integer favoritesCount = 0;
+
+  @Column(name = "min_price", precision = 10, scale = 2)
+  private BigDecimal minPrice;
+
+  @Column(name = "total_stock", nullable = false)
+  private Integer totalStock = 0;
+
+  @Column(name = "in_stock", nullable = false)
+  private Boolean inStock = false;
+
+  @Column(name = "has_promotion", nullable = false)
+  private Boolean hasPromotion = false;
+
+  @Column(name = "product_created_at")
+  private LocalDateTime productCreatedAt;
+
+  @Column(name = "valid_until")
+  private LocalDateTime validUntil;
+
+  @Column(name = "refreshed_at", nullable = false)
+  private LocalDateTime refreshedAt;
+
+  @Column(name = "card_json", nullable = false, columnDefinition = "TEXT")
+  private String cardJson;
+}
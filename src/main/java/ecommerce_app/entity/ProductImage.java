@@ -13,7 +13,11 @@ import lombok.Setter;
 public class ProductImage {
 
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "product_images_seq")
+  @SequenceGenerator(
+      name = "product_images_seq",
+      sequenceName = "product_images_seq",
+      allocationSize = 50)
   private Long id;
 
   @Column(nullable = false, length = 500, name = "image_path")
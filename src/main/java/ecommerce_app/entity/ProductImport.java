@@ -12,6 +12,7 @@ import jakarta.persistence.Id;
 import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import java.math.BigDecimal;
 import lombok.AllArgsConstructor;
@@ -35,7 +36,11 @@ import lombok.Setter;
 public class ProductImport extends UserAuditableEntity {
 
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "product_imports_seq")
+  @SequenceGenerator(
+      name = "product_imports_seq",
+      sequenceName = "product_imports_seq",
+      allocationSize = 50)
   private Long id;
 
   @ManyToOne(
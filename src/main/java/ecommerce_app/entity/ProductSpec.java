@@ -14,7 +14,11 @@ import org.hibernate.annotations.OnDeleteAction;
 public class ProductSpec extends SoftDeletableEntity {
 
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "product_specs_seq")
+  @SequenceGenerator(
+      name = "product_specs_seq",
+      sequenceName = "product_specs_seq",
+      allocationSize = 50)
   private Long id;
 
   @ManyToOne(fetch = FetchType.LAZY, optional = false)
@@ -27,7 +27,11 @@ import java.util.List;
 @NoArgsConstructor @AllArgsConstructor
 public class ProductVariant extends UserAuditableEntity {
 
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Id @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "product_variants_seq")
+    @SequenceGenerator(
+        name = "product_variants_seq",
+        sequenceName = "product_variants_seq",
+        allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
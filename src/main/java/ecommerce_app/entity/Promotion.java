@@ -18,6 +18,7 @@ import jakarta.persistence.ManyToMany;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -28,6 +29,7 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
 
 @Builder
 @Entity
@@ -51,7 +53,8 @@ import lombok.Setter;
 public class Promotion extends UserAuditableEntity {
 
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "promotions_seq")
+  @SequenceGenerator(name = "promotions_seq", sequenceName = "promotions_seq", allocationSize = 50)
   private Long id;
 
   @Column(unique = true)
@@ -91,6 +94,14 @@ public class Promotion extends UserAuditableEntity {
   @Column(name = "min_purchase_amount", precision = 10, scale = 2)
   private BigDecimal minPurchaseAmount; // Minimum order amount required
 
+  /** Redemptions so far, kept in step with {@link #usages} by an atomic increment at checkout. */
+  @Builder.Default
+  // Written only by conditional UPDATEs (PromotionRepository) — an entity save must not overwrite
+  // concurrent increments with the value it loaded
+  @ColumnDefault("0")
+  @Column(name = "used_count", nullable = false, updatable = false)
+  private Integer usedCount = 0;
+
   @ManyToMany
   @JoinTable(
       name = "promotion_products",
@@ -126,7 +137,7 @@ public class Promotion extends UserAuditableEntity {
     if (maxUsage == null) {
       return false;
     }
-    return usages != null && usages.size() >= maxUsage;
+    return usedCount != null && usedCount >= maxUsage;
   }
 
   /** Get remaining usage count */
@@ -134,7 +145,7 @@ public class Promotion extends UserAuditableEntity {
     if (maxUsage == null) {
       return null; // unlimited
     }
-    int currentUsage = usages != null ? usages.size() : 0;
+    int currentUsage = usedCount != null ? usedCount : 0;
     return Math.max(0, maxUsage - currentUsage);
   }
 
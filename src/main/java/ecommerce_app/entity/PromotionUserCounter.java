@@ -0,0 +1,48 @@
+package ecommerce_app.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import java.io.Serializable;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * How many times a user has redeemed a promotion. Maintained by {@code PromotionUsageServiceImpl}
+ * with an atomic upsert per redemption, so the per-user limit is a primary-key lookup instead of a
+ * count over {@link PromotionUsage}. Reconciled nightly from the usage rows.
+ */
+@Entity
+@Table(name = "promotion_user_counters")
+@IdClass(PromotionUserCounter.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+public class PromotionUserCounter {
+
+  @Id
+  @Column(name = "promotion_id")
+  private Long promotionId;
+
+  @Id
+  @Column(name = "user_id")
+  private Long userId;
+
+  @Column(name = "used_count", nullable = false)
+  private Integer usedCount = 0;
+
+  @Getter
+  @Setter
+  @NoArgsConstructor
+  @AllArgsConstructor
+  @EqualsAndHashCode
+  public static class Key implements Serializable {
+    private Long promotionId;
+    private Long userId;
+  }
+}
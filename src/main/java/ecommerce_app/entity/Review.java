@@ -10,6 +10,7 @@ import jakarta.persistence.Id;
 import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.persistence.UniqueConstraint;
 import lombok.Getter;
@@ -31,7 +32,8 @@ import lombok.Setter;
 public class Review extends UserAuditableEntity {
 
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "reviews_seq")
+  @SequenceGenerator(name = "reviews_seq", sequenceName = "reviews_seq", allocationSize = 50)
   private Long id;
 
   // product relation is OK
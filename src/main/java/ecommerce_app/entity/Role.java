@@ -12,6 +12,7 @@ import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import java.util.HashSet;
 import java.util.Set;
@@ -38,7 +39,8 @@ import lombok.Setter;
 @AllArgsConstructor
 public class Role extends TimeAuditableEntity {
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "roles_seq")
+  @SequenceGenerator(name = "roles_seq", sequenceName = "roles_seq", allocationSize = 50)
   private Long id;
 
   @Column(name = "uid", length = 75, unique = true)
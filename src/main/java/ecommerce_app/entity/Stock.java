@@ -13,6 +13,7 @@ import jakarta.persistence.Id;
 import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.OneToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.persistence.Transient;
 import lombok.AllArgsConstructor;
@@ -35,7 +36,8 @@ import lombok.Setter;
     })
 public class Stock extends UserAuditableEntity {
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "stocks_seq")
+  @SequenceGenerator(name = "stocks_seq", sequenceName = "stocks_seq", allocationSize = 50)
   private Long id;
 
   @OneToOne(
@@ -0,0 +1,52 @@
+package ecommerce_app.entity;
+
+import ecommerce_app.constant.enums.ReservationStatus;
+import ecommerce_app.entity.base.TimeAuditableEntity;
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import lombok.*;
+
+/**
+ * Stock held for one line of an order. The quantity is already decremented from the variant while
+ * the reservation is {@code RESERVED} or {@code COMMITTED}; releasing it puts the quantity back.
+ */
+@Entity
+@Table(
+    name = "stock_reservations",
+    indexes = {
+        @Index(name = "idx_stock_reservation_order",          columnList = "order_id"),
+        @Index(name = "idx_stock_reservation_status_expires", columnList = "status, expires_at")
+    }
+)
+@Getter @Setter @Builder
+@NoArgsConstructor @AllArgsConstructor
+public class StockReservation extends TimeAuditableEntity {
+
+    @Id @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "stock_reservations_seq")
+    @SequenceGenerator(
+        name = "stock_reservations_seq",
+        sequenceName = "stock_reservations_seq",
+        allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "variant_id", nullable = false)
+    private ProductVariant variant;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "order_id", nullable = false)
+    private Order order;
+
+    @Column(name = "quantity", nullable = false)
+    private Integer quantity;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private ReservationStatus status;
+
+    @Column(name = "expires_at")
+    private LocalDateTime expiresAt;      // null once committed
+
+    @Column(name = "reference_type", length = 50)
+    private String referenceType;         // "ORDER", "POS_ORDER"
+}
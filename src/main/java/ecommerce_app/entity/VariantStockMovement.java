@@ -10,6 +10,8 @@ import lombok.*;
     name = "variant_stock_movements",
     indexes = {
         @Index(name = "idx_stock_movement_variant",    columnList = "variant_id"),
+        @Index(name = "idx_stock_movement_variant_created",
+               columnList = "variant_id, created_at, id"),
         @Index(name = "idx_stock_movement_type",       columnList = "movement_type"),
         @Index(name = "idx_stock_movement_created_at", columnList = "created_at")
     }
@@ -18,7 +20,12 @@ import lombok.*;
 @NoArgsConstructor @AllArgsConstructor
 public class VariantStockMovement extends UserAuditableEntity {
 
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "variant_stock_movements_seq")
+    @SequenceGenerator(
+        name = "variant_stock_movements_seq",
+        sequenceName = "variant_stock_movements_seq",
+        allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
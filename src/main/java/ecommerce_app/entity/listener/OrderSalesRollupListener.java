@@ -0,0 +1,34 @@
+package ecommerce_app.entity.listener;
+
+import ecommerce_app.entity.Order;
+import ecommerce_app.service.impl.SalesRollupService;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+/**
+ * Marks an order's day dirty in the sales rollups whenever the order is created, changes status
+ * (or anything else), or is deleted — without every service that touches orders having to remember
+ * to do it.
+ */
+@Component
+public class OrderSalesRollupListener {
+
+  private final SalesRollupService salesRollupService;
+
+  // @Lazy — listeners are created while the EntityManagerFactory is being built
+  public OrderSalesRollupListener(@Lazy SalesRollupService salesRollupService) {
+    this.salesRollupService = salesRollupService;
+  }
+
+  @PostPersist
+  @PostUpdate
+  @PostRemove
+  public void onOrderChanged(Order order) {
+    if (order.getOrderDate() != null) {
+      salesRollupService.markDirty(order.getOrderDate().toLocalDate());
+    }
+  }
+}
@@ -119,6 +119,13 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
     return BaseBodyResponse.failed(HttpStatus.INTERNAL_SERVER_ERROR, message);
   }
 
+  @ExceptionHandler(PaymentGatewayUnavailableException.class)
+  public ResponseEntity<BaseBodyResponse<Void>> handlePaymentGatewayUnavailableException(
+      PaymentGatewayUnavailableException ex) {
+    log.warn(ex.getMessage());
+    return BaseBodyResponse.failed(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage());
+  }
+
   @ExceptionHandler(BusinessException.class)
   public ResponseEntity<BaseBodyResponse<Void>> handleBusinessException(BusinessException ex) {
     log.error(ex.getMessage(), ex);
@@ -0,0 +1,8 @@
+package ecommerce_app.exception;
+
+/** The payment provider is refusing calls for now — circuit open or too many calls in flight. */
+public class PaymentGatewayUnavailableException extends RuntimeException {
+  public PaymentGatewayUnavailableException(String message) {
+    super(message);
+  }
+}
@@ -1,5 +1,6 @@
 package ecommerce_app.mapper;
 
+import ecommerce_app.core.io.service.ImageSize;
 import ecommerce_app.core.io.service.StaticResourceService;
 import ecommerce_app.dto.response.BannerResponse;
 import ecommerce_app.entity.Banner;
@@ -20,7 +21,7 @@ public class BannerMapper {
         .id(banner.getId())
         .title(banner.getTitle())
         .description(banner.getDescription())
-        .image(staticResourceService.getBannerImageUrl(banner.getImage()))
+        .image(staticResourceService.getBannerImageUrl(banner.getImage(), ImageSize.DETAIL))
         .position(banner.getPosition())
         .linkUrl(banner.getLinkUrl())
         .linkType(banner.getLinkType())
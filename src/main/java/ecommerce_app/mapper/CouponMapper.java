@@ -23,6 +23,7 @@ public class CouponMapper {
         .usageLimit(coupon.getUsageLimit())
         .usagePerUser(coupon.getUsagePerUser())
         .usedCount(coupon.getUsedCount())
+        .tokenPool(coupon.getTokenPool())
         .isActive(coupon.getIsActive())
         .startDate(coupon.getStartDate())
         .endDate(coupon.getEndDate())
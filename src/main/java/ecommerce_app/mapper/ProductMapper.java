@@ -1,5 +1,6 @@
 package ecommerce_app.mapper;
 
+import ecommerce_app.core.io.service.ImageSize;
 import ecommerce_app.core.io.service.StaticResourceService;
 import ecommerce_app.dto.response.MobileProductListResponse;
 import ecommerce_app.dto.response.MobileProductResponse;
@@ -10,6 +11,8 @@ import ecommerce_app.entity.ProductAttributeValue;
 import ecommerce_app.entity.ProductImage;
 import ecommerce_app.entity.ProductVariant;
 import ecommerce_app.entity.Promotion;
+import ecommerce_app.service.facade.PromotionFacade;
+import ecommerce_app.service.impl.PromotionIndex;
 
 import java.math.BigDecimal;
 import java.util.Comparator;
@@ -28,15 +31,18 @@ import org.springframework.stereotype.Component;
 public class ProductMapper {
   private final StaticResourceService staticResourceService;
   private final ProductVariantMapper variantMapper;
+  // Catalog pricing reads promotions from the index, never from product.getPromotions()
+  private final PromotionIndex promotionIndex;
+  private final PromotionFacade promotionFacade;
 
   public MobileProductResponse toDetailResponse(Product product) {
+    final var promotions = promotionIndex.findActive(product.getId());
     final var discountPrice =
-        PromotionCalculator.calculateDiscountedPrice(product.getPrice(), product.getPromotions());
+        PromotionCalculator.calculateDiscountedPrice(product.getPrice(), promotions);
     final var discountPercentage =
         PromotionCalculator.calculateDiscountPercentage(product.getPrice(), discountPrice);
     final var promotionBadge =
-        PromotionCalculator.buildPromotionBadge(
-            product.getPrice(), product.getPromotions(), discountPercentage);
+        PromotionCalculator.buildPromotionBadge(product.getPrice(), promotions, discountPercentage);
     MobileProductResponse response =
         MobileProductResponse.builder()
             .id(product.getId())
@@ -55,7 +61,10 @@ public class ProductMapper {
                     ? List.of()
                     : product.getImages().stream()
                         .sorted(Comparator.comparing(ProductImage::getSortOrder))
-                        .map(img -> staticResourceService.getProductImageUrl(img.getImagePath()))
+                        .map(
+                            img ->
+                                staticResourceService.getProductImageUrl(
+                                    img.getImagePath(), ImageSize.DETAIL))
                         .filter(Objects::nonNull)
                         .toList())
             .isFeature(product.getIsFeature())
@@ -63,9 +72,9 @@ public class ProductMapper {
             .stockQuantity(product.getStockQuantity())
             .inStock(product.getInStock())
             .stockStatus(product.getStockStatus())
-            .hasPromotion(product.getHasPromotion())
+            .hasPromotion(!promotions.isEmpty())
             .promotionBadge(promotionBadge)
-            .quickAddAvailable(product.getQuickAddAvailable())
+            .quickAddAvailable(product.getInStock() && promotions.isEmpty())
             .warranty(getWarranty(product))
             .createdAt(product.getCreatedAt())
             .updatedAt(product.getUpdatedAt())
@@ -80,10 +89,8 @@ public class ProductMapper {
       response.setCategoryName(product.getCategory().getName());
     }
 
-    if (Boolean.TRUE.equals(product.getHasPromotion())) {
-      product.getPromotions().stream()
-          .filter(Promotion::getActive)
-          .filter(Promotion::isCurrentlyValid)
+    if (!promotions.isEmpty()) {
+      promotions.stream()
           .max(
               Comparator.comparing(
                   p -> p.getDiscountValue() != null ? p.getDiscountValue() : BigDecimal.ZERO))
@@ -95,13 +102,13 @@ public class ProductMapper {
   }
 
   public MobileProductListResponse toListResponse(Product product) {
+    final var promotions = promotionIndex.findActive(product.getId());
     final var discountPrice =
-        PromotionCalculator.calculateDiscountedPrice(product.getPrice(), product.getPromotions());
+        PromotionCalculator.calculateDiscountedPrice(product.getPrice(), promotions);
     final var discountPercentage =
         PromotionCalculator.calculateDiscountPercentage(product.getPrice(), discountPrice);
     final var promotionBadge =
-        PromotionCalculator.buildPromotionBadge(
-            product.getPrice(), product.getPromotions(), discountPercentage);
+        PromotionCalculator.buildPromotionBadge(product.getPrice(), promotions, discountPercentage);
     MobileProductListResponse response =
         MobileProductListResponse.builder()
             .id(product.getId())
@@ -113,15 +120,17 @@ public class ProductMapper {
             .discountedPrice(discountPrice)
             .discountPercentage(discountPercentage)
             // CHANGED: use getPrimaryImagePath() instead of getImage()
-            .image(staticResourceService.getProductImageUrl(product.getPrimaryImagePath()))
+            .image(
+                staticResourceService.getProductImageUrl(
+                    product.getPrimaryImagePath(), ImageSize.CARD))
             .isFeature(product.getIsFeature())
             .favoritesCount(product.getFavoritesCount())
             .stockQuantity(product.getTotalStock())
             .inStock(product.getInStock())
             .stockStatus(product.getStockStatus())
-            .hasPromotion(product.getHasPromotion())
+            .hasPromotion(!promotions.isEmpty())
             .promotionBadge(promotionBadge)
-            .quickAddAvailable(product.getQuickAddAvailable())
+            .quickAddAvailable(product.getInStock() && promotions.isEmpty())
             .hasVariants(product.getHasVariants())
             .activeVariantCount(getActiveVariantCount(product))
             .minPrice(getMinVariantPrice(product))
@@ -152,7 +161,7 @@ public class ProductMapper {
         .startAt(promotion.getStartAt())
         .endAt(promotion.getEndAt())
         .minPurchaseAmount(promotion.getMinPurchaseAmount())
-        .remainingUsage(promotion.getRemainingUsage())
+        .remainingUsage(promotionFacade.getRemainingUsage(promotion))
         .build();
   }
 
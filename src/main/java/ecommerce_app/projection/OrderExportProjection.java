@@ -0,0 +1,31 @@
+package ecommerce_app.projection;
+
+import ecommerce_app.constant.enums.OrderStatus;
+import ecommerce_app.constant.enums.PaymentMethod;
+import ecommerce_app.constant.enums.PaymentStatus;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public interface OrderExportProjection {
+  String getOrderNumber();
+
+  LocalDateTime getOrderDate();
+
+  String getCustomerName();
+
+  String getCustomerEmail();
+
+  OrderStatus getOrderStatus();
+
+  PaymentStatus getPaymentStatus();
+
+  PaymentMethod getPaymentMethod();
+
+  BigDecimal getSubtotalAmount();
+
+  BigDecimal getDiscountAmount();
+
+  BigDecimal getShippingCost();
+
+  BigDecimal getTotalAmount();
+}
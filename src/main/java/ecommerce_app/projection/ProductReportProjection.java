@@ -0,0 +1,20 @@
+package ecommerce_app.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public interface ProductReportProjection {
+  Long getId();
+
+  String getName();
+
+  String getDescription();
+
+  BigDecimal getPrice();
+
+  String getCategoryName();
+
+  Boolean getIsFeature();
+
+  LocalDateTime getCreatedAt();
+}
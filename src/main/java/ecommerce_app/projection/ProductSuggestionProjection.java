@@ -0,0 +1,9 @@
+package ecommerce_app.projection;
+
+public interface ProductSuggestionProjection {
+  Long getId();
+
+  String getName();
+
+  Long getWeight();
+}
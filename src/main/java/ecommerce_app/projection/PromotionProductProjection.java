@@ -0,0 +1,7 @@
+package ecommerce_app.projection;
+
+public interface PromotionProductProjection {
+  Long getPromotionId();
+
+  Long getProductId();
+}
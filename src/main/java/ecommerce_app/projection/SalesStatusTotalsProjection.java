@@ -0,0 +1,12 @@
+package ecommerce_app.projection;
+
+import ecommerce_app.constant.enums.OrderStatus;
+import java.math.BigDecimal;
+
+public interface SalesStatusTotalsProjection {
+  OrderStatus getStatus();
+
+  Long getOrders();
+
+  BigDecimal getRevenue();
+}
@@ -0,0 +1,28 @@
+package ecommerce_app.projection;
+
+import ecommerce_app.constant.enums.StockMovementType;
+import java.time.LocalDateTime;
+
+public interface StockMovementProjection {
+  Long getId();
+
+  String getVariantSku();
+
+  StockMovementType getMovementType();
+
+  Integer getQuantity();
+
+  Integer getQuantityBefore();
+
+  Integer getQuantityAfter();
+
+  String getReferenceType();
+
+  Long getReferenceId();
+
+  String getNote();
+
+  LocalDateTime getCreatedAt();
+
+  Long getCreatedBy();
+}
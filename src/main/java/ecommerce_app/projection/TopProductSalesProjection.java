@@ -0,0 +1,11 @@
+package ecommerce_app.projection;
+
+import java.math.BigDecimal;
+
+public interface TopProductSalesProjection {
+  Long getProductId();
+
+  BigDecimal getRevenue();
+
+  Long getQuantity();
+}
@@ -0,0 +1,10 @@
+package ecommerce_app.projection;
+
+import java.time.LocalDateTime;
+
+/** Latest modification time and row count of an aggregate — cheap input for an ETag. */
+public interface VersionStampProjection {
+  LocalDateTime getLastModified();
+
+  Long getCount();
+}
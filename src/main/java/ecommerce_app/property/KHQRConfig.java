@@ -1,5 +1,6 @@
 package ecommerce_app.property;
 
+import java.time.Duration;
 import kh.gov.nbc.bakong_khqr.model.KHQRCurrency;
 import lombok.Getter;
 import lombok.Setter;
@@ -27,4 +28,48 @@ public class KHQRConfig {
   private String apiBaseUrl;
   private String apiKey;
   private String apiSecret;
+  private Http http = new Http();
+  private Poller poller = new Poller();
+
+  /** HTTP client settings for Bakong API calls. */
+  @Getter
+  @Setter
+  public static class Http {
+    private Duration connectTimeout = Duration.ofSeconds(2);
+    // Response timeouts per call — status is polled and must stay short
+    private Duration pullTimeout = Duration.ofSeconds(10);
+    private Duration statusTimeout = Duration.ofSeconds(3);
+    private Duration cancelTimeout = Duration.ofSeconds(5);
+
+    private int maxConnections = 20;
+    private Duration connectionTtl = Duration.ofMinutes(5);
+    private Duration idleTimeout = Duration.ofSeconds(30);
+
+    /** Bulkhead: calls in flight at once, and how long a caller waits for a slot. */
+    private int maxConcurrentCalls = 10;
+    private Duration bulkheadWait = Duration.ofMillis(500);
+
+    /** Circuit breaker: consecutive failures that open it, and how long before a probe. */
+    private int failureThreshold = 5;
+    private Duration openDuration = Duration.ofSeconds(30);
+
+    /** Retries with jittered exponential backoff — status calls only, they are idempotent. */
+    private int statusMaxAttempts = 3;
+    private Duration retryInitialBackoff = Duration.ofMillis(200);
+    private Duration retryMaxBackoff = Duration.ofSeconds(2);
+  }
+
+  /** Server-side status polling of pending payments. */
+  @Getter
+  @Setter
+  public static class Poller {
+    // A payment is checked every minInterval at first, slowing towards maxInterval as it ages
+    private Duration minInterval = Duration.ofSeconds(2);
+    private Duration maxInterval = Duration.ofSeconds(15);
+    /** QR MD5s per batch status call — Bakong accepts at most 50. */
+    private int batchSize = 50;
+    private int maxChecksPerTick = 200;
+    /** Pause after a failed round, doubling per consecutive failure up to this. */
+    private Duration maxBackoff = Duration.ofMinutes(1);
+  }
 }
@@ -0,0 +1,19 @@
+package ecommerce_app.property;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "app.stock")
+@Getter
+@Setter
+public class StockProperties {
+  /** How long an unpaid order (QR payment) holds its stock before it is released. */
+  private Duration reservationTtl = Duration.ofMinutes(15);
+
+  /** Max expired orders released per scheduler run. */
+  private int reservationExpiryBatchSize = 100;
+}
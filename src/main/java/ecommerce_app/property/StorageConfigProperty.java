@@ -13,4 +13,6 @@ import org.springframework.stereotype.Component;
 @Setter
 public class StorageConfigProperty {
   private String upload;
+  // Outside the static web root — see StaticResourceConfig.STORAGE_LOCATION
+  private String privateFiles = "./private";
 }
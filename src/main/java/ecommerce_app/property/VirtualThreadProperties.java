@@ -0,0 +1,23 @@
+package ecommerce_app.property;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/** Tuning for virtual-thread mode, enabled by {@code spring.threads.virtual.enabled}. */
+@Component
+@ConfigurationProperties(prefix = "app.virtual-threads")
+@Getter
+@Setter
+public class VirtualThreadProperties {
+  /** Threads allowed to hold or wait inside the connection pool; 0 means the pool's max size. */
+  private int connectionPermits = 0;
+
+  /** How long a thread waits for a connection permit before the request fails. */
+  private Duration connectionAcquireTimeout = Duration.ofSeconds(10);
+
+  /** Pinned virtual threads blocked longer than this are logged with their stack. */
+  private Duration pinnedThreshold = Duration.ofMillis(20);
+}
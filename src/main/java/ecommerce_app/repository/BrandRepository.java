@@ -1,6 +1,7 @@
 package ecommerce_app.repository;
 
 import ecommerce_app.entity.Brand;
+import ecommerce_app.projection.VersionStampProjection;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -36,4 +37,7 @@ public interface BrandRepository
                   + "LOWER(b.name) LIKE LOWER(CONCAT('%', :name, '%')) "
                   + "ORDER BY b.displayOrder ASC")
   Page<Brand> findBrandsByNameContaining(@Param("name") String name, Pageable pageable);
+
+  @Query("SELECT MAX(b.updatedAt) AS lastModified, COUNT(b) AS count FROM Brand b")
+  VersionStampProjection findVersionStamp();
 }
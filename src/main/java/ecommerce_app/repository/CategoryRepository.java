@@ -4,8 +4,10 @@ import ecommerce_app.entity.Category;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -15,6 +17,12 @@ public interface CategoryRepository
 
   Boolean existsByName(String name);
 
+  @Query("SELECT c.name FROM Category c WHERE c.name IN :names")
+  List<String> findExistingNames(@Param("names") Collection<String> names);
+
+  @Query("SELECT c.id FROM Category c")
+  List<Long> findAllIds();
+
   // Get all active categories ordered by name
   @Query("SELECT c FROM Category c ORDER BY c.name ASC")
   List<Category> findAllOrderByName();
@@ -4,6 +4,7 @@ package ecommerce_app.repository;
 import ecommerce_app.entity.Coupon;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -28,4 +29,45 @@ public interface CouponRepository
         AND (c.endDate   IS NULL OR c.endDate   >= :now)
         """)
   Optional<Coupon> findValidByCode(@Param("code") String code, @Param("now") LocalDateTime now);
+
+  /**
+   * Count one redemption unless the usage limit is reached. Returns 0 when it is. The row stays
+   * locked until commit, so concurrent checkouts cannot both take the last use.
+   */
+  @Modifying(flushAutomatically = true)
+  @Query(
+      """
+        UPDATE Coupon c SET c.usedCount = c.usedCount + 1
+        WHERE c.id = :id
+        AND (c.usageLimit IS NULL OR c.usedCount < c.usageLimit)
+        """)
+  int incrementUsedCount(@Param("id") Long id);
+
+  /** Copy claimed-token counts of token-pool coupons into {@code used_count}. */
+  @Modifying
+  @Query(
+      value =
+          """
+        UPDATE coupons c SET used_count = t.claimed
+        FROM (SELECT coupon_id, COUNT(user_id) AS claimed FROM coupon_tokens GROUP BY coupon_id) t
+        WHERE t.coupon_id = c.id AND c.token_pool = true AND c.used_count <> t.claimed
+        """,
+      nativeQuery = true)
+  int syncTokenPoolUsedCounts();
+
+  /**
+   * Raise {@code used_count} of counter coupons where it is below the number of usage rows. Never
+   * lowers it — a redemption in flight has incremented it but not yet committed its usage row.
+   */
+  @Modifying
+  @Query(
+      value =
+          """
+        UPDATE coupons c SET used_count = u.used
+        FROM (SELECT c2.id, (SELECT COUNT(*) FROM coupon_usages cu WHERE cu.coupon_id = c2.id)
+              AS used FROM coupons c2 WHERE c2.token_pool = false) u
+        WHERE u.id = c.id AND c.used_count < u.used
+        """,
+      nativeQuery = true)
+  int reconcileUsedCounts();
 }
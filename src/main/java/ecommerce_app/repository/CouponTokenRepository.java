@@ -0,0 +1,65 @@
+package ecommerce_app.repository;
+
+import ecommerce_app.entity.CouponToken;
+import java.time.LocalDateTime;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface CouponTokenRepository extends JpaRepository<CouponToken, CouponToken.Key> {
+
+  /**
+   * Claim any free token of the coupon. Rows held by in-flight checkouts are skipped rather than
+   * waited on. Returns 0 when no free token is left.
+   */
+  @Modifying
+  @Query(
+      value =
+          "UPDATE coupon_tokens SET user_id = :userId, order_id = :orderId, claimed_at = :now "
+              + "WHERE (coupon_id, slot) = ("
+              + "SELECT coupon_id, slot FROM coupon_tokens "
+              + "WHERE coupon_id = :couponId AND user_id IS NULL "
+              + "LIMIT 1 FOR UPDATE SKIP LOCKED)",
+      nativeQuery = true)
+  int claim(
+      @Param("couponId") Long couponId,
+      @Param("userId") Long userId,
+      @Param("orderId") Long orderId,
+      @Param("now") LocalDateTime now);
+
+  long countByCouponId(Long couponId);
+
+  long countByCouponIdAndUserIdIsNotNull(Long couponId);
+
+  @Query("SELECT COALESCE(MAX(t.slot), 0) FROM CouponToken t WHERE t.couponId = :couponId")
+  int findMaxSlot(@Param("couponId") Long couponId);
+
+  @Modifying
+  @Query(
+      value =
+          "INSERT INTO coupon_tokens (coupon_id, slot) "
+              + "SELECT :couponId, s FROM generate_series(:fromSlot, :toSlot) s",
+      nativeQuery = true)
+  int addSlots(
+      @Param("couponId") Long couponId,
+      @Param("fromSlot") int fromSlot,
+      @Param("toSlot") int toSlot);
+
+  /** Remove up to {@code count} free tokens, highest slots first. */
+  @Modifying
+  @Query(
+      value =
+          "DELETE FROM coupon_tokens WHERE (coupon_id, slot) IN ("
+              + "SELECT coupon_id, slot FROM coupon_tokens "
+              + "WHERE coupon_id = :couponId AND user_id IS NULL "
+              + "ORDER BY slot DESC LIMIT :count)",
+      nativeQuery = true)
+  int deleteFreeSlots(@Param("couponId") Long couponId, @Param("count") long count);
+
+  @Modifying
+  @Query("DELETE FROM CouponToken t WHERE t.couponId = :couponId")
+  int deleteByCouponId(@Param("couponId") Long couponId);
+}
@@ -0,0 +1,52 @@
+package ecommerce_app.repository;
+
+import ecommerce_app.entity.CouponUserCounter;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface CouponUserCounterRepository
+    extends JpaRepository<CouponUserCounter, CouponUserCounter.Key> {
+
+  @Query(
+      "SELECT c.usedCount FROM CouponUserCounter c "
+          + "WHERE c.couponId = :couponId AND c.userId = :userId")
+  Optional<Integer> findUsedCount(@Param("couponId") Long couponId, @Param("userId") Long userId);
+
+  /** Count one redemption for the user unless they already reached {@code limit}. */
+  @Modifying
+  @Query(
+      value =
+          "INSERT INTO coupon_user_counters (coupon_id, user_id, used_count) "
+              + "VALUES (:couponId, :userId, 1) "
+              + "ON CONFLICT (coupon_id, user_id) DO UPDATE "
+              + "SET used_count = coupon_user_counters.used_count + 1 "
+              + "WHERE coupon_user_counters.used_count < :limit",
+      nativeQuery = true)
+  int increment(
+      @Param("couponId") Long couponId, @Param("userId") Long userId, @Param("limit") int limit);
+
+  @Modifying
+  @Query("DELETE FROM CouponUserCounter c WHERE c.couponId = :couponId")
+  int deleteByCouponId(@Param("couponId") Long couponId);
+
+  /**
+   * Raise counters that are below the number of usage rows. Never lowers one, so in-flight
+   * redemptions keep their increment. Returns the number of counters written.
+   */
+  @Modifying
+  @Query(
+      value =
+          "INSERT INTO coupon_user_counters (coupon_id, user_id, used_count) "
+              + "SELECT coupon_id, user_id, COUNT(*) FROM coupon_usages "
+              + "GROUP BY coupon_id, user_id "
+              + "ON CONFLICT (coupon_id, user_id) DO UPDATE "
+              + "SET used_count = EXCLUDED.used_count "
+              + "WHERE coupon_user_counters.used_count < EXCLUDED.used_count",
+      nativeQuery = true)
+  int reconcile();
+}
@@ -0,0 +1,47 @@
+package ecommerce_app.repository;
+
+import ecommerce_app.entity.DailyProductSalesRollup;
+import ecommerce_app.projection.TopProductSalesProjection;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface DailyProductSalesRollupRepository
+    extends JpaRepository<DailyProductSalesRollup, DailyProductSalesRollup.Key> {
+
+  @Query(
+      "SELECT r.productId AS productId, SUM(r.revenue) AS revenue, SUM(r.quantity) AS quantity "
+          + "FROM DailyProductSalesRollup r WHERE r.day BETWEEN :fromDate AND :toDate "
+          + "GROUP BY r.productId ORDER BY SUM(r.revenue) DESC")
+  List<TopProductSalesProjection> findTopProducts(
+      @Param("fromDate") LocalDate fromDate,
+      @Param("toDate") LocalDate toDate,
+      Pageable pageable);
+
+  // ── Rebuild (idempotent: delete the range, re-aggregate it from order items) ──
+
+  @Modifying
+  @Query(
+      value = "DELETE FROM daily_product_sales_rollups WHERE sales_date BETWEEN :fromDate AND :toDate",
+      nativeQuery = true)
+  int deleteRange(@Param("fromDate") LocalDate fromDate, @Param("toDate") LocalDate toDate);
+
+  @Modifying
+  @Query(
+      value =
+          "INSERT INTO daily_product_sales_rollups (sales_date, product_id, quantity, revenue) "
+              + "SELECT CAST(o.order_date AS date), oi.product_id, SUM(oi.quantity), "
+              + "COALESCE(SUM(oi.total_price), 0) "
+              + "FROM order_items oi JOIN orders o ON o.id = oi.order_id "
+              + "WHERE o.order_date >= :fromTime AND o.order_date < :toTime "
+              + "AND o.order_status NOT IN ('CANCELLED', 'REFUNDED') "
+              + "GROUP BY CAST(o.order_date AS date), oi.product_id",
+      nativeQuery = true)
+  int aggregateRange(
+      @Param("fromTime") LocalDateTime fromTime, @Param("toTime") LocalDateTime toTime);
+}
@@ -0,0 +1,63 @@
+package ecommerce_app.repository;
+
+import ecommerce_app.entity.DailySalesRollup;
+import ecommerce_app.projection.RevenueTrendProjection;
+import ecommerce_app.projection.SalesStatusTotalsProjection;
+import ecommerce_app.projection.StatusDistributionProjection;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface DailySalesRollupRepository
+    extends JpaRepository<DailySalesRollup, DailySalesRollup.Key> {
+
+  @Query(
+      "SELECT r.day AS orderDate, SUM(r.revenue) AS revenue, SUM(r.orderCount) AS orders "
+          + "FROM DailySalesRollup r WHERE r.day BETWEEN :fromDate AND :toDate "
+          + "GROUP BY r.day ORDER BY r.day")
+  List<RevenueTrendProjection> findRevenueTrend(
+      @Param("fromDate") LocalDate fromDate, @Param("toDate") LocalDate toDate);
+
+  @Query(
+      "SELECT r.orderStatus AS status, SUM(r.orderCount) AS count "
+          + "FROM DailySalesRollup r WHERE r.day BETWEEN :fromDate AND :toDate "
+          + "GROUP BY r.orderStatus")
+  List<StatusDistributionProjection> findStatusDistribution(
+      @Param("fromDate") LocalDate fromDate, @Param("toDate") LocalDate toDate);
+
+  @Query(
+      "SELECT r.orderStatus AS status, SUM(r.orderCount) AS orders, SUM(r.revenue) AS revenue "
+          + "FROM DailySalesRollup r WHERE r.day BETWEEN :fromDate AND :toDate "
+          + "GROUP BY r.orderStatus")
+  List<SalesStatusTotalsProjection> findStatusTotals(
+      @Param("fromDate") LocalDate fromDate, @Param("toDate") LocalDate toDate);
+
+  // ── Rebuild (idempotent: delete the range, re-aggregate it from orders) ──
+
+  @Modifying
+  @Query(value = "DELETE FROM daily_sales_rollups WHERE sales_date BETWEEN :fromDate AND :toDate",
+      nativeQuery = true)
+  int deleteRange(@Param("fromDate") LocalDate fromDate, @Param("toDate") LocalDate toDate);
+
+  @Modifying
+  @Query(
+      value =
+          "INSERT INTO daily_sales_rollups (sales_date, order_status, order_count, revenue) "
+              + "SELECT CAST(o.order_date AS date), o.order_status, COUNT(*), "
+              + "COALESCE(SUM(o.total_amount), 0) "
+              + "FROM orders o WHERE o.order_date >= :fromTime AND o.order_date < :toTime "
+              + "GROUP BY CAST(o.order_date AS date), o.order_status",
+      nativeQuery = true)
+  int aggregateRange(
+      @Param("fromTime") LocalDateTime fromTime, @Param("toTime") LocalDateTime toTime);
+
+  /** Days that have orders but no rollup rows (first deploy, or a lost rebuild). */
+  @Query(
+      "SELECT DISTINCT CAST(o.orderDate AS LocalDate) FROM Order o WHERE NOT EXISTS "
+          + "(SELECT 1 FROM DailySalesRollup r WHERE r.day = CAST(o.orderDate AS LocalDate))")
+  List<LocalDate> findDaysWithoutRollup();
+}
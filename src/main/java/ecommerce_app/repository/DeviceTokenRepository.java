@@ -2,13 +2,16 @@ package ecommerce_app.repository;
 
 import ecommerce_app.entity.DeviceToken;
 import ecommerce_app.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -39,4 +42,16 @@ public interface DeviceTokenRepository extends JpaRepository<DeviceToken, Long>
 
   // Count active tokens by user
   Long countByUserAndIsActiveTrue(User user);
+
+  // Keyset page of active tokens of active users (broadcasts)
+  @Query(
+      "SELECT d FROM DeviceToken d WHERE d.isActive = true AND d.user.isActive = true "
+          + "AND d.id > :afterId ORDER BY d.id")
+  List<DeviceToken> findActiveAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+  // Deactivate tokens FCM reported as unregistered or invalid
+  @Transactional
+  @Modifying
+  @Query("UPDATE DeviceToken d SET d.isActive = false WHERE d.token IN :tokens")
+  int deactivateByTokenIn(@Param("tokens") Collection<String> tokens);
 }
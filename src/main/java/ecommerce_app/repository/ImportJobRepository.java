@@ -0,0 +1,48 @@
+package ecommerce_app.repository;
+
+import ecommerce_app.constant.enums.ImportJobStatus;
+import ecommerce_app.entity.ImportJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+public interface ImportJobRepository extends JpaRepository<ImportJob, Long> {
+
+  @Transactional
+  @Modifying
+  @Query(
+      "UPDATE ImportJob j SET j.status = :status, j.startedAt = :now, j.updatedAt = :now "
+          + "WHERE j.id = :id")
+  int markStarted(
+      @Param("id") Long id,
+      @Param("status") ImportJobStatus status,
+      @Param("now") LocalDateTime now);
+
+  @Transactional
+  @Modifying
+  @Query(
+      "UPDATE ImportJob j SET j.processedRows = :processed, j.successRows = :success, "
+          + "j.errorRows = :errors, j.updatedAt = :now WHERE j.id = :id")
+  int updateProgress(
+      @Param("id") Long id,
+      @Param("processed") int processed,
+      @Param("success") int success,
+      @Param("errors") int errors,
+      @Param("now") LocalDateTime now);
+
+  @Transactional
+  @Modifying
+  @Query(
+      "UPDATE ImportJob j SET j.status = :status, j.errorFilePath = :errorFilePath, "
+          + "j.message = :message, j.finishedAt = :now, j.updatedAt = :now WHERE j.id = :id")
+  int markFinished(
+      @Param("id") Long id,
+      @Param("status") ImportJobStatus status,
+      @Param("errorFilePath") String errorFilePath,
+      @Param("message") String message,
+      @Param("now") LocalDateTime now);
+}
@@ -3,9 +3,13 @@ package ecommerce_app.repository;
 import ecommerce_app.constant.enums.PaymentStatus;
 import ecommerce_app.entity.KHQRPayment;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,4 +20,25 @@ public interface KHQRPaymentRepository extends JpaRepository<KHQRPayment, Long>
   Optional<KHQRPayment> findByBakongTransactionId(String transactionId);
 
   List<KHQRPayment> findByStatusAndExpiresAtBefore(PaymentStatus status, Instant dateTime);
+
+  /** Payments in a status with their order's user, so push recipients are known. */
+  @Query(
+      "SELECT p FROM KHQRPayment p LEFT JOIN FETCH p.order o LEFT JOIN FETCH o.user "
+          + "WHERE p.status = :status")
+  List<KHQRPayment> findWithUserByStatus(@Param("status") PaymentStatus status);
+
+  /**
+   * Move payments that are still pending to {@code status}. Payments settled meanwhile (e.g. by
+   * the callback or another node) are left alone; returns the IDs that were actually updated.
+   */
+  @Query(
+      value =
+          "UPDATE khqr_payments SET status = :status, paid_at = :paidAt, updated_at = :now "
+              + "WHERE id IN (:ids) AND status = 'PENDING' RETURNING id",
+      nativeQuery = true)
+  List<String> settlePending(
+      @Param("ids") Collection<String> ids,
+      @Param("status") String status,
+      @Param("paidAt") Instant paidAt,
+      @Param("now") LocalDateTime now);
 }
@@ -0,0 +1,68 @@
+package ecommerce_app.repository;
+
+import ecommerce_app.constant.enums.NotificationStatus;
+import ecommerce_app.entity.NotificationOutbox;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface NotificationOutboxRepository extends JpaRepository<NotificationOutbox, Long> {
+
+  @Query(
+      "SELECT o.id FROM NotificationOutbox o "
+          + "WHERE o.status = :status AND o.nextAttemptAt <= :now ORDER BY o.nextAttemptAt")
+  List<Long> findDueIds(
+      @Param("status") NotificationStatus status,
+      @Param("now") LocalDateTime now,
+      Pageable pageable);
+
+  /**
+   * Claim a due event by pushing its next attempt to {@code leaseUntil}. Returns 0 if another
+   * worker claimed it first. If the worker dies, the event becomes due again when the lease ends.
+   */
+  @Transactional
+  @Modifying
+  @Query(
+      "UPDATE NotificationOutbox o SET o.attempts = o.attempts + 1, o.nextAttemptAt = :leaseUntil "
+          + "WHERE o.id = :id AND o.status = :pending AND o.nextAttemptAt <= :now")
+  int claim(
+      @Param("id") Long id,
+      @Param("pending") NotificationStatus pending,
+      @Param("now") LocalDateTime now,
+      @Param("leaseUntil") LocalDateTime leaseUntil);
+
+  @Transactional
+  @Modifying
+  @Query(
+      "UPDATE NotificationOutbox o SET o.status = :status, o.nextAttemptAt = :nextAttemptAt, "
+          + "o.lastError = :error, o.updatedAt = :now WHERE o.id = :id")
+  int updateOutcome(
+      @Param("id") Long id,
+      @Param("status") NotificationStatus status,
+      @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+      @Param("error") String error,
+      @Param("now") LocalDateTime now);
+
+  /** Give failed events a fresh set of attempts. */
+  @Transactional
+  @Modifying
+  @Query(
+      "UPDATE NotificationOutbox o SET o.status = :pending, o.attempts = 0, "
+          + "o.nextAttemptAt = :now WHERE o.status = :failed")
+  int requeueFailed(
+      @Param("failed") NotificationStatus failed,
+      @Param("pending") NotificationStatus pending,
+      @Param("now") LocalDateTime now);
+
+  @Transactional
+  @Modifying
+  @Query("DELETE FROM NotificationOutbox o WHERE o.status = :status AND o.updatedAt < :cutoff")
+  int deleteByStatusAndUpdatedAtBefore(
+      @Param("status") NotificationStatus status, @Param("cutoff") LocalDateTime cutoff);
+}
@@ -12,6 +12,7 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -32,6 +33,17 @@ public interface NotificationRepository
   /** Find all notifications for a user (paginated, newest first) */
   Page<Notification> findByUserAndIsDeletedFalseOrderByCreatedAtDesc(User user, Pageable pageable);
 
+  /** Keyset slice of a user's notifications, newest first. Callers fetch pageSize + 1 rows. */
+  @Query(
+      "SELECT n FROM Notification n WHERE n.user.id = :userId AND n.isDeleted = false "
+          + "AND (n.createdAt, n.id) < (:createdAt, :id) "
+          + "ORDER BY n.createdAt DESC, n.id DESC")
+  List<Notification> findByUserIdBefore(
+      @Param("userId") Long userId,
+      @Param("createdAt") LocalDateTime createdAt,
+      @Param("id") Long id,
+      Pageable pageable);
+
   /** Find all notifications for a user (non-paginated) */
   List<Notification> findByUserAndIsDeletedFalseOrderByCreatedAtDesc(User user);
 
@@ -337,4 +349,38 @@ public interface NotificationRepository
       "UPDATE Notification n SET n.isDeleted = true, n.deletedAt = :now "
           + "WHERE n.id IN :ids AND n.isDeleted = false")
   int softDeleteMultiple(@Param("ids") List<Long> ids, @Param("now") LocalDateTime now);
+
+  /**
+   * Insert one copy of a broadcast notification for every active user with ID in {@code (afterId,
+   * upToId]} — a single statement per chunk instead of one INSERT per user.
+   *
+   * <p>IDs are drawn from {@code notifications_seq} directly. Every row takes a whole pooled block,
+   * so broadcast IDs are sparse, but they never fall inside a block Hibernate is handing out.
+   */
+  @Transactional
+  @Modifying
+  @Query(
+      value =
+          "INSERT INTO notifications (id, user_id, title, message, type, status, reference_id, "
+              + "reference_type, action_url, image_url, data, is_read, is_sent, retry_count, "
+              + "max_retry_count, priority, expires_at, sound, is_silent, is_deleted, "
+              + "created_at, updated_at) "
+              + "SELECT nextval('notifications_seq'), u.id, :title, :message, :type, 'PENDING', "
+              + ":referenceId, :referenceType, :actionUrl, :imageUrl, :data, false, false, 0, 3, 5, "
+              + ":expiresAt, 'default', false, false, :now, :now "
+              + "FROM users u WHERE u.is_active = true AND u.id > :afterId AND u.id <= :upToId",
+      nativeQuery = true)
+  int insertBroadcastForUserRange(
+      @Param("afterId") Long afterId,
+      @Param("upToId") Long upToId,
+      @Param("title") String title,
+      @Param("message") String message,
+      @Param("type") String type,
+      @Param("referenceId") String referenceId,
+      @Param("referenceType") String referenceType,
+      @Param("actionUrl") String actionUrl,
+      @Param("imageUrl") String imageUrl,
+      @Param("data") String data,
+      @Param("expiresAt") LocalDateTime expiresAt,
+      @Param("now") LocalDateTime now);
 }
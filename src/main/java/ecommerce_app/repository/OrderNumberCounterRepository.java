@@ -0,0 +1,36 @@
+package ecommerce_app.repository;
+
+import ecommerce_app.entity.OrderNumberCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+public interface OrderNumberCounterRepository extends JpaRepository<OrderNumberCounter, String> {
+
+  /**
+   * Atomically advance the counter by {@code size} and return the new high value. Runs in its own
+   * short transaction so the row lock is released immediately, not at the end of checkout.
+   */
+  @Transactional(propagation = Propagation.REQUIRES_NEW)
+  @Query(
+      value =
+          "UPDATE order_number_counters SET next_value = next_value + :size "
+              + "WHERE counter_key = :key RETURNING next_value",
+      nativeQuery = true)
+  Optional<Long> advance(@Param("key") String key, @Param("size") long size);
+
+  /** Create the counter starting at {@code start}; no-op if another node created it first. */
+  @Transactional(propagation = Propagation.REQUIRES_NEW)
+  @Modifying
+  @Query(
+      value =
+          "INSERT INTO order_number_counters (counter_key, next_value) VALUES (:key, :start) "
+              + "ON CONFLICT (counter_key) DO NOTHING",
+      nativeQuery = true)
+  int createIfAbsent(@Param("key") String key, @Param("start") long start);
+}
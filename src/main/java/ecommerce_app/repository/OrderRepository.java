@@ -5,19 +5,24 @@ import ecommerce_app.constant.enums.PaymentMethod;
 import ecommerce_app.constant.enums.PaymentStatus;
 import ecommerce_app.entity.Order;
 import ecommerce_app.entity.OrderItem;
+import ecommerce_app.projection.OrderExportProjection;
 import ecommerce_app.projection.OrderStatsProjection;
+import jakarta.persistence.QueryHint;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -26,6 +31,17 @@ public interface OrderRepository
     extends JpaRepository<Order, Long>, JpaSpecificationExecutor<Order> {
   Page<Order> findByUserId(Long userId, Pageable pageable);
 
+  /** Keyset slice of the user's orders, newest first. Callers fetch pageSize + 1 rows. */
+  @Query(
+      "SELECT o FROM Order o WHERE o.user.id = :userId "
+          + "AND (o.orderDate, o.id) < (:orderDate, :id) "
+          + "ORDER BY o.orderDate DESC, o.id DESC")
+  List<Order> findByUserIdBefore(
+      @Param("userId") Long userId,
+      @Param("orderDate") LocalDateTime orderDate,
+      @Param("id") Long id,
+      Pageable pageable);
+
   Optional<Order> findByIdAndUserId(Long orderId, Long userId);
 
   // for order statistics
@@ -214,4 +230,33 @@ public interface OrderRepository
 //            WHERE o.id = :id AND o.user.id = :userId
 //            """)
 //  Optional<Order> findByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+
+  // ════════════════════════════════════════════════════════════════
+  // Export — streamed, call inside a read-only transaction
+  // ════════════════════════════════════════════════════════════════
+
+  /** Same filters as {@code OrderSpecification.filter}; {@code null} means "any". */
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+  @Query(
+      """
+      SELECT o.orderNumber AS orderNumber, o.orderDate AS orderDate,
+             CONCAT(u.firstName, ' ', u.lastName) AS customerName, u.email AS customerEmail,
+             o.orderStatus AS orderStatus, o.paymentStatus AS paymentStatus,
+             o.paymentMethod AS paymentMethod, o.subtotalAmount AS subtotalAmount,
+             o.discountAmount AS discountAmount, o.shippingCost AS shippingCost,
+             o.totalAmount AS totalAmount
+      FROM Order o JOIN o.user u
+      WHERE (:orderNumber IS NULL OR LOWER(o.orderNumber) LIKE :orderNumber)
+        AND (:orderStatus IS NULL OR o.orderStatus = :orderStatus)
+        AND (:paymentStatus IS NULL OR o.paymentStatus = :paymentStatus)
+        AND (:fromTime IS NULL OR o.orderDate >= :fromTime)
+        AND (:toTime IS NULL OR o.orderDate < :toTime)
+      ORDER BY o.orderDate DESC
+      """)
+  Stream<OrderExportProjection> streamForExport(
+      @Param("orderNumber") String orderNumber,
+      @Param("orderStatus") OrderStatus orderStatus,
+      @Param("paymentStatus") PaymentStatus paymentStatus,
+      @Param("fromTime") LocalDateTime fromTime,
+      @Param("toTime") LocalDateTime toTime);
 }
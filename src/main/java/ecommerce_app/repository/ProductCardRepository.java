@@ -0,0 +1,113 @@
+package ecommerce_app.repository;
+
+import ecommerce_app.entity.ProductCard;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ProductCardRepository extends JpaRepository<ProductCard, Long> {
+
+  Page<ProductCard> findByIsFeatureTrueOrderByProductCreatedAtDesc(Pageable pageable);
+
+  Page<ProductCard> findAllByOrderByProductCreatedAtDesc(Pageable pageable);
+
+  Page<ProductCard> findByCategoryIdOrderByProductCreatedAtDesc(Long categoryId, Pageable pageable);
+
+  Page<ProductCard> findByHasPromotionTrueOrderByProductCreatedAtDesc(Pageable pageable);
+
+  Page<ProductCard> findByInStockTrueOrderByFavoritesCountDescProductCreatedAtDesc(
+      Pageable pageable);
+
+  Page<ProductCard> findByBrandIdAndInStockTrueOrderByProductCreatedAtDesc(
+      Long brandId, Pageable pageable);
+
+  // ── Keyset feeds ─────────────────────────────────────────────────────────
+  // Row-value comparisons follow the ORDER BY, so each slice is one range scan of the matching
+  // index no matter how deep the client has scrolled. Callers fetch pageSize + 1 rows.
+
+  @Query(
+      "SELECT c FROM ProductCard c "
+          + "WHERE (c.productCreatedAt, c.productId) < (:createdAt, :id) "
+          + "ORDER BY c.productCreatedAt DESC, c.productId DESC")
+  List<ProductCard> findNewestBefore(
+      @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
+
+  @Query(
+      "SELECT c FROM ProductCard c "
+          + "WHERE c.inStock = true "
+          + "AND (c.favoritesCount, c.productCreatedAt, c.productId) "
+          + "< (:favoritesCount, :createdAt, :id) "
+          + "ORDER BY c.favoritesCount DESC, c.productCreatedAt DESC, c.productId DESC")
+  List<ProductCard> findPopularBefore(
+      @Param("favoritesCount") Integer favoritesCount,
+      @Param("createdAt") LocalDateTime createdAt,
+      @Param("id") Long id,
+      Pageable pageable);
+
+  @Query(
+      "SELECT c FROM ProductCard c "
+          + "WHERE c.brandId = :brandId AND c.inStock = true "
+          + "AND (c.productCreatedAt, c.productId) < (:createdAt, :id) "
+          + "ORDER BY c.productCreatedAt DESC, c.productId DESC")
+  List<ProductCard> findByBrandNewestBefore(
+      @Param("brandId") Long brandId,
+      @Param("createdAt") LocalDateTime createdAt,
+      @Param("id") Long id,
+      Pageable pageable);
+
+  @Query("SELECT c.productId FROM ProductCard c")
+  List<Long> findAllProductIds();
+
+  @Query("SELECT c.productId FROM ProductCard c WHERE c.validUntil <= :now")
+  List<Long> findProductIdsValidBefore(@Param("now") LocalDateTime now);
+
+  /** Shared by {@link #search} and its count query. */
+  String SEARCH_WHERE =
+      "WHERE p.deleted = false "
+          + "AND (p.search_vector @@ to_tsquery('simple', :tsQuery) "
+          + "OR :text <% lower(p.name) "
+          + "OR lower(p.name) LIKE :pattern "
+          + "OR lower(p.code) LIKE :pattern) "
+          + "AND (CAST(:categoryId AS bigint) IS NULL OR c.category_id = :categoryId) "
+          + "AND (CAST(:brandId AS bigint) IS NULL OR c.brand_id = :brandId) "
+          + "AND (CAST(:inStock AS boolean) IS NULL OR c.in_stock = :inStock) "
+          + "AND (CAST(:isFeature AS boolean) IS NULL OR c.is_feature = :isFeature) "
+          + "AND (CAST(:hasPromotion AS boolean) IS NULL OR c.has_promotion = :hasPromotion) ";
+
+  /**
+   * Ranked product search over the card read model. {@code tsQuery} is a prefix tsquery built by
+   * {@code ProductSearchService}; {@code text} is the normalized query and {@code pattern} its
+   * escaped {@code %text%} form. A product matches on any of: full-text terms, trigram word
+   * similarity on the name (typos), or a substring of name or code (Khmer, partial codes). Null
+   * filters are ignored.
+   */
+  @Query(
+      value =
+          "SELECT c.* FROM product_cards c JOIN products p ON p.id = c.product_id "
+              + SEARCH_WHERE
+              + "ORDER BY ts_rank_cd(p.search_vector, to_tsquery('simple', :tsQuery)) "
+              + "+ word_similarity(:text, lower(p.name)) "
+              + "+ CASE WHEN lower(p.name) LIKE :prefix THEN 1 ELSE 0 END DESC, "
+              + "c.favorites_count DESC, c.product_id DESC",
+      countQuery =
+          "SELECT COUNT(*) FROM product_cards c JOIN products p ON p.id = c.product_id "
+              + SEARCH_WHERE,
+      nativeQuery = true)
+  Page<ProductCard> search(
+      @Param("tsQuery") String tsQuery,
+      @Param("text") String text,
+      @Param("pattern") String pattern,
+      @Param("prefix") String prefix,
+      @Param("categoryId") Long categoryId,
+      @Param("brandId") Long brandId,
+      @Param("inStock") Boolean inStock,
+      @Param("isFeature") Boolean isFeature,
+      @Param("hasPromotion") Boolean hasPromotion,
+      Pageable pageable);
+}
@@ -1,18 +1,26 @@
 package ecommerce_app.repository;
 
 import ecommerce_app.entity.Product;
+import ecommerce_app.projection.ProductReportProjection;
+import ecommerce_app.projection.ProductSuggestionProjection;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface ProductRepository
@@ -28,13 +36,23 @@ public interface ProductRepository
 
   Page<Product> findByCategoryId(Long categoryId, Pageable pageable);
 
-  Page<Product> findByNameContainingIgnoreCaseOrDescriptionContainingIgnoreCase(
-      String name, String description, Pageable pageable);
-
   @Modifying
   @Query("UPDATE Product p SET p.code = :code WHERE p.id = :id")
   void updateCode(Long id, String code);
 
+  /** Same format as {@code "PRD-%04d"}; for bulk inserts that cannot update codes one by one. */
+  @Modifying
+  @Query(
+      value =
+          "UPDATE products SET code = 'PRD-' || lpad(id::text, greatest(4, length(id::text)), '0') "
+              + "WHERE id IN (:ids)",
+      nativeQuery = true)
+  void assignCodes(@Param("ids") Collection<Long> ids);
+
+  /** Names already taken, soft-deleted products included (the unique index still holds them). */
+  @Query(value = "SELECT name FROM products WHERE name IN (:names)", nativeQuery = true)
+  List<String> findExistingNames(@Param("names") Collection<String> names);
+
   @Query(
       "SELECT DISTINCT p FROM Product p "
           + "LEFT JOIN p.promotions promo "
@@ -122,12 +140,42 @@ public interface ProductRepository
       @Param("excludeIds") List<Long> excludeIds,
       Pageable pageable);
 
+  /**
+   * Name and popularity of every live product for {@code ProductSuggestionIndex}. Weight is
+   * favorites × 2 + views since {@code since} + units sold since {@code since} × 3.
+   */
   @Query(
-      "SELECT DISTINCT p.name FROM Product p "
-          + "WHERE LOWER(p.name) LIKE LOWER(CONCAT('%', :q, '%')) "
-          + "ORDER BY p.name "
-          + "LIMIT 8")
-  List<String> findSuggestions(@Param("q") String q);
+      value =
+          "SELECT p.id AS id, p.name AS name, CAST(p.favorites_count * 2 "
+              + "+ COALESCE(v.views, 0) + COALESCE(s.sold, 0) * 3 AS bigint) AS weight "
+              + "FROM products p "
+              + "LEFT JOIN (SELECT product_id, COUNT(*) AS views FROM product_views "
+              + "WHERE viewed_at >= :since GROUP BY product_id) v ON v.product_id = p.id "
+              + "LEFT JOIN (SELECT product_id, SUM(quantity) AS sold "
+              + "FROM daily_product_sales_rollups WHERE sales_date >= CAST(:since AS date) "
+              + "GROUP BY product_id) s ON s.product_id = p.id "
+              + "WHERE p.deleted = false",
+      nativeQuery = true)
+  List<ProductSuggestionProjection> findSuggestionEntries(@Param("since") LocalDateTime since);
+
+  /** Name of live products among {@code ids}, weighted by favorites only. */
+  @Query(
+      "SELECT p.id AS id, p.name AS name, CAST(p.favoritesCount * 2 AS Long) AS weight "
+          + "FROM Product p WHERE p.id IN :ids")
+  List<ProductSuggestionProjection> findSuggestionEntriesByIdIn(
+      @Param("ids") Collection<Long> ids);
+
+  @Query("SELECT COUNT(i) FROM ProductImage i WHERE i.imagePath = :path")
+  long countImagesByPath(@Param("path") String path);
+
+  /**
+   * Version stamp of a product detail: the later of the product row change and the last rebuild
+   * of its card, which follows every variant, stock, promotion and review change.
+   */
+  @Query(
+      "SELECT GREATEST(p.updatedAt, COALESCE(c.refreshedAt, p.updatedAt)) FROM Product p "
+          + "LEFT JOIN ProductCard c ON c.productId = p.id WHERE p.id = :id")
+  Optional<LocalDateTime> findDetailVersion(@Param("id") Long id);
 
   @Query(
       "SELECT DISTINCT p FROM Product p "
@@ -140,6 +188,41 @@ public interface ProductRepository
   Page<Product> findByBrandId(
       @Param("brandId") Long brandId, @Param("search") String search, Pageable pageable);
 
+  // ── Keyset feeds ─────────────────────────────────────────────────────────
+  // Same filters as the paged queries above, with the cursor as a row-value comparison in
+  // ORDER BY order. Callers fetch pageSize + 1 rows.
+
+  @Query(
+      "SELECT p FROM Product p "
+          + "WHERE p.category.id IN :categoryIds "
+          + "AND p.id NOT IN :excludeIds "
+          + "AND EXISTS (SELECT 1 FROM ProductVariant v WHERE v.product = p "
+          + "AND v.stockQuantity > 0 AND v.isActive = true) "
+          + "AND (p.favoritesCount, p.createdAt, p.id) < (:favoritesCount, :createdAt, :id) "
+          + "ORDER BY p.favoritesCount DESC, p.createdAt DESC, p.id DESC")
+  List<Product> findRecommendedBefore(
+      @Param("categoryIds") List<Long> categoryIds,
+      @Param("excludeIds") List<Long> excludeIds,
+      @Param("favoritesCount") Integer favoritesCount,
+      @Param("createdAt") LocalDateTime createdAt,
+      @Param("id") Long id,
+      Pageable pageable);
+
+  @Query(
+      "SELECT p FROM Product p "
+          + "WHERE p.brand.id = :brandId "
+          + "AND LOWER(p.name) LIKE LOWER(CONCAT('%', :search, '%')) "
+          + "AND EXISTS (SELECT 1 FROM ProductVariant v WHERE v.product = p "
+          + "AND v.stockQuantity > 0 AND v.isActive = true) "
+          + "AND (p.createdAt, p.id) < (:createdAt, :id) "
+          + "ORDER BY p.createdAt DESC, p.id DESC")
+  List<Product> findByBrandIdBefore(
+      @Param("brandId") Long brandId,
+      @Param("search") String search,
+      @Param("createdAt") LocalDateTime createdAt,
+      @Param("id") Long id,
+      Pageable pageable);
+
   @Query(
       "SELECT DISTINCT p FROM Product p "
           + "JOIN p.variants v "
@@ -150,4 +233,50 @@ public interface ProductRepository
           + "ORDER BY p.createdAt DESC")
   Page<Product> findByBrandIdForAdmin(
       @Param("brandId") Long brandId, @Param("search") String search, Pageable pageable);
+
+  // ════════════════════════════════════════════════════════════════
+  // Listing read path: batch-load associations for a page of products
+  // ════════════════════════════════════════════════════════════════
+
+  @Query(
+      "SELECT p FROM Product p "
+          + "LEFT JOIN FETCH p.category "
+          + "LEFT JOIN FETCH p.brand "
+          + "WHERE p.id IN :ids")
+  List<Product> findWithCategoryAndBrandByIdIn(@Param("ids") Collection<Long> ids);
+
+  @Query("SELECT DISTINCT p FROM Product p LEFT JOIN FETCH p.variants WHERE p.id IN :ids")
+  List<Product> findWithVariantsByIdIn(@Param("ids") Collection<Long> ids);
+
+  @Query("SELECT DISTINCT p FROM Product p LEFT JOIN FETCH p.images WHERE p.id IN :ids")
+  List<Product> findWithImagesByIdIn(@Param("ids") Collection<Long> ids);
+
+  // ════════════════════════════════════════════════════════════════
+  // Product card read model maintenance
+  // ════════════════════════════════════════════════════════════════
+
+  @Query("SELECT p.id FROM Product p")
+  List<Long> findAllIds();
+
+  @Query("SELECT p.id FROM Product p WHERE p.category.id = :categoryId")
+  List<Long> findIdsByCategoryId(@Param("categoryId") Long categoryId);
+
+  @Query("SELECT p.id FROM Product p WHERE p.brand.id = :brandId")
+  List<Long> findIdsByBrandId(@Param("brandId") Long brandId);
+
+  @Query(
+      "SELECT p.id FROM Product p "
+          + "WHERE NOT EXISTS (SELECT c.productId FROM ProductCard c WHERE c.productId = p.id)")
+  List<Long> findIdsWithoutCard();
+
+  // ════════════════════════════════════════════════════════════════
+  // Report export — streamed, call inside a read-only transaction
+  // ════════════════════════════════════════════════════════════════
+
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+  @Query(
+      "SELECT p.id AS id, p.name AS name, p.description AS description, p.price AS price, "
+          + "c.name AS categoryName, p.isFeature AS isFeature, p.createdAt AS createdAt "
+          + "FROM Product p LEFT JOIN p.category c ORDER BY p.id")
+  Stream<ProductReportProjection> streamForReport();
 }
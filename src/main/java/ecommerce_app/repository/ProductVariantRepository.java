@@ -4,9 +4,11 @@ import ecommerce_app.constant.enums.StockMovementType;
 import ecommerce_app.entity.ProductVariant;
 import ecommerce_app.entity.VariantStockMovement;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -45,4 +47,22 @@ public interface ProductVariantRepository extends JpaRepository<ProductVariant,
     Long countByProductId(Long productId);
 
     Long countByProductIdAndIsDefaultTrue(Long productId);
-}
\ No newline at end of file
+
+    @Query("SELECT DISTINCT v FROM ProductVariant v "
+            + "LEFT JOIN FETCH v.attributeValues av "
+            + "LEFT JOIN FETCH av.productAttribute "
+            + "WHERE v.product.id IN :productIds")
+    List<ProductVariant> findWithAttributeValuesByProductIdIn(
+            @Param("productIds") Collection<Long> productIds);
+
+    // Atomic stock changes — the database checks and applies them in one statement, so concurrent
+    // orders on the same variant can never oversell. 0 rows updated means not enough stock.
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE ProductVariant v SET v.stockQuantity = v.stockQuantity - :qty "
+            + "WHERE v.id = :id AND v.stockQuantity >= :qty")
+    int decrementStockIfAvailable(@Param("id") Long id, @Param("qty") int qty);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE ProductVariant v SET v.stockQuantity = v.stockQuantity + :qty WHERE v.id = :id")
+    int incrementStock(@Param("id") Long id, @Param("qty") int qty);
+}
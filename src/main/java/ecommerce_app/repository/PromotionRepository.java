@@ -1,7 +1,9 @@
 package ecommerce_app.repository;
 
 import ecommerce_app.entity.Promotion;
+import ecommerce_app.projection.PromotionProductProjection;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -9,6 +11,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -45,9 +48,55 @@ public interface PromotionRepository
   List<Promotion> findActivePromotionsByProductId(
       @Param("productId") Long productId, @Param("now") LocalDateTime now);
 
+  /** Promotions that are active now or will be — the set held by {@code PromotionIndex}. */
+  @Query(
+      "SELECT p FROM Promotion p WHERE p.active = true AND (p.endAt IS NULL OR p.endAt >= :now)")
+  List<Promotion> findNotExpired(@Param("now") LocalDateTime now);
+
+  @Query(
+      "SELECT p.id AS promotionId, prod.id AS productId FROM Promotion p JOIN p.products prod "
+          + "WHERE p.id IN :promotionIds")
+  List<PromotionProductProjection> findProductLinks(
+      @Param("promotionIds") Collection<Long> promotionIds);
+
   @Query("SELECT COUNT(pu) FROM PromotionUsage pu WHERE pu.promotion.id = :promotionId")
   Long countUsagesByPromotionId(@Param("promotionId") Long promotionId);
 
+  @Query("SELECT p.usedCount FROM Promotion p WHERE p.id = :id")
+  Optional<Integer> findUsedCountById(@Param("id") Long id);
+
+  /**
+   * Count one redemption unless the promotion is used up. Returns 0 when {@code maxUsage} is
+   * reached. The row stays locked until commit, so concurrent checkouts cannot both take the last
+   * use.
+   */
+  @Modifying(flushAutomatically = true)
+  @Query(
+      "UPDATE Promotion p SET p.usedCount = p.usedCount + 1 "
+          + "WHERE p.id = :id AND (p.maxUsage IS NULL OR p.usedCount < p.maxUsage)")
+  int incrementUsedCount(@Param("id") Long id);
+
+  /** Give back a use taken by {@link #incrementUsedCount} in the same transaction. */
+  @Modifying(flushAutomatically = true)
+  @Query(
+      "UPDATE Promotion p SET p.usedCount = p.usedCount - 1 "
+          + "WHERE p.id = :id AND p.usedCount > 0")
+  int decrementUsedCount(@Param("id") Long id);
+
+  /**
+   * Raise {@code used_count} where it is below the number of usage rows. Never lowers it — an
+   * in-flight checkout's increment is not backed by a committed usage row yet.
+   */
+  @Modifying
+  @Query(
+      value =
+          "UPDATE promotions p SET used_count = u.used "
+              + "FROM (SELECT p2.id, (SELECT COUNT(*) FROM promotion_usages pu "
+              + "WHERE pu.promotion_id = p2.id) AS used FROM promotions p2) u "
+              + "WHERE u.id = p.id AND p.used_count < u.used",
+      nativeQuery = true)
+  int reconcileUsedCounts();
+
   /** Find upcoming promotions (not yet started) */
   @Query(
       "SELECT p FROM Promotion p WHERE p.active = true "
@@ -0,0 +1,56 @@
+package ecommerce_app.repository;
+
+import ecommerce_app.entity.PromotionUserCounter;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface PromotionUserCounterRepository
+    extends JpaRepository<PromotionUserCounter, PromotionUserCounter.Key> {
+
+  @Query(
+      "SELECT c.usedCount FROM PromotionUserCounter c "
+          + "WHERE c.promotionId = :promotionId AND c.userId = :userId")
+  Optional<Integer> findUsedCount(
+      @Param("promotionId") Long promotionId, @Param("userId") Long userId);
+
+  /**
+   * Count one redemption for the user unless they already reached {@code limit}. Returns 0 when
+   * the limit is reached. The conflicting row stays locked until commit, so concurrent checkouts
+   * by the same user are serialized.
+   */
+  @Modifying
+  @Query(
+      value =
+          "INSERT INTO promotion_user_counters (promotion_id, user_id, used_count) "
+              + "VALUES (:promotionId, :userId, 1) "
+              + "ON CONFLICT (promotion_id, user_id) DO UPDATE "
+              + "SET used_count = promotion_user_counters.used_count + 1 "
+              + "WHERE promotion_user_counters.used_count < :limit",
+      nativeQuery = true)
+  int increment(
+      @Param("promotionId") Long promotionId,
+      @Param("userId") Long userId,
+      @Param("limit") int limit);
+
+  /**
+   * Raise counters that are below the number of usage rows. Never lowers one: a checkout that has
+   * incremented its counter but not yet committed its usage row would lose the increment. Returns
+   * the number of counters written.
+   */
+  @Modifying
+  @Query(
+      value =
+          "INSERT INTO promotion_user_counters (promotion_id, user_id, used_count) "
+              + "SELECT promotion_id, user_id, COUNT(*) FROM promotion_usages "
+              + "GROUP BY promotion_id, user_id "
+              + "ON CONFLICT (promotion_id, user_id) DO UPDATE "
+              + "SET used_count = EXCLUDED.used_count "
+              + "WHERE promotion_user_counters.used_count < EXCLUDED.used_count",
+      nativeQuery = true)
+  int reconcile();
+}
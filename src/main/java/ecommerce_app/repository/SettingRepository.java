@@ -1,6 +1,7 @@
 package ecommerce_app.repository;
 
 import ecommerce_app.entity.Setting;
+import ecommerce_app.projection.VersionStampProjection;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -12,4 +13,12 @@ import java.util.List;
 public interface SettingRepository extends JpaRepository<Setting, String> {
   @Query("SELECT s FROM Setting s WHERE s.key IN :keys")
   List<Setting> findByKeys(@Param("keys") List<String> keys);
+
+  @Query("SELECT MAX(s.updatedAt) AS lastModified, COUNT(s) AS count FROM Setting s")
+  VersionStampProjection findVersionStamp();
+
+  @Query(
+      "SELECT MAX(s.updatedAt) AS lastModified, COUNT(s) AS count "
+          + "FROM Setting s WHERE s.key IN :keys")
+  VersionStampProjection findVersionStampByKeys(@Param("keys") List<String> keys);
 }
@@ -0,0 +1,50 @@
+package ecommerce_app.repository;
+
+import ecommerce_app.constant.enums.ReservationStatus;
+import ecommerce_app.entity.StockReservation;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface StockReservationRepository extends JpaRepository<StockReservation, Long> {
+
+  boolean existsByOrderId(Long orderId);
+
+  // Ordered by variant ID so releases take row locks in the same order as reservations
+  @Query(
+      "SELECT r FROM StockReservation r JOIN FETCH r.variant v JOIN FETCH v.product "
+          + "WHERE r.order.id = :orderId AND r.status IN :statuses ORDER BY v.id")
+  List<StockReservation> findByOrderIdAndStatusIn(
+      @Param("orderId") Long orderId, @Param("statuses") Collection<ReservationStatus> statuses);
+
+  /** Conditional status change — returns 0 if another transaction moved the reservation first. */
+  @Modifying(flushAutomatically = true)
+  @Query("UPDATE StockReservation r SET r.status = :to WHERE r.id = :id AND r.status = :from")
+  int transition(
+      @Param("id") Long id,
+      @Param("from") ReservationStatus from,
+      @Param("to") ReservationStatus to);
+
+  @Modifying(flushAutomatically = true)
+  @Query(
+      "UPDATE StockReservation r SET r.status = :to, r.expiresAt = null "
+          + "WHERE r.order.id = :orderId AND r.status = :from")
+  int transitionByOrderId(
+      @Param("orderId") Long orderId,
+      @Param("from") ReservationStatus from,
+      @Param("to") ReservationStatus to);
+
+  @Query(
+      "SELECT DISTINCT r.order.id FROM StockReservation r "
+          + "WHERE r.status = :status AND r.expiresAt < :now")
+  List<Long> findOrderIdsByStatusAndExpiresAtBefore(
+      @Param("status") ReservationStatus status,
+      @Param("now") LocalDateTime now,
+      Pageable pageable);
+}
@@ -4,9 +4,11 @@ import ecommerce_app.constant.enums.AuthProvider;
 import ecommerce_app.entity.User;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import org.apache.poi.sl.draw.geom.GuideIf;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Modifying;
@@ -72,4 +74,8 @@ public interface UserRepository extends JpaRepository<User, Long>, JpaSpecificat
           + "FROM User u JOIN u.roles r "
           + "WHERE u.id = :userId AND r.name = :roleName")
   boolean hasRole(@Param("userId") Long userId, @Param("roleName") String roleName);
+
+  // Keyset page of active user IDs (broadcasts)
+  @Query("SELECT u.id FROM User u WHERE u.isActive = true AND u.id > :afterId ORDER BY u.id")
+  List<Long> findActiveIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
 }
@@ -3,6 +3,7 @@ package ecommerce_app.repository;
 import ecommerce_app.constant.enums.StockMovementType;
 import ecommerce_app.entity.ProductVariant;
 import ecommerce_app.entity.VariantStockMovement;
+import ecommerce_app.projection.StockMovementProjection;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -14,17 +15,66 @@ import java.util.List;
 public interface VariantStockMovementRepository extends JpaRepository<VariantStockMovement, Long> {
   List<VariantStockMovement> findByVariantIdOrderByCreatedAtDesc(Long variantId);
 
-  List<VariantStockMovement> findByVariantIdAndCreatedAtBetween(
-      Long variantId, LocalDateTime startDate, LocalDateTime endDate, Pageable pageable);
+  // ── Ledger ─────────────────────────────────────────────────────────────
+  // Movements of one product (optionally one variant) in a date range, newest first, read as
+  // projections with the SKU from a single join. Served by idx_stock_movement_variant_created.
 
+  String LEDGER_SELECT =
+      "SELECT m.id AS id, v.sku AS variantSku, m.movementType AS movementType, "
+          + "m.quantity AS quantity, m.quantityBefore AS quantityBefore, "
+          + "m.quantityAfter AS quantityAfter, m.referenceType AS referenceType, "
+          + "m.referenceId AS referenceId, m.note AS note, m.createdAt AS createdAt, "
+          + "m.createdBy AS createdBy "
+          + "FROM VariantStockMovement m JOIN m.variant v ";
+
+  String LEDGER_WHERE =
+      "WHERE v.product.id = :productId "
+          + "AND (:variantId IS NULL OR v.id = :variantId) "
+          + "AND m.createdAt BETWEEN :startDate AND :endDate ";
+
+  @Query(LEDGER_SELECT + LEDGER_WHERE + "ORDER BY m.createdAt DESC, m.id DESC")
+  List<StockMovementProjection> findLedger(
+      @Param("productId") Long productId,
+      @Param("variantId") Long variantId,
+      @Param("startDate") LocalDateTime startDate,
+      @Param("endDate") LocalDateTime endDate,
+      Pageable pageable);
+
+  /** Keyset slice after the ({@code createdAt}, {@code id}) cursor. Fetch pageSize + 1 rows. */
   @Query(
-      "SELECT m FROM VariantStockMovement m WHERE m.variant.id IN :variantIds AND m.createdAt BETWEEN :startDate AND :endDate")
-  List<VariantStockMovement> findByVariantIdInAndCreatedAtBetween(
-      @Param("variantIds") List<Long> variantIds,
+      LEDGER_SELECT
+          + LEDGER_WHERE
+          + "AND (m.createdAt, m.id) < (:createdAt, :id) "
+          + "ORDER BY m.createdAt DESC, m.id DESC")
+  List<StockMovementProjection> findLedgerBefore(
+      @Param("productId") Long productId,
+      @Param("variantId") Long variantId,
       @Param("startDate") LocalDateTime startDate,
       @Param("endDate") LocalDateTime endDate,
+      @Param("createdAt") LocalDateTime createdAt,
+      @Param("id") Long id,
       Pageable pageable);
 
+  /**
+   * Number of ledger rows, counting no further than {@code cap} — an audit range can hold millions
+   * of movements, and an exact count of those would cost as much as reading them.
+   */
+  @Query(
+      value =
+          "SELECT COUNT(*) FROM (SELECT 1 FROM variant_stock_movements m "
+              + "JOIN product_variants v ON v.id = m.variant_id "
+              + "WHERE v.product_id = :productId "
+              + "AND (CAST(:variantId AS bigint) IS NULL OR v.id = :variantId) "
+              + "AND m.created_at BETWEEN :startDate AND :endDate "
+              + "LIMIT :cap) t",
+      nativeQuery = true)
+  long countLedger(
+      @Param("productId") Long productId,
+      @Param("variantId") Long variantId,
+      @Param("startDate") LocalDateTime startDate,
+      @Param("endDate") LocalDateTime endDate,
+      @Param("cap") int cap);
+
   // Get low stock variants
   @Query("SELECT v FROM ProductVariant v WHERE v.stockQuantity <= :threshold AND v.isActive = true")
   List<ProductVariant> findByStockQuantityLessThanEqual(@Param("threshold") int threshold);
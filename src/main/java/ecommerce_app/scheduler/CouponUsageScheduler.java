@@ -0,0 +1,37 @@
+package ecommerce_app.scheduler;
+
+import ecommerce_app.service.CouponService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/** Keeps coupon usage counters in sync with redemptions. */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CouponUsageScheduler {
+
+  private final CouponService couponService;
+
+  // Fill per-user counters on startup (first deploy has usage rows but no counters)
+  @EventListener(ApplicationReadyEvent.class)
+  public void backfillCounters() {
+    couponService.reconcileCounters();
+  }
+
+  // Run every 30 seconds — token-pool redemptions do not touch used_count, copy it over
+  @Scheduled(fixedDelay = 30000, initialDelay = 30000)
+  public void syncTokenPoolUsedCounts() {
+    couponService.syncTokenPoolUsedCounts();
+  }
+
+  // Run nightly — safety net for usage rows written outside checkout (counters are only raised)
+  @Scheduled(cron = "0 10 5 * * *")
+  public void reconcileCounters() {
+    int fixed = couponService.reconcileCounters();
+    log.info("Coupon usage reconciliation fixed {} counters", fixed);
+  }
+}
@@ -0,0 +1,167 @@
+package ecommerce_app.scheduler;
+
+import ecommerce_app.constant.enums.PaymentStatus;
+import ecommerce_app.exception.PaymentGatewayUnavailableException;
+import ecommerce_app.property.KHQRConfig;
+import ecommerce_app.repository.KHQRPaymentRepository;
+import ecommerce_app.service.impl.BakongApiClient;
+import ecommerce_app.service.impl.PaymentStatusTracker;
+import ecommerce_app.service.impl.PaymentStatusTracker.Pending;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+/**
+ * Polls Bakong for the payments held by {@link PaymentStatusTracker}, so gateway traffic follows
+ * the number of pending payments rather than the number of apps polling them.
+ *
+ * <p>KHQR payments are checked by QR MD5 in batches of up to 50 per call; pull payments have no
+ * batch endpoint and are checked one transaction per call — by merchant reference if the pull
+ * timed out before Bakong returned its transaction ID. Each payment is checked at its own
+ * slowing interval (see {@link PaymentStatusTracker#due}). A gateway failure pauses polling with
+ * doubling backoff; an error about a single payment only skips that payment. Expired payments are
+ * failed in bulk every tick without calling Bakong.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PaymentStatusPoller {
+
+  private final PaymentStatusTracker paymentStatusTracker;
+  private final KHQRPaymentRepository khqrPaymentRepository;
+  private final BakongApiClient bakongApiClient;
+  private final KHQRConfig khqrConfig;
+
+  // Only touched by the scheduler thread
+  private int consecutiveFailures;
+  private Instant pausedUntil = Instant.MIN;
+
+  // Track payments left pending by a restart or created on another node before this one started
+  @EventListener(ApplicationReadyEvent.class)
+  public void trackPendingPayments() {
+    paymentStatusTracker.trackAll(
+        khqrPaymentRepository.findWithUserByStatus(PaymentStatus.PENDING));
+    log.info("Tracking {} pending payments", paymentStatusTracker.size());
+  }
+
+  // Run every second — each payment decides whether it is due, so this only bounds the latency
+  @Scheduled(fixedDelay = 1000, initialDelay = 5000)
+  public void poll() {
+    Instant now = Instant.now();
+    try {
+      paymentStatusTracker.settle(paymentStatusTracker.expired(now), PaymentStatus.FAILED, null);
+    } catch (Exception e) {
+      log.error("Failed to expire pending payments", e);
+    }
+
+    if (now.isBefore(pausedUntil)) return;
+    KHQRConfig.Poller config = khqrConfig.getPoller();
+    List<Pending> due = paymentStatusTracker.due(now, config.getMaxChecksPerTick());
+    if (due.isEmpty()) return;
+
+    try {
+      List<Pending> byMd5 =
+          due.stream().filter(p -> p.transactionId() == null && !p.pull()).toList();
+      for (int i = 0; i < byMd5.size(); i += config.getBatchSize()) {
+        List<Pending> batch = byMd5.subList(i, Math.min(i + config.getBatchSize(), byMd5.size()));
+        check(() -> checkByMd5(batch), "batch of " + batch.size());
+      }
+      for (Pending pending : due) {
+        if (pending.transactionId() != null) {
+          check(() -> checkTransaction(pending), "payment " + pending.paymentId());
+        } else if (pending.pull()) {
+          check(() -> checkPullByReference(pending), "payment " + pending.paymentId());
+        }
+      }
+      consecutiveFailures = 0;
+    } catch (PaymentGatewayUnavailableException
+        | ResourceAccessException
+        | HttpServerErrorException e) {
+      // Bakong is failing or refusing calls — leave the rest for the next round
+      consecutiveFailures++;
+      Duration backoff = backoff(config);
+      pausedUntil = Instant.now().plus(backoff);
+      log.warn("Payment status poll failed, pausing for {}: {}", backoff, e.getMessage());
+    }
+  }
+
+  /**
+   * Run one check. Gateway-wide failures (refused, I/O, 5xx) are rethrown to pause the round;
+   * anything else — a 4xx for an unknown transaction, a malformed answer — only skips this check,
+   * and the payment is retried at its next interval or expires.
+   */
+  private void check(Runnable check, String what) {
+    try {
+      check.run();
+    } catch (PaymentGatewayUnavailableException
+        | ResourceAccessException
+        | HttpServerErrorException e) {
+      throw e;
+    } catch (Exception e) {
+      log.warn("Skipped status check of {}: {}", what, e.getMessage());
+    }
+  }
+
+  // ── Checks ────────────────────────────────────────────────────────────────
+
+  private void checkByMd5(List<Pending> batch) {
+    Map<String, Pending> byMd5 =
+        batch.stream().collect(Collectors.toMap(Pending::qrMd5, Function.identity(), (a, _) -> a));
+    Map<String, Object> response = bakongApiClient.statusByMd5(List.copyOf(byMd5.keySet()));
+    if (response == null || !(response.get("data") instanceof List<?> results)) return;
+
+    // Unpaid QRs come back as not found — only a success settles anything
+    List<Pending> paid = new ArrayList<>();
+    for (Object result : results) {
+      if (result instanceof Map<?, ?> item
+          && "SUCCESS".equalsIgnoreCase(String.valueOf(item.get("status")))
+          && byMd5.get(String.valueOf(item.get("md5"))) instanceof Pending pending) {
+        paid.add(pending);
+      }
+    }
+    paymentStatusTracker.settle(paid, PaymentStatus.COMPLETED, Instant.now());
+  }
+
+  private void checkTransaction(Pending pending) {
+    settleByStatus(pending, bakongApiClient.status(pending.transactionId()));
+  }
+
+  // A pull whose initiation timed out — Bakong may or may not have it; unknown ones stay pending
+  // until they expire
+  private void checkPullByReference(Pending pending) {
+    settleByStatus(pending, bakongApiClient.statusByMerchantTxnId(pending.paymentId()));
+  }
+
+  private void settleByStatus(Pending pending, Map<String, Object> response) {
+    if (response == null || !(response.get("status") instanceof String status)) return;
+
+    switch (status.toUpperCase(Locale.ROOT)) {
+      case "APPROVED", "SUCCESS" ->
+          paymentStatusTracker.settle(List.of(pending), PaymentStatus.COMPLETED, Instant.now());
+      case "DECLINED", "REJECTED", "EXPIRED" ->
+          paymentStatusTracker.settle(List.of(pending), PaymentStatus.FAILED, null);
+      default -> {
+        // Still awaiting the customer's approval
+      }
+    }
+  }
+
+  private Duration backoff(KHQRConfig.Poller config) {
+    Duration backoff =
+        config.getMinInterval().multipliedBy(1L << Math.min(consecutiveFailures - 1, 16));
+    return backoff.compareTo(config.getMaxBackoff()) > 0 ? config.getMaxBackoff() : backoff;
+  }
+}
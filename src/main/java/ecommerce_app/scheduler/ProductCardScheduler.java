@@ -0,0 +1,71 @@
+package ecommerce_app.scheduler;
+
+import ecommerce_app.repository.ProductCardRepository;
+import ecommerce_app.repository.ProductRepository;
+import ecommerce_app.service.impl.ProductCardService;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/** Keeps the product card read model in sync with the catalog. */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProductCardScheduler {
+
+  private final ProductCardService productCardService;
+  private final ProductCardRepository productCardRepository;
+  private final ProductRepository productRepository;
+
+  // Backfill products that have no card yet (first deploy, or a node died before draining)
+  @EventListener(ApplicationReadyEvent.class)
+  public void backfillMissingCards() {
+    List<Long> missing = productRepository.findIdsWithoutCard();
+    if (!missing.isEmpty()) {
+      log.info("Queueing {} products without a card", missing.size());
+      productCardService.markStale(missing);
+    }
+  }
+
+  // Run every 2 seconds — rebuild cards queued by writers, one chunk per transaction
+  @Scheduled(fixedDelay = 2000, initialDelay = 5000)
+  public void rebuildPendingCards() {
+    List<Long> chunk;
+    while (!(chunk = productCardService.drainPending(ProductCardService.REBUILD_CHUNK_SIZE))
+        .isEmpty()) {
+      try {
+        productCardService.rebuild(chunk);
+      } catch (Exception e) {
+        log.error("Failed to rebuild product cards {}", chunk, e);
+        productCardService.markStale(chunk);
+        return;
+      }
+    }
+  }
+
+  // Run every minute — promotions starting or ending change the discount on the card
+  @Scheduled(cron = "0 * * * * *")
+  public void refreshExpiredPromotionCards() {
+    List<Long> expired = productCardRepository.findProductIdsValidBefore(LocalDateTime.now());
+    if (!expired.isEmpty()) {
+      productCardService.markStale(expired);
+    }
+  }
+
+  // Run nightly — full rebuild as a safety net for writes that bypassed the services
+  @Scheduled(cron = "0 30 3 * * *")
+  public void reconcileAllCards() {
+    // Card IDs are included so cards of hard-deleted products are dropped
+    Set<Long> ids = new HashSet<>(productRepository.findAllIds());
+    ids.addAll(productCardRepository.findAllProductIds());
+    log.info("Reconciling {} product cards", ids.size());
+    productCardService.markStale(ids);
+  }
+}
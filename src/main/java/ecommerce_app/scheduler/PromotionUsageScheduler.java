@@ -0,0 +1,31 @@
+package ecommerce_app.scheduler;
+
+import ecommerce_app.service.PromotionUsageService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/** Keeps the promotion usage counters in sync with the usage rows. */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PromotionUsageScheduler {
+
+  private final PromotionUsageService promotionUsageService;
+
+  // Fill counters on startup (first deploy starts every counter at zero)
+  @EventListener(ApplicationReadyEvent.class)
+  public void backfillCounters() {
+    promotionUsageService.reconcileCounters();
+  }
+
+  // Run nightly — safety net for usage rows written outside checkout (counters are only raised)
+  @Scheduled(cron = "0 0 5 * * *")
+  public void reconcileCounters() {
+    int fixed = promotionUsageService.reconcileCounters();
+    log.info("Promotion usage reconciliation fixed {} counters", fixed);
+  }
+}
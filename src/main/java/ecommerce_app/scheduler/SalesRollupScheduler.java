@@ -0,0 +1,55 @@
+package ecommerce_app.scheduler;
+
+import ecommerce_app.service.impl.SalesRollupService;
+import java.time.LocalDate;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/** Keeps the daily sales rollups in sync with orders. */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SalesRollupScheduler {
+
+  private static final int NIGHTLY_REBUILD_DAYS = 7;
+
+  private final SalesRollupService salesRollupService;
+
+  // Fill days that have orders but no rollups (first deploy, or a node died before draining)
+  @EventListener(ApplicationReadyEvent.class)
+  public void backfillMissingDays() {
+    List<LocalDate> missing = salesRollupService.findDaysWithoutRollup();
+    if (!missing.isEmpty()) {
+      log.info("Queueing {} days without sales rollups", missing.size());
+      salesRollupService.markDirty(missing);
+    }
+  }
+
+  // Run every 5 seconds — rebuild days touched by committed order changes
+  @Scheduled(fixedDelay = 5000, initialDelay = 10000)
+  public void rebuildPendingDays() {
+    for (LocalDate day : salesRollupService.drainPending()) {
+      try {
+        salesRollupService.rebuild(day, day);
+      } catch (Exception e) {
+        log.error("Failed to rebuild sales rollup for {}", day, e);
+        salesRollupService.markDirty(day);
+      }
+    }
+  }
+
+  // Run nightly — rebuild the last week and any day without rollups, as a safety net for writes
+  // that bypassed the entity listener (bulk updates, manual SQL)
+  @Scheduled(cron = "0 45 3 * * *")
+  public void nightlyBackfill() {
+    LocalDate today = LocalDate.now();
+    salesRollupService.rebuild(today.minusDays(NIGHTLY_REBUILD_DAYS), today);
+    backfillMissingDays();
+    log.info("Nightly sales rollup backfill completed");
+  }
+}
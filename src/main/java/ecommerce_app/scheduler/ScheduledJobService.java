@@ -13,6 +13,7 @@ import ecommerce_app.repository.OrderRepository;
 import ecommerce_app.repository.PaymentRepository;
 import ecommerce_app.repository.ProductVariantRepository;
 import ecommerce_app.service.StockManagementService;
+import ecommerce_app.service.impl.StockReservationService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
@@ -31,6 +32,20 @@ public class ScheduledJobService {
   private final OrderRepository orderRepository;
   private final StockManagementService stockManagementService;
   private final ProductVariantRepository variantRepository;
+  private final StockReservationService stockReservationService;
+
+  // Run every minute — release stock held by QR orders that were never paid
+  @Scheduled(fixedDelay = 60000, initialDelay = 30000)
+  public void releaseExpiredReservations() {
+    List<Long> orderIds = stockReservationService.findExpiredOrderIds();
+    for (Long orderId : orderIds) {
+      try {
+        stockReservationService.expire(orderId);
+      } catch (Exception e) {
+        log.error("Failed to release expired reservations for order {}", orderId, e);
+      }
+    }
+  }
 
   @Scheduled(cron = "0 */30 * * * *") // Run every 30 minutes
   @Transactional
@@ -76,6 +91,12 @@ public class ScheduledJobService {
    * Uses variant-based stock management.
    */
   private void restoreStockForOrder(Order order) {
+    String note = "Stock restored from expired order #" + order.getOrderNumber();
+    if (stockReservationService.release(order, "ORDER_CANCELLED", note)) {
+      return;
+    }
+
+    // Orders placed before reservations existed
     for (OrderItem item : order.getOrderItems()) {
       try {
         // Determine which variant to restore stock to
@@ -90,7 +111,7 @@ public class ScheduledJobService {
                           .quantity(item.getQuantity())
                           .referenceType("ORDER_CANCELLED")
                           .referenceId(order.getId())
-                          .note("Stock restored from expired order #" + order.getOrderNumber())
+                          .note(note)
                           .build(),
                   null // System action, no specific user
           );
@@ -8,6 +8,8 @@ import ecommerce_app.dto.request.POSOrderRequest;
 import ecommerce_app.dto.response.OrderDetailResponse;
 import ecommerce_app.dto.response.OrderResponse;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -36,6 +38,16 @@ public interface AdminManageOrderService {
       String sortBy,
       Sort.Direction sortDirection);
 
+  /** Stream every order matching the filters to {@code out} as an Excel workbook. */
+  void exportOrders(
+      String orderNumber,
+      OrderStatus orderStatus,
+      PaymentStatus paymentStatus,
+      LocalDate fromDate,
+      LocalDate toDate,
+      OutputStream out)
+      throws IOException;
+
   OrderDetailResponse getOrderDetailForAdmin(Long orderId);
 
   Page<OrderResponse> getOrdersReadyForCollection(
@@ -1,15 +1,17 @@
 package ecommerce_app.service;
 
 import ecommerce_app.constant.enums.ExportFormat;
+import java.io.IOException;
+import java.io.OutputStream;
 
 public interface CatalogReportService<T> {
   /**
-   * Export data as report
+   * Export data as report, streamed to {@code out} without loading every row into memory
    *
    * @param format Export format
-   * @return byte array of report
+   * @param out Destination, e.g. the servlet response stream
    */
-  byte[] export(ExportFormat format);
+  void export(ExportFormat format, OutputStream out) throws IOException;
 
   /**
    * Get report template name
@@ -4,7 +4,6 @@ import ecommerce_app.dto.request.CategoryRequest;
 import ecommerce_app.dto.response.CategoryResponse;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Sort;
-import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
 
@@ -19,8 +18,6 @@ public interface CategoryService {
 
   void bulkInsertCategories(List<CategoryRequest> categoryRequests);
 
-  void importCategoriesFromExcel(MultipartFile file);
-
   void deleteCategory(Long id);
 
   Page<CategoryResponse> filter(
@@ -27,4 +27,9 @@ public interface CouponService {
   ApplyCouponResponse applyCoupon(ApplyCouponRequest request, Long userId);
 
   void redeemCoupon(Long couponId, Long userId, Long orderId, BigDecimal discountAmount);
+
+  // Maintenance
+  int syncTokenPoolUsedCounts();
+
+  int reconcileCounters();
 }
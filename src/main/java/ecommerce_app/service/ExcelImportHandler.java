@@ -0,0 +1,38 @@
+package ecommerce_app.service;
+
+import ecommerce_app.constant.enums.ImportJobType;
+import ecommerce_app.util.StreamingExcelReader.ExcelRow;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Row handling for one kind of Excel import, plugged into {@link ImportJobService}.
+ *
+ * @param <T> a parsed, validated row ready to insert
+ */
+public interface ExcelImportHandler<T> {
+
+  ImportJobType type();
+
+  /** Start a job. Load whatever lookups rows are validated against, once per job. */
+  Session<T> open();
+
+  interface Session<T> {
+
+    /**
+     * Parse and validate one row without touching the database. Called from several threads at
+     * once. Throws {@link ecommerce_app.exception.BadRequestException} with a readable message
+     * when the row is invalid.
+     */
+    T parse(ExcelRow row);
+
+    /**
+     * Check a chunk of parsed rows against the database and earlier chunks (duplicates) with a
+     * bounded number of queries. Returns error messages keyed by index in {@code rows}.
+     */
+    Map<Integer, String> check(List<T> rows);
+
+    /** Insert rows. Runs inside the chunk's transaction. */
+    void insert(List<T> rows);
+  }
+}
@@ -0,0 +1,17 @@
+package ecommerce_app.service;
+
+import ecommerce_app.constant.enums.ImportJobType;
+import ecommerce_app.dto.response.ImportJobResponse;
+import org.springframework.core.io.Resource;
+import org.springframework.web.multipart.MultipartFile;
+
+public interface ImportJobService {
+
+  /** Accept an Excel file and import it in the background. Returns the job to poll. */
+  ImportJobResponse submit(ImportJobType type, MultipartFile file);
+
+  ImportJobResponse getJob(Long jobId);
+
+  /** The per-row error report of a finished job. */
+  Resource getErrorFile(Long jobId);
+}
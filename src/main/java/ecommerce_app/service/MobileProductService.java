@@ -1,5 +1,6 @@
 package ecommerce_app.service;
 
+import ecommerce_app.dto.response.CursorPage;
 import ecommerce_app.dto.response.MobileProductListResponse;
 import ecommerce_app.dto.response.MobileProductResponse;
 import org.springframework.data.domain.Page;
@@ -38,6 +39,15 @@ public interface MobileProductService {
    */
   MobileProductResponse getProductById(Long id, Long userId);
 
+  /**
+   * Track a product view in the background. Called by {@link #getProductById}, and directly when
+   * the client's cached copy of the product is still current.
+   *
+   * @param userId authenticated user ID, null means guest
+   * @param productId product being viewed
+   */
+  void recordProductView(Long userId, Long productId);
+
   /**
    * Get product by UUID Used for deep linking and sharing product URLs
    *
@@ -76,10 +86,14 @@ public interface MobileProductService {
    * Search products by query Main search functionality for mobile app
    *
    * @param query Search term
-   * @param pageable Pagination and sorting
-   * @return Paginated list of matching products
+   * @param categoryId Filter by category (optional)
+   * @param brandId Filter by brand (optional)
+   * @param inStock Filter by stock availability (optional)
+   * @param pageable Pagination
+   * @return Paginated list of matching products, most relevant first
    */
-  Page<MobileProductListResponse> searchProducts(String query, Pageable pageable);
+  Page<MobileProductListResponse> searchProducts(
+      String query, Long categoryId, Long brandId, Boolean inStock, Pageable pageable);
 
   /**
    * Check if product is in stock Helper method for UI logic
@@ -125,6 +139,16 @@ public interface MobileProductService {
    */
   Page<MobileProductListResponse> getNewArrivals(int page, int pageSize);
 
+  /**
+   * Cursor mode of {@link #getNewArrivals} for infinite scroll — no count query, and every slice
+   * costs the same however deep.
+   *
+   * @param cursor {@code nextCursor} of the previous slice, blank for the first
+   * @param pageSize Maximum number of products
+   * @return Slice of newest products
+   */
+  CursorPage<MobileProductListResponse> scrollNewArrivals(String cursor, int pageSize);
+
   /**
    * Get popular products (by favorites count) Shows most-liked products
    *
@@ -134,6 +158,9 @@ public interface MobileProductService {
    */
   Page<MobileProductListResponse> getPopularProducts(int page, int size);
 
+  /** Cursor mode of {@link #getPopularProducts}. */
+  CursorPage<MobileProductListResponse> scrollPopularProducts(String cursor, int size);
+
   /**
    * Get low stock products Shows "Only X left!" products
    *
@@ -179,6 +206,10 @@ public interface MobileProductService {
   Page<MobileProductListResponse> getRecommendedProducts(
       Long userId, List<Long> excludeIds, int page, int size);
 
+  /** Cursor mode of {@link #getRecommendedProducts}. */
+  CursorPage<MobileProductListResponse> scrollRecommendedProducts(
+      Long userId, List<Long> excludeIds, String cursor, int size);
+
   /**
    * Track a product view for recommendation history. Skips if userId is null (guest) or already
    * viewed.
@@ -201,4 +232,8 @@ public interface MobileProductService {
    */
   Page<MobileProductListResponse> getProductsByBrand(
           Long brandId, String search, int page, int size);
+
+  /** Cursor mode of {@link #getProductsByBrand}. */
+  CursorPage<MobileProductListResponse> scrollProductsByBrand(
+      Long brandId, String search, String cursor, int size);
 }
@@ -1,6 +1,7 @@
 package ecommerce_app.service;
 
 import ecommerce_app.dto.request.NotificationRequest;
+import ecommerce_app.dto.response.CursorPage;
 import ecommerce_app.dto.response.NotificationResponse;
 import ecommerce_app.entity.Notification;
 import org.springframework.data.domain.Page;
@@ -18,8 +19,6 @@ public interface NotificationService {
 
   NotificationResponse createAndSendNotification(NotificationRequest request);
 
-  void sendPushNotificationAsync(Notification notification);
-
   void sendPushNotification(Notification notification);
 
   // ────────────────────────────────────────────────────────────────────────────
@@ -28,6 +27,9 @@ public interface NotificationService {
 
   Page<NotificationResponse> getUserNotifications(Long userId, Pageable pageable);
 
+  /** Cursor mode of {@link #getUserNotifications} — newest first, no count query. */
+  CursorPage<NotificationResponse> scrollUserNotifications(Long userId, String cursor, int size);
+
   Long getUnreadCount(Long userId);
 
   Map<String, Long> getNotificationStats(Long userId);
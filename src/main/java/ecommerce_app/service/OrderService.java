@@ -2,6 +2,7 @@ package ecommerce_app.service;
 
 import ecommerce_app.constant.enums.PaymentMethod;
 import ecommerce_app.dto.request.CheckoutRequest;
+import ecommerce_app.dto.response.CursorPage;
 import ecommerce_app.dto.response.OrderDetailResponse;
 import ecommerce_app.dto.response.OrderResponse;
 import org.springframework.data.domain.Page;
@@ -12,5 +13,7 @@ public interface OrderService {
 
   Page<OrderResponse> getOrders(Long userId, int page, int pageSize);
 
+  CursorPage<OrderResponse> scrollOrders(Long userId, String cursor, int pageSize);
+
   OrderDetailResponse getOrderDetails(Long orderId, Long userId);
 }
@@ -1,13 +1,11 @@
 package ecommerce_app.service;
 
-import ecommerce_app.dto.response.ImportProductFromExcelResponse;
 import ecommerce_app.dto.response.NearEmptyStockResponse;
 import ecommerce_app.dto.request.ProductRequest;
 import ecommerce_app.dto.response.ProductResponse;
 import java.util.List;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Sort;
-import org.springframework.web.multipart.MultipartFile;
 
 public interface ProductService {
   ProductResponse saveProduct(ProductRequest productRequest);
@@ -32,8 +30,6 @@ public interface ProductService {
       Long brandId,
       String filter);
 
-  ImportProductFromExcelResponse importProductFromExcel(MultipartFile file);
-
   List<NearEmptyStockResponse> getNearEmptyStockProducts();
 
   long countNearEmptyStockProducts();
@@ -1,12 +1,31 @@
-// ecommerce_app/modules/promotion/service/PromotionUsageService.java
 package ecommerce_app.service;
 
 import ecommerce_app.entity.Order;
 import ecommerce_app.entity.Promotion;
 import ecommerce_app.entity.User;
+import java.math.BigDecimal;
 
 public interface PromotionUsageService {
-    void recordPromotionUsage(Promotion promotion, Order order, User user);
-    boolean canUsePromotion(Promotion promotion, User user);
-    Long getPromotionUsageCount(Long promotionId);
-}
\ No newline at end of file
+
+  /**
+   * Take one use of the promotion for the user, in the caller's transaction. Returns {@code false},
+   * changing nothing, when the global or the per-user limit is reached.
+   */
+  boolean claimPromotionUsage(Promotion promotion, User user);
+
+  /** Write the usage row of a promotion claimed with {@link #claimPromotionUsage}. */
+  void recordPromotionUsage(
+      Promotion promotion, Order order, User user, BigDecimal discountAmount);
+
+  boolean canUsePromotion(Promotion promotion, User user);
+
+  Long getPromotionUsageCount(Long promotionId);
+
+  long getUserUsageCount(Long promotionId, Long userId);
+
+  /**
+   * Raise usage counters that fell below the usage rows. Counters are never lowered, so this is
+   * safe to run while checkouts are in flight. Returns the number of counters fixed.
+   */
+  int reconcileCounters();
+}
@@ -5,6 +5,7 @@ import ecommerce_app.dto.response.SettingResponse;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
 
 public interface SettingService {
 
@@ -19,4 +20,7 @@ public interface SettingService {
   List<SettingResponse> bulkUpdate(List<BulkUpdateSettingItem> items);
 
   List<SettingResponse> getAll();
+
+  /** All settings as key → value, served from memory. */
+  Map<String, String> getAllAsMap();
 }
@@ -1,6 +1,7 @@
 package ecommerce_app.service;
 
 import ecommerce_app.dto.request.StockAdjustmentRequest;
+import ecommerce_app.dto.response.CursorPage;
 import ecommerce_app.dto.response.ProductStockResponse;
 import ecommerce_app.dto.response.StockAlertResponse;
 import ecommerce_app.dto.response.StockHistoryResponse;
@@ -21,7 +22,7 @@ public interface StockManagementService {
   // Get current stock for a product (shows all variants)
   ProductStockResponse getProductStock(Long productId);
 
-  // Get stock history
+  // Get stock history — huge ranges get a capped total, flagged as such; scrollStockHistory walks them
   Page<StockHistoryResponse> getStockHistory(
       Long productId,
       Long variantId,
@@ -29,6 +30,15 @@ public interface StockManagementService {
       LocalDateTime endDate,
       Pageable pageable);
 
+  // Get stock history by cursor — constant cost per slice, no count
+  CursorPage<StockHistoryResponse> scrollStockHistory(
+      Long productId,
+      Long variantId,
+      LocalDateTime startDate,
+      LocalDateTime endDate,
+      String cursor,
+      int pageSize);
+
   // Get low stock alerts
   List<StockAlertResponse> getLowStockAlerts(int threshold);
 
@@ -4,6 +4,8 @@ package ecommerce_app.service.facade;
 import ecommerce_app.entity.Product;
 import ecommerce_app.entity.Promotion;
 import ecommerce_app.repository.PromotionRepository;
+import ecommerce_app.service.PromotionUsageService;
+import ecommerce_app.service.impl.PromotionIndex;
 import ecommerce_app.service.strategy.PromotionStrategy;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -19,6 +21,8 @@ import org.springframework.stereotype.Service;
 public class PromotionFacade {
 
   private final PromotionRepository promotionRepository;
+  private final PromotionIndex promotionIndex;
+  private final PromotionUsageService promotionUsageService;
   private final Map<String, PromotionStrategy> strategies;
 
   public BigDecimal calculateDiscount(
@@ -74,22 +78,15 @@ public class PromotionFacade {
     }
 
     // Check usage limits
-    if (promotion.getMaxUsage() != null && promotion.getUsages() != null) {
-      if (promotion.getUsages().size() >= promotion.getMaxUsage()) {
-        throw new IllegalStateException("Promotion usage limit reached");
-      }
+    if (hasReachedMaxUsage(promotion)) {
+      throw new IllegalStateException("Promotion usage limit reached");
     }
   }
 
   private void validateApplicability(Promotion promotion, Product product) {
     // Check if promotion applies to this product
-    if (promotion.getProducts() != null && !promotion.getProducts().isEmpty()) {
-      boolean isApplicable =
-          promotion.getProducts().stream().anyMatch(p -> p.getId().equals(product.getId()));
-
-      if (!isApplicable) {
-        throw new IllegalStateException("Promotion does not apply to this product");
-      }
+    if (!isProductEligibleForPromotion(product, promotion)) {
+      throw new IllegalStateException("Promotion does not apply to this product");
     }
   }
 
@@ -102,13 +99,35 @@ public class PromotionFacade {
     };
   }
 
+  /**
+   * Valid promotions come from {@link PromotionIndex}; the repository is only asked for codes the
+   * index does not hold, so callers can still tell an expired code from an unknown one.
+   */
   public Promotion getPromotionByCode(String promotionCode) {
+    Promotion promotion = promotionIndex.findActiveByCode(promotionCode);
+    if (promotion != null) return promotion;
     return promotionRepository.findByCode(promotionCode).orElse(null);
   }
 
   public List<Promotion> getAvailablePromotion(Product product) {
-    return promotionRepository.findActivePromotionsByProductId(
-        product.getId(), LocalDateTime.now());
+    return promotionIndex.findActive(product.getId());
+  }
+
+  /**
+   * Whether the promotion's global usage limit is used up. Reads the live counter — the copy held
+   * by {@link PromotionIndex} has a stale {@code usedCount}.
+   */
+  public boolean hasReachedMaxUsage(Promotion promotion) {
+    if (promotion.getMaxUsage() == null) return false;
+    return promotionUsageService.getPromotionUsageCount(promotion.getId())
+        >= promotion.getMaxUsage();
+  }
+
+  /** Uses left before the global limit, {@code null} when unlimited. */
+  public Integer getRemainingUsage(Promotion promotion) {
+    if (promotion.getMaxUsage() == null) return null;
+    long used = promotionUsageService.getPromotionUsageCount(promotion.getId());
+    return (int) Math.max(0, promotion.getMaxUsage() - used);
   }
 
   public boolean isPromotionActive(Promotion promotion) {
@@ -126,6 +145,10 @@ public class PromotionFacade {
   }
 
   public boolean isProductEligibleForPromotion(Product product, Promotion promotion) {
+    Boolean covered = promotionIndex.covers(promotion.getId(), product.getId());
+    if (covered != null) return covered;
+
+    // Not indexed (inactive or expired) — decide from the entity
     // If promotion has no specific products, it applies to all
     if (promotion.getProducts() == null || promotion.getProducts().isEmpty()) {
       return true;
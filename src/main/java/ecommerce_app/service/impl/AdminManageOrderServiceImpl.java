@@ -5,7 +5,6 @@ import com.nimbusds.oauth2.sdk.util.StringUtils;
 import ecommerce_app.constant.enums.*;
 import ecommerce_app.dto.request.POSOrderItemRequest;
 import ecommerce_app.dto.request.POSOrderRequest;
-import ecommerce_app.dto.request.StockAdjustmentRequest;
 import ecommerce_app.dto.response.*;
 import ecommerce_app.entity.*;
 import ecommerce_app.exception.BadRequestException;
@@ -14,9 +13,11 @@ import ecommerce_app.mapper.OrderMapper;
 import ecommerce_app.mapper.OrderStatusHistoryMapper;
 import ecommerce_app.repository.*;
 import ecommerce_app.service.AdminManageOrderService;
-import ecommerce_app.service.StockManagementService;
 import ecommerce_app.specification.OrderSpecification;
+import ecommerce_app.projection.OrderExportProjection;
 import ecommerce_app.util.JsonUtils;
+import ecommerce_app.util.StreamingExcelWriter;
+import ecommerce_app.util.StreamingExcelWriter.Column;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -27,6 +28,8 @@ import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -34,12 +37,27 @@ import java.time.format.DateTimeFormatter;
 import java.util.*;
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class AdminManageOrderServiceImpl implements AdminManageOrderService {
 
+  private static final List<Column<OrderExportProjection>> EXPORT_COLUMNS =
+      List.of(
+          new Column<>("Order Number", OrderExportProjection::getOrderNumber),
+          new Column<>("Order Date", OrderExportProjection::getOrderDate),
+          new Column<>("Customer", OrderExportProjection::getCustomerName),
+          new Column<>("Email", OrderExportProjection::getCustomerEmail),
+          new Column<>("Order Status", OrderExportProjection::getOrderStatus),
+          new Column<>("Payment Status", OrderExportProjection::getPaymentStatus),
+          new Column<>("Payment Method", OrderExportProjection::getPaymentMethod),
+          new Column<>("Subtotal", OrderExportProjection::getSubtotalAmount),
+          new Column<>("Discount", OrderExportProjection::getDiscountAmount),
+          new Column<>("Shipping", OrderExportProjection::getShippingCost),
+          new Column<>("Total", OrderExportProjection::getTotalAmount));
+
   private final OrderRepository orderRepository;
   private final OrderStatusHistoryRepository orderStatusHistoryRepository;
   private final OrderStatusHistoryMapper orderStatusHistoryMapper;
@@ -54,7 +72,8 @@ public class AdminManageOrderServiceImpl implements AdminManageOrderService {
 
   // ✅ REPLACED StockRepository with these two
   private final ProductVariantRepository variantRepository;
-  private final StockManagementService stockManagementService;
+  private final StockReservationService stockReservationService;
+  private final StreamingExcelWriter streamingExcelWriter;
 
   @Transactional(rollbackFor = Exception.class)
   @Override
@@ -128,6 +147,7 @@ public class AdminManageOrderServiceImpl implements AdminManageOrderService {
     // Process items
     BigDecimal subtotal = BigDecimal.ZERO;
     List<OrderItem> orderItems = new ArrayList<>();
+    List<StockReservationService.Line> stockLines = new ArrayList<>();
 
     for (POSOrderItemRequest itemReq : request.getItems()) {
       Product product =
@@ -141,29 +161,7 @@ public class AdminManageOrderServiceImpl implements AdminManageOrderService {
       // ✅ Resolve variant - use provided variantId or default variant
       ProductVariant variant = resolveVariant(product, itemReq.getVariantId());
 
-      // ✅ Validate stock on variant
-      if (variant.getStockQuantity() < itemReq.getQuantity()) {
-        throw new BadRequestException(
-            String.format(
-                "Insufficient stock for '%s' (%s). Available: %d, Requested: %d",
-                product.getName(),
-                variant.getSku(),
-                variant.getStockQuantity(),
-                itemReq.getQuantity()));
-      }
-
-      // ✅ Deduct stock via StockManagementService
-      stockManagementService.adjustStock(
-          StockAdjustmentRequest.builder()
-              .productId(product.getId())
-              .variantId(variant.getId())
-              .movementType(StockMovementType.OUT)
-              .quantity(itemReq.getQuantity())
-              .referenceType("POS_ORDER")
-              .referenceId(savedOrder.getId())
-              .note("POS Order #" + savedOrder.getOrderNumber())
-              .build(),
-          staffUserId);
+      stockLines.add(new StockReservationService.Line(variant, itemReq.getQuantity()));
 
       BigDecimal unitPrice =
           itemReq.getUnitPrice() != null
@@ -189,6 +187,14 @@ public class AdminManageOrderServiceImpl implements AdminManageOrderService {
       orderItems.add(orderItem);
     }
 
+    // Deduct stock for all lines at once — atomic per variant, locked in variant ID order
+    stockReservationService.reserveAndCommit(
+        savedOrder,
+        stockLines,
+        "POS_ORDER",
+        "POS Order #" + savedOrder.getOrderNumber(),
+        staffUserId);
+
     orderItemRepository.saveAll(orderItems);
 
     if (savedOrder.getOrderItems() == null) {
@@ -358,6 +364,31 @@ public class AdminManageOrderServiceImpl implements AdminManageOrderService {
     return productPage.map(orderMapper::toSimpleResponse);
   }
 
+  // Rows are read through a database cursor — the transaction stays open while the file is written
+  @Transactional(readOnly = true)
+  @Override
+  public void exportOrders(
+      String orderNumber,
+      OrderStatus orderStatus,
+      PaymentStatus paymentStatus,
+      LocalDate fromDate,
+      LocalDate toDate,
+      OutputStream out)
+      throws IOException {
+    String orderNumberPattern =
+        orderNumber != null ? "%" + orderNumber.toLowerCase().replace("#", "") + "%" : null;
+
+    try (Stream<OrderExportProjection> rows =
+        orderRepository.streamForExport(
+            orderNumberPattern,
+            orderStatus,
+            paymentStatus,
+            fromDate != null ? fromDate.atStartOfDay() : null,
+            toDate != null ? toDate.plusDays(1).atStartOfDay() : null)) {
+      streamingExcelWriter.write(out, "Orders", EXPORT_COLUMNS, rows);
+    }
+  }
+
   @Transactional(readOnly = true)
   @Override
   public OrderDetailResponse getOrderDetailForAdmin(Long orderId) {
@@ -0,0 +1,242 @@
+package ecommerce_app.service.impl;
+
+import ecommerce_app.core.CircuitBreaker;
+import ecommerce_app.exception.PaymentGatewayUnavailableException;
+import ecommerce_app.property.KHQRConfig;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.retry.support.RetryTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * HTTP calls to the Bakong API, bounded so a slow or failing provider costs request threads at
+ * most a timeout and never queues them up:
+ *
+ * <ul>
+ *   <li>a response timeout per endpoint, over the pooled {@code bakongHttpClient};
+ *   <li>a bulkhead — at most {@code maxConcurrentCalls} in flight, others wait briefly then fail;
+ *   <li>a circuit breaker that refuses calls while the provider keeps failing, then probes;
+ *   <li>retries with jittered backoff for status checks only — pull and cancel are not
+ *       idempotent.
+ * </ul>
+ *
+ * <p>Every call is timed as {@code bakong.api.requests} tagged by endpoint and outcome. Point
+ * {@code khqr.api-base-url} at a local stub server to exercise the failure paths.
+ */
+@Component
+public class BakongApiClient {
+
+  private static final ParameterizedTypeReference<Map<String, Object>> JSON_MAP =
+      new ParameterizedTypeReference<>() {};
+
+  private enum Endpoint {
+    PULL,
+    STATUS,
+    CANCEL
+  }
+
+  private final KHQRConfig khqrConfig;
+  private final MeterRegistry meterRegistry;
+  private final Map<Endpoint, RestTemplate> restTemplates = new EnumMap<>(Endpoint.class);
+  private final Semaphore bulkhead;
+  private final Duration bulkheadWait;
+  private final CircuitBreaker circuitBreaker;
+  private final RetryTemplate statusRetry;
+
+  public BakongApiClient(
+      KHQRConfig khqrConfig,
+      @Qualifier("bakongHttpClient") CloseableHttpClient httpClient,
+      MeterRegistry meterRegistry) {
+    this.khqrConfig = khqrConfig;
+    this.meterRegistry = meterRegistry;
+
+    KHQRConfig.Http http = khqrConfig.getHttp();
+    restTemplates.put(Endpoint.PULL, restTemplate(httpClient, http.getPullTimeout()));
+    restTemplates.put(Endpoint.STATUS, restTemplate(httpClient, http.getStatusTimeout()));
+    restTemplates.put(Endpoint.CANCEL, restTemplate(httpClient, http.getCancelTimeout()));
+
+    this.bulkhead = new Semaphore(http.getMaxConcurrentCalls(), true);
+    this.bulkheadWait = http.getBulkheadWait();
+    this.circuitBreaker =
+        new CircuitBreaker("bakong", http.getFailureThreshold(), http.getOpenDuration());
+    this.statusRetry =
+        RetryTemplate.builder()
+            .maxAttempts(http.getStatusMaxAttempts())
+            .exponentialBackoff(
+                http.getRetryInitialBackoff().toMillis(),
+                2,
+                http.getRetryMaxBackoff().toMillis(),
+                true)
+            .retryOn(List.of(ResourceAccessException.class, HttpServerErrorException.class))
+            .build();
+
+    Gauge.builder("bakong.api.circuit.state", circuitBreaker, cb -> cb.getState().ordinal())
+        .description("0 closed, 1 open, 2 half-open")
+        .register(meterRegistry);
+    Gauge.builder("bakong.api.bulkhead.available", bulkhead, Semaphore::availablePermits)
+        .register(meterRegistry);
+  }
+
+  // ── Endpoints ─────────────────────────────────────────────────────────────
+
+  /** Initiate a pull transaction. Not retried — a repeat could request the money twice. */
+  public Map<String, Object> pull(Map<String, Object> requestBody, String signature) {
+    HttpHeaders headers = apiKeyHeaders();
+    headers.setContentType(MediaType.APPLICATION_JSON);
+    headers.set("X-Signature", signature);
+    return call(
+        Endpoint.PULL,
+        "/v1/transactions/pull",
+        HttpMethod.POST,
+        new HttpEntity<>(requestBody, headers));
+  }
+
+  /** Check a transaction's status, retrying timeouts and 5xx. */
+  public Map<String, Object> status(String transactionId) {
+    HttpEntity<Void> entity = new HttpEntity<>(apiKeyHeaders());
+    return statusRetry.execute(
+        _ ->
+            call(
+                Endpoint.STATUS,
+                "/v1/transactions/" + transactionId + "/status",
+                HttpMethod.GET,
+                entity));
+  }
+
+  /**
+   * Check a pull transaction by the {@code merchantTxnId} it was requested with — for pulls whose
+   * answer was lost to a timeout, so we never learned the transaction ID. Retried like {@link
+   * #status}.
+   */
+  public Map<String, Object> statusByMerchantTxnId(String merchantTxnId) {
+    HttpEntity<Void> entity = new HttpEntity<>(apiKeyHeaders());
+    return statusRetry.execute(
+        _ ->
+            call(
+                Endpoint.STATUS,
+                "/v1/transactions/merchant/" + merchantTxnId + "/status",
+                HttpMethod.GET,
+                entity));
+  }
+
+  /** Check up to 50 KHQR transactions by QR MD5 in one call, retried like {@link #status}. */
+  public Map<String, Object> statusByMd5(List<String> md5s) {
+    HttpHeaders headers = apiKeyHeaders();
+    headers.setContentType(MediaType.APPLICATION_JSON);
+    HttpEntity<List<String>> entity = new HttpEntity<>(md5s, headers);
+    return statusRetry.execute(
+        _ -> call(Endpoint.STATUS, "/v1/check_transaction_by_md5_list", HttpMethod.POST, entity));
+  }
+
+  public void cancel(String transactionId) {
+    call(
+        Endpoint.CANCEL,
+        "/v1/transactions/" + transactionId + "/cancel",
+        HttpMethod.POST,
+        new HttpEntity<>(apiKeyHeaders()));
+  }
+
+  // ── Guarded call ──────────────────────────────────────────────────────────
+
+  private Map<String, Object> call(
+      Endpoint endpoint, String path, HttpMethod method, HttpEntity<?> entity) {
+    String url = khqrConfig.getApiBaseUrl() + path;
+    return guarded(
+        endpoint,
+        () -> restTemplates.get(endpoint).exchange(url, method, entity, JSON_MAP).getBody());
+  }
+
+  private <T> T guarded(Endpoint endpoint, Supplier<T> request) {
+    Timer.Sample sample = Timer.start(meterRegistry);
+    String outcome = "success";
+    try {
+      if (!acquireBulkhead()) {
+        outcome = "rejected";
+        throw new PaymentGatewayUnavailableException("Too many payment provider calls in flight");
+      }
+      try {
+        if (!circuitBreaker.tryAcquire()) {
+          outcome = "circuit_open";
+          throw new PaymentGatewayUnavailableException("Payment provider is unavailable");
+        }
+        try {
+          T result = request.get();
+          circuitBreaker.onSuccess();
+          return result;
+        } catch (HttpClientErrorException e) {
+          // The provider answered — our request was wrong, not the provider
+          outcome = "client_error";
+          circuitBreaker.onSuccess();
+          throw e;
+        } catch (RuntimeException e) {
+          outcome = outcomeOf(e);
+          circuitBreaker.onFailure();
+          throw e;
+        }
+      } finally {
+        bulkhead.release();
+      }
+    } finally {
+      sample.stop(
+          meterRegistry.timer(
+              "bakong.api.requests",
+              "endpoint",
+              endpoint.name().toLowerCase(Locale.ROOT),
+              "outcome",
+              outcome));
+    }
+  }
+
+  private boolean acquireBulkhead() {
+    try {
+      return bulkhead.tryAcquire(bulkheadWait.toMillis(), TimeUnit.MILLISECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+
+  private static String outcomeOf(RuntimeException e) {
+    if (e instanceof ResourceAccessException) return "io_error"; // includes timeouts
+    if (e instanceof HttpServerErrorException) return "server_error";
+    if (e instanceof RestClientException) return "bad_response";
+    return "error";
+  }
+
+  // ── Helpers ───────────────────────────────────────────────────────────────
+
+  private HttpHeaders apiKeyHeaders() {
+    HttpHeaders headers = new HttpHeaders();
+    headers.set("X-API-Key", khqrConfig.getApiKey());
+    return headers;
+  }
+
+  private static RestTemplate restTemplate(CloseableHttpClient httpClient, Duration timeout) {
+    HttpComponentsClientHttpRequestFactory requestFactory =
+        new HttpComponentsClientHttpRequestFactory(httpClient);
+    requestFactory.setReadTimeout(timeout);
+    return new RestTemplate(requestFactory);
+  }
+}
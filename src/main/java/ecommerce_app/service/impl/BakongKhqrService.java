@@ -34,6 +34,7 @@ public class BakongKhqrService {
   private final KHQRConfig khqrConfig;
   private final KHQRPaymentRepository khqrPaymentRepository;
   private final OrderRepository orderRepository;
+  private final PaymentStatusTracker paymentStatusTracker;
 
   @Transactional
   public PaymentResponse createPayment(Long orderId) {
@@ -46,6 +47,7 @@ public class BakongKhqrService {
     // Check if payment already exists
     Optional<KHQRPayment> existingPayment = khqrPaymentRepository.findByOrderId(order.getId());
     if (existingPayment.isPresent()) {
+      paymentStatusTracker.track(existingPayment.get());
       return PaymentResponse.from(existingPayment.get());
     }
 
@@ -78,6 +80,7 @@ public class BakongKhqrService {
             .build();
 
     payment = khqrPaymentRepository.save(payment);
+    paymentStatusTracker.track(payment);
 
     log.info(
         "KHQR payment created: paymentId={}, orderId={}, amount={}",
@@ -148,6 +151,9 @@ public class BakongKhqrService {
     payment.setCallbackMd5(payload.getMd5());
 
     payment = khqrPaymentRepository.save(payment);
+    if (newStatus != PaymentStatus.PENDING) {
+      paymentStatusTracker.settled(payment);
+    }
 
     // Update order status if payment completed
     if (newStatus == PaymentStatus.COMPLETED) {
@@ -159,22 +165,31 @@ public class BakongKhqrService {
     return PaymentStatusResponseV2.from(payment);
   }
 
+  /**
+   * Current status for an app polling while the customer pays. Pending payments are answered from
+   * {@link PaymentStatusTracker} without touching the database; {@code PaymentStatusPoller} checks
+   * Bakong and expires them, and pushes the change on {@code /user/queue/payments}.
+   */
   @Transactional(readOnly = true)
   public PaymentStatusResponseV2 checkPaymentStatus(String paymentId) {
+    Optional<PaymentStatusTracker.Pending> pending = paymentStatusTracker.find(paymentId);
+    if (pending.isPresent()) {
+      return PaymentStatusTracker.responseOf(pending.get(), PaymentStatus.PENDING, null);
+    }
+
     KHQRPayment payment =
         khqrPaymentRepository
             .findById(Long.valueOf(paymentId))
             .orElseThrow(() -> new RuntimeException("Payment not found: " + paymentId));
+    PaymentStatusResponseV2 response = PaymentStatusResponseV2.from(payment);
 
-    // Check if payment is expired
+    // Expired but not yet failed by the poller (e.g. tracked on another node)
     if (payment.getStatus() == PaymentStatus.PENDING
         && payment.getExpiresAt() != null
         && Instant.now().isAfter(payment.getExpiresAt())) {
-      payment.setStatus(PaymentStatus.FAILED);
-      payment = khqrPaymentRepository.save(payment);
+      response.setStatus(PaymentStatus.FAILED);
     }
-
-    return PaymentStatusResponseV2.from(payment);
+    return response;
   }
 
   private void validateCallback(BakongCallbackPayload payload) {
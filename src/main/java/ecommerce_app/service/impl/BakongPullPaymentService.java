@@ -6,14 +6,14 @@ import ecommerce_app.dto.response.PullPaymentResponse;
 import ecommerce_app.dto.response.PullPaymentStatusResponse;
 import ecommerce_app.entity.KHQRPayment;
 import ecommerce_app.entity.Order;
+import ecommerce_app.exception.PaymentGatewayUnavailableException;
 import ecommerce_app.property.KHQRConfig;
 import ecommerce_app.repository.KHQRPaymentRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.http.*;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.web.client.ResourceAccessException;
 
 import java.math.BigDecimal;
 import java.security.MessageDigest;
@@ -29,10 +29,18 @@ public class BakongPullPaymentService {
 
   private final KHQRConfig khqrConfig;
   private final KHQRPaymentRepository khqrPaymentRepository;
-  private final RestTemplate restTemplate;
-
-  /** Initiate pull payment - request money from customer's Bakong account */
-  @Transactional
+  private final BakongApiClient bakongApiClient;
+  private final PaymentStatusTracker paymentStatusTracker;
+
+  /**
+   * Initiate pull payment - request money from customer's Bakong account.
+   *
+   * <p>Not transactional: the payment row is saved before Bakong is called and each outcome is
+   * saved on its own, so no database connection is held during the call and a failure is recorded
+   * rather than rolled back. A timeout leaves the outcome unknown — Bakong may have sent the
+   * request to the customer — so the payment stays pending and {@code PaymentStatusPoller} looks it
+   * up by its merchant reference.
+   */
   public PullPaymentResponse initiatePullPayment(PullPaymentRequest request) {
     // Validate phone number format
     validatePhoneNumber(request.getCustomerPhone());
@@ -54,84 +62,79 @@ public class BakongPullPaymentService {
     payment = khqrPaymentRepository.save(payment);
 
     // Call Bakong API to initiate pull transaction
+    Map<String, Object> bakongResponse;
     try {
-      Map<String, Object> bakongResponse = callBakongPullApi(request, payment.getId());
-
-      if (bakongResponse != null && "SUCCESS".equals(bakongResponse.get("responseCode"))) {
-        payment.setBakongTransactionId((String) bakongResponse.get("transactionId"));
-        payment = khqrPaymentRepository.save(payment);
-
-        return buildPullPaymentResponse(payment, request, bakongResponse);
-      } else {
-        payment.setStatus(PaymentStatus.FAILED);
-        payment = khqrPaymentRepository.save(payment);
-        throw new RuntimeException(
-            "Bakong pull payment initiation failed: "
-                + (bakongResponse != null
-                    ? bakongResponse.get("responseMessage")
-                    : "Unknown error"));
-      }
+      bakongResponse = callBakongPullApi(request, payment.getId());
+    } catch (PaymentGatewayUnavailableException e) {
+      // Refused before reaching Bakong — surfaces as 503 so the app can offer a retry
+      markFailed(payment);
+      throw e;
+    } catch (ResourceAccessException e) {
+      log.warn("Pull payment {} timed out, leaving it for the status poller", payment.getId(), e);
+      paymentStatusTracker.track(payment);
+      return buildPullPaymentResponse(
+          payment, request, "Payment request is being confirmed. Awaiting approval.");
     } catch (Exception e) {
       log.error("Failed to initiate pull payment", e);
-      payment.setStatus(PaymentStatus.FAILED);
-      khqrPaymentRepository.save(payment);
+      markFailed(payment);
       throw new RuntimeException("Failed to initiate payment request", e);
     }
+
+    if (bakongResponse == null || !"SUCCESS".equals(bakongResponse.get("responseCode"))) {
+      markFailed(payment);
+      throw new RuntimeException(
+          "Bakong pull payment initiation failed: "
+              + (bakongResponse != null ? bakongResponse.get("responseMessage") : "Unknown error"));
+    }
+
+    payment.setBakongTransactionId((String) bakongResponse.get("transactionId"));
+    payment = khqrPaymentRepository.save(payment);
+    paymentStatusTracker.track(payment);
+
+    return buildPullPaymentResponse(
+        payment, request, "Payment request sent to customer. Awaiting approval.");
   }
 
-  /** Check status of pull payment */
-  @Transactional
+  private void markFailed(KHQRPayment payment) {
+    payment.setStatus(PaymentStatus.FAILED);
+    khqrPaymentRepository.save(payment);
+  }
+
+  /**
+   * Check status of pull payment. Pending payments are answered from {@link PaymentStatusTracker};
+   * {@code PaymentStatusPoller} checks Bakong for them and pushes the outcome.
+   */
+  @Transactional(readOnly = true)
   public PullPaymentStatusResponse checkPullPaymentStatus(String paymentId) {
+    Optional<PaymentStatusTracker.Pending> pending = paymentStatusTracker.find(paymentId);
+    if (pending.isPresent()) {
+      PaymentStatusTracker.Pending tracked = pending.get();
+      return PullPaymentStatusResponse.builder()
+          .paymentId(tracked.paymentId())
+          .transactionId(tracked.transactionId())
+          .status("PENDING")
+          .customerPhone(tracked.customerId())
+          .amount(tracked.amount().toString())
+          .currency(tracked.currency())
+          .build();
+    }
+
     KHQRPayment payment =
         khqrPaymentRepository
             .findById(Long.valueOf(paymentId))
             .orElseThrow(() -> new RuntimeException("Payment not found: " + paymentId));
 
-    // Check if payment has expired
-    if (payment.getStatus() == PaymentStatus.PENDING
-        && payment.getExpiresAt() != null
-        && Instant.now().isAfter(payment.getExpiresAt())) {
-      payment.setStatus(PaymentStatus.FAILED);
-      payment = khqrPaymentRepository.save(payment);
-
-      return PullPaymentStatusResponse.builder()
-          .paymentId(payment.getId())
-          .status("EXPIRED")
-          .build();
-    }
-
-    // If we have a Bakong transaction ID, check with Bakong API
-    if (payment.getBakongTransactionId() != null && payment.getStatus() == PaymentStatus.PENDING) {
-      try {
-        Map<String, Object> statusResponse = callBakongStatusApi(payment.getBakongTransactionId());
-
-        if (statusResponse != null) {
-          String bakongStatus = (String) statusResponse.get("status");
-
-          switch (bakongStatus.toUpperCase()) {
-            case "APPROVED", "SUCCESS":
-              payment.setStatus(PaymentStatus.COMPLETED);
-              payment.setPaidAt(Instant.now());
-              payment = khqrPaymentRepository.save(payment);
-              break;
-            case "DECLINED", "REJECTED", "EXPIRED":
-              payment.setStatus(PaymentStatus.FAILED);
-              payment = khqrPaymentRepository.save(payment);
-              break;
-          }
-
-          return mapBakongStatusResponse(payment, statusResponse);
-        }
-      } catch (Exception e) {
-        log.error("Error checking Bakong payment status", e);
-      }
-    }
+    // Expired but not yet failed by the poller (e.g. tracked on another node)
+    boolean expired =
+        payment.getStatus() == PaymentStatus.PENDING
+            && payment.getExpiresAt() != null
+            && Instant.now().isAfter(payment.getExpiresAt());
 
-    // Return current status from our database
     return PullPaymentStatusResponse.builder()
         .paymentId(payment.getId())
         .transactionId(payment.getBakongTransactionId())
-        .status(mapStatusToString(payment.getStatus()))
+        .status(expired ? "EXPIRED" : mapStatusToString(payment.getStatus()))
+        .customerPhone(payment.getCustomerId())
         .amount(payment.getAmount().toString())
         .currency(payment.getCurrency())
         .build();
@@ -160,12 +163,11 @@ public class BakongPullPaymentService {
 
     payment.setStatus(PaymentStatus.FAILED);
     khqrPaymentRepository.save(payment);
+    paymentStatusTracker.settled(payment);
   }
 
   /** Call Bakong API to initiate pull transaction */
   private Map<String, Object> callBakongPullApi(PullPaymentRequest request, String merchantTxnId) {
-    String url = khqrConfig.getApiBaseUrl() + "/v1/transactions/pull";
-
     Map<String, Object> requestBody = new HashMap<>();
     requestBody.put("fromAccountId", formatPhoneNumber(request.getCustomerPhone()));
     requestBody.put("toAccountId", khqrConfig.getBakongAccountId());
@@ -176,53 +178,13 @@ public class BakongPullPaymentService {
     requestBody.put("description", request.getDescription());
     requestBody.put("orderNumber", request.getOrderNumber());
 
-    // Generate signature
-    String signature = generateApiSignature(requestBody);
-
-    HttpHeaders headers = new HttpHeaders();
-    headers.setContentType(MediaType.APPLICATION_JSON);
-    headers.set("X-API-Key", khqrConfig.getApiKey());
-    headers.set("X-Signature", signature);
-
-    HttpEntity<Map<String, Object>> entity = new HttpEntity<>(requestBody, headers);
-
-    try {
-      ResponseEntity<Map> response = restTemplate.exchange(url, HttpMethod.POST, entity, Map.class);
-      return response.getBody();
-    } catch (Exception e) {
-      log.error("Bakong API call failed", e);
-      return null;
-    }
-  }
-
-  /** Check transaction status with Bakong API */
-  private Map<String, Object> callBakongStatusApi(String transactionId) {
-    String url = khqrConfig.getApiBaseUrl() + "/v1/transactions/" + transactionId + "/status";
-
-    HttpHeaders headers = new HttpHeaders();
-    headers.set("X-API-Key", khqrConfig.getApiKey());
-
-    HttpEntity<Void> entity = new HttpEntity<>(headers);
-
-    try {
-      ResponseEntity<Map> response = restTemplate.exchange(url, HttpMethod.GET, entity, Map.class);
-      return response.getBody();
-    } catch (Exception e) {
-      log.error("Bakong status API call failed", e);
-      return null;
-    }
+    // Sign and send — failures propagate to initiatePullPayment, which decides the payment status
+    return bakongApiClient.pull(requestBody, generateApiSignature(requestBody));
   }
 
   /** Cancel transaction with Bakong API */
   private void callBakongCancelApi(String transactionId) {
-    String url = khqrConfig.getApiBaseUrl() + "/v1/transactions/" + transactionId + "/cancel";
-
-    HttpHeaders headers = new HttpHeaders();
-    headers.set("X-API-Key", khqrConfig.getApiKey());
-
-    HttpEntity<Void> entity = new HttpEntity<>(headers);
-
-    restTemplate.exchange(url, HttpMethod.POST, entity, Map.class);
+    bakongApiClient.cancel(transactionId);
   }
 
   private void validatePhoneNumber(String phone) {
@@ -271,7 +233,7 @@ public class BakongPullPaymentService {
   }
 
   private PullPaymentResponse buildPullPaymentResponse(
-      KHQRPayment payment, PullPaymentRequest request, Map<String, Object> bakongResponse) {
+      KHQRPayment payment, PullPaymentRequest request, String statusMessage) {
 
     return PullPaymentResponse.builder()
         .paymentId(payment.getId())
@@ -280,7 +242,7 @@ public class BakongPullPaymentService {
         .amount(request.getAmount())
         .currency(request.getCurrency())
         .status(PaymentStatus.PENDING)
-        .statusMessage("Payment request sent to customer. Awaiting approval.")
+        .statusMessage(statusMessage)
         .createdAt(Instant.from(payment.getCreatedAt()))
         .expiresAt(payment.getExpiresAt())
         .orderNumber(request.getOrderNumber())
@@ -289,23 +251,6 @@ public class BakongPullPaymentService {
         .build();
   }
 
-  private PullPaymentStatusResponse mapBakongStatusResponse(
-      KHQRPayment payment, Map<String, Object> bakongResponse) {
-
-    return PullPaymentStatusResponse.builder()
-        .paymentId(payment.getId())
-        .transactionId(payment.getBakongTransactionId())
-        .status((String) bakongResponse.get("status"))
-        .customerPhone(payment.getCustomerId())
-        .customerName((String) bakongResponse.get("customerName"))
-        .amount(payment.getAmount().toString())
-        .currency(payment.getCurrency())
-        .approvalTimestamp((String) bakongResponse.get("approvalTimestamp"))
-        .rejectionReason((String) bakongResponse.get("rejectionReason"))
-        .receiptUrl((String) bakongResponse.get("receiptUrl"))
-        .build();
-  }
-
   private String mapStatusToString(PaymentStatus status) {
     return switch (status) {
       case PENDING -> "PENDING";
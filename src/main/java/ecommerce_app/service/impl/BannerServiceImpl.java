@@ -30,6 +30,7 @@ public class BannerServiceImpl implements BannerService {
   private final FileManagerService fileManagerService;
   private final StorageConfig storageConfig;
   private final BannerMapper bannerMapper;
+  private final HomeScreenCache homeScreenCache;
 
   @Transactional
   @Override
@@ -40,12 +41,13 @@ public class BannerServiceImpl implements BannerService {
       banner.setTitle(bannerRequest.getTitle().trim()); // remove leading/trailing spaces
       if (bannerRequest.getImage() != null) {
         String imagePath =
-            fileManagerService.saveFile(bannerRequest.getImage(), storageConfig.getBannerPath());
+            fileManagerService.saveImage(bannerRequest.getImage(), storageConfig.getBannerPath());
         if (imagePath != null) {
           banner.setImage(imagePath);
         }
       }
       var saved = bannerRepository.save(banner);
+      homeScreenCache.invalidate(HomeScreenCache.Section.BANNERS);
       log.info("Created new banner: id={}", saved.getId());
       return bannerMapper.toResponse(saved);
     } catch (DataIntegrityViolationException ex) {
@@ -66,12 +68,13 @@ public class BannerServiceImpl implements BannerService {
       this.prepareBannerEntity(bannerRequest, existingBanner);
       if (bannerRequest.getImage() != null) {
         String imagePath =
-            fileManagerService.saveFile(bannerRequest.getImage(), storageConfig.getBannerPath());
+            fileManagerService.saveImage(bannerRequest.getImage(), storageConfig.getBannerPath());
         if (imagePath != null) {
           existingBanner.setImage(imagePath);
         }
       }
       Banner updated = bannerRepository.save(existingBanner);
+      homeScreenCache.invalidate(HomeScreenCache.Section.BANNERS);
       return bannerMapper.toResponse(updated);
     } catch (Exception ex) {
       log.error(ex.getMessage(), ex);
@@ -85,6 +88,7 @@ public class BannerServiceImpl implements BannerService {
     log.info("Deleting banner request");
     try {
       bannerRepository.deleteById(bannerId);
+      homeScreenCache.invalidate(HomeScreenCache.Section.BANNERS);
       log.info("Deleted banner: id={}", bannerId);
     } catch (Exception ex) {
       log.error(ex.getMessage(), ex);
@@ -113,6 +117,7 @@ public class BannerServiceImpl implements BannerService {
             .orElseThrow(() -> new ResourceNotFoundException("Banner", bannerId));
     banner.setIsActive(!banner.getIsActive());
     bannerRepository.save(banner);
+    homeScreenCache.invalidate(HomeScreenCache.Section.BANNERS);
     log.info("Toggled banner status: id={}, newStatus={}", bannerId, banner.getIsActive());
   }
 
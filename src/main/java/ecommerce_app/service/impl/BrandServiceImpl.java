@@ -9,6 +9,7 @@ import ecommerce_app.exception.ConflictException;
 import ecommerce_app.exception.ResourceNotFoundException;
 import ecommerce_app.mapper.BrandMapper;
 import ecommerce_app.repository.BrandRepository;
+import ecommerce_app.repository.ProductRepository;
 import ecommerce_app.service.BrandService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -29,6 +30,9 @@ public class BrandServiceImpl implements BrandService {
   private final FileManagerService fileManagerService;
   private final StorageConfig storageConfig;
   private final BrandMapper brandMapper;
+  private final ProductRepository productRepository;
+  private final ProductCardService productCardService;
+  private final HomeScreenCache homeScreenCache;
 
   @Transactional(readOnly = true)
   public List<BrandResponse> getAllBrands() {
@@ -66,6 +70,7 @@ public class BrandServiceImpl implements BrandService {
             .displayOrder(request.getDisplayOrder())
             .build();
 
+    homeScreenCache.invalidate(HomeScreenCache.Section.BRANDS);
     return brandMapper.toResponse(brandRepository.save(brand));
   }
 
@@ -97,6 +102,9 @@ public class BrandServiceImpl implements BrandService {
     brand.setIsActive(request.getIsActive());
     brand.setDisplayOrder(request.getDisplayOrder());
 
+    // brand name and logo are part of every product card of this brand
+    productCardService.markStale(productRepository.findIdsByBrandId(id));
+    homeScreenCache.invalidate(HomeScreenCache.Section.BRANDS);
     return brandMapper.toResponse(brandRepository.save(brand));
   }
 
@@ -110,6 +118,8 @@ public class BrandServiceImpl implements BrandService {
     if (brand.getLogo() != null) {
       fileManagerService.deleteFile(storageConfig.getLogoPath(), brand.getLogo());
     }
+    productCardService.markStale(productRepository.findIdsByBrandId(id));
+    homeScreenCache.invalidate(HomeScreenCache.Section.BRANDS);
     brandRepository.delete(brand);
   }
 
@@ -130,6 +140,7 @@ public class BrandServiceImpl implements BrandService {
         brandRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException("Brand", id));
     brand.setIsActive(!brand.getIsActive());
     brandRepository.save(brand);
+    homeScreenCache.invalidate(HomeScreenCache.Section.BRANDS);
   }
 
   @Transactional(readOnly = true)
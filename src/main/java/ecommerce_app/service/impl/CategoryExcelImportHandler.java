@@ -0,0 +1,98 @@
+package ecommerce_app.service.impl;
+
+import static ecommerce_app.util.ExcelCellUtils.*;
+
+import ecommerce_app.constant.enums.ImportJobType;
+import ecommerce_app.entity.Category;
+import ecommerce_app.repository.CategoryRepository;
+import ecommerce_app.service.ExcelImportHandler;
+import ecommerce_app.util.StreamingExcelReader.ExcelRow;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+/**
+ * Category rows: Name*, Description, Icon, Display Order — the columns of {@link
+ * CategoryExcelTemplateService}. A missing display order defaults to the row number.
+ */
+@Service
+@RequiredArgsConstructor
+public class CategoryExcelImportHandler
+    implements ExcelImportHandler<CategoryExcelImportHandler.Row> {
+
+  private final CategoryRepository categoryRepository;
+  private final HomeScreenCache homeScreenCache;
+
+  public record Row(String name, String description, String icon, int displayOrder) {}
+
+  @Override
+  public ImportJobType type() {
+    return ImportJobType.CATEGORY;
+  }
+
+  @Override
+  public Session<Row> open() {
+    return new CategorySession();
+  }
+
+  private class CategorySession implements Session<Row> {
+    private final Set<String> seenNames = new HashSet<>();
+
+    @Override
+    public Row parse(ExcelRow row) {
+      String name = getRequiredCell(row, 0, "Name");
+      checkMaxLength(name, 100, "Name");
+      String description = row.get(1);
+      checkMaxLength(description, 500, "Description");
+      String icon = row.get(2);
+      checkMaxLength(icon, 10, "Icon");
+
+      Long displayOrder = getLongCell(row.get(3), "Display Order");
+      return new Row(
+          name,
+          description,
+          icon,
+          displayOrder != null ? displayOrder.intValue() : row.rowNum());
+    }
+
+    @Override
+    public Map<Integer, String> check(List<Row> rows) {
+      Set<String> taken =
+          rows.isEmpty()
+              ? Set.of()
+              : new HashSet<>(
+                  categoryRepository.findExistingNames(rows.stream().map(Row::name).toList()));
+
+      Map<Integer, String> errors = new HashMap<>();
+      for (int i = 0; i < rows.size(); i++) {
+        String name = rows.get(i).name();
+        if (taken.contains(name)) {
+          errors.put(i, "Category name already exists: " + name);
+        } else if (!seenNames.add(name)) {
+          errors.put(i, "Duplicate category name in file: " + name);
+        }
+      }
+      return errors;
+    }
+
+    @Override
+    public void insert(List<Row> rows) {
+      List<Category> categories = new ArrayList<>(rows.size());
+      for (Row row : rows) {
+        Category category = new Category();
+        category.setName(row.name());
+        category.setDescription(row.description());
+        category.setIcon(row.icon());
+        category.setDisplayOrder(row.displayOrder());
+        categories.add(category);
+      }
+      categoryRepository.saveAll(categories);
+      homeScreenCache.invalidate(HomeScreenCache.Section.CATEGORIES);
+    }
+  }
+}
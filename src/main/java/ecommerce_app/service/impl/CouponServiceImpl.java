@@ -13,11 +13,14 @@ import ecommerce_app.exception.ConflictException;
 import ecommerce_app.exception.ResourceNotFoundException;
 import ecommerce_app.mapper.CouponMapper;
 import ecommerce_app.repository.CouponRepository;
+import ecommerce_app.repository.CouponTokenRepository;
 import ecommerce_app.repository.CouponUsageRepository;
+import ecommerce_app.repository.CouponUserCounterRepository;
 import ecommerce_app.repository.OrderRepository;
 import ecommerce_app.repository.UserRepository;
 import ecommerce_app.service.CouponService;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -27,12 +30,25 @@ import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDateTime;
 
+/**
+ * Coupon admin, validation and redemption.
+ *
+ * <p>Redemption never reads a count and writes it back. The global limit is taken with a
+ * conditional {@code used_count} increment, or — for token-pool coupons — by claiming a free
+ * {@code coupon_tokens} row with {@code SKIP LOCKED}, so a drop where thousands of users redeem at
+ * once spreads its locks over many rows instead of queueing on one. The per-user limit is a
+ * conditional upsert on {@code coupon_user_counters}, whose primary key allows one row per user and
+ * coupon. Any refusal throws and rolls back the checkout.
+ */
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class CouponServiceImpl implements CouponService {
 
   private final CouponRepository couponRepository;
   private final CouponUsageRepository couponUsageRepository;
+  private final CouponUserCounterRepository userCounterRepository;
+  private final CouponTokenRepository couponTokenRepository;
   private final UserRepository userRepository;
   private final OrderRepository orderRepository;
   private final CouponMapper couponMapper;
@@ -68,11 +84,14 @@ public class CouponServiceImpl implements CouponService {
             .usageLimit(request.getUsageLimit())
             .usagePerUser(request.getUsagePerUser() != null ? request.getUsagePerUser() : 1)
             .isActive(request.getIsActive() != null ? request.getIsActive() : true)
+            .tokenPool(Boolean.TRUE.equals(request.getTokenPool()))
             .startDate(request.getStartDate())
             .endDate(request.getEndDate())
             .build();
 
-    return couponMapper.toResponse(couponRepository.save(coupon));
+    Coupon saved = couponRepository.save(coupon);
+    resizeTokenPool(saved);
+    return couponMapper.toResponse(saved);
   }
 
   @Override
@@ -102,7 +121,21 @@ public class CouponServiceImpl implements CouponService {
     coupon.setStartDate(request.getStartDate());
     coupon.setEndDate(request.getEndDate());
 
-    return couponMapper.toResponse(couponRepository.save(coupon));
+    boolean tokenPool = Boolean.TRUE.equals(request.getTokenPool());
+    if (tokenPool != coupon.getTokenPool()) {
+      // used_count and the token pool would disagree about what was already redeemed. A pool's
+      // used_count trails its claimed tokens until the next sync, so check both
+      if (coupon.getUsedCount() > 0
+          || couponTokenRepository.countByCouponIdAndUserIdIsNotNull(id) > 0) {
+        throw new BadRequestException("Token pool can only be changed before the coupon is used");
+      }
+      coupon.setTokenPool(tokenPool);
+      couponTokenRepository.deleteByCouponId(id);
+    }
+
+    Coupon saved = couponRepository.save(coupon);
+    resizeTokenPool(saved);
+    return couponMapper.toResponse(saved);
   }
 
   @Override
@@ -116,6 +149,8 @@ public class CouponServiceImpl implements CouponService {
   @Override
   @Transactional
   public void deleteCoupon(Long id) {
+    couponTokenRepository.deleteByCouponId(id);
+    userCounterRepository.deleteByCouponId(id);
     couponRepository.delete(findById(id));
   }
 
@@ -135,7 +170,7 @@ public class CouponServiceImpl implements CouponService {
     }
 
     // 3 — Check per-user usage limit
-    int userUsageCount = couponUsageRepository.countByCouponIdAndUserId(coupon.getId(), userId);
+    int userUsageCount = userCounterRepository.findUsedCount(coupon.getId(), userId).orElse(0);
     if (userUsageCount >= coupon.getUsagePerUser()) {
       throw new BadRequestException("You have already used this coupon");
     }
@@ -171,11 +206,25 @@ public class CouponServiceImpl implements CouponService {
   }
 
   @Override
-  @Transactional
+  @Transactional(rollbackFor = Exception.class)
   public void redeemCoupon(Long couponId, Long userId, Long orderId, BigDecimal discountAmount) {
     Coupon coupon = findById(couponId);
 
-    // Record usage
+    // 1 — Take one use from the global limit
+    boolean taken =
+        Boolean.TRUE.equals(coupon.getTokenPool())
+            ? couponTokenRepository.claim(couponId, userId, orderId, LocalDateTime.now()) > 0
+            : couponRepository.incrementUsedCount(couponId) > 0;
+    if (!taken) {
+      throw new BadRequestException("Coupon has reached its usage limit");
+    }
+
+    // 2 — Take one use from the user's limit
+    if (userCounterRepository.increment(couponId, userId, coupon.getUsagePerUser()) == 0) {
+      throw new BadRequestException("You have already used this coupon");
+    }
+
+    // 3 — Record usage
     CouponUsage usage =
         CouponUsage.builder()
             .coupon(coupon)
@@ -184,10 +233,26 @@ public class CouponServiceImpl implements CouponService {
             .discountAmount(discountAmount)
             .build();
     couponUsageRepository.save(usage);
+  }
 
-    // Increment used count
-    coupon.setUsedCount(coupon.getUsedCount() + 1);
-    couponRepository.save(coupon);
+  // ── Maintenance ───────────────────────────────────────────────────────────
+
+  @Override
+  @Transactional
+  public int syncTokenPoolUsedCounts() {
+    return couponRepository.syncTokenPoolUsedCounts();
+  }
+
+  @Override
+  @Transactional
+  public int reconcileCounters() {
+    int coupons =
+        couponRepository.reconcileUsedCounts() + couponRepository.syncTokenPoolUsedCounts();
+    int users = userCounterRepository.reconcile();
+    if (coupons > 0 || users > 0) {
+      log.warn("Reconciled coupon usage counters - Coupons: {}, User counters: {}", coupons, users);
+    }
+    return coupons + users;
   }
 
   // ── Private helpers ───────────────────────────────────────────────────────
@@ -198,6 +263,21 @@ public class CouponServiceImpl implements CouponService {
         .orElseThrow(() -> new ResourceNotFoundException("Coupon", id));
   }
 
+  /** Grow or shrink the coupon's free tokens so that the pool holds exactly {@code usageLimit}. */
+  private void resizeTokenPool(Coupon coupon) {
+    if (!Boolean.TRUE.equals(coupon.getTokenPool())) return;
+
+    long size = couponTokenRepository.countByCouponId(coupon.getId());
+    int limit = coupon.getUsageLimit();
+    if (size < limit) {
+      int from = couponTokenRepository.findMaxSlot(coupon.getId()) + 1;
+      couponTokenRepository.addSlots(coupon.getId(), from, from + (int) (limit - size) - 1);
+    } else if (size > limit) {
+      // Claimed tokens stay — a limit below the claimed count just leaves no free tokens
+      couponTokenRepository.deleteFreeSlots(coupon.getId(), size - limit);
+    }
+  }
+
   private BigDecimal calculateDiscount(Coupon coupon, BigDecimal orderTotal) {
     return switch (coupon.getDiscountType()) {
       case PERCENTAGE -> {
@@ -235,5 +315,8 @@ public class CouponServiceImpl implements CouponService {
         && request.getStartDate().isAfter(request.getEndDate())) {
       throw new BadRequestException("Start date cannot be after end date");
     }
+    if (Boolean.TRUE.equals(request.getTokenPool()) && request.getUsageLimit() == null) {
+      throw new BadRequestException("A token pool coupon needs a usage limit");
+    }
   }
 }
@@ -20,6 +20,7 @@ public class FavoriteServiceImpl implements FavoriteService {
   private final FavoriteRepository favoriteRepository;
   private final UserRepository userRepository;
   private final ProductRepository productRepository;
+  private final ProductCardService productCardService;
 
   @Transactional
   @Override
@@ -45,6 +46,7 @@ public class FavoriteServiceImpl implements FavoriteService {
 
     product.setFavoritesCount(product.getFavoritesCount() + 1);
     productRepository.save(product);
+    productCardService.markStale(productId);
     log.info("Favorite added. userId: {}, productId: {}", userId, productId);
   }
 
@@ -63,6 +65,7 @@ public class FavoriteServiceImpl implements FavoriteService {
               if (product.getFavoritesCount() > 0) {
                 product.setFavoritesCount(product.getFavoritesCount() - 1);
                 productRepository.save(product);
+                productCardService.markStale(productId);
               }
             });
     log.info("Favorite removed. userId: {}, productId: {}", userId, productId);
@@ -31,6 +31,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 /** Firebase Cloud Messaging Service Handles all FCM operations for sending push notifications */
 @Service
@@ -41,6 +42,7 @@ public class FirebaseMessagingService {
   private final FirebaseMessaging firebaseMessaging;
   private final NotificationRepository notificationRepository;
   private final NotificationLogRepository notificationLogRepository;
+  private final Executor ioTaskExecutor;
 
   /** Send notification to a single device with retry logic */
   @Retryable(maxAttempts = 3, backoff = @Backoff(delay = 1000, multiplier = 2))
@@ -54,52 +56,7 @@ public class FirebaseMessagingService {
       Notification notification,
       DeviceToken deviceToken) {
     try {
-      Message.Builder messageBuilder =
-          Message.builder()
-              .setToken(token)
-              .setNotification(
-                  com.google.firebase.messaging.Notification.builder()
-                      .setTitle(title)
-                      .setBody(body)
-                      .setImage(imageUrl)
-                      .build());
-
-      // Add data payload
-      if (data != null && !data.isEmpty()) {
-        messageBuilder.putAllData(data);
-      }
-
-      // Platform-specific configurations
-      messageBuilder.setAndroidConfig(
-          AndroidConfig.builder()
-              .setPriority(AndroidConfig.Priority.HIGH)
-              .setNotification(
-                  AndroidNotification.builder()
-                      .setSound("default")
-                      .setColor("#0066CC")
-                      .setClickAction("FLUTTER_NOTIFICATION_CLICK")
-                      .build())
-              .build());
-
-      messageBuilder.setApnsConfig(
-          ApnsConfig.builder()
-              .setAps(Aps.builder().setSound("default").setBadge(1).build())
-              .build());
-
-      messageBuilder.setWebpushConfig(
-          WebpushConfig.builder()
-              .setNotification(
-                  WebpushNotification.builder()
-                      .setTitle(title)
-                      .setBody(body)
-                      .setIcon("/notification-icon.png")
-                      .setBadge("/notification-badge.png")
-                      .setImage(imageUrl)
-                      .build())
-              .build());
-
-      Message message = messageBuilder.build();
-      String response = firebaseMessaging.send(message);
+      String response = firebaseMessaging.send(buildMessage(token, title, body, imageUrl, data));
 
       log.info(
           "Successfully sent message to token: {} | FCM Response: {}",
@@ -147,36 +104,9 @@ public class FirebaseMessagingService {
         return null;
       }
 
-      MulticastMessage.Builder messageBuilder =
-          MulticastMessage.builder()
-              .addAllTokens(tokens)
-              .setNotification(
-                  com.google.firebase.messaging.Notification.builder()
-                      .setTitle(title)
-                      .setBody(body)
-                      .setImage(imageUrl)
-                      .build());
-
-      // Add data payload
-      if (data != null && !data.isEmpty()) {
-        messageBuilder.putAllData(data);
-      }
-
-      // Platform-specific configs
-      messageBuilder.setAndroidConfig(
-          AndroidConfig.builder()
-              .setPriority(AndroidConfig.Priority.HIGH)
-              .setNotification(
-                  AndroidNotification.builder().setSound("default").setColor("#0066CC").build())
-              .build());
-
-      messageBuilder.setApnsConfig(
-          ApnsConfig.builder()
-              .setAps(Aps.builder().setSound("default").setBadge(1).build())
-              .build());
-
-      MulticastMessage message = messageBuilder.build();
-      BatchResponse response = firebaseMessaging.sendEachForMulticast(message);
+      BatchResponse response =
+          firebaseMessaging.sendEachForMulticast(
+              buildMulticastMessage(tokens, title, body, imageUrl, data));
 
       log.info(
           "Multicast sent. Success: {} | Failure: {}",
@@ -218,7 +148,144 @@ public class FirebaseMessagingService {
       Notification notification,
       DeviceToken deviceToken) {
     return CompletableFuture.supplyAsync(
-        () -> sendToDevice(token, title, body, imageUrl, data, notification, deviceToken));
+        () -> sendToDevice(token, title, body, imageUrl, data, notification, deviceToken),
+        ioTaskExecutor);
+  }
+
+  // ── Push without side effects ─────────────────────────────────────────────
+
+  /** Outcome of a push for one device token. */
+  public record PushResult(DeviceToken deviceToken, String fcmMessageId, String error) {
+    public boolean successful() {
+      return error == null;
+    }
+  }
+
+  /**
+   * Send to a single device and nothing else — no retry, no transaction, no database writes. For
+   * callers that retry on their own and record the outcome with {@link #recordPush}.
+   */
+  public String push(
+      String token, String title, String body, String imageUrl, Map<String, String> data)
+      throws FirebaseMessagingException {
+    return firebaseMessaging.send(buildMessage(token, title, body, imageUrl, data));
+  }
+
+  /** Multicast counterpart of {@link #push}. */
+  public BatchResponse pushMulticast(
+      List<String> tokens, String title, String body, String imageUrl, Map<String, String> data)
+      throws FirebaseMessagingException {
+    return firebaseMessaging.sendEachForMulticast(
+        buildMulticastMessage(tokens, title, body, imageUrl, data));
+  }
+
+  /** Write delivery logs and the resulting status for a saved notification. */
+  @Transactional
+  public void recordPush(Long notificationId, List<PushResult> results) {
+    Notification notification = notificationRepository.findById(notificationId).orElse(null);
+    if (notification == null) return;
+
+    for (PushResult result : results) {
+      logNotificationDelivery(
+          notification,
+          result.deviceToken(),
+          result.fcmMessageId(),
+          result.successful() ? "SUCCESS" : "FAILED",
+          result.error());
+    }
+
+    if (results.stream().anyMatch(PushResult::successful)) {
+      updateNotificationStatus(notification, NotificationStatus.SENT);
+    } else {
+      notification.setStatus(NotificationStatus.FAILED);
+      notification.setErrorMessage(results.isEmpty() ? null : results.getFirst().error());
+      notification.setRetryCount(notification.getRetryCount() + 1);
+      notificationRepository.save(notification);
+    }
+  }
+
+  // ── Message building ──────────────────────────────────────────────────────
+
+  private Message buildMessage(
+      String token, String title, String body, String imageUrl, Map<String, String> data) {
+    Message.Builder messageBuilder =
+        Message.builder()
+            .setToken(token)
+            .setNotification(
+                com.google.firebase.messaging.Notification.builder()
+                    .setTitle(title)
+                    .setBody(body)
+                    .setImage(imageUrl)
+                    .build());
+
+    // Add data payload
+    if (data != null && !data.isEmpty()) {
+      messageBuilder.putAllData(data);
+    }
+
+    // Platform-specific configurations
+    messageBuilder.setAndroidConfig(
+        AndroidConfig.builder()
+            .setPriority(AndroidConfig.Priority.HIGH)
+            .setNotification(
+                AndroidNotification.builder()
+                    .setSound("default")
+                    .setColor("#0066CC")
+                    .setClickAction("FLUTTER_NOTIFICATION_CLICK")
+                    .build())
+            .build());
+
+    messageBuilder.setApnsConfig(
+        ApnsConfig.builder()
+            .setAps(Aps.builder().setSound("default").setBadge(1).build())
+            .build());
+
+    messageBuilder.setWebpushConfig(
+        WebpushConfig.builder()
+            .setNotification(
+                WebpushNotification.builder()
+                    .setTitle(title)
+                    .setBody(body)
+                    .setIcon("/notification-icon.png")
+                    .setBadge("/notification-badge.png")
+                    .setImage(imageUrl)
+                    .build())
+            .build());
+
+    return messageBuilder.build();
+  }
+
+  private MulticastMessage buildMulticastMessage(
+      List<String> tokens, String title, String body, String imageUrl, Map<String, String> data) {
+    MulticastMessage.Builder messageBuilder =
+        MulticastMessage.builder()
+            .addAllTokens(tokens)
+            .setNotification(
+                com.google.firebase.messaging.Notification.builder()
+                    .setTitle(title)
+                    .setBody(body)
+                    .setImage(imageUrl)
+                    .build());
+
+    // Add data payload
+    if (data != null && !data.isEmpty()) {
+      messageBuilder.putAllData(data);
+    }
+
+    // Platform-specific configs
+    messageBuilder.setAndroidConfig(
+        AndroidConfig.builder()
+            .setPriority(AndroidConfig.Priority.HIGH)
+            .setNotification(
+                AndroidNotification.builder().setSound("default").setColor("#0066CC").build())
+            .build());
+
+    messageBuilder.setApnsConfig(
+        ApnsConfig.builder()
+            .setAps(Aps.builder().setSound("default").setBadge(1).build())
+            .build());
+
+    return messageBuilder.build();
   }
 
   /** Process multicast response and handle failures */
@@ -290,7 +357,9 @@ public class FirebaseMessagingService {
   public Map<String, String> buildDataPayload(Notification notification) {
     Map<String, String> data = new HashMap<>();
 
-    data.put("notificationId", notification.getId().toString());
+    if (notification.getId() != null) {
+      data.put("notificationId", notification.getId().toString());
+    }
     data.put("type", notification.getType().name());
 
     if (notification.getReferenceId() != null) {
@@ -0,0 +1,228 @@
+package ecommerce_app.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ecommerce_app.dto.response.MobileHomeScreenResponse;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Snapshot cache for the mobile home screen.
+ *
+ * <p>The assembled {@link MobileHomeScreenResponse} is kept per set of section sizes and is the
+ * same for every user, so an app-open spike after a push campaign is served from memory.
+ *
+ * <p>Each section carries the version it was loaded at. Writers call {@link #invalidate} for the
+ * sections they touch, which bumps the version after commit. A request that finds stale sections
+ * still gets the current snapshot (stale-while-revalidate) and triggers one background reload of
+ * only those sections per key. Sections older than {@link #MAX_AGE} are reloaded the same way,
+ * which also covers changes made on other nodes. Only the very first request for a key waits,
+ * and concurrent first requests share one load.
+ *
+ * <p>Each snapshot carries a strong ETag hashed from its content, so clients revalidating an
+ * unchanged home screen get a 304 and identical snapshots on different nodes match.
+ */
+@Slf4j
+@Service
+public class HomeScreenCache {
+
+  /** Home screen sections, invalidated independently. */
+  public enum Section {
+    BANNERS,
+    PROMOTIONS,
+    PRODUCTS,
+    BRANDS,
+    CATEGORIES
+  }
+
+  /** Section sizes requested by the app — one snapshot per combination. */
+  public record Key(
+      int bannerSize,
+      int middleBannerSize,
+      int featuredPromotionsSize,
+      int featuredProductsSize,
+      int newArrivalsSize,
+      int popularProductsSize) {}
+
+  /** A cached home screen and its ETag, {@code null} if it could not be computed. */
+  public record Entry(MobileHomeScreenResponse response, String etag) {}
+
+  /**
+   * Loads {@code sections}; the others are copied from {@code previous}. {@code previous} is set
+   * only on a background refresh, which already runs on {@code taskExecutor} — a loader must not
+   * wait there on tasks it submits to the same pool.
+   */
+  @FunctionalInterface
+  public interface Loader {
+    MobileHomeScreenResponse load(Set<Section> sections, MobileHomeScreenResponse previous);
+  }
+
+  private static final Duration MAX_AGE = Duration.ofSeconds(60);
+  // Sizes are client-supplied — beyond this many combinations requests are served uncached
+  private static final int MAX_KEYS = 32;
+
+  private record Stamp(long version, Instant loadedAt) {}
+
+  private record Snapshot(Entry entry, Map<Section, Stamp> stamps) {}
+
+  private final Map<Section, AtomicLong> versions = new EnumMap<>(Section.class);
+  private final Map<Key, Snapshot> snapshots = new ConcurrentHashMap<>();
+  private final Map<Key, CompletableFuture<Snapshot>> firstLoads = new ConcurrentHashMap<>();
+  private final Set<Key> refreshing = ConcurrentHashMap.newKeySet();
+  private final Executor executor;
+  private final ObjectMapper objectMapper;
+
+  public HomeScreenCache(
+      @Qualifier("taskExecutor") Executor executor, ObjectMapper objectMapper) {
+    this.executor = executor;
+    this.objectMapper = objectMapper;
+    for (Section section : Section.values()) {
+      versions.put(section, new AtomicLong());
+    }
+  }
+
+  // ── Read ──────────────────────────────────────────────────────────────────
+
+  public Entry get(Key key, Loader loader) {
+    Snapshot current = snapshots.get(key);
+    if (current == null) {
+      if (snapshots.size() >= MAX_KEYS) {
+        return entryOf(loader.load(EnumSet.allOf(Section.class), null));
+      }
+      return loadFirst(key, loader).entry();
+    }
+
+    Set<Section> stale = staleSections(current);
+    if (!stale.isEmpty()) {
+      refreshInBackground(key, current, stale, loader);
+    }
+    return current.entry();
+  }
+
+  // ── Invalidation ──────────────────────────────────────────────────────────
+
+  /** Mark sections as changed once the current transaction commits. */
+  public void invalidate(Section... sections) {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+              bump(sections);
+            }
+          });
+    } else {
+      bump(sections);
+    }
+  }
+
+  private void bump(Section... sections) {
+    Arrays.stream(sections).forEach(section -> versions.get(section).incrementAndGet());
+  }
+
+  // ── Loading ───────────────────────────────────────────────────────────────
+
+  private Snapshot loadFirst(Key key, Loader loader) {
+    CompletableFuture<Snapshot> created = new CompletableFuture<>();
+    CompletableFuture<Snapshot> inFlight = firstLoads.putIfAbsent(key, created);
+    if (inFlight != null) {
+      try {
+        return inFlight.join();
+      } catch (CompletionException e) {
+        throw e.getCause() instanceof RuntimeException cause ? cause : e;
+      }
+    }
+
+    try {
+      Snapshot loaded = load(EnumSet.allOf(Section.class), null, loader);
+      snapshots.put(key, loaded);
+      created.complete(loaded);
+      return loaded;
+    } catch (RuntimeException e) {
+      created.completeExceptionally(e);
+      throw e;
+    } finally {
+      firstLoads.remove(key, created);
+    }
+  }
+
+  private void refreshInBackground(Key key, Snapshot current, Set<Section> stale, Loader loader) {
+    if (!refreshing.add(key)) return; // already being reloaded
+
+    try {
+      executor.execute(
+          () -> {
+            try {
+              Snapshot reloaded = load(stale, current, loader);
+              snapshots.put(key, reloaded);
+            } catch (Exception e) {
+              // Keep serving the previous snapshot; the next request retries
+              log.error("Failed to refresh home screen sections {}", stale, e);
+            } finally {
+              refreshing.remove(key);
+            }
+          });
+    } catch (RejectedExecutionException e) {
+      refreshing.remove(key);
+    }
+  }
+
+  private Snapshot load(Set<Section> sections, Snapshot previous, Loader loader) {
+    // Versions are read before loading — an invalidation during the load leaves the section stale
+    Instant now = Instant.now();
+    Map<Section, Stamp> stamps =
+        previous != null ? new EnumMap<>(previous.stamps()) : new EnumMap<>(Section.class);
+    for (Section section : sections) {
+      stamps.put(section, new Stamp(versions.get(section).get(), now));
+    }
+
+    MobileHomeScreenResponse response =
+        loader.load(sections, previous != null ? previous.entry().response() : null);
+    return new Snapshot(entryOf(response), stamps);
+  }
+
+  private Entry entryOf(MobileHomeScreenResponse response) {
+    try {
+      byte[] digest =
+          MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(response));
+      return new Entry(response, "\"home-" + HexFormat.of().formatHex(digest, 0, 16) + "\"");
+    } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+      log.warn("Failed to compute home screen ETag", e);
+      return new Entry(response, null);
+    }
+  }
+
+  private Set<Section> staleSections(Snapshot snapshot) {
+    Instant expiry = Instant.now().minus(MAX_AGE);
+    Set<Section> stale = EnumSet.noneOf(Section.class);
+    snapshot
+        .stamps()
+        .forEach(
+            (section, stamp) -> {
+              if (stamp.version() != versions.get(section).get()
+                  || stamp.loadedAt().isBefore(expiry)) {
+                stale.add(section);
+              }
+            });
+    return stale;
+  }
+}
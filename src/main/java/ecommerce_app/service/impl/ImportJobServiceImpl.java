@@ -0,0 +1,359 @@
+package ecommerce_app.service.impl;
+
+import ecommerce_app.constant.enums.ImportJobStatus;
+import ecommerce_app.constant.enums.ImportJobType;
+import ecommerce_app.core.io.service.StorageConfig;
+import ecommerce_app.dto.response.ImportJobResponse;
+import ecommerce_app.entity.ImportJob;
+import ecommerce_app.exception.BadRequestException;
+import ecommerce_app.exception.InternalServerErrorException;
+import ecommerce_app.exception.ResourceNotFoundException;
+import ecommerce_app.repository.ImportJobRepository;
+import ecommerce_app.service.ExcelImportHandler;
+import ecommerce_app.service.ImportJobService;
+import ecommerce_app.util.FileUtils;
+import ecommerce_app.util.StreamingExcelReader;
+import ecommerce_app.util.StreamingExcelReader.ExcelRow;
+import ecommerce_app.util.StreamingExcelWriter;
+import ecommerce_app.util.StreamingExcelWriter.Column;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * Background Excel import pipeline.
+ *
+ * <pre>
+ *   1. upload     file copied to a temp file, job saved as PENDING, request returns at once
+ *   2. read       SAX streaming reader, rows buffered into chunks of {@link #CHUNK_SIZE}
+ *   3. validate   rows parsed on the job thread, then checked against the database once per chunk
+ *   4. insert     one transaction per chunk; a failing chunk is retried row by row so one bad
+ *                 row does not sink its neighbours
+ *   5. report     failed rows written to a private Excel error file, downloadable only through
+ *                 {@link #getErrorFile}
+ * </pre>
+ *
+ * <p>Progress counters are written after every chunk. A crash loses at most the chunk in flight;
+ * committed chunks stay imported. Failed rows are all counted, but only the first {@link
+ * #MAX_REPORTED_ERRORS} are kept for the report, so a file of bad rows cannot fill the heap.
+ */
+@Slf4j
+@Service
+public class ImportJobServiceImpl implements ImportJobService {
+
+  private static final int CHUNK_SIZE = 500;
+  private static final int MAX_REPORTED_ERRORS = 10_000;
+
+  private final ImportJobRepository importJobRepository;
+  private final StreamingExcelReader excelReader;
+  private final StreamingExcelWriter excelWriter;
+  private final StorageConfig storageConfig;
+  private final TransactionTemplate transactionTemplate;
+  private final Executor executor;
+  private final Map<ImportJobType, ExcelImportHandler<?>> handlers =
+      new EnumMap<>(ImportJobType.class);
+
+  public ImportJobServiceImpl(
+      ImportJobRepository importJobRepository,
+      StreamingExcelReader excelReader,
+      StreamingExcelWriter excelWriter,
+      StorageConfig storageConfig,
+      TransactionTemplate transactionTemplate,
+      @Qualifier("ioTaskExecutor") Executor executor,
+      List<ExcelImportHandler<?>> handlers) {
+    this.importJobRepository = importJobRepository;
+    this.excelReader = excelReader;
+    this.excelWriter = excelWriter;
+    this.storageConfig = storageConfig;
+    this.transactionTemplate = transactionTemplate;
+    this.executor = executor;
+    handlers.forEach(h -> this.handlers.put(h.type(), h));
+  }
+
+  // ── Submit / query ────────────────────────────────────────────────────────
+
+  @Override
+  public ImportJobResponse submit(ImportJobType type, MultipartFile file) {
+    FileUtils.validateExcelFile(file);
+    ExcelImportHandler<?> handler = handlers.get(type);
+    if (handler == null) {
+      throw new BadRequestException("Unsupported import type: " + type);
+    }
+
+    // The multipart file is gone once the request ends — keep our own copy for the worker
+    Path upload;
+    try {
+      upload = Files.createTempFile("import-", ".xlsx");
+      file.transferTo(upload);
+    } catch (IOException e) {
+      throw new InternalServerErrorException("Failed to store uploaded file", e);
+    }
+
+    ImportJob job =
+        importJobRepository.save(
+            ImportJob.builder()
+                .type(type)
+                .status(ImportJobStatus.PENDING)
+                .fileName(file.getOriginalFilename())
+                .build());
+
+    Long jobId = job.getId();
+    try {
+      executor.execute(() -> run(jobId, handler, upload));
+    } catch (RejectedExecutionException e) {
+      // Shutting down or saturated — a job nobody will run must not stay PENDING
+      log.warn("Import job {} rejected by the executor", jobId, e);
+      importJobRepository.markFinished(
+          jobId,
+          ImportJobStatus.FAILED,
+          null,
+          "Import could not be started, please try again later",
+          LocalDateTime.now());
+      deleteUpload(upload);
+      return getJob(jobId);
+    }
+    log.info("Queued {} import job {} for {}", type, jobId, file.getOriginalFilename());
+    return toResponse(job);
+  }
+
+  @Override
+  public ImportJobResponse getJob(Long jobId) {
+    return toResponse(findJob(jobId));
+  }
+
+  @Override
+  public Resource getErrorFile(Long jobId) {
+    ImportJob job = findJob(jobId);
+    if (job.getErrorFilePath() == null || !Files.exists(Path.of(job.getErrorFilePath()))) {
+      throw new ResourceNotFoundException("No error file for import job: " + jobId);
+    }
+    return new FileSystemResource(job.getErrorFilePath());
+  }
+
+  // ── Pipeline ──────────────────────────────────────────────────────────────
+
+  private <T> void run(Long jobId, ExcelImportHandler<T> handler, Path upload) {
+    importJobRepository.markStarted(jobId, ImportJobStatus.RUNNING, LocalDateTime.now());
+    JobRun<T> jobRun = new JobRun<>(jobId, handler.open());
+
+    try {
+      excelReader.read(upload, jobRun::accept);
+      jobRun.flush();
+
+      String errorFile = jobRun.errors.isEmpty() ? null : writeErrorFile(jobId, jobRun);
+      String message =
+          jobRun.failed > jobRun.errors.size()
+              ? "Error file lists the first %d of %d failed rows"
+                  .formatted(jobRun.errors.size(), jobRun.failed)
+              : null;
+      importJobRepository.markFinished(
+          jobId, ImportJobStatus.COMPLETED, errorFile, message, LocalDateTime.now());
+      log.info(
+          "Import job {} completed - Processed: {}, Success: {}, Failed: {}",
+          jobId,
+          jobRun.processed,
+          jobRun.success,
+          jobRun.failed);
+
+    } catch (Exception e) {
+      log.error("Import job {} failed", jobId, e);
+      importJobRepository.markFinished(
+          jobId,
+          ImportJobStatus.FAILED,
+          null,
+          StringUtils.abbreviate(e.getMessage(), 500),
+          LocalDateTime.now());
+    } finally {
+      deleteUpload(upload);
+    }
+  }
+
+  private static void deleteUpload(Path upload) {
+    try {
+      Files.deleteIfExists(upload);
+    } catch (IOException e) {
+      log.warn("Could not delete import upload {}", upload);
+    }
+  }
+
+  /** State of one running job. Rows arrive on the reader thread, one at a time. */
+  private class JobRun<T> {
+    private final Long jobId;
+    private final ExcelImportHandler.Session<T> session;
+    private final List<ExcelRow> buffer = new ArrayList<>(CHUNK_SIZE);
+    private final List<RowError> errors = new ArrayList<>();
+    private List<String> headers = List.of();
+    private int processed;
+    private int success;
+    private int failed;
+
+    JobRun(Long jobId, ExcelImportHandler.Session<T> session) {
+      this.jobId = jobId;
+      this.session = session;
+    }
+
+    void accept(ExcelRow row) {
+      if (row.rowNum() == 0) {
+        headers = row.cells().stream().map(h -> h != null ? h : "").toList();
+        return;
+      }
+      if (row.isBlank()) return;
+
+      buffer.add(row);
+      if (buffer.size() >= CHUNK_SIZE) {
+        flush();
+      }
+    }
+
+    void flush() {
+      if (buffer.isEmpty()) return;
+      List<ExcelRow> chunk = List.copyOf(buffer);
+      buffer.clear();
+
+      // Parse on the job's own thread — the common pool is shared with the rest of the app
+      List<Parsed<T>> parsed = chunk.stream().map(this::parse).toList();
+
+      List<ExcelRow> validRows = new ArrayList<>();
+      List<T> valid = new ArrayList<>();
+      for (Parsed<T> p : parsed) {
+        if (p.error() != null) {
+          fail(p.row(), p.error());
+        } else {
+          validRows.add(p.row());
+          valid.add(p.value());
+        }
+      }
+
+      // Database checks, a bounded number of queries per chunk
+      Map<Integer, String> conflicts = session.check(valid);
+      List<ExcelRow> insertRows = new ArrayList<>();
+      List<T> insert = new ArrayList<>();
+      for (int i = 0; i < valid.size(); i++) {
+        String conflict = conflicts.get(i);
+        if (conflict != null) {
+          fail(validRows.get(i), conflict);
+        } else {
+          insertRows.add(validRows.get(i));
+          insert.add(valid.get(i));
+        }
+      }
+
+      insertChunk(insertRows, insert);
+
+      processed += chunk.size();
+      importJobRepository.updateProgress(jobId, processed, success, failed, LocalDateTime.now());
+    }
+
+    private void fail(ExcelRow row, String message) {
+      failed++;
+      if (errors.size() < MAX_REPORTED_ERRORS) {
+        errors.add(new RowError(row, message));
+      }
+    }
+
+    private Parsed<T> parse(ExcelRow row) {
+      try {
+        return new Parsed<>(row, session.parse(row), null);
+      } catch (Exception e) {
+        return new Parsed<>(row, null, e.getMessage());
+      }
+    }
+
+    private void insertChunk(List<ExcelRow> rows, List<T> values) {
+      if (values.isEmpty()) return;
+      try {
+        transactionTemplate.executeWithoutResult(_ -> session.insert(values));
+        success += values.size();
+      } catch (Exception chunkError) {
+        log.warn("Import job {} chunk insert failed, retrying row by row", jobId, chunkError);
+        for (int i = 0; i < values.size(); i++) {
+          T value = values.get(i);
+          try {
+            transactionTemplate.executeWithoutResult(_ -> session.insert(List.of(value)));
+            success++;
+          } catch (Exception rowError) {
+            fail(rows.get(i), rootMessage(rowError));
+          }
+        }
+      }
+    }
+  }
+
+  private record Parsed<T>(ExcelRow row, T value, String error) {}
+
+  private record RowError(ExcelRow row, String message) {}
+
+  // ── Error report ──────────────────────────────────────────────────────────
+
+  private String writeErrorFile(Long jobId, JobRun<?> jobRun) throws IOException {
+    // Failed rows hold customer data — keep them out of the public /storage/** tree
+    Path dir = Path.of(storageConfig.getImportErrorPath());
+    Files.createDirectories(dir);
+    Path file = dir.resolve("import-job-%d-errors.xlsx".formatted(jobId));
+
+    List<Column<RowError>> columns = new ArrayList<>();
+    columns.add(new Column<>("Row", e -> e.row().rowNum() + 1)); // as numbered in Excel
+    for (int i = 0; i < jobRun.headers.size(); i++) {
+      int column = i;
+      columns.add(new Column<>(jobRun.headers.get(i), e -> e.row().get(column)));
+    }
+    columns.add(new Column<>("Error", RowError::message));
+
+    List<RowError> sorted =
+        jobRun.errors.stream()
+            .sorted((a, b) -> Integer.compare(a.row().rowNum(), b.row().rowNum()))
+            .toList();
+    try (OutputStream out = Files.newOutputStream(file)) {
+      excelWriter.write(out, "Errors", columns, sorted.stream());
+    }
+    return file.toString();
+  }
+
+  // ── Helpers ───────────────────────────────────────────────────────────────
+
+  private ImportJob findJob(Long jobId) {
+    return importJobRepository
+        .findById(jobId)
+        .orElseThrow(() -> new ResourceNotFoundException("Import job", jobId));
+  }
+
+  private static String rootMessage(Throwable e) {
+    Throwable root = e;
+    while (root.getCause() != null && root.getCause() != root) {
+      root = root.getCause();
+    }
+    return StringUtils.abbreviate(root.getMessage(), 500);
+  }
+
+  private ImportJobResponse toResponse(ImportJob job) {
+    return ImportJobResponse.builder()
+        .id(job.getId())
+        .type(job.getType())
+        .status(job.getStatus())
+        .fileName(job.getFileName())
+        .totalCount(job.getProcessedRows())
+        .successCount(job.getSuccessRows())
+        .errorCount(job.getErrorRows())
+        .hasErrorFile(job.getErrorFilePath() != null)
+        .message(job.getMessage())
+        .startedAt(job.getStartedAt())
+        .finishedAt(job.getFinishedAt())
+        .build();
+  }
+}
@@ -1,28 +1,38 @@
 package ecommerce_app.service.impl;
 
 import ecommerce_app.constant.enums.ExportFormat;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import net.sf.jasperreports.engine.*;
+import net.sf.jasperreports.engine.data.JRAbstractBeanDataSource;
 import net.sf.jasperreports.engine.data.JRBeanCollectionDataSource;
+import net.sf.jasperreports.engine.fill.JRSwapFileVirtualizer;
+import net.sf.jasperreports.engine.util.JRSwapFile;
 import net.sf.jasperreports.engine.export.JRPdfExporter;
 import net.sf.jasperreports.engine.export.ooxml.JRXlsxExporter;
 import net.sf.jasperreports.export.SimpleExporterInput;
 import net.sf.jasperreports.export.SimpleOutputStreamExporterOutput;
 import net.sf.jasperreports.export.SimplePdfExporterConfiguration;
 import net.sf.jasperreports.export.SimpleXlsxReportConfiguration;
-import org.springframework.core.io.ClassPathResource;
 import org.springframework.stereotype.Service;
 
 import java.io.ByteArrayOutputStream;
-import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
 @Service
 @Slf4j
+@RequiredArgsConstructor
 public class JasperReportService {
 
+  /** Filled pages kept in memory before the rest are swapped to disk. */
+  private static final int VIRTUALIZER_MAX_PAGES = 20;
+
+  private final ReportTemplateRegistry reportTemplateRegistry;
+
   /**
    * Generic method to export report in various formats
    *
@@ -40,12 +50,8 @@ public class JasperReportService {
       String sheetName) {
     try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
 
-      // Load .jrxml file from reports directory
-      String reportPath = String.format("reports/%s.jrxml", reportName);
-      InputStream reportStream = new ClassPathResource(reportPath).getInputStream();
-
-      // Compile report
-      JasperReport jasperReport = JasperCompileManager.compileReport(reportStream);
+      // Compiled once per template, see ReportTemplateRegistry
+      JasperReport jasperReport = reportTemplateRegistry.get(reportName);
 
       // Prepare parameters (merge with defaults)
       Map<String, Object> reportParams = new HashMap<>();
@@ -87,6 +93,75 @@ public class JasperReportService {
     return exportReport(data, reportName, format, null, sheetName);
   }
 
+  /**
+   * Streaming PDF export for large reports. Rows are pulled from {@code rows} while the report
+   * fills, filled pages are swapped to a temp file by a virtualizer, and the PDF is written straight
+   * to {@code out} — heap use stays flat however many rows there are.
+   *
+   * @param rows Row beans, typically mapped from a streamed repository query
+   * @param reportName Report template name (without .jrxml extension)
+   * @param parameters Additional parameters for the report
+   * @param out Destination, e.g. the servlet response stream
+   */
+  public void exportPdf(
+      Iterator<?> rows, String reportName, Map<String, Object> parameters, OutputStream out) {
+    JRSwapFileVirtualizer virtualizer =
+        new JRSwapFileVirtualizer(
+            VIRTUALIZER_MAX_PAGES,
+            new JRSwapFile(System.getProperty("java.io.tmpdir"), 4096, 100),
+            true);
+    try {
+      JasperReport jasperReport = reportTemplateRegistry.get(reportName);
+
+      Map<String, Object> reportParams = new HashMap<>();
+      if (parameters != null) {
+        reportParams.putAll(parameters);
+      }
+      reportParams.put(JRParameter.REPORT_VIRTUALIZER, virtualizer);
+
+      JasperPrint jasperPrint =
+          JasperFillManager.fillReport(jasperReport, reportParams, new IteratorDataSource(rows));
+      virtualizer.setReadOnly(true);
+
+      exportToPdf(jasperPrint, out);
+
+      log.info("Successfully streamed report: {} as PDF", reportName);
+    } catch (Exception e) {
+      log.error("Error streaming Jasper report {}: {}", reportName, e.getMessage(), e);
+      throw new RuntimeException("Failed to generate report: " + reportName, e);
+    } finally {
+      virtualizer.cleanup();
+    }
+  }
+
+  /** Bean data source that pulls rows from an iterator instead of a materialized collection. */
+  private static class IteratorDataSource extends JRAbstractBeanDataSource {
+    private final Iterator<?> rows;
+    private Object current;
+
+    IteratorDataSource(Iterator<?> rows) {
+      super(true);
+      this.rows = rows;
+    }
+
+    @Override
+    public boolean next() {
+      if (!rows.hasNext()) return false;
+      current = rows.next();
+      return true;
+    }
+
+    @Override
+    public Object getFieldValue(JRField field) throws JRException {
+      return getFieldValue(current, field);
+    }
+
+    @Override
+    public void moveFirst() throws JRException {
+      throw new JRException("Streaming data source cannot be rewound");
+    }
+  }
+
   private void exportToExcel(
       JasperPrint jasperPrint, ByteArrayOutputStream outputStream, String sheetName)
       throws JRException {
@@ -132,7 +207,7 @@ public class JasperReportService {
     exporter.exportReport();
   }
 
-  private void exportToPdf(JasperPrint jasperPrint, ByteArrayOutputStream outputStream)
+  private void exportToPdf(JasperPrint jasperPrint, OutputStream outputStream)
       throws JRException {
     JRPdfExporter exporter = new JRPdfExporter();
     exporter.setExporterInput(new SimpleExporterInput(jasperPrint));
@@ -4,11 +4,17 @@ import ecommerce_app.dto.response.MobileHomeScreenResponse;
 import ecommerce_app.service.BrandService;
 import ecommerce_app.service.MobileProductService;
 import ecommerce_app.service.MobilePromotionService;
+import ecommerce_app.service.impl.HomeScreenCache.Section;
+import java.util.List;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+/** Assembles the mobile home screen. Served through {@link HomeScreenCache}. */
 @Service
 @RequiredArgsConstructor
 public class MobileHomeService {
@@ -18,9 +24,10 @@ public class MobileHomeService {
   private final MobileCategoryService mobileCategoryService;
   private final MobileBannerServiceImpl bannerService;
   private final BrandService brandService;
+  private final HomeScreenCache homeScreenCache;
   private final Executor taskExecutor;
 
-  public MobileHomeScreenResponse getHomeScreenData(
+  public HomeScreenCache.Entry getHomeScreenData(
       int bannerSize,
       int middleBannerSize,
       int featuredPromotionsSize,
@@ -28,36 +35,99 @@ public class MobileHomeService {
       int newArrivalsSize,
       int popularProductsSize) {
 
-    // Execute all queries in parallel - use proper return types
+    HomeScreenCache.Key key =
+        new HomeScreenCache.Key(
+            bannerSize,
+            middleBannerSize,
+            featuredPromotionsSize,
+            featuredProductsSize,
+            newArrivalsSize,
+            popularProductsSize);
+    return homeScreenCache.get(key, (sections, previous) -> load(key, sections, previous));
+  }
+
+  /**
+   * Query the requested sections; the rest are taken from {@code previous}. A first load runs them
+   * in parallel on {@code taskExecutor}. A background refresh already holds a {@code taskExecutor}
+   * thread, so it runs them one after another on that thread — blocking it on tasks queued behind
+   * other refreshes could leave the pool waiting on itself.
+   */
+  private MobileHomeScreenResponse load(
+      HomeScreenCache.Key key, Set<Section> sections, MobileHomeScreenResponse previous) {
+    Executor executor = previous != null ? Runnable::run : taskExecutor;
+
     var bannersFuture =
-        CompletableFuture.supplyAsync(() -> bannerService.getHomeBanners(bannerSize), taskExecutor);
+        section(
+            sections,
+            Section.BANNERS,
+            () -> bannerService.getHomeBanners(key.bannerSize()),
+            previous,
+            executor,
+            MobileHomeScreenResponse::getHeroBanners);
 
     var middleBannerFuture =
-        CompletableFuture.supplyAsync(
-            () -> bannerService.getMiddleBanner(middleBannerSize), taskExecutor);
+        section(
+            sections,
+            Section.BANNERS,
+            () -> bannerService.getMiddleBanner(key.middleBannerSize()),
+            previous,
+            executor,
+            MobileHomeScreenResponse::getMiddleBanners);
 
     var promotionsFuture =
-        CompletableFuture.supplyAsync(
-            () -> promotionService.getFeaturedPromotions(featuredPromotionsSize), taskExecutor);
+        section(
+            sections,
+            Section.PROMOTIONS,
+            () -> promotionService.getFeaturedPromotions(key.featuredPromotionsSize()),
+            previous,
+            executor,
+            MobileHomeScreenResponse::getFeaturedPromotions);
 
     var featuredProductsFuture =
-        CompletableFuture.supplyAsync(
-            () -> productService.getFeaturedProducts(1, featuredProductsSize).getContent(),
-            taskExecutor);
+        section(
+            sections,
+            Section.PRODUCTS,
+            () -> productService.getFeaturedProducts(1, key.featuredProductsSize()).getContent(),
+            previous,
+            executor,
+            MobileHomeScreenResponse::getFeaturedProducts);
 
-    var brandsFuture = CompletableFuture.supplyAsync(brandService::getActiveBrands, taskExecutor);
+    var brandsFuture =
+        section(
+            sections,
+            Section.BRANDS,
+            brandService::getActiveBrands,
+            previous,
+            executor,
+            MobileHomeScreenResponse::getBrands);
 
     var newArrivalsFuture =
-        CompletableFuture.supplyAsync(
-            () -> productService.getNewArrivals(1, newArrivalsSize).getContent(), taskExecutor);
+        section(
+            sections,
+            Section.PRODUCTS,
+            () -> productService.scrollNewArrivals(null, key.newArrivalsSize()).getContent(),
+            previous,
+            executor,
+            MobileHomeScreenResponse::getNewArrivals);
 
     var popularProductsFuture =
-        CompletableFuture.supplyAsync(
-            () -> productService.getPopularProducts(1, popularProductsSize).getContent(),
-            taskExecutor);
+        section(
+            sections,
+            Section.PRODUCTS,
+            () ->
+                productService.scrollPopularProducts(null, key.popularProductsSize()).getContent(),
+            previous,
+            executor,
+            MobileHomeScreenResponse::getPopularProducts);
 
     var categoriesFuture =
-        CompletableFuture.supplyAsync(mobileCategoryService::getMinimalCategories, taskExecutor);
+        section(
+            sections,
+            Section.CATEGORIES,
+            mobileCategoryService::getMinimalCategories,
+            previous,
+            executor,
+            MobileHomeScreenResponse::getCategories);
 
     // Wait for all to complete and build response
     CompletableFuture.allOf(
@@ -82,4 +152,17 @@ public class MobileHomeService {
         .categories(categoriesFuture.join())
         .build();
   }
+
+  private <T> CompletableFuture<List<T>> section(
+      Set<Section> sections,
+      Section section,
+      Supplier<List<T>> query,
+      MobileHomeScreenResponse previous,
+      Executor executor,
+      Function<MobileHomeScreenResponse, List<T>> current) {
+    if (previous != null && !sections.contains(section)) {
+      return CompletableFuture.completedFuture(current.apply(previous));
+    }
+    return CompletableFuture.supplyAsync(query, executor);
+  }
 }
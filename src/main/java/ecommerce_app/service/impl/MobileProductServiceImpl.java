@@ -1,6 +1,8 @@
 package ecommerce_app.service.impl;
 
+import ecommerce_app.dto.response.CursorPage;
 import ecommerce_app.dto.response.UserResponse;
+import ecommerce_app.entity.ProductCard;
 import ecommerce_app.entity.ProductView;
 import ecommerce_app.entity.User;
 import ecommerce_app.exception.ResourceNotFoundException;
@@ -9,19 +11,21 @@ import ecommerce_app.dto.response.MobileProductListResponse;
 import ecommerce_app.dto.response.MobileProductResponse;
 import ecommerce_app.entity.Product;
 import ecommerce_app.repository.BrandRepository;
+import ecommerce_app.repository.ProductCardRepository;
 import ecommerce_app.repository.ProductRepository;
 import ecommerce_app.repository.ProductViewRepository;
 import ecommerce_app.repository.UserRepository;
 import ecommerce_app.service.MobileProductService;
 import ecommerce_app.service.UserService;
+import ecommerce_app.util.PageCursor;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
@@ -29,6 +33,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 /**
  * Mobile Product Service
@@ -41,11 +46,23 @@ import java.util.concurrent.CompletableFuture;
 @Transactional(readOnly = true)
 public class MobileProductServiceImpl implements MobileProductService {
 
+  // Where cursor-mode feeds start — above every real (createdAt, id) / (favorites, createdAt, id)
+  private static final PageCursor NEWEST_FIRST =
+      PageCursor.of(PageCursor.START_TIME, Long.MAX_VALUE);
+  private static final PageCursor MOST_POPULAR_FIRST =
+      PageCursor.of(Integer.MAX_VALUE, PageCursor.START_TIME, Long.MAX_VALUE);
+
   private final ProductRepository productRepository;
   private final ProductMapper productMapper;
   private final ProductViewRepository productViewRepository;
   private final UserRepository userRepository;
   private final BrandRepository brandRepository;
+  private final ProductListingLoader productListingLoader;
+  private final ProductCardService productCardService;
+  private final ProductCardRepository productCardRepository;
+  private final ProductSearchService productSearchService;
+  private final ProductSuggestionIndex productSuggestionIndex;
+  private final Executor ioTaskExecutor;
 
   /**
    * Get all products with filters and pagination Main method for product list screen in mobile app
@@ -60,6 +77,15 @@ public class MobileProductServiceImpl implements MobileProductService {
   public Page<MobileProductListResponse> getProducts(
       Pageable pageable, Long categoryId, Boolean isFeature, Boolean hasPromotion, String search) {
 
+    // Search by name, code or description — ranked by relevance
+    if (ProductSearchService.isSearchable(search)) {
+      ProductSearchService.Filter filter =
+          new ProductSearchService.Filter(
+              categoryId, null, null, isFeature, Boolean.TRUE.equals(hasPromotion) ? true : null);
+      return productCardService.toResponsePage(
+          productSearchService.search(search, filter, pageable));
+    }
+
     Specification<Product> spec = (root, query, cb) -> cb.conjunction();
 
     // Filter by category
@@ -84,18 +110,7 @@ public class MobileProductServiceImpl implements MobileProductService {
               });
     }
 
-    // Search by name or description
-    if (search != null && !search.trim().isEmpty()) {
-      String searchPattern = "%" + search.toLowerCase() + "%";
-      spec =
-          spec.and(
-              (root, query, cb) ->
-                  cb.or(
-                      cb.like(cb.lower(root.get("name")), searchPattern),
-                      cb.like(cb.lower(root.get("description")), searchPattern)));
-    }
-
-    return productRepository.findAll(spec, pageable).map(productMapper::toListResponse);
+    return productListingLoader.toListPage(productRepository.findAll(spec, pageable));
   }
 
   /**
@@ -106,11 +121,16 @@ public class MobileProductServiceImpl implements MobileProductService {
    */
   public MobileProductResponse getProductById(Long id, Long userId) {
     final var product = getById(id);
+    recordProductView(userId, id);
+    return productMapper.toDetailResponse(product);
+  }
+
+  @Transactional(propagation = Propagation.NOT_SUPPORTED)
+  public void recordProductView(Long userId, Long productId) {
     // Track asynchronously — don't slow down the response
     if (userId != null) {
-      CompletableFuture.runAsync(() -> trackProductView(userId, id));
+      CompletableFuture.runAsync(() -> trackProductView(userId, productId), ioTaskExecutor);
     }
-    return productMapper.toDetailResponse(product);
   }
 
   private Product getById(Long id) {
@@ -143,7 +163,8 @@ public class MobileProductServiceImpl implements MobileProductService {
    */
   public Page<MobileProductListResponse> getFeaturedProducts(int page, int pageSize) {
     Pageable pageable = PageRequest.of(page - 1, pageSize);
-    return productRepository.findByIsFeatureTrue(pageable).map(productMapper::toListResponse);
+    return productCardService.toResponsePage(
+        productCardRepository.findByIsFeatureTrueOrderByProductCreatedAtDesc(pageable));
   }
 
   /**
@@ -153,9 +174,9 @@ public class MobileProductServiceImpl implements MobileProductService {
    * @return Paginated list of products with active promotions
    */
   public Page<MobileProductListResponse> getProductsOnPromotion(Pageable pageable) {
-    return productRepository
-        .findProductsWithActivePromotions(pageable)
-        .map(productMapper::toListResponse);
+    return productCardService.toResponsePage(
+        productCardRepository.findByHasPromotionTrueOrderByProductCreatedAtDesc(
+            unsorted(pageable)));
   }
 
   /**
@@ -166,27 +187,34 @@ public class MobileProductServiceImpl implements MobileProductService {
    * @return Paginated list of products in the category
    */
   public Page<MobileProductListResponse> getProductsByCategory(Long categoryId, Pageable pageable) {
-    return productRepository
-        .findByCategoryId(categoryId, pageable)
-        .map(productMapper::toListResponse);
+    return productCardService.toResponsePage(
+        productCardRepository.findByCategoryIdOrderByProductCreatedAtDesc(
+            categoryId, unsorted(pageable)));
   }
 
   /**
    * Search products by query Main search functionality for mobile app
    *
    * @param query Search term
-   * @param pageable Pagination and sorting
-   * @return Paginated list of matching products
+   * @param categoryId Filter by category (optional)
+   * @param brandId Filter by brand (optional)
+   * @param inStock Filter by stock availability (optional)
+   * @param pageable Pagination
+   * @return Paginated list of matching products, most relevant first
    */
-  public Page<MobileProductListResponse> searchProducts(String query, Pageable pageable) {
-    if (query == null || query.trim().isEmpty()) {
-      // Return all products if no search query
-      return productRepository.findAll(pageable).map(productMapper::toListResponse);
+  public Page<MobileProductListResponse> searchProducts(
+      String query, Long categoryId, Long brandId, Boolean inStock, Pageable pageable) {
+    if (!ProductSearchService.isSearchable(query)) {
+      // Return newest products if no search query
+      return productCardService.toResponsePage(
+          productCardRepository.findAllByOrderByProductCreatedAtDesc(unsorted(pageable)));
     }
 
-    return productRepository
-        .findByNameContainingIgnoreCaseOrDescriptionContainingIgnoreCase(query, query, pageable)
-        .map(productMapper::toListResponse);
+    return productCardService.toResponsePage(
+        productSearchService.search(
+            query,
+            new ProductSearchService.Filter(categoryId, brandId, inStock, null, null),
+            pageable));
   }
 
   /**
@@ -233,16 +261,10 @@ public class MobileProductServiceImpl implements MobileProductService {
 
     Long brandId = product.getBrand() != null ? product.getBrand().getId() : null;
 
-    return productRepository
-        .findRelatedProducts(
-            product.getCategory().getId(),
-            brandId,
-            productId,
-            PageRequest.of(
-                page - 1,
-                pageSize)) // page -1 because client sends 1-based page index, but Spring Data uses
-        // 0-based
-        .map(productMapper::toListResponse);
+    // page -1 because client sends 1-based page index, but Spring Data uses 0-based
+    return productListingLoader.toListPage(
+        productRepository.findRelatedProducts(
+            product.getCategory().getId(), brandId, productId, PageRequest.of(page - 1, pageSize)));
   }
 
   /**
@@ -253,13 +275,19 @@ public class MobileProductServiceImpl implements MobileProductService {
    * @return List of newest products
    */
   public Page<MobileProductListResponse> getNewArrivals(int page, int pageSize) {
-    Pageable pageable =
-        PageRequest.of(
-            page - 1,
-            pageSize,
-            org.springframework.data.domain.Sort.by(
-                org.springframework.data.domain.Sort.Direction.DESC, "createdAt"));
-    return productRepository.findAll(pageable).map(productMapper::toListResponse);
+    return productCardService.toResponsePage(
+        productCardRepository.findAllByOrderByProductCreatedAtDesc(
+            PageRequest.of(page - 1, pageSize)));
+  }
+
+  @Override
+  public CursorPage<MobileProductListResponse> scrollNewArrivals(String cursor, int pageSize) {
+    PageCursor after = PageCursor.decodeOrStart(cursor, NEWEST_FIRST);
+    List<ProductCard> rows =
+        productCardRepository.findNewestBefore(
+            after.getDateTime(0), after.getLong(1), CursorPage.limit(pageSize));
+    return CursorPage.of(rows, pageSize, MobileProductServiceImpl::newestCursor)
+        .map(productCardService::toResponse);
   }
 
   /**
@@ -270,9 +298,19 @@ public class MobileProductServiceImpl implements MobileProductService {
    * @return Page of most popular products
    */
   public Page<MobileProductListResponse> getPopularProducts(int page, int size) {
-    return productRepository
-        .findPopularProducts(PageRequest.of(page - 1, size))
-        .map(productMapper::toListResponse);
+    return productCardService.toResponsePage(
+        productCardRepository.findByInStockTrueOrderByFavoritesCountDescProductCreatedAtDesc(
+            PageRequest.of(page - 1, size)));
+  }
+
+  @Override
+  public CursorPage<MobileProductListResponse> scrollPopularProducts(String cursor, int size) {
+    PageCursor after = PageCursor.decodeOrStart(cursor, MOST_POPULAR_FIRST);
+    List<ProductCard> rows =
+        productCardRepository.findPopularBefore(
+            after.getInt(0), after.getDateTime(1), after.getLong(2), CursorPage.limit(size));
+    return CursorPage.of(rows, size, MobileProductServiceImpl::popularCursor)
+        .map(productCardService::toResponse);
   }
 
   /**
@@ -286,9 +324,8 @@ public class MobileProductServiceImpl implements MobileProductService {
     // For now, get all and filter
     Pageable pageable = PageRequest.of(0, limit);
 
-    return productRepository
-        .findLowStockProducts(10, pageable) // 10 = low stock threshold
-        .map(productMapper::toListResponse)
+    return productListingLoader
+        .toListPage(productRepository.findLowStockProducts(10, pageable)) // 10 = low stock threshold
         .getContent();
   }
 
@@ -302,6 +339,7 @@ public class MobileProductServiceImpl implements MobileProductService {
     Product product = getById(productId);
     product.setFavoritesCount(product.getFavoritesCount() + 1);
     productRepository.save(product);
+    productCardService.markStale(productId);
   }
 
   /**
@@ -315,6 +353,7 @@ public class MobileProductServiceImpl implements MobileProductService {
     if (product.getFavoritesCount() > 0) {
       product.setFavoritesCount(product.getFavoritesCount() - 1);
       productRepository.save(product);
+      productCardService.markStale(productId);
     }
   }
 
@@ -334,7 +373,7 @@ public class MobileProductServiceImpl implements MobileProductService {
    * <p>Used to build user's view history for personalized recommendations. Duplicate views (same
    * user + same product) are ignored to keep history clean.
    *
-   * <p>This method is called asynchronously from {@link #getProductById} so it does not affect
+   * <p>This method is called asynchronously from {@link #recordProductView} so it does not affect
    * response time of the product detail endpoint.
    *
    * <p>Example:
@@ -368,10 +407,11 @@ public class MobileProductServiceImpl implements MobileProductService {
         ProductView.builder().user(user).product(product).viewedAt(LocalDateTime.now()).build());
   }
 
+  // Served from memory — no transaction, so no pooled connection is taken per keystroke
   @Override
+  @Transactional(propagation = Propagation.NOT_SUPPORTED)
   public List<String> getSuggestions(String q) {
-    if (q == null || q.trim().length() < 2) return List.of();
-    return productRepository.findSuggestions(q.trim());
+    return productSuggestionIndex.suggest(q);
   }
 
   @Transactional(readOnly = true)
@@ -383,12 +423,41 @@ public class MobileProductServiceImpl implements MobileProductService {
         .findById(brandId)
         .orElseThrow(() -> new ResourceNotFoundException("Brand not found: " + brandId));
 
-    // Pass null if search is blank so JPQL condition is skipped
-    String searchParam = (search == null || search.isBlank()) ? null : search.trim();
+    // No search → served straight from the product card read model
+    if (search == null || search.isBlank()) {
+      return productCardService.toResponsePage(
+          productCardRepository.findByBrandIdAndInStockTrueOrderByProductCreatedAtDesc(
+              brandId, PageRequest.of(page - 1, size)));
+    }
+    String searchParam = search.trim();
 
-    return productRepository
-        .findByBrandId(brandId, searchParam, PageRequest.of(page - 1, size))
-        .map(productMapper::toListResponse);
+    return productListingLoader.toListPage(
+        productRepository.findByBrandId(brandId, searchParam, PageRequest.of(page - 1, size)));
+  }
+
+  @Override
+  public CursorPage<MobileProductListResponse> scrollProductsByBrand(
+      Long brandId, String search, String cursor, int size) {
+
+    brandRepository
+        .findById(brandId)
+        .orElseThrow(() -> new ResourceNotFoundException("Brand not found: " + brandId));
+
+    PageCursor after = PageCursor.decodeOrStart(cursor, NEWEST_FIRST);
+    Pageable limit = CursorPage.limit(size);
+
+    if (search == null || search.isBlank()) {
+      List<ProductCard> rows =
+          productCardRepository.findByBrandNewestBefore(
+              brandId, after.getDateTime(0), after.getLong(1), limit);
+      return CursorPage.of(rows, size, MobileProductServiceImpl::newestCursor)
+          .map(productCardService::toResponse);
+    }
+
+    List<Product> rows =
+        productRepository.findByBrandIdBefore(
+            brandId, search.trim(), after.getDateTime(0), after.getLong(1), limit);
+    return toListSlice(CursorPage.of(rows, size, MobileProductServiceImpl::newestCursor));
   }
 
   /**
@@ -431,12 +500,68 @@ public class MobileProductServiceImpl implements MobileProductService {
 
     // Has history → recommend from their interests
     if (!topCategories.isEmpty()) {
-      return productRepository
-          .findRecommendedProducts(topCategories, allExcluded, PageRequest.of(page, size))
-          .map(productMapper::toListResponse);
+      return productListingLoader.toListPage(
+          productRepository.findRecommendedProducts(
+              topCategories, allExcluded, PageRequest.of(page, size)));
     }
 
     // No history → fallback to popular products
     return getPopularProducts(page, size);
   }
+
+  @Override
+  public CursorPage<MobileProductListResponse> scrollRecommendedProducts(
+      Long userId, List<Long> excludeIds, String cursor, int size) {
+
+    List<Long> allExcluded = excludeIds != null ? new ArrayList<>(excludeIds) : new ArrayList<>();
+
+    LocalDateTime since = LocalDateTime.now().minusDays(30);
+    List<Long> topCategories =
+        productViewRepository.findTopCategoryIdsByUserId(userId, since, PageRequest.of(0, 3));
+
+    // Both feeds share the (favorites, createdAt, id) cursor shape
+    if (topCategories.isEmpty()) {
+      return scrollPopularProducts(cursor, size);
+    }
+
+    PageCursor after = PageCursor.decodeOrStart(cursor, MOST_POPULAR_FIRST);
+    List<Product> rows =
+        productRepository.findRecommendedBefore(
+            topCategories,
+            allExcluded,
+            after.getInt(0),
+            after.getDateTime(1),
+            after.getLong(2),
+            CursorPage.limit(size));
+    return toListSlice(CursorPage.of(rows, size, MobileProductServiceImpl::popularCursor));
+  }
+
+  private static PageCursor newestCursor(ProductCard card) {
+    return PageCursor.of(card.getProductCreatedAt(), card.getProductId());
+  }
+
+  private static PageCursor newestCursor(Product product) {
+    return PageCursor.of(product.getCreatedAt(), product.getId());
+  }
+
+  private static PageCursor popularCursor(ProductCard card) {
+    return PageCursor.of(card.getFavoritesCount(), card.getProductCreatedAt(), card.getProductId());
+  }
+
+  private static PageCursor popularCursor(Product product) {
+    return PageCursor.of(product.getFavoritesCount(), product.getCreatedAt(), product.getId());
+  }
+
+  /** Map a slice of products to cards with the listing loader's batched association loads. */
+  private CursorPage<MobileProductListResponse> toListSlice(CursorPage<Product> slice) {
+    return new CursorPage<>(
+        productListingLoader.toList(slice.getContent()),
+        slice.getNextCursor(),
+        slice.getPageSize());
+  }
+
+  /** Card queries carry their own ORDER BY; Product sort properties do not exist on cards. */
+  private Pageable unsorted(Pageable pageable) {
+    return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+  }
 }
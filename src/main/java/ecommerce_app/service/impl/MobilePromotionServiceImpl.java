@@ -9,8 +9,8 @@ import ecommerce_app.dto.request.MobilePromotionValidationRequest;
 import ecommerce_app.dto.response.MobilePromotionValidationResponse;
 import ecommerce_app.entity.Promotion;
 import ecommerce_app.repository.PromotionRepository;
-import ecommerce_app.repository.PromotionUsageRepository;
 import ecommerce_app.service.MobilePromotionService;
+import ecommerce_app.service.PromotionUsageService;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -36,7 +36,7 @@ import java.util.List;
 public class MobilePromotionServiceImpl implements MobilePromotionService {
 
   private final PromotionRepository promotionRepository;
-  private final PromotionUsageRepository promotionUsageRepository;
+  private final PromotionUsageService promotionUsageService;
   private final PromotionMapper promotionMapper;
 
   /**
@@ -164,7 +164,7 @@ public class MobilePromotionServiceImpl implements MobilePromotionService {
     // 6. Check user usage limit
     if (promotion.getMaxUsagePerUser() != null && userId != null) {
       long userUsageCount =
-          promotionUsageRepository.countByPromotionIdAndUserId(promotion.getId(), userId);
+          promotionUsageService.getUserUsageCount(promotion.getId(), userId);
 
       if (userUsageCount >= promotion.getMaxUsagePerUser()) {
         return MobilePromotionValidationResponse.invalid(
@@ -297,7 +297,7 @@ public class MobilePromotionServiceImpl implements MobilePromotionService {
 
       if (promotion.getMaxUsagePerUser() != null && userId != null) {
         long userUsageCount =
-            promotionUsageRepository.countByPromotionIdAndUserId(promotionId, userId);
+            promotionUsageService.getUserUsageCount(promotionId, userId);
         return userUsageCount < promotion.getMaxUsagePerUser();
       }
 
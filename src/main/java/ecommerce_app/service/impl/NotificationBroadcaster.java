@@ -0,0 +1,191 @@
+package ecommerce_app.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.google.firebase.messaging.BatchResponse;
+import com.google.firebase.messaging.MessagingErrorCode;
+import com.google.firebase.messaging.SendResponse;
+import ecommerce_app.dto.request.NotificationRequest;
+import ecommerce_app.entity.DeviceToken;
+import ecommerce_app.entity.Notification;
+import ecommerce_app.exception.InternalServerErrorException;
+import ecommerce_app.repository.DeviceTokenRepository;
+import ecommerce_app.repository.NotificationRepository;
+import ecommerce_app.repository.UserRepository;
+import ecommerce_app.util.JsonUtils;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+/**
+ * Broadcast pipeline — one notification to every active user.
+ *
+ * <pre>
+ *   1. notification rows  keyset over active user IDs, one INSERT ... SELECT per 1000 users
+ *   2. push               keyset over active device tokens, one FCM multicast per 500 tokens
+ *   3. pruning            tokens FCM reports as unregistered/invalid are deactivated per batch
+ * </pre>
+ *
+ * <p>Nothing is held across pages, so memory stays flat regardless of audience size, and no step
+ * runs per user. Pushes carry no per-user {@code notificationId} — the app opens the referenced
+ * entity from {@code type}/{@code referenceId}.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class NotificationBroadcaster {
+
+  private static final int USER_CHUNK_SIZE = 1000;
+  /** FCM multicast limit. */
+  private static final int MULTICAST_BATCH_SIZE = 500;
+
+  // INVALID_ARGUMENT is not here — FCM also returns it for a bad message, which would kill the
+  // whole batch's tokens
+  private static final Set<MessagingErrorCode> DEAD_TOKEN_ERRORS =
+      Set.of(MessagingErrorCode.UNREGISTERED, MessagingErrorCode.SENDER_ID_MISMATCH);
+
+  private final UserRepository userRepository;
+  private final NotificationRepository notificationRepository;
+  private final DeviceTokenRepository deviceTokenRepository;
+  private final FirebaseMessagingService firebaseMessagingService;
+
+  public void broadcast(NotificationRequest request) {
+    log.info("Starting broadcast notification: {}", request.getTitle());
+
+    if (Boolean.TRUE.equals(request.getSaveToDatabase())) {
+      int saved = saveForAllUsers(request);
+      log.info("Broadcast saved for {} users", saved);
+    }
+
+    if (Boolean.TRUE.equals(request.getSendPush())) {
+      pushToAllDevices(request);
+    }
+  }
+
+  /** Insert the notification for every active user in chunks. Each chunk commits on its own. */
+  private int saveForAllUsers(NotificationRequest request) {
+    LocalDateTime now = LocalDateTime.now();
+    LocalDateTime expiresAt =
+        request.getExpiresInDays() != null && request.getExpiresInDays() > 0
+            ? now.plusDays(request.getExpiresInDays())
+            : null;
+    String data = writeData(request.getData());
+
+    int saved = 0;
+    long afterId = 0L;
+    List<Long> ids;
+    while (!(ids = userRepository.findActiveIdsAfter(afterId, PageRequest.of(0, USER_CHUNK_SIZE)))
+        .isEmpty()) {
+      long upToId = ids.getLast();
+      saved +=
+          notificationRepository.insertBroadcastForUserRange(
+              afterId,
+              upToId,
+              request.getTitle(),
+              request.getMessage(),
+              request.getType().name(),
+              request.getReferenceId(),
+              request.getReferenceType(),
+              request.getActionUrl(),
+              request.getImageUrl(),
+              data,
+              expiresAt,
+              now);
+      afterId = upToId;
+    }
+    return saved;
+  }
+
+  /** Send one multicast per page of tokens, pruning dead tokens as responses come back. */
+  private void pushToAllDevices(NotificationRequest request) {
+    Notification template =
+        Notification.builder()
+            .type(request.getType())
+            .referenceId(request.getReferenceId())
+            .referenceType(request.getReferenceType())
+            .actionUrl(request.getActionUrl())
+            .build();
+    Map<String, String> data = firebaseMessagingService.buildDataPayload(template);
+
+    int batches = 0;
+    int success = 0;
+    int failure = 0;
+    int pruned = 0;
+
+    long afterId = 0L;
+    List<DeviceToken> page;
+    while (!(page =
+            deviceTokenRepository.findActiveAfter(
+                afterId, PageRequest.of(0, MULTICAST_BATCH_SIZE)))
+        .isEmpty()) {
+      afterId = page.getLast().getId();
+      List<String> tokens = page.stream().map(DeviceToken::getToken).toList();
+
+      BatchResponse response =
+          firebaseMessagingService.sendMulticast(
+              tokens,
+              request.getTitle(),
+              request.getMessage(),
+              request.getImageUrl(),
+              data,
+              null);
+      batches++;
+
+      if (response == null) {
+        failure += tokens.size();
+        continue;
+      }
+      success += response.getSuccessCount();
+      failure += response.getFailureCount();
+      pruned += pruneDeadTokens(response, tokens);
+    }
+
+    log.info(
+        "Broadcast push completed - Batches: {}, Success: {}, Failed: {}, Pruned tokens: {}",
+        batches,
+        success,
+        failure,
+        pruned);
+  }
+
+  private int pruneDeadTokens(BatchResponse response, List<String> tokens) {
+    if (response.getFailureCount() == 0) return 0;
+
+    List<SendResponse> responses = response.getResponses();
+    List<String> dead = new ArrayList<>();
+    int invalidMessage = 0;
+    String invalidReason = null;
+    for (int i = 0; i < responses.size(); i++) {
+      SendResponse sendResponse = responses.get(i);
+      if (sendResponse.isSuccessful() || sendResponse.getException() == null) continue;
+
+      MessagingErrorCode code = sendResponse.getException().getMessagingErrorCode();
+      if (DEAD_TOKEN_ERRORS.contains(code)) {
+        dead.add(tokens.get(i));
+      } else if (code == MessagingErrorCode.INVALID_ARGUMENT) {
+        invalidMessage++;
+        invalidReason = sendResponse.getException().getMessage();
+      }
+    }
+    if (invalidMessage > 0) {
+      // A message error, not a token error — the tokens stay active
+      log.error(
+          "FCM rejected the broadcast as invalid for {} tokens: {}", invalidMessage, invalidReason);
+    }
+    return dead.isEmpty() ? 0 : deviceTokenRepository.deactivateByTokenIn(dead);
+  }
+
+  private String writeData(Map<String, String> data) {
+    if (data == null) return null;
+    try {
+      return JsonUtils.toJson(data);
+    } catch (JsonProcessingException e) {
+      throw new InternalServerErrorException("Failed to serialize notification data", e);
+    }
+  }
+}
@@ -0,0 +1,331 @@
+package ecommerce_app.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.google.firebase.messaging.FirebaseMessagingException;
+import com.google.firebase.messaging.SendResponse;
+import ecommerce_app.constant.enums.NotificationStatus;
+import ecommerce_app.dto.request.NotificationRequest;
+import ecommerce_app.entity.DeviceToken;
+import ecommerce_app.entity.Notification;
+import ecommerce_app.entity.NotificationOutbox;
+import ecommerce_app.exception.InternalServerErrorException;
+import ecommerce_app.repository.DeviceTokenRepository;
+import ecommerce_app.repository.NotificationOutboxRepository;
+import ecommerce_app.repository.NotificationRepository;
+import ecommerce_app.repository.UserRepository;
+import ecommerce_app.service.impl.FirebaseMessagingService.PushResult;
+import ecommerce_app.util.JsonUtils;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Transactional outbox for push notifications.
+ *
+ * <p>{@link #enqueue} writes an outbox row inside the caller's transaction — checkout commits the
+ * order and the "order placed" event together, and never waits on FCM. After commit the event is
+ * handed to the {@code notificationTaskExecutor} pool. A poller picks up events whose hand-off was
+ * lost (full pool, node restart) and retries failed deliveries with exponential backoff.
+ *
+ * <p>Workers claim an event with a conditional UPDATE that also leases it for {@link #LEASE}, so the
+ * after-commit hand-off and the poller never deliver the same event twice, and an event held by a
+ * crashed worker becomes due again when the lease runs out.
+ */
+@Slf4j
+@Service
+public class NotificationOutboxService {
+
+  private static final int DISPATCH_BATCH_SIZE = 100;
+  private static final int MAX_ATTEMPTS = 5;
+  private static final Duration LEASE = Duration.ofMinutes(2);
+  private static final Duration BASE_BACKOFF = Duration.ofSeconds(30);
+  private static final int CLEANUP_DAYS = 7;
+
+  private final NotificationOutboxRepository outboxRepository;
+  private final NotificationRepository notificationRepository;
+  private final DeviceTokenRepository deviceTokenRepository;
+  private final UserRepository userRepository;
+  private final FirebaseMessagingService firebaseMessagingService;
+  private final TransactionTemplate transactionTemplate;
+  private final Executor executor;
+
+  public NotificationOutboxService(
+      NotificationOutboxRepository outboxRepository,
+      NotificationRepository notificationRepository,
+      DeviceTokenRepository deviceTokenRepository,
+      UserRepository userRepository,
+      FirebaseMessagingService firebaseMessagingService,
+      TransactionTemplate transactionTemplate,
+      @Qualifier("notificationTaskExecutor") Executor executor) {
+    this.outboxRepository = outboxRepository;
+    this.notificationRepository = notificationRepository;
+    this.deviceTokenRepository = deviceTokenRepository;
+    this.userRepository = userRepository;
+    this.firebaseMessagingService = firebaseMessagingService;
+    this.transactionTemplate = transactionTemplate;
+    this.executor = executor;
+  }
+
+  // ── Enqueue ───────────────────────────────────────────────────────────────
+
+  /**
+   * Record a push for the user, delivered once the current transaction commits.
+   *
+   * @param notification the saved notification to push, or {@code null} to push {@code request}
+   *     without saving it
+   */
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void enqueue(Long userId, Notification notification, NotificationRequest request) {
+    NotificationOutbox event =
+        outboxRepository.save(
+            NotificationOutbox.builder()
+                .userId(userId)
+                .notificationId(notification != null ? notification.getId() : null)
+                .payload(notification == null ? writePayload(request) : null)
+                .status(NotificationStatus.PENDING)
+                .attempts(0)
+                .nextAttemptAt(LocalDateTime.now())
+                .build());
+
+    Long eventId = event.getId();
+    TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronization() {
+          @Override
+          public void afterCommit() {
+            submit(eventId);
+          }
+        });
+  }
+
+  // ── Dispatch ──────────────────────────────────────────────────────────────
+
+  // Run every 5 seconds — pick up lost hand-offs and retries that are due
+  @Scheduled(fixedDelay = 5000, initialDelay = 10000)
+  public void dispatchDue() {
+    List<Long> due =
+        outboxRepository.findDueIds(
+            NotificationStatus.PENDING,
+            LocalDateTime.now(),
+            PageRequest.of(0, DISPATCH_BATCH_SIZE));
+    due.forEach(this::submit);
+  }
+
+  private void submit(Long eventId) {
+    try {
+      executor.execute(() -> dispatch(eventId));
+    } catch (RejectedExecutionException e) {
+      // Pool is saturated — the poller delivers it on a later run
+      log.debug("Notification pool full, outbox event {} left for the poller", eventId);
+    }
+  }
+
+  private void dispatch(Long eventId) {
+    LocalDateTime now = LocalDateTime.now();
+    if (outboxRepository.claim(eventId, NotificationStatus.PENDING, now, now.plus(LEASE)) == 0) {
+      return; // delivered, or claimed by another worker
+    }
+
+    NotificationOutbox event = outboxRepository.findById(eventId).orElse(null);
+    if (event == null) return;
+
+    try {
+      deliver(event);
+      outboxRepository.updateOutcome(
+          eventId, NotificationStatus.SENT, now, null, LocalDateTime.now());
+
+    } catch (Exception e) {
+      String error = StringUtils.abbreviate(e.getMessage(), 500);
+
+      if (event.getAttempts() >= MAX_ATTEMPTS) {
+        log.error("Outbox event {} failed after {} attempts: {}", eventId, MAX_ATTEMPTS, error);
+        outboxRepository.updateOutcome(
+            eventId, NotificationStatus.FAILED, now, error, LocalDateTime.now());
+      } else {
+        // 30s, 1m, 2m, 4m ...
+        Duration backoff = BASE_BACKOFF.multipliedBy(1L << (event.getAttempts() - 1));
+        log.warn("Outbox event {} failed, retrying in {}: {}", eventId, backoff, error);
+        outboxRepository.updateOutcome(
+            eventId,
+            NotificationStatus.PENDING,
+            LocalDateTime.now().plus(backoff),
+            error,
+            LocalDateTime.now());
+      }
+    }
+  }
+
+  /** What to push, read in a short transaction and used after it has closed. */
+  private record Delivery(
+      Long notificationId,
+      String title,
+      String message,
+      String imageUrl,
+      Map<String, String> data,
+      List<DeviceToken> tokens) {}
+
+  /**
+   * Push to every active device of the user. Throws if nothing was delivered.
+   *
+   * <p>No transaction is open during the FCM call — a slow or retried send does not hold a pool
+   * connection, and the outcome is recorded in its own transaction so a failed send keeps its
+   * delivery logs and FAILED status.
+   */
+  private void deliver(NotificationOutbox event) {
+    Delivery delivery = transactionTemplate.execute(_ -> load(event));
+    if (delivery == null) return;
+
+    List<PushResult> results = push(delivery);
+
+    if (delivery.notificationId() != null) {
+      firebaseMessagingService.recordPush(delivery.notificationId(), results);
+    }
+    if (results.stream().noneMatch(PushResult::successful)) {
+      throw new InternalServerErrorException(
+          "Delivery failed for outbox event " + event.getId() + ": " + results.getFirst().error());
+    }
+  }
+
+  /** @return {@code null} if there is nothing to push */
+  private Delivery load(NotificationOutbox event) {
+    Notification notification =
+        event.getNotificationId() != null
+            ? notificationRepository.findById(event.getNotificationId()).orElse(null)
+            : buildTransientNotification(event);
+
+    if (notification == null) {
+      log.info("Notification {} deleted before delivery", event.getNotificationId());
+      return null;
+    }
+
+    List<DeviceToken> tokens = deviceTokenRepository.findByUserIdAndIsActiveTrue(event.getUserId());
+    if (tokens.isEmpty()) {
+      log.warn("No active device tokens found for user: {}", event.getUserId());
+      // Only saved notifications get delivery status and logs
+      if (notification.getId() != null) {
+        notification.setStatus(NotificationStatus.FAILED);
+        notification.setErrorMessage("No active device tokens");
+      }
+      return null; // nothing to retry
+    }
+
+    return new Delivery(
+        notification.getId(),
+        notification.getTitle(),
+        notification.getMessage(),
+        notification.getImageUrl(),
+        firebaseMessagingService.buildDataPayload(notification),
+        tokens);
+  }
+
+  private List<PushResult> push(Delivery delivery) {
+    List<DeviceToken> tokens = delivery.tokens();
+    try {
+      if (tokens.size() == 1) {
+        DeviceToken deviceToken = tokens.getFirst();
+        String messageId =
+            firebaseMessagingService.push(
+                deviceToken.getToken(),
+                delivery.title(),
+                delivery.message(),
+                delivery.imageUrl(),
+                delivery.data());
+        return List.of(new PushResult(deviceToken, messageId, null));
+      }
+
+      List<SendResponse> responses =
+          firebaseMessagingService
+              .pushMulticast(
+                  tokens.stream().map(DeviceToken::getToken).toList(),
+                  delivery.title(),
+                  delivery.message(),
+                  delivery.imageUrl(),
+                  delivery.data())
+              .getResponses();
+      List<PushResult> results = new ArrayList<>(responses.size());
+      for (int i = 0; i < responses.size(); i++) {
+        SendResponse response = responses.get(i);
+        results.add(
+            response.isSuccessful()
+                ? new PushResult(tokens.get(i), response.getMessageId(), null)
+                : new PushResult(
+                    tokens.get(i),
+                    null,
+                    response.getException() != null
+                        ? StringUtils.defaultIfBlank(
+                            response.getException().getMessage(), "Unknown error")
+                        : "Unknown error"));
+      }
+      return results;
+
+    } catch (FirebaseMessagingException e) {
+      String error = StringUtils.defaultIfBlank(e.getMessage(), "FCM request failed");
+      return tokens.stream().map(t -> new PushResult(t, null, error)).toList();
+    }
+  }
+
+  // ── Maintenance ───────────────────────────────────────────────────────────
+
+  /** Give events that exhausted their attempts another round. Returns the number requeued. */
+  public int requeueFailed() {
+    int requeued =
+        outboxRepository.requeueFailed(
+            NotificationStatus.FAILED, NotificationStatus.PENDING, LocalDateTime.now());
+    log.info("Requeued {} failed outbox events", requeued);
+    return requeued;
+  }
+
+  /** Drop delivered events. Scheduled to run daily at 2:15 AM */
+  @Scheduled(cron = "0 15 2 * * *")
+  public void cleanupSentEvents() {
+    int deleted =
+        outboxRepository.deleteByStatusAndUpdatedAtBefore(
+            NotificationStatus.SENT, LocalDateTime.now().minusDays(CLEANUP_DAYS));
+    log.info("Cleaned up {} delivered outbox events", deleted);
+  }
+
+  // ── Helpers ───────────────────────────────────────────────────────────────
+
+  private String writePayload(NotificationRequest request) {
+    try {
+      return JsonUtils.toJson(request);
+    } catch (JsonProcessingException e) {
+      throw new InternalServerErrorException("Failed to serialize notification payload", e);
+    }
+  }
+
+  private Notification buildTransientNotification(NotificationOutbox event) {
+    NotificationRequest request;
+    try {
+      request = JsonUtils.fromJson(event.getPayload(), NotificationRequest.class);
+    } catch (JsonProcessingException e) {
+      throw new InternalServerErrorException("Corrupt payload for outbox event " + event.getId(), e);
+    }
+
+    return Notification.builder()
+        .user(userRepository.getReferenceById(event.getUserId()))
+        .title(request.getTitle())
+        .message(request.getMessage())
+        .type(request.getType())
+        .referenceId(request.getReferenceId())
+        .referenceType(request.getReferenceType())
+        .actionUrl(request.getActionUrl())
+        .imageUrl(request.getImageUrl())
+        .status(NotificationStatus.PENDING)
+        .build();
+  }
+}
@@ -5,6 +5,7 @@ import ecommerce_app.constant.enums.NotificationStatus;
 import ecommerce_app.exception.InternalServerErrorException;
 import ecommerce_app.exception.ResourceNotFoundException;
 import ecommerce_app.dto.request.NotificationRequest;
+import ecommerce_app.dto.response.CursorPage;
 import ecommerce_app.dto.response.NotificationResponse;
 import ecommerce_app.entity.DeviceToken;
 import ecommerce_app.entity.Notification;
@@ -18,10 +19,10 @@ import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 
 import ecommerce_app.service.NotificationService;
+import ecommerce_app.util.PageCursor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.scheduling.annotation.Scheduled;
@@ -38,17 +39,17 @@ public class NotificationServiceImpl implements NotificationService {
   private final UserRepository userRepository;
   private final FirebaseMessagingService firebaseMessagingService;
   private final ObjectMapper objectMapper;
+  private final NotificationOutboxService notificationOutboxService;
+  private final NotificationBroadcaster notificationBroadcaster;
 
-  private static final int BROADCAST_BATCH_SIZE = 100;
-  private static final int MAX_RETRY_COUNT = 3;
   private static final int CLEANUP_DAYS = 30;
   private static final int INACTIVE_TOKEN_DAYS = 90;
 
   /**
    * MAIN FLOW: Create notification and send via Firebase
    *
-   * <p>Step 1: Validate user and request Step 2: Save to database (if requested) Step 3: Send push
-   * notification via Firebase (async) Step 4: Return response
+   * <p>Step 1: Validate user and request Step 2: Save to database (if requested) Step 3: Queue push
+   * notification in the outbox (sent after commit) Step 4: Return response
    */
   @Transactional
   public NotificationResponse createAndSendNotification(NotificationRequest request) {
@@ -73,12 +74,10 @@ public class NotificationServiceImpl implements NotificationService {
       log.info("Notification saved to database with ID: {}", notification.getId());
     }
 
-    // Step 3: Send push notification via Firebase asynchronously (if requested)
+    // Step 3: Queue push notification — delivered from the outbox once this transaction commits,
+    // so callers such as checkout never wait on FCM
     if (Boolean.TRUE.equals(request.getSendPush())) {
-      Notification notificationToSend =
-          notification != null ? notification : buildTransientNotification(user, request);
-      // Send async to avoid blocking
-      sendPushNotificationAsync(notificationToSend);
+      notificationOutboxService.enqueue(user.getId(), notification, request);
     }
 
     // Step 4: Return response
@@ -142,31 +141,6 @@ public class NotificationServiceImpl implements NotificationService {
     }
   }
 
-  /** Build transient notification (not saved to DB) */
-  private Notification buildTransientNotification(User user, NotificationRequest request) {
-    return Notification.builder()
-        .user(user)
-        .title(request.getTitle())
-        .message(request.getMessage())
-        .type(request.getType())
-        .referenceId(request.getReferenceId())
-        .referenceType(request.getReferenceType())
-        .actionUrl(request.getActionUrl())
-        .imageUrl(request.getImageUrl())
-        .status(NotificationStatus.PENDING)
-        .build();
-  }
-
-  /**
-   * Send push notification asynchronously Runs in separate thread to avoid blocking main
-   * transaction
-   */
-  @Async
-  @Transactional(propagation = Propagation.REQUIRES_NEW)
-  public void sendPushNotificationAsync(Notification notification) {
-    sendPushNotification(notification);
-  }
-
   /**
    * Send push notification via Firebase Gets all active device tokens and sends notification to
    * each
@@ -311,6 +285,19 @@ public class NotificationServiceImpl implements NotificationService {
         .map(this::mapToResponse);
   }
 
+  /** Get user notifications in cursor mode — newest first, no count query */
+  @Transactional(readOnly = true)
+  public CursorPage<NotificationResponse> scrollUserNotifications(
+      Long userId, String cursor, int size) {
+    PageCursor after =
+        PageCursor.decodeOrStart(cursor, PageCursor.of(PageCursor.START_TIME, Long.MAX_VALUE));
+    List<Notification> rows =
+        notificationRepository.findByUserIdBefore(
+            userId, after.getDateTime(0), after.getLong(1), CursorPage.limit(size));
+    return CursorPage.of(rows, size, n -> PageCursor.of(n.getCreatedAt(), n.getId()))
+        .map(this::mapToResponse);
+  }
+
   /** Get unread notifications count */
   @Transactional(readOnly = true)
   public Long getUnreadCount(Long userId) {
@@ -369,109 +356,14 @@ public class NotificationServiceImpl implements NotificationService {
 
   /** Send broadcast notification to all users */
   @Async
-  @Transactional
   public CompletableFuture<Void> sendBroadcastNotification(NotificationRequest request) {
-    log.info("Starting broadcast notification: {}", request.getTitle());
-
-    long totalUsers = userRepository.count();
-    int totalPages = (int) Math.ceil((double) totalUsers / BROADCAST_BATCH_SIZE);
-
-    log.info("Broadcasting to {} users in {} batches", totalUsers, totalPages);
-
-    int successCount = 0;
-    int failureCount = 0;
-
-    for (int page = 0; page < totalPages; page++) {
-      Pageable pageable = PageRequest.of(page, BROADCAST_BATCH_SIZE);
-      Page<User> userPage = userRepository.findAll(pageable);
-
-      int[] results = processBroadcastBatch(userPage.getContent(), request);
-      successCount += results[0];
-      failureCount += results[1];
-
-      log.info(
-          "Processed batch {}/{} - Success: {}, Failed: {}",
-          page + 1,
-          totalPages,
-          results[0],
-          results[1]);
-    }
-
-    log.info(
-        "Broadcast notification completed - Total Success: {}, Total Failed: {}",
-        successCount,
-        failureCount);
-
+    notificationBroadcaster.broadcast(request);
     return CompletableFuture.completedFuture(null);
   }
 
-  /** Process batch of users for broadcast Returns [successCount, failureCount] */
-  private int[] processBroadcastBatch(List<User> users, NotificationRequest request) {
-    int successCount = 0;
-    int failureCount = 0;
-
-    for (User user : users) {
-      try {
-        // Skip inactive users
-        if (Boolean.FALSE.equals(user.getIsActive())) {
-          continue;
-        }
-
-        NotificationRequest userRequest =
-            NotificationRequest.builder()
-                .userId(user.getId())
-                .title(request.getTitle())
-                .message(request.getMessage())
-                .type(request.getType())
-                .referenceId(request.getReferenceId())
-                .referenceType(request.getReferenceType())
-                .actionUrl(request.getActionUrl())
-                .imageUrl(request.getImageUrl())
-                .data(request.getData())
-                .sendPush(request.getSendPush())
-                .saveToDatabase(request.getSaveToDatabase())
-                .expiresInDays(request.getExpiresInDays())
-                .build();
-
-        createAndSendNotification(userRequest);
-        successCount++;
-
-      } catch (Exception e) {
-        log.error("Failed to send broadcast to user {}: {}", user.getId(), e.getMessage());
-        failureCount++;
-      }
-    }
-
-    return new int[] {successCount, failureCount};
-  }
-
-  /** Retry failed notifications Scheduled to run every 5 minutes */
-  @Scheduled(fixedDelay = 300000, initialDelay = 60000)
-  @Transactional
+  /** Retry failed notifications — requeues outbox events that exhausted their attempts */
   public void retryFailedNotifications() {
-    List<Notification> failedNotifications =
-        notificationRepository.findPendingForRetry(NotificationStatus.FAILED, MAX_RETRY_COUNT);
-
-    if (failedNotifications.isEmpty()) {
-      return;
-    }
-
-    log.info("Retrying {} failed notifications", failedNotifications.size());
-
-    int successCount = 0;
-    int failureCount = 0;
-
-    for (Notification notification : failedNotifications) {
-      try {
-        sendPushNotification(notification);
-        successCount++;
-      } catch (Exception e) {
-        log.error("Retry failed for notification {}: {}", notification.getId(), e.getMessage());
-        failureCount++;
-      }
-    }
-
-    log.info("Retry completed - Success: {}, Failed: {}", successCount, failureCount);
+    notificationOutboxService.requeueFailed();
   }
 
   /** Clean up old read notifications Scheduled to run daily at 2 AM */
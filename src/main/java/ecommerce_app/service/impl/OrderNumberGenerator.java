@@ -1,15 +1,25 @@
 package ecommerce_app.service.impl;
 
 import ecommerce_app.entity.Order;
+import ecommerce_app.repository.OrderNumberCounterRepository;
 import ecommerce_app.repository.OrderRepository;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Propagation;
-import org.springframework.transaction.annotation.Transactional;
 
+/**
+ * Allocates order numbers {@code PREFIX-YYYYMMDD-NNNN} from a per-prefix, per-day counter row.
+ *
+ * <p>Each node leases a block of {@value #BLOCK_SIZE} numbers with one atomic UPDATE and hands them
+ * out from memory, so concurrent checkouts never compute the same number and only one in {@value
+ * #BLOCK_SIZE} touches the database. Numbers left in a block when the node stops are skipped;
+ * order numbers are unique and increasing per node, not gap-free.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
@@ -18,44 +28,81 @@ public class OrderNumberGenerator {
   private static final String ORDER_PREFIX = "ORD";
   private static final String POS_PREFIX = "POS";
   private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyyMMdd");
+  private static final long BLOCK_SIZE = 20;
 
   private final OrderRepository orderRepository;
+  private final OrderNumberCounterRepository counterRepository;
+
+  private final Map<String, Block> blocks = new ConcurrentHashMap<>();
 
   /** Generates a unique order number for regular online orders Format: ORD-YYYYMMDD-XXXX */
-  @Transactional(propagation = Propagation.REQUIRES_NEW)
   public String generateOrderNumber() {
     return generateOrderNumber(ORDER_PREFIX);
   }
 
   /** Generates a unique order number for POS (in-store) orders Format: POS-YYYYMMDD-XXXX */
-  @Transactional(propagation = Propagation.REQUIRES_NEW)
   public String generatePOSOrderNumber() {
     return generateOrderNumber(POS_PREFIX);
   }
 
-  /** Generates a unique order number with specified prefix Format: {PREFIX}-YYYYMMDD-XXXX */
-  private String generateOrderNumber(String prefix) {
+  /**
+   * Generates a unique order number with specified prefix Format: {PREFIX}-YYYYMMDD-XXXX.
+   * Package-private so tests can run against a counter of their own.
+   */
+  String generateOrderNumber(String prefix) {
     LocalDate today = LocalDate.now();
-    String datePrefix = today.format(DATE_FORMATTER);
-
-    // Get count of orders created today with this prefix
-    Long todayCount = orderRepository.countOrdersCreatedTodayWithPrefix(today, prefix);
+    String counterKey = prefix + "-" + today.format(DATE_FORMATTER);
 
-    // Generate sequential number for today (1-based)
-    long sequenceNumber = (todayCount != null ? todayCount : 0L) + 1;
+    long sequenceNumber = nextSequence(counterKey, prefix, today);
 
-    // Format: PREFIX-YYYYMMDD-XXXX (supports up to 9999 orders per day)
-    String orderNumber = String.format("%s-%s-%04d", prefix, datePrefix, sequenceNumber);
+    // Format: PREFIX-YYYYMMDD-XXXX — widens past 9999 orders per day (column fits 7 digits)
+    String orderNumber = String.format("%s-%04d", counterKey, sequenceNumber);
 
-    log.debug(
-        "Generated order number: {} (sequence: {} for date: {})",
-        orderNumber,
-        sequenceNumber,
-        datePrefix);
+    log.debug("Generated order number: {} (sequence: {})", orderNumber, sequenceNumber);
 
     return orderNumber;
   }
 
+  private long nextSequence(String counterKey, String prefix, LocalDate day) {
+    Block block = blocks.get(counterKey);
+    if (block == null) {
+      // New day — drop blocks of previous days. A dropped block only skips its unused numbers.
+      String date = counterKey.substring(prefix.length());
+      blocks.keySet().removeIf(k -> !k.endsWith(date));
+      block = blocks.computeIfAbsent(counterKey, _ -> new Block());
+    }
+
+    synchronized (block) {
+      if (block.next > block.last) {
+        long last = leaseBlock(counterKey, prefix, day);
+        block.next = last - BLOCK_SIZE + 1;
+        block.last = last;
+      }
+      return block.next++;
+    }
+  }
+
+  /** Reserve the next {@link #BLOCK_SIZE} numbers in the database and return the highest. */
+  private long leaseBlock(String counterKey, String prefix, LocalDate day) {
+    Optional<Long> last = counterRepository.advance(counterKey, BLOCK_SIZE);
+    if (last.isPresent()) {
+      return last.get();
+    }
+
+    // First order of the day — start after numbers issued by the old count-based scheme
+    Long issued = orderRepository.countOrdersCreatedTodayWithPrefix(day, prefix);
+    counterRepository.createIfAbsent(counterKey, issued != null ? issued : 0L);
+    return counterRepository
+        .advance(counterKey, BLOCK_SIZE)
+        .orElseThrow(() -> new IllegalStateException("Order number counter missing: " + counterKey));
+  }
+
+  /** Numbers {@code next..last} of a leased block; guarded by its own monitor. */
+  private static final class Block {
+    private long next = 1;
+    private long last = 0;
+  }
+
   /** Alternative: Simple sequential format using database ID */
   public String generateSimpleOrderNumber(Order order) {
     if (order.getId() == null) {
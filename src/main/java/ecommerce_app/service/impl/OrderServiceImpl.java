@@ -16,6 +16,7 @@ import ecommerce_app.dto.request.InitiatePaymentRequest;
 import ecommerce_app.dto.request.NotificationRequest;
 import ecommerce_app.dto.request.StockAdjustmentRequest;
 import ecommerce_app.dto.response.ApplyCouponResponse;
+import ecommerce_app.dto.response.CursorPage;
 import ecommerce_app.dto.response.InitiatePaymentResponse;
 import ecommerce_app.dto.response.OrderDetailResponse;
 import ecommerce_app.dto.response.OrderResponse;
@@ -29,7 +30,6 @@ import ecommerce_app.entity.Payment;
 import ecommerce_app.entity.Product;
 import ecommerce_app.entity.ProductVariant;
 import ecommerce_app.entity.Promotion;
-import ecommerce_app.entity.PromotionUsage;
 import ecommerce_app.entity.User;
 import ecommerce_app.exception.BadRequestException;
 import ecommerce_app.exception.ResourceNotFoundException;
@@ -41,15 +41,16 @@ import ecommerce_app.repository.OrderRepository;
 import ecommerce_app.repository.OrderStatusHistoryRepository;
 import ecommerce_app.repository.PaymentRepository;
 import ecommerce_app.repository.ProductVariantRepository;
-import ecommerce_app.repository.PromotionUsageRepository;
 import ecommerce_app.repository.UserRepository;
 import ecommerce_app.service.CouponService;
 import ecommerce_app.service.NotificationService;
 import ecommerce_app.service.OrderService;
 import ecommerce_app.service.PaymentService;
+import ecommerce_app.service.PromotionUsageService;
 import ecommerce_app.service.StockManagementService;
 import ecommerce_app.service.facade.PromotionFacade;
 import ecommerce_app.util.JsonUtils;
+import ecommerce_app.util.PageCursor;
 import ecommerce_app.util.SimpleShippingCalculator;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -78,7 +79,7 @@ public class OrderServiceImpl implements OrderService {
       Set.of(PaymentMethod.COD, PaymentMethod.CASH_IN_SHOP);
 
   private final OrderItemRepository orderItemRepository;
-  private final PromotionUsageRepository promotionUsageRepository;
+  private final PromotionUsageService promotionUsageService;
   private final OrderRepository orderRepository;
   private final CartRepository cartRepository;
   private final AddressRepository addressRepository;
@@ -94,13 +95,14 @@ public class OrderServiceImpl implements OrderService {
   private final PaymentService paymentService;
   private final ProductVariantRepository variantRepository;
   private final StockManagementService stockManagementService;
+  private final StockReservationService stockReservationService;
 
   // Use @Lazy on PaymentService to avoid circular dependency
   // OrderService → PaymentService → OrderRepository → fine
   // but PaymentService also uses OrderService indirectly via strategies
   public OrderServiceImpl(
       OrderItemRepository orderItemRepository,
-      PromotionUsageRepository promotionUsageRepository,
+      PromotionUsageService promotionUsageService,
       OrderRepository orderRepository,
       CartRepository cartRepository,
       AddressRepository addressRepository,
@@ -115,9 +117,10 @@ public class OrderServiceImpl implements OrderService {
       NotificationService notificationService,
       @Lazy PaymentService paymentService,
       ProductVariantRepository variantRepository,
-      StockManagementService stockManagementService) {
+      StockManagementService stockManagementService,
+      StockReservationService stockReservationService) {
     this.orderItemRepository = orderItemRepository;
-    this.promotionUsageRepository = promotionUsageRepository;
+    this.promotionUsageService = promotionUsageService;
     this.orderRepository = orderRepository;
     this.cartRepository = cartRepository;
     this.addressRepository = addressRepository;
@@ -133,6 +136,7 @@ public class OrderServiceImpl implements OrderService {
     this.notificationService = notificationService;
     this.paymentService = paymentService;
     this.variantRepository = variantRepository;
+    this.stockReservationService = stockReservationService;
   }
 
   @Transactional(rollbackFor = Exception.class)
@@ -148,7 +152,8 @@ public class OrderServiceImpl implements OrderService {
 
     BigDecimal shippingCost = calculateShippingCost(checkoutRequest, cart, shippingAddress);
     CheckoutSummary checkoutSummary =
-        calculateCheckoutSummary(cart, checkoutRequest.getPromotionCode());
+        calculateCheckoutSummary(cart, checkoutRequest.getPromotionCode(), currentUser);
+    claimPromotion(checkoutSummary, currentUser);
     applyCouponToSummary(checkoutSummary, checkoutRequest.getCouponCode(), userId);
 
     if (isFreeShippingPromotion(checkoutSummary)) {
@@ -200,8 +205,8 @@ public class OrderServiceImpl implements OrderService {
     orderItemRepository.saveAll(orderItems);
     log.info("Created {} order items", orderItems.size());
 
-    deductStockForOrder(cart, savedOrder);
-    log.info("Stock deducted for order: {}", savedOrder.getOrderNumber());
+    reserveStockForOrder(cart, savedOrder);
+    log.info("Stock reserved for order: {}", savedOrder.getOrderNumber());
 
     recordPromotionUsageIfApplicable(checkoutSummary, savedOrder, currentUser);
     recordCouponUsageIfApplicable(checkoutSummary, savedOrder, currentUser);
@@ -286,36 +291,35 @@ public class OrderServiceImpl implements OrderService {
   }
 
   /**
-   * Deduct stock for all items in an order. Always uses variant-based stock through
-   * StockManagementService.
+   * Reserve stock for all items in an order. QR orders hold the stock until payment; every other
+   * payment method commits it right away.
    */
-  private void deductStockForOrder(Cart cart, Order order) {
-    for (CartItem cartItem : cart.getCartItems()) {
-      ProductVariant variant = resolveVariantForCartItem(cartItem);
-      int quantity = cartItem.getQuantity();
-
-      stockManagementService.adjustStock(
-          StockAdjustmentRequest.builder()
-              .productId(cartItem.getProduct().getId())
-              .variantId(variant.getId())
-              .movementType(StockMovementType.OUT)
-              .quantity(quantity)
-              .referenceType("ORDER")
-              .referenceId(order.getId())
-              .note("Order #" + order.getOrderNumber())
-              .build(),
-          order.getUser().getId());
-
-      log.info(
-          "Deducted {} units from variant {} for order #{}",
-          quantity,
-          variant.getSku(),
-          order.getOrderNumber());
+  private void reserveStockForOrder(Cart cart, Order order) {
+    List<StockReservationService.Line> lines =
+        cart.getCartItems().stream()
+            .map(
+                cartItem ->
+                    new StockReservationService.Line(
+                        resolveVariantForCartItem(cartItem), cartItem.getQuantity()))
+            .toList();
+    String note = "Order #" + order.getOrderNumber();
+    Long userId = order.getUser().getId();
+
+    if (order.getPaymentMethod() == PaymentMethod.QR_CODE) {
+      stockReservationService.hold(order, lines, "ORDER", note, userId);
+    } else {
+      stockReservationService.reserveAndCommit(order, lines, "ORDER", note, userId);
     }
   }
 
   /** Restore stock for all items in a cancelled order. */
   private void restoreStockForOrder(Order order) {
+    String note = "Stock restored from cancelled order #" + order.getOrderNumber();
+    if (stockReservationService.release(order, "ORDER_CANCELLED", note)) {
+      return;
+    }
+
+    // Orders placed before reservations existed
     for (OrderItem item : order.getOrderItems()) {
       ProductVariant variant = resolveVariantForOrderItem(item);
       int quantity = item.getQuantity();
@@ -328,7 +332,7 @@ public class OrderServiceImpl implements OrderService {
               .quantity(quantity)
               .referenceType("ORDER_CANCELLED")
               .referenceId(order.getId())
-              .note("Stock restored from cancelled order #" + order.getOrderNumber())
+              .note(note)
               .build(),
           null // System action
           );
@@ -426,6 +430,18 @@ public class OrderServiceImpl implements OrderService {
     return orderRepository.findByUserId(userId, pageRequest).map(orderMapper::toSimpleResponse);
   }
 
+  @Transactional(readOnly = true)
+  @Override
+  public CursorPage<OrderResponse> scrollOrders(Long userId, String cursor, int pageSize) {
+    PageCursor after =
+        PageCursor.decodeOrStart(cursor, PageCursor.of(PageCursor.START_TIME, Long.MAX_VALUE));
+    List<Order> rows =
+        orderRepository.findByUserIdBefore(
+            userId, after.getDateTime(0), after.getLong(1), CursorPage.limit(pageSize));
+    return CursorPage.of(rows, pageSize, o -> PageCursor.of(o.getOrderDate(), o.getId()))
+        .map(orderMapper::toSimpleResponse);
+  }
+
   @Transactional(readOnly = true)
   @Override
   public OrderDetailResponse getOrderDetails(Long orderId, Long userId) {
@@ -465,7 +481,7 @@ public class OrderServiceImpl implements OrderService {
         checkoutRequest.getShippingMethod(), cart, address);
   }
 
-  private CheckoutSummary calculateCheckoutSummary(Cart cart, String promotionCode) {
+  private CheckoutSummary calculateCheckoutSummary(Cart cart, String promotionCode, User user) {
     CheckoutSummary summary = new CheckoutSummary();
     BigDecimal subtotal = calculateSubtotal(cart);
     summary.setSubtotal(subtotal);
@@ -474,9 +490,9 @@ public class OrderServiceImpl implements OrderService {
     summary.setFreeShipping(false);
 
     if (StringUtils.isNotBlank(promotionCode)) {
-      applyPromotionToSummary(summary, cart, promotionCode);
+      applyPromotionToSummary(summary, cart, promotionCode, user);
     } else {
-      applyAutoPromotionsToSummary(summary, cart);
+      applyAutoPromotionsToSummary(summary, cart, user);
     }
 
     BigDecimal finalTotal = calculateFinalTotal(summary);
@@ -490,7 +506,8 @@ public class OrderServiceImpl implements OrderService {
         .reduce(BigDecimal.ZERO, BigDecimal::add);
   }
 
-  private void applyPromotionToSummary(CheckoutSummary summary, Cart cart, String promotionCode) {
+  private void applyPromotionToSummary(
+      CheckoutSummary summary, Cart cart, String promotionCode, User user) {
     try {
       Promotion promotion = promotionFacade.getPromotionByCode(promotionCode);
       if (promotion == null) {
@@ -501,9 +518,7 @@ public class OrderServiceImpl implements OrderService {
         summary.setPromotionError("Promotion is not active or expired");
         return;
       }
-      if (promotion.getMaxUsage() != null
-          && promotion.getUsages() != null
-          && promotion.getUsages().size() >= promotion.getMaxUsage()) {
+      if (!promotionUsageService.canUsePromotion(promotion, user)) {
         summary.setPromotionError("Promotion usage limit reached");
         return;
       }
@@ -552,14 +567,22 @@ public class OrderServiceImpl implements OrderService {
     }
   }
 
-  private void applyAutoPromotionsToSummary(CheckoutSummary summary, Cart cart) {
+  private void applyAutoPromotionsToSummary(CheckoutSummary summary, Cart cart, User user) {
     try {
       BigDecimal totalDiscount = BigDecimal.ZERO;
       Map<Long, BigDecimal> itemDiscounts = new HashMap<>();
+      // Usable per promotion — checked once each, products often share a promotion
+      Map<Long, Boolean> usable = new HashMap<>();
       for (CartItem cartItem : cart.getCartItems()) {
         final var product = cartItem.getProduct();
         var promotion =
-            promotionFacade.getAvailablePromotion(product).stream().findFirst().orElse(null);
+            promotionFacade.getAvailablePromotion(product).stream()
+                .filter(
+                    p ->
+                        usable.computeIfAbsent(
+                            p.getId(), _ -> promotionUsageService.canUsePromotion(p, user)))
+                .findFirst()
+                .orElse(null);
         if (promotion != null) {
           summary.setAppliedPromotion(promotion);
           BigDecimal itemDiscount =
@@ -681,17 +704,24 @@ public class OrderServiceImpl implements OrderService {
     return discountAmount.min(unitPrice.multiply(BigDecimal.valueOf(quantity)));
   }
 
+  /**
+   * Take the applied promotion's use before any totals are fixed. If it ran out since the summary
+   * was computed, checkout fails — the customer was quoted the discounted total, so the client must
+   * re-quote rather than be charged more.
+   */
+  private void claimPromotion(CheckoutSummary summary, User user) {
+    Promotion promotion = summary.getAppliedPromotion();
+    if (promotion == null || promotionUsageService.claimPromotionUsage(promotion, user)) return;
+
+    log.info("Promotion {} ran out during checkout", promotion.getCode());
+    throw new BadRequestException("Promotion usage limit reached");
+  }
+
   private void recordPromotionUsageIfApplicable(CheckoutSummary summary, Order order, User user) {
     if (summary.getAppliedPromotion() != null) {
-      promotionUsageRepository.save(
-          PromotionUsage.builder()
-              .promotion(summary.getAppliedPromotion())
-              .order(order)
-              .user(user)
-              .usedAt(LocalDateTime.now())
-              .discountAmount(
-                  summary.getTotalDiscount() != null ? summary.getTotalDiscount() : BigDecimal.ZERO)
-              .build());
+      // Claimed in claimPromotion
+      promotionUsageService.recordPromotionUsage(
+          summary.getAppliedPromotion(), order, user, summary.getTotalDiscount());
     }
   }
 
@@ -1,6 +1,7 @@
 // OrderStatsService.java
 package ecommerce_app.service.impl;
 
+import ecommerce_app.core.io.service.ImageSize;
 import ecommerce_app.constant.enums.OrderStatus;
 import ecommerce_app.exception.InternalServerErrorException;
 import ecommerce_app.core.io.service.StaticResourceService;
@@ -10,9 +11,14 @@ import ecommerce_app.dto.response.RevenueTrendResponse;
 import ecommerce_app.dto.response.StatusDistributionResponse;
 import ecommerce_app.dto.response.TopProductResponse;
 import ecommerce_app.entity.Order;
-import ecommerce_app.entity.OrderItem;
-import ecommerce_app.projection.OrderStatsProjection;
+import ecommerce_app.projection.RevenueTrendProjection;
+import ecommerce_app.projection.SalesStatusTotalsProjection;
+import ecommerce_app.projection.StatusDistributionProjection;
+import ecommerce_app.projection.TopProductSalesProjection;
+import ecommerce_app.repository.DailyProductSalesRollupRepository;
+import ecommerce_app.repository.DailySalesRollupRepository;
 import ecommerce_app.repository.OrderRepository;
+import ecommerce_app.repository.ProductRepository;
 import ecommerce_app.service.OrderStatsService;
 import ecommerce_app.entity.Product;
 import java.math.BigDecimal;
@@ -20,11 +26,13 @@ import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -33,6 +41,12 @@ import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+/**
+ * Dashboard statistics. Everything except recent orders is read from the daily sales rollups
+ * maintained by {@link SalesRollupService}, so a query scans at most one row per day and status
+ * (or day and product) instead of every order in the range. Figures lag live orders by up to one
+ * rollup drain interval.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
@@ -40,67 +54,58 @@ import org.springframework.transaction.annotation.Transactional;
 public class OrderStatsServiceImpl implements OrderStatsService {
   private final StaticResourceService staticResourceService;
   private final OrderRepository orderRepository;
+  private final ProductRepository productRepository;
+  private final DailySalesRollupRepository salesRollupRepository;
+  private final DailyProductSalesRollupRepository productRollupRepository;
 
   @Override
   public OrderStatsResponse getDashboardStats() {
     try {
-      LocalDateTime now = LocalDateTime.now();
-      LocalDateTime thirtyDaysAgo = now.minusDays(30);
-      LocalDateTime previousPeriodStart = thirtyDaysAgo.minusDays(30);
-
-      // Single database query instead of 15+
-      OrderStatsProjection stats =
-          orderRepository.getAggregatedDashboardStats(previousPeriodStart, thirtyDaysAgo);
+      // Last 30 days including today, compared with the 30 days before
+      LocalDate today = LocalDate.now();
+      LocalDate currentStart = today.minusDays(29);
+      PeriodTotals current = loadTotals(currentStart, today);
+      PeriodTotals previous = loadTotals(currentStart.minusDays(30), currentStart.minusDays(1));
 
       // Calculate average order values
-      BigDecimal averageOrderValue =
-          calculateAverage(stats.getCurrentRevenue(), stats.getCurrentOrders());
-
-      BigDecimal previousAvgOrderValue =
-          calculateAverage(stats.getPreviousRevenue(), stats.getPreviousOrders());
+      BigDecimal averageOrderValue = calculateAverage(current.revenue(), current.orders());
+      BigDecimal previousAvgOrderValue = calculateAverage(previous.revenue(), previous.orders());
 
       // Calculate percentage changes
       BigDecimal revenueChangePercent =
-          calculateChangePercent(stats.getPreviousRevenue(), stats.getCurrentRevenue());
+          calculateChangePercent(previous.revenue(), current.revenue());
 
       BigDecimal ordersChangePercent =
           calculateChangePercent(
-              BigDecimal.valueOf(stats.getPreviousOrders()),
-              BigDecimal.valueOf(stats.getCurrentOrders()));
+              BigDecimal.valueOf(previous.orders()), BigDecimal.valueOf(current.orders()));
 
       BigDecimal pendingOrdersChangePercent =
           calculateChangePercent(
-              BigDecimal.valueOf(
-                  stats.getPreviousPending() != null ? stats.getPreviousPending() : 0),
-              BigDecimal.valueOf(
-                  stats.getCurrentPending() != null ? stats.getCurrentPending() : 0));
+              BigDecimal.valueOf(previous.count(OrderStatus.PENDING)),
+              BigDecimal.valueOf(current.count(OrderStatus.PENDING)));
 
       BigDecimal completedOrdersChangePercent =
           calculateChangePercent(
-              BigDecimal.valueOf(
-                  stats.getPreviousCompleted() != null ? stats.getPreviousCompleted() : 0),
-              BigDecimal.valueOf(
-                  stats.getCurrentCompleted() != null ? stats.getCurrentCompleted() : 0));
+              BigDecimal.valueOf(previous.count(OrderStatus.COMPLETED)),
+              BigDecimal.valueOf(current.count(OrderStatus.COMPLETED)));
 
       BigDecimal cancelledOrdersChangePercent =
           calculateChangePercent(
-              BigDecimal.valueOf(
-                  stats.getPreviousCancelled() != null ? stats.getPreviousCancelled() : 0),
-              BigDecimal.valueOf(
-                  stats.getCurrentCancelled() != null ? stats.getCurrentCancelled() : 0));
+              BigDecimal.valueOf(previous.count(OrderStatus.CANCELLED)),
+              BigDecimal.valueOf(current.count(OrderStatus.CANCELLED)));
 
       BigDecimal avgOrderValueChangePercent =
           calculateChangePercent(previousAvgOrderValue, averageOrderValue);
 
       return OrderStatsResponse.builder()
-          .totalRevenue(stats.getCurrentRevenue())
-          .totalOrders(stats.getCurrentOrders())
-          .pendingOrders(stats.getCurrentPending())
-          .processingOrders(stats.getCurrentProcessing())
-          .shippedOrders(stats.getCurrentShipped())
-          .deliveredOrders(stats.getCurrentDelivered())
-          .completedOrders(stats.getCurrentCompleted())
-          .cancelledOrders(stats.getCurrentCancelled())
+          .totalRevenue(current.revenue())
+          .totalOrders(current.orders())
+          .pendingOrders(current.count(OrderStatus.PENDING))
+          .processingOrders(current.count(OrderStatus.PROCESSING))
+          .shippedOrders(current.count(OrderStatus.SHIPPED))
+          .deliveredOrders(current.count(OrderStatus.DELIVERED))
+          .completedOrders(current.count(OrderStatus.COMPLETED))
+          .cancelledOrders(current.count(OrderStatus.CANCELLED))
           .averageOrderValue(averageOrderValue)
           .revenueChangePercent(revenueChangePercent)
           .ordersChangePercent(ordersChangePercent)
@@ -124,69 +129,34 @@ public class OrderStatsServiceImpl implements OrderStatsService {
 
   @Override
   public OrderStatsResponse getStatsWithDateRange(LocalDate fromDate, LocalDate toDate) {
-    LocalDateTime fromDateTime = fromDate.atStartOfDay();
-    LocalDateTime toDateTime = toDate.atTime(23, 59, 59);
-
     // Previous period (same duration before)
-    long daysBetween = java.time.temporal.ChronoUnit.DAYS.between(fromDate, toDate) + 1;
+    long daysBetween = ChronoUnit.DAYS.between(fromDate, toDate) + 1;
     LocalDate previousFromDate = fromDate.minusDays(daysBetween);
     LocalDate previousToDate = fromDate.minusDays(1);
 
-    LocalDateTime previousFromDateTime = previousFromDate.atStartOfDay();
-    LocalDateTime previousToDateTime = previousToDate.atTime(23, 59, 59);
-
-    // Current period stats
-    BigDecimal totalRevenue = orderRepository.getTotalRevenueBetween(fromDateTime, toDateTime);
-    Long totalOrders = orderRepository.getOrderCountBetween(fromDateTime, toDateTime);
-    BigDecimal averageOrderValue =
-        totalOrders > 0
-            ? totalRevenue.divide(BigDecimal.valueOf(totalOrders), 2, RoundingMode.HALF_UP)
-            : BigDecimal.ZERO;
-
-    // Status counts
-    Long pendingOrders =
-        orderRepository.getOrderCountByStatusBetween(OrderStatus.PENDING, fromDateTime, toDateTime);
-    Long processingOrders =
-        orderRepository.getOrderCountByStatusBetween(
-            OrderStatus.PROCESSING, fromDateTime, toDateTime);
-    Long shippedOrders =
-        orderRepository.getOrderCountByStatusBetween(OrderStatus.SHIPPED, fromDateTime, toDateTime);
-    Long deliveredOrders =
-        orderRepository.getOrderCountByStatusBetween(
-            OrderStatus.DELIVERED, fromDateTime, toDateTime);
-    Long completedOrders =
-        orderRepository.getOrderCountByStatusBetween(
-            OrderStatus.COMPLETED, fromDateTime, toDateTime);
-    Long cancelledOrders =
-        orderRepository.getOrderCountByStatusBetween(
-            OrderStatus.CANCELLED, fromDateTime, toDateTime);
-
-    // Previous period stats
-    BigDecimal previousRevenue =
-        orderRepository.getTotalRevenueBetween(previousFromDateTime, previousToDateTime);
-    Long previousOrders =
-        orderRepository.getOrderCountBetween(previousFromDateTime, previousToDateTime);
-    BigDecimal previousAvgOrderValue =
-        previousOrders > 0
-            ? previousRevenue.divide(BigDecimal.valueOf(previousOrders), 2, RoundingMode.HALF_UP)
-            : BigDecimal.ZERO;
+    PeriodTotals current = loadTotals(fromDate, toDate);
+    PeriodTotals previous = loadTotals(previousFromDate, previousToDate);
+
+    BigDecimal averageOrderValue = calculateAverage(current.revenue(), current.orders());
+    BigDecimal previousAvgOrderValue = calculateAverage(previous.revenue(), previous.orders());
 
     // Calculate percentage changes
-    BigDecimal revenueChangePercent = calculateChangePercent(previousRevenue, totalRevenue);
+    BigDecimal revenueChangePercent = calculateChangePercent(previous.revenue(), current.revenue());
     BigDecimal ordersChangePercent =
-        calculateChangePercent(BigDecimal.valueOf(previousOrders), BigDecimal.valueOf(totalOrders));
+        calculateChangePercent(
+            BigDecimal.valueOf(previous.orders()), BigDecimal.valueOf(current.orders()));
     BigDecimal avgOrderValueChangePercent =
         calculateChangePercent(previousAvgOrderValue, averageOrderValue);
 
     return OrderStatsResponse.builder()
-        .totalRevenue(totalRevenue)
-        .totalOrders(totalOrders)
-        .pendingOrders(pendingOrders)
-        .processingOrders(processingOrders)
-        .shippedOrders(shippedOrders)
-        .deliveredOrders(deliveredOrders)
-        .completedOrders(completedOrders)
-        .cancelledOrders(cancelledOrders)
+        .totalRevenue(current.revenue())
+        .totalOrders(current.orders())
+        .pendingOrders(current.count(OrderStatus.PENDING))
+        .processingOrders(current.count(OrderStatus.PROCESSING))
+        .shippedOrders(current.count(OrderStatus.SHIPPED))
+        .deliveredOrders(current.count(OrderStatus.DELIVERED))
+        .completedOrders(current.count(OrderStatus.COMPLETED))
+        .cancelledOrders(current.count(OrderStatus.CANCELLED))
         .averageOrderValue(averageOrderValue)
         .revenueChangePercent(revenueChangePercent)
         .ordersChangePercent(ordersChangePercent)
@@ -196,11 +166,6 @@ public class OrderStatsServiceImpl implements OrderStatsService {
 
   @Override
   public List<RevenueTrendResponse> getRevenueTrend(LocalDate fromDate, LocalDate toDate) {
-    // Get all orders in date range
-    LocalDateTime from = fromDate.atStartOfDay();
-    LocalDateTime to = toDate.atTime(23, 59, 59);
-    List<Order> orders = orderRepository.findOrdersByDateRange(from, to);
-    // Group by date and calculate
     Map<LocalDate, RevenueTrendResponse> trendMap = new TreeMap<>();
 
     // Initialize all dates in range
@@ -210,21 +175,12 @@ public class OrderStatsServiceImpl implements OrderStatsService {
       currentDate = currentDate.plusDays(1);
     }
 
-    // Aggregate data
-    for (Order order : orders) {
-      LocalDate orderDate = order.getOrderDate().atZone(ZoneId.systemDefault()).toLocalDate();
-      RevenueTrendResponse trend = trendMap.get(orderDate);
-
+    // Fill days that had orders
+    for (RevenueTrendProjection row : salesRollupRepository.findRevenueTrend(fromDate, toDate)) {
+      RevenueTrendResponse trend = trendMap.get(row.getOrderDate());
       if (trend != null) {
-        // Add revenue
-        BigDecimal currentRevenue =
-            trend.getRevenue() != null ? trend.getRevenue() : BigDecimal.ZERO;
-        BigDecimal orderRevenue =
-            order.getTotalAmount() != null ? order.getTotalAmount() : BigDecimal.ZERO;
-        trend.setRevenue(currentRevenue.add(orderRevenue));
-
-        // Add order count
-        trend.setOrders(trend.getOrders() + 1);
+        trend.setRevenue(row.getRevenue() != null ? row.getRevenue() : BigDecimal.ZERO);
+        trend.setOrders(row.getOrders() != null ? row.getOrders().intValue() : 0);
       }
     }
 
@@ -234,29 +190,21 @@ public class OrderStatsServiceImpl implements OrderStatsService {
   @Override
   public List<StatusDistributionResponse> getStatusDistribution(
       LocalDate fromDate, LocalDate toDate) {
-    // Get all orders in date range
-    LocalDateTime from = fromDate.atStartOfDay();
-    LocalDateTime to = toDate.atTime(23, 59, 59);
-
-    List<Order> orders = orderRepository.findOrdersByDateRange(from, to);
-
-    // Group by status
-    Map<String, Long> statusCountMap =
-        orders.stream()
-            .filter(order -> order.getOrderStatus() != null)
-            .collect(
-                Collectors.groupingBy(
-                    order -> order.getOrderStatus().toString(), Collectors.counting()));
+    List<StatusDistributionProjection> rows =
+        salesRollupRepository.findStatusDistribution(fromDate, toDate).stream()
+            .filter(row -> row.getStatus() != null)
+            .toList();
 
     // Calculate total
-    long total = statusCountMap.values().stream().mapToLong(Long::longValue).sum();
+    long total = rows.stream().mapToLong(StatusDistributionProjection::getCount).sum();
 
     // Convert to response
-    return statusCountMap.entrySet().stream()
+    return rows.stream()
         .map(
-            entry -> {
-              double percentage = total > 0 ? (entry.getValue().doubleValue() / total) * 100 : 0.0;
-              return new StatusDistributionResponse(entry.getKey(), entry.getValue(), percentage);
+            row -> {
+              double percentage = total > 0 ? (row.getCount().doubleValue() / total) * 100 : 0.0;
+              return new StatusDistributionResponse(
+                  row.getStatus().toString(), row.getCount(), percentage);
             })
         .sorted((a, b) -> Long.compare(b.getCount(), a.getCount()))
         .toList();
@@ -264,60 +212,30 @@ public class OrderStatsServiceImpl implements OrderStatsService {
 
   @Override
   public List<TopProductResponse> getTopProducts(LocalDate fromDate, LocalDate toDate, int limit) {
-    // Get all order items in date range
-    LocalDateTime from = fromDate.atStartOfDay();
-    LocalDateTime to = toDate.atTime(23, 59, 59);
-
-    List<OrderItem> orderItems = orderRepository.findOrderItemsByDateRange(from, to);
-
-    // Filter out cancelled/refunded orders
-    orderItems =
-        orderItems.stream()
-            .filter(oi -> oi.getOrder() != null)
-            .filter(
-                oi -> {
-                  OrderStatus status = oi.getOrder().getOrderStatus();
-                  return status != OrderStatus.CANCELLED && status != OrderStatus.REFUNDED;
-                })
-            .toList();
-
-    // Group by product
-    Map<Product, ProductStats> productStatsMap = new HashMap<>();
-
-    for (OrderItem orderItem : orderItems) {
-      Product product = orderItem.getProduct();
-      if (product == null) continue;
-
-      ProductStats stats = productStatsMap.getOrDefault(product, new ProductStats());
-
-      // Add revenue
-      BigDecimal itemRevenue =
-          orderItem.getTotalPrice() != null ? orderItem.getTotalPrice() : BigDecimal.ZERO;
-      stats.revenue = stats.revenue.add(itemRevenue);
-
-      // Add quantity
-      int quantity = orderItem.getQuantity() != null ? orderItem.getQuantity() : 0;
-      stats.quantity += quantity;
-
-      productStatsMap.put(product, stats);
-    }
-
-    // Convert to response and sort by revenue
-    return productStatsMap.entrySet().stream()
+    // Ranked by revenue in the rollup; cancelled and refunded orders are excluded at aggregation
+    List<TopProductSalesProjection> top =
+        productRollupRepository.findTopProducts(fromDate, toDate, PageRequest.of(0, limit));
+    if (top.isEmpty()) return List.of();
+
+    Map<Long, Product> products =
+        productRepository
+            .findWithImagesByIdIn(top.stream().map(TopProductSalesProjection::getProductId).toList())
+            .stream()
+            .collect(Collectors.toMap(Product::getId, Function.identity()));
+
+    return top.stream()
+        .filter(row -> products.containsKey(row.getProductId()))
         .map(
-            entry -> {
-              Product product = entry.getKey();
-              ProductStats stats = entry.getValue();
-
+            row -> {
+              Product product = products.get(row.getProductId());
               return new TopProductResponse(
                   product.getId(),
                   product.getName(),
-                  staticResourceService.getProductImageUrl(product.getPrimaryImagePath()),
-                  stats.revenue,
-                  stats.quantity);
+                  staticResourceService.getProductImageUrl(
+                      product.getPrimaryImagePath(), ImageSize.THUMB),
+                  row.getRevenue(),
+                  row.getQuantity() != null ? row.getQuantity().intValue() : 0);
             })
-        .sorted((a, b) -> b.getRevenue().compareTo(a.getRevenue())) // Sort by revenue descending
-        .limit(limit)
         .toList();
   }
 
@@ -368,9 +286,23 @@ public class OrderStatsServiceImpl implements OrderStatsService {
     return change.setScale(2, RoundingMode.HALF_UP);
   }
 
-  // Helper class for product statistics
-  private static class ProductStats {
+  /** Order and revenue totals for one period, read from the status rollup. */
+  private PeriodTotals loadTotals(LocalDate fromDate, LocalDate toDate) {
+    Map<OrderStatus, Long> byStatus = new EnumMap<>(OrderStatus.class);
     BigDecimal revenue = BigDecimal.ZERO;
-    int quantity = 0;
+    long orders = 0;
+    for (SalesStatusTotalsProjection row : salesRollupRepository.findStatusTotals(fromDate, toDate)) {
+      long count = row.getOrders() != null ? row.getOrders() : 0;
+      byStatus.put(row.getStatus(), count);
+      orders += count;
+      revenue = revenue.add(row.getRevenue() != null ? row.getRevenue() : BigDecimal.ZERO);
+    }
+    return new PeriodTotals(revenue, orders, byStatus);
+  }
+
+  private record PeriodTotals(BigDecimal revenue, long orders, Map<OrderStatus, Long> byStatus) {
+    long count(OrderStatus status) {
+      return byStatus.getOrDefault(status, 0L);
+    }
   }
 }
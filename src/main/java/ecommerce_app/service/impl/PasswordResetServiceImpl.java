@@ -34,6 +34,7 @@ public class PasswordResetServiceImpl implements PasswordResetService {
   private final EmailService emailService;
   private final PasswordEncoder passwordEncoder;
   private final OtpUtil otpUtil;
+  private final PrincipalCache principalCache;
 
   private static final int OTP_EXPIRY_MINUTES = 5;
   private static final int RESET_TOKEN_EXPIRY_MINUTES = 10;
@@ -185,6 +186,7 @@ public class PasswordResetServiceImpl implements PasswordResetService {
 
     user.setPassword(passwordEncoder.encode(request.getNewPassword()));
     userRepository.save(user);
+    principalCache.evict(user.getId());
 
     // Invalidate OTP record
     resetOtp.setUsed(true);
@@ -50,6 +50,7 @@ public class PaymentServiceImpl implements PaymentService {
   private final UserRepository userRepository;
   private final PaymentTransactionRepository transactionRepository;
   private final Map<PaymentGateway, PaymentGatewayStrategy> strategies;
+  private final StockReservationService stockReservationService;
 
   public PaymentServiceImpl(
       PaymentRepository paymentRepository,
@@ -58,13 +59,15 @@ public class PaymentServiceImpl implements PaymentService {
       FinancialService financialService,
       UserRepository userRepository,
       PaymentTransactionRepository transactionRepository,
-      List<PaymentGatewayStrategy> gatewayStrategies) {
+      List<PaymentGatewayStrategy> gatewayStrategies,
+      StockReservationService stockReservationService) {
     this.paymentRepository = paymentRepository;
     this.orderRepository = orderRepository;
     this.notificationService = notificationService;
     this.financialService = financialService;
     this.userRepository = userRepository;
     this.transactionRepository = transactionRepository;
+    this.stockReservationService = stockReservationService;
     this.strategies =
         gatewayStrategies.stream()
             .collect(Collectors.toMap(PaymentGatewayStrategy::getGateway, Function.identity()));
@@ -287,6 +290,30 @@ public class PaymentServiceImpl implements PaymentService {
 
     if (payment.getStatus() == PaymentStatus.PAID) {
       order.setPaymentStatus(PaymentStatus.PAID);
+
+      // Paid after the stock hold expired and the stock sold out — keep the order cancelled.
+      // Cancelled + paid is what the admin order list filters on to issue the refund.
+      if (!stockReservationService.commit(order)) {
+        order.setOrderStatus(OrderStatus.CANCELLED);
+        orderRepository.save(order);
+        log.error(
+            "Order #{} was paid after its stock hold expired and is out of stock — refund"
+                + " payment #{}",
+            order.getOrderNumber(),
+            payment.getId());
+
+        sendNotification(
+            order.getUser().getId(),
+            "Order Could Not Be Fulfilled",
+            "Payment for order #"
+                + order.getOrderNumber()
+                + " arrived after the items were reserved for others. The order is cancelled and"
+                + " your payment will be refunded.",
+            NotificationType.ORDER_CANCELLED,
+            order.getId());
+        return;
+      }
+
       order.setOrderStatus(OrderStatus.CONFIRMED);
       log.info("Order #{} confirmed after payment", order.getOrderNumber());
 
@@ -0,0 +1,236 @@
+package ecommerce_app.service.impl;
+
+import ecommerce_app.constant.enums.PaymentStatus;
+import ecommerce_app.dto.response.PaymentStatusResponseV2;
+import ecommerce_app.entity.KHQRPayment;
+import ecommerce_app.entity.Order;
+import ecommerce_app.property.KHQRConfig;
+import ecommerce_app.repository.KHQRPaymentRepository;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.MessagingException;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * In-memory view of pending KHQR and pull payments, polled by {@code PaymentStatusPoller}.
+ *
+ * <p>Status endpoints read a pending payment from here instead of the database or Bakong, so an
+ * app polling while the customer pays costs a map lookup. When a payment settles — paid, failed,
+ * expired or cancelled — it is dropped and the new status is pushed to the payer on {@code
+ * /user/queue/payments}; later reads fall through to the database.
+ *
+ * <p>Each node tracks the payments it created plus everything pending at startup. Settling only
+ * updates rows that are still pending, so two nodes polling the same payment is harmless. Pushes
+ * go through the node-local broker — apps connected elsewhere see the change on their next poll.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PaymentStatusTracker {
+
+  public static final String PAYMENTS_QUEUE = "/queue/payments";
+
+  /**
+   * A tracked pending payment. {@code recipient} is the payer's principal name, if known; {@code
+   * pull} marks a pull payment, whose ID doubles as the merchant reference sent to Bakong.
+   */
+  public record Pending(
+      String paymentId,
+      Long orderId,
+      String customerId,
+      String recipient,
+      String qrMd5,
+      String transactionId,
+      boolean pull,
+      BigDecimal amount,
+      String currency,
+      Instant expiresAt,
+      Instant trackedAt) {
+
+    public boolean isExpired(Instant now) {
+      return expiresAt != null && now.isAfter(expiresAt);
+    }
+  }
+
+  private record Entry(Pending pending, Instant nextCheckAt) {}
+
+  private final KHQRPaymentRepository khqrPaymentRepository;
+  private final SimpMessagingTemplate messagingTemplate;
+  private final KHQRConfig khqrConfig;
+
+  private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+  // ── Tracking ──────────────────────────────────────────────────────────────
+
+  /** Start tracking a pending payment once the current transaction commits. */
+  public void track(KHQRPayment payment) {
+    if (payment.getStatus() != PaymentStatus.PENDING) return;
+    Pending pending = pendingOf(payment);
+    afterCommit(() -> entries.putIfAbsent(pending.paymentId(), new Entry(pending, Instant.now())));
+  }
+
+  public void trackAll(Collection<KHQRPayment> payments) {
+    payments.forEach(this::track);
+  }
+
+  /**
+   * The payment if it is still pending on this node and not past its expiry. An expired entry is
+   * not answered from memory — another node or the callback may have settled it meanwhile.
+   */
+  public Optional<Pending> find(String paymentId) {
+    Entry entry = entries.get(paymentId);
+    return entry != null && !entry.pending().isExpired(Instant.now())
+        ? Optional.of(entry.pending())
+        : Optional.empty();
+  }
+
+  public int size() {
+    return entries.size();
+  }
+
+  // ── Polling ───────────────────────────────────────────────────────────────
+
+  public List<Pending> expired(Instant now) {
+    return entries.values().stream()
+        .map(Entry::pending)
+        .filter(pending -> pending.isExpired(now))
+        .toList();
+  }
+
+  /**
+   * Payments due for a check, earliest first, rescheduled before they are returned. A payment is
+   * checked every {@code minInterval} at first; the interval grows by a tenth of its age up to
+   * {@code maxInterval}, since customers who have not paid in a minute rarely pay within seconds.
+   */
+  public List<Pending> due(Instant now, int limit) {
+    List<Pending> due =
+        entries.values().stream()
+            .filter(entry -> !entry.nextCheckAt().isAfter(now))
+            .sorted(Comparator.comparing(Entry::nextCheckAt))
+            .limit(limit)
+            .map(Entry::pending)
+            .toList();
+
+    KHQRConfig.Poller poller = khqrConfig.getPoller();
+    for (Pending pending : due) {
+      Duration age = Duration.between(pending.trackedAt(), now);
+      Duration interval = poller.getMinInterval().plus(age.dividedBy(10));
+      if (interval.compareTo(poller.getMaxInterval()) > 0) {
+        interval = poller.getMaxInterval();
+      }
+      Instant next = now.plus(interval);
+      entries.computeIfPresent(pending.paymentId(), (_, entry) -> new Entry(entry.pending(), next));
+    }
+    return due;
+  }
+
+  // ── Settling ──────────────────────────────────────────────────────────────
+
+  /**
+   * Move still-pending payments to {@code status} in one statement, then stop tracking them and
+   * push the change once committed. Payments settled meanwhile by another path (callback, another
+   * node) are dropped without a push — their real status is not {@code status}, and whoever
+   * settled them has pushed it.
+   */
+  @Transactional
+  public void settle(List<Pending> payments, PaymentStatus status, Instant paidAt) {
+    if (payments.isEmpty()) return;
+    List<String> ids = payments.stream().map(Pending::paymentId).toList();
+    Set<String> updated =
+        Set.copyOf(
+            khqrPaymentRepository.settlePending(ids, status.name(), paidAt, LocalDateTime.now()));
+    log.info("Settled {} of {} tracked payments as {}", updated.size(), ids.size(), status);
+
+    afterCommit(
+        () -> {
+          for (Pending pending : payments) {
+            if (entries.remove(pending.paymentId()) != null
+                && updated.contains(pending.paymentId())) {
+              push(pending.recipient(), responseOf(pending, status, paidAt));
+            }
+          }
+        });
+  }
+
+  /** A payment settled by a request (callback, cancel) — stop tracking it and push the change. */
+  public void settled(KHQRPayment payment) {
+    afterCommit(
+        () -> {
+          Entry entry = entries.remove(payment.getId());
+          if (entry != null) {
+            push(
+                entry.pending().recipient(),
+                responseOf(entry.pending(), payment.getStatus(), payment.getPaidAt()));
+          }
+        });
+  }
+
+  // ── Helpers ───────────────────────────────────────────────────────────────
+
+  public static PaymentStatusResponseV2 responseOf(
+      Pending pending, PaymentStatus status, Instant paidAt) {
+    return PaymentStatusResponseV2.builder()
+        .paymentId(pending.paymentId())
+        .orderId(pending.orderId())
+        .status(status)
+        .paidAt(paidAt)
+        .expiresAt(pending.expiresAt())
+        .bakongTransactionId(pending.transactionId())
+        .build();
+  }
+
+  private void push(String recipient, PaymentStatusResponseV2 response) {
+    if (recipient == null) return;
+    try {
+      messagingTemplate.convertAndSendToUser(recipient, PAYMENTS_QUEUE, response);
+    } catch (MessagingException e) {
+      // The app still sees the change on its next status poll
+      log.warn("Failed to push status of payment {}", response.getPaymentId(), e);
+    }
+  }
+
+  private static Pending pendingOf(KHQRPayment payment) {
+    Order order = payment.getOrder();
+    return new Pending(
+        payment.getId(),
+        order != null ? order.getId() : null,
+        payment.getCustomerId(),
+        order != null && order.getUser() != null ? order.getUser().getEmail() : null,
+        payment.getQrMd5(),
+        payment.getBakongTransactionId(),
+        payment.getQrString() == null, // pull payments have no QR
+        payment.getAmount(),
+        payment.getCurrency(),
+        payment.getExpiresAt(),
+        Instant.now());
+  }
+
+  private static void afterCommit(Runnable action) {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+              action.run();
+            }
+          });
+    } else {
+      action.run();
+    }
+  }
+}
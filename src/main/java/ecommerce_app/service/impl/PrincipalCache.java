@@ -0,0 +1,111 @@
+package ecommerce_app.service.impl;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Authenticated principals by user ID, so {@code JwtAuthFilter} does not load the user, roles and
+ * permissions on every request.
+ *
+ * <p>Each entry carries the security stamps that were current when it was loaded: a global one and
+ * one for its user. Writers that change what a principal contains call {@link #evict} for one user
+ * or {@link #evictAll} when a role changes (every holder of the role is affected); both apply after
+ * the writer's transaction commits, like {@code ProductCardService.markStale}, and bump the
+ * matching stamp. A load that started before the bump is not cached, and an entry with an old stamp
+ * is reloaded on its next read — a disabled user is never re-cached from a load that raced the
+ * change.
+ *
+ * <p>Invalidation is local to the node. Entries also expire after {@link #TTL}, which bounds how long
+ * another node can keep serving a disabled user or revoked permission.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PrincipalCache {
+
+  private static final Duration TTL = Duration.ofMinutes(1);
+
+  private final UserDetailServiceImpl userDetailService;
+
+  private final Map<Long, Entry> principals = new ConcurrentHashMap<>();
+  private final AtomicLong securityStamp = new AtomicLong();
+  private final Map<Long, Long> userStamps = new ConcurrentHashMap<>();
+
+  private record Entry(UserDetails principal, long stamp, long userStamp, long loadedAtNanos) {}
+
+  /** The principal of an active user. Throws {@code UsernameNotFoundException} otherwise. */
+  public UserDetails get(Long userId) {
+    long stamp = securityStamp.get();
+    long userStamp = userStamps.getOrDefault(userId, 0L);
+    Entry entry = principals.get(userId);
+    if (entry != null
+        && entry.stamp() == stamp
+        && entry.userStamp() == userStamp
+        && System.nanoTime() - entry.loadedAtNanos() < TTL.toNanos()) {
+      return entry.principal();
+    }
+
+    // Not found / disabled users throw and are not cached
+    UserDetails principal = userDetailService.loadUserById(userId);
+
+    // An eviction committed while we were loading — the result may predate it, keep it uncached
+    if (securityStamp.get() == stamp && userStamps.getOrDefault(userId, 0L) == userStamp) {
+      principals.put(userId, new Entry(principal, stamp, userStamp, System.nanoTime()));
+    }
+    return principal;
+  }
+
+  // ── Invalidation ──────────────────────────────────────────────────────────
+
+  /** Drop the cached principal of a user once the current transaction commits. */
+  public void evict(Long userId) {
+    if (userId != null) {
+      evict(List.of(userId));
+    }
+  }
+
+  /** Drop the cached principals of the given users once the current transaction commits. */
+  public void evict(Collection<Long> userIds) {
+    afterCommit(
+        () ->
+            userIds.forEach(
+                userId -> {
+                  userStamps.merge(userId, 1L, Long::sum);
+                  principals.remove(userId);
+                }));
+  }
+
+  /** Drop every cached principal once the current transaction commits. */
+  public void evictAll() {
+    afterCommit(
+        () -> {
+          securityStamp.incrementAndGet();
+          principals.clear();
+          log.debug("Cleared cached principals");
+        });
+  }
+
+  private void afterCommit(Runnable action) {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+              action.run();
+            }
+          });
+    } else {
+      action.run();
+    }
+  }
+}
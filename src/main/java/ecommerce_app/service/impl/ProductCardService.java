@@ -0,0 +1,187 @@
+package ecommerce_app.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import ecommerce_app.dto.response.MobileProductListResponse;
+import ecommerce_app.entity.Product;
+import ecommerce_app.entity.ProductCard;
+import ecommerce_app.entity.ProductReviewSummary;
+import ecommerce_app.exception.InternalServerErrorException;
+import ecommerce_app.repository.ProductCardRepository;
+import ecommerce_app.repository.ProductRepository;
+import ecommerce_app.repository.ProductReviewSummaryRepository;
+import ecommerce_app.util.JsonUtils;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Maintains the {@link ProductCard} read model.
+ *
+ * <p>Writers call {@link #markStale} with the product IDs they touched. The IDs are queued only
+ * after the writer's transaction commits (a rolled-back write never triggers a rebuild), and
+ * {@code ProductCardScheduler} drains the queue every few seconds. Queuing coalesces bursts — a
+ * hot SKU selling a hundred times during a flash sale is rebuilt once per drain, not a hundred
+ * times.
+ *
+ * <p>Rebuilding reuses the batched listing read path ({@link ProductListingLoader}) so a chunk of
+ * cards costs a fixed number of queries.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProductCardService {
+
+  /** Max products rebuilt per transaction. */
+  public static final int REBUILD_CHUNK_SIZE = 200;
+
+  private final ProductCardRepository cardRepository;
+  private final ProductRepository productRepository;
+  private final ProductReviewSummaryRepository summaryRepository;
+  private final ProductListingLoader productListingLoader;
+  private final PromotionIndex promotionIndex;
+  private final HomeScreenCache homeScreenCache;
+
+  private final Set<Long> pending = ConcurrentHashMap.newKeySet();
+
+  // ── Invalidation ──────────────────────────────────────────────────────────
+
+  /** Queue a card rebuild for the given product once the current transaction commits. */
+  public void markStale(Long productId) {
+    if (productId != null) {
+      markStale(List.of(productId));
+    }
+  }
+
+  /** Queue card rebuilds for the given products once the current transaction commits. */
+  public void markStale(Collection<Long> productIds) {
+    if (productIds == null || productIds.isEmpty()) return;
+    List<Long> ids = productIds.stream().filter(Objects::nonNull).toList();
+
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+              pending.addAll(ids);
+            }
+          });
+    } else {
+      pending.addAll(ids);
+    }
+  }
+
+  /** Remove and return up to {@code max} queued product IDs. */
+  public List<Long> drainPending(int max) {
+    List<Long> drained = new ArrayList<>(Math.min(max, pending.size()));
+    Iterator<Long> it = pending.iterator();
+    while (it.hasNext() && drained.size() < max) {
+      drained.add(it.next());
+      it.remove();
+    }
+    return drained;
+  }
+
+  // ── Rebuild ───────────────────────────────────────────────────────────────
+
+  /**
+   * Recompute the cards for the given products. Products that no longer exist (hard or soft
+   * deleted) lose their card.
+   */
+  @Transactional(rollbackFor = Exception.class)
+  public void rebuild(Collection<Long> productIds) {
+    if (productIds.isEmpty()) return;
+    LocalDateTime now = LocalDateTime.now();
+
+    List<Product> products = productRepository.findAllById(productIds);
+    List<MobileProductListResponse> responses = productListingLoader.toList(products);
+
+    Map<Long, ProductReviewSummary> summaries =
+        summaryRepository.findAllById(productIds).stream()
+            .collect(Collectors.toMap(ProductReviewSummary::getProductId, Function.identity()));
+    Map<Long, ProductCard> existing =
+        cardRepository.findAllById(productIds).stream()
+            .collect(Collectors.toMap(ProductCard::getProductId, Function.identity()));
+
+    List<ProductCard> cards = new ArrayList<>(products.size());
+    for (int i = 0; i < products.size(); i++) {
+      Product product = products.get(i);
+      MobileProductListResponse response = responses.get(i);
+
+      ProductReviewSummary summary = summaries.get(product.getId());
+      if (summary != null) {
+        response.setReviewCount(summary.getReviewCount());
+        response.setAverageRating(summary.getAverageRating().doubleValue());
+      }
+
+      ProductCard card = existing.getOrDefault(product.getId(), new ProductCard());
+      card.setProductId(product.getId());
+      card.setCategoryId(response.getCategoryId());
+      card.setBrandId(response.getBrand() != null ? response.getBrand().getId() : null);
+      card.setIsFeature(Boolean.TRUE.equals(response.getIsFeature()));
+      card.setFavoritesCount(
+          response.getFavoritesCount() != null ? response.getFavoritesCount() : 0);
+      card.setMinPrice(response.getMinPrice());
+      card.setTotalStock(response.getStockQuantity() != null ? response.getStockQuantity() : 0);
+      card.setInStock(Boolean.TRUE.equals(response.getInStock()));
+      card.setHasPromotion(Boolean.TRUE.equals(response.getHasPromotion()));
+      card.setProductCreatedAt(product.getCreatedAt());
+      card.setValidUntil(promotionIndex.nextBoundary(product.getId(), now));
+      card.setRefreshedAt(now);
+      card.setCardJson(writeCard(response));
+      cards.add(card);
+    }
+    cardRepository.saveAll(cards);
+
+    Set<Long> removed = new HashSet<>(productIds);
+    products.forEach(p -> removed.remove(p.getId()));
+    if (!removed.isEmpty()) {
+      cardRepository.deleteAllByIdInBatch(removed);
+    }
+    // Home screen product sections are read from cards
+    homeScreenCache.invalidate(HomeScreenCache.Section.PRODUCTS);
+
+    log.debug("Rebuilt {} product cards, removed {}", cards.size(), removed.size());
+  }
+
+  // ── Read ──────────────────────────────────────────────────────────────────
+
+  public Page<MobileProductListResponse> toResponsePage(Page<ProductCard> cards) {
+    return cards.map(this::toResponse);
+  }
+
+  public MobileProductListResponse toResponse(ProductCard card) {
+    try {
+      return JsonUtils.fromJson(card.getCardJson(), MobileProductListResponse.class);
+    } catch (JsonProcessingException e) {
+      throw new InternalServerErrorException(
+          "Corrupt product card for product " + card.getProductId(), e);
+    }
+  }
+
+  // ── Helpers ───────────────────────────────────────────────────────────────
+
+  private String writeCard(MobileProductListResponse response) {
+    try {
+      return JsonUtils.toJson(response);
+    } catch (JsonProcessingException e) {
+      throw new InternalServerErrorException(
+          "Failed to serialize product card for product " + response.getId(), e);
+    }
+  }
+}
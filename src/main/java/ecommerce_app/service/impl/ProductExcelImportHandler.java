@@ -0,0 +1,157 @@
+package ecommerce_app.service.impl;
+
+import static ecommerce_app.util.ExcelCellUtils.*;
+
+import ecommerce_app.constant.enums.ImportJobType;
+import ecommerce_app.constant.enums.WarrantyType;
+import ecommerce_app.entity.Category;
+import ecommerce_app.entity.Product;
+import ecommerce_app.entity.ProductImage;
+import ecommerce_app.entity.ProductVariant;
+import ecommerce_app.exception.BadRequestException;
+import ecommerce_app.repository.CategoryRepository;
+import ecommerce_app.repository.ProductRepository;
+import ecommerce_app.repository.ProductVariantRepository;
+import ecommerce_app.service.ExcelImportHandler;
+import ecommerce_app.util.StreamingExcelReader.ExcelRow;
+import jakarta.persistence.EntityManager;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+/**
+ * Product rows: Name*, Description, Price*, Image URL, Category ID*, Is Feature — the columns of
+ * {@link ProductExcelTemplateService}. The image column is ignored; imported products get the
+ * default image, like the old synchronous import. Each product gets a default variant, as {@code
+ * ProductServiceImpl.saveProduct} creates for simple products.
+ */
+@Service
+@RequiredArgsConstructor
+public class ProductExcelImportHandler implements ExcelImportHandler<ProductExcelImportHandler.Row> {
+
+  private static final String DEFAULT_IMAGE = "default-product.png";
+
+  private final ProductRepository productRepository;
+  private final CategoryRepository categoryRepository;
+  private final ProductVariantRepository variantRepository;
+  private final ProductCardService productCardService;
+  private final ProductSuggestionIndex productSuggestionIndex;
+  private final EntityManager entityManager;
+
+  public record Row(
+      String name, String description, BigDecimal price, Long categoryId, boolean isFeature) {}
+
+  @Override
+  public ImportJobType type() {
+    return ImportJobType.PRODUCT;
+  }
+
+  @Override
+  public Session<Row> open() {
+    return new ProductSession(Set.copyOf(categoryRepository.findAllIds()));
+  }
+
+  private class ProductSession implements Session<Row> {
+    private final Set<Long> categoryIds;
+    private final Set<String> seenNames = new HashSet<>();
+
+    ProductSession(Set<Long> categoryIds) {
+      this.categoryIds = categoryIds;
+    }
+
+    @Override
+    public Row parse(ExcelRow row) {
+      String name = getRequiredCell(row, 0, "Name");
+      checkMaxLength(name, 100, "Name");
+
+      BigDecimal price = getBigDecimalCell(getRequiredCell(row, 2, "Price"), "Price");
+      if (price.signum() <= 0) {
+        throw new BadRequestException("Price must be greater than 0");
+      }
+
+      Long categoryId = getLongCell(getRequiredCell(row, 4, "Category ID"), "Category ID");
+      if (!categoryIds.contains(categoryId)) {
+        throw new BadRequestException("Category not found: " + row.get(4));
+      }
+
+      return new Row(
+          name, row.get(1), price, categoryId, getBooleanCell(row.get(5), "Is Feature"));
+    }
+
+    @Override
+    public Map<Integer, String> check(List<Row> rows) {
+      Set<String> taken =
+          rows.isEmpty()
+              ? Set.of()
+              : new HashSet<>(
+                  productRepository.findExistingNames(rows.stream().map(Row::name).toList()));
+
+      Map<Integer, String> errors = new HashMap<>();
+      for (int i = 0; i < rows.size(); i++) {
+        String name = rows.get(i).name();
+        if (taken.contains(name)) {
+          errors.put(i, "Product name already exists: " + name);
+        } else if (!seenNames.add(name)) {
+          errors.put(i, "Duplicate product name in file: " + name);
+        }
+      }
+      return errors;
+    }
+
+    @Override
+    public void insert(List<Row> rows) {
+      List<Product> products = new ArrayList<>(rows.size());
+      for (Row row : rows) {
+        Product product = new Product();
+        product.setName(row.name());
+        product.setDescription(row.description());
+        product.setPrice(row.price());
+        product.setIsFeature(row.isFeature());
+        product.setCategory(entityManager.getReference(Category.class, row.categoryId()));
+        product.setUuid(UUID.randomUUID());
+        product.setCode("TMP-" + UUID.randomUUID()); // replaced once the ID is known
+        product.setHasVariants(false);
+        product.setWarrantyType(WarrantyType.NONE);
+
+        ProductImage image = new ProductImage();
+        image.setImagePath(DEFAULT_IMAGE);
+        image.setSortOrder(0);
+        image.setProduct(product);
+        product.getImages().add(image);
+        products.add(product);
+      }
+      productRepository.saveAll(products);
+      productRepository.flush();
+
+      // code is not updatable through the entity — one UPDATE for the whole chunk
+      List<Long> ids = products.stream().map(Product::getId).toList();
+      productRepository.assignCodes(ids);
+
+      List<ProductVariant> variants = new ArrayList<>(products.size());
+      for (Product product : products) {
+        product.setCode("PRD-" + String.format("%04d", product.getId()));
+        variants.add(
+            ProductVariant.builder()
+                .product(product)
+                .sku(product.getCode())
+                .price(product.getPrice())
+                .stockQuantity(0)
+                .lowStockThreshold(10)
+                .isActive(true)
+                .isDefault(true)
+                .build());
+      }
+      variantRepository.saveAll(variants);
+
+      productCardService.markStale(ids);
+      productSuggestionIndex.markChanged(ids);
+    }
+  }
+}
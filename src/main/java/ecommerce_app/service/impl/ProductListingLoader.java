@@ -0,0 +1,73 @@
+package ecommerce_app.service.impl;
+
+import ecommerce_app.dto.response.MobileProductListResponse;
+import ecommerce_app.entity.Product;
+import ecommerce_app.mapper.ProductMapper;
+import ecommerce_app.repository.ProductRepository;
+import ecommerce_app.repository.ProductVariantRepository;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Listing read path for mobile product cards.
+ *
+ * <p>{@link ProductMapper#toListResponse} touches variants, attribute values, images, category and
+ * brand of every product. Mapping a page straight from the paged query triggers
+ * lazy loads per product (N+1). This loader takes the page of products, then initializes all of
+ * those associations for the whole page with a fixed number of set-based queries before mapping:
+ *
+ * <pre>
+ *   1. category + brand        (one query, fetch join)
+ *   2. variants                (one query)
+ *   3. variant attribute values + attribute   (one query)
+ *   4. images                  (one query)
+ * </pre>
+ *
+ * <p>Promotions are not loaded — the mapper prices from {@link PromotionIndex}.
+ *
+ * <p>The bags are loaded in separate queries on purpose — fetching several {@code List}
+ * collections in one query raises {@code MultipleBagFetchException} and multiplies rows. Each
+ * query only initializes collections of entities already managed by the current persistence
+ * context, so the caller must run inside a transaction.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProductListingLoader {
+
+  private final ProductRepository productRepository;
+  private final ProductVariantRepository productVariantRepository;
+  private final ProductMapper productMapper;
+
+  /** Batch-load listing associations for the page, then map every product to a card. */
+  @Transactional(readOnly = true, propagation = Propagation.MANDATORY)
+  public Page<MobileProductListResponse> toListPage(Page<Product> page) {
+    preload(page.getContent());
+    return page.map(productMapper::toListResponse);
+  }
+
+  /** Same as {@link #toListPage(Page)} for non-paged product lists. */
+  @Transactional(readOnly = true, propagation = Propagation.MANDATORY)
+  public List<MobileProductListResponse> toList(List<Product> products) {
+    preload(products);
+    return products.stream().map(productMapper::toListResponse).toList();
+  }
+
+  private void preload(List<Product> products) {
+    if (products.isEmpty()) return;
+
+    List<Long> ids = products.stream().map(Product::getId).distinct().toList();
+
+    productRepository.findWithCategoryAndBrandByIdIn(ids);
+    productRepository.findWithVariantsByIdIn(ids);
+    productVariantRepository.findWithAttributeValuesByProductIdIn(ids);
+    productRepository.findWithImagesByIdIn(ids);
+
+    log.debug("Preloaded listing associations for {} products", ids.size());
+  }
+}
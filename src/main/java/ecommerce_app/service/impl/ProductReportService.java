@@ -3,8 +3,14 @@ package ecommerce_app.service.impl;
 import ecommerce_app.constant.enums.ExportFormat;
 import ecommerce_app.dto.ProductReportDto;
 import ecommerce_app.entity.Product;
+import ecommerce_app.projection.ProductReportProjection;
 import ecommerce_app.repository.ProductRepository;
+import ecommerce_app.util.StreamingExcelWriter;
+import ecommerce_app.util.StreamingExcelWriter.Column;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
+import java.util.stream.Stream;
 
 import ecommerce_app.service.CatalogReportService;
 import lombok.RequiredArgsConstructor;
@@ -17,18 +23,37 @@ import org.springframework.transaction.annotation.Transactional;
 @Slf4j
 public class ProductReportService implements CatalogReportService<Product> {
 
+  private static final List<Column<ProductReportDto>> EXCEL_COLUMNS =
+      List.of(
+          new Column<>("ID", ProductReportDto::getId),
+          new Column<>("Name", ProductReportDto::getName),
+          new Column<>("Description", ProductReportDto::getDescription),
+          new Column<>("Price", ProductReportDto::getPrice),
+          new Column<>("Category", ProductReportDto::getCategoryName),
+          new Column<>(
+              "Featured",
+              (ProductReportDto p) -> Boolean.TRUE.equals(p.getIsFeature()) ? "Yes" : "No"),
+          new Column<>("Created At", ProductReportDto::getCreatedAt));
+
   private final ProductRepository productRepository;
   private final JasperReportService jasperReportService;
+  private final StreamingExcelWriter streamingExcelWriter;
 
+  // Rows are read through a database cursor — the transaction stays open while the file is written
   @Transactional(readOnly = true)
   @Override
-  public byte[] export(ExportFormat format) {
+  public void export(ExportFormat format, OutputStream out) throws IOException {
     log.info("Exporting products as {}", format);
 
-    List<Product> products = productRepository.findAll();
-    List<ProductReportDto> reportData = products.stream().map(this::toReportDto).toList();
-
-    return jasperReportService.exportReport(reportData, getReportTemplateName(), format, "Products");
+    try (Stream<ProductReportDto> rows =
+        productRepository.streamForReport().map(this::toReportDto)) {
+      switch (format) {
+        case EXCEL -> streamingExcelWriter.write(out, "Products", EXCEL_COLUMNS, rows);
+        case PDF ->
+            jasperReportService.exportPdf(rows.iterator(), getReportTemplateName(), null, out);
+        default -> throw new IllegalArgumentException("Unsupported export format: " + format);
+      }
+    }
   }
 
   @Override
@@ -41,13 +66,13 @@ public class ProductReportService implements CatalogReportService<Product> {
     return "products_export";
   }
 
-  private ProductReportDto toReportDto(Product product) {
+  private ProductReportDto toReportDto(ProductReportProjection product) {
     return ProductReportDto.builder()
         .id(product.getId())
         .name(product.getName())
         .description(product.getDescription())
         .price(product.getPrice())
-        .categoryName(product.getCategory() != null ? product.getCategory().getName() : "N/A")
+        .categoryName(product.getCategoryName() != null ? product.getCategoryName() : "N/A")
         .isFeature(product.getIsFeature())
         .createdAt(product.getCreatedAt())
         .build();
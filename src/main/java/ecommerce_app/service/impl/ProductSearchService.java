@@ -0,0 +1,83 @@
+package ecommerce_app.service.impl;
+
+import ecommerce_app.entity.ProductCard;
+import ecommerce_app.repository.ProductCardRepository;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Ranked product search backed by PostgreSQL full-text and trigram indexes (see {@code
+ * SearchIndexInitializer}).
+ *
+ * <p>Every query term becomes a prefix term ({@code lapt:*}), so results appear while the user is
+ * still typing. Ranking adds the full-text rank, the trigram similarity of the query to the name
+ * and a bonus for names starting with the query; ties go to the more favorited product. Results
+ * come from the product card read model, so a page costs one indexed query plus a count and no
+ * lazy loading.
+ */
+@Service
+@RequiredArgsConstructor
+public class ProductSearchService {
+
+  private static final int MAX_QUERY_LENGTH = 100;
+
+  private final ProductCardRepository productCardRepository;
+
+  /** Optional filters composed with the text match. {@code null} means "any". */
+  public record Filter(
+      Long categoryId, Long brandId, Boolean inStock, Boolean isFeature, Boolean hasPromotion) {}
+
+  /** Whether {@code query} contains anything searchable. */
+  public static boolean isSearchable(String query) {
+    return !toTsQuery(normalize(query)).isEmpty();
+  }
+
+  @Transactional(readOnly = true)
+  public Page<ProductCard> search(String query, Filter filter, Pageable pageable) {
+    String text = normalize(query);
+    String escaped = escapeLike(text);
+    return productCardRepository.search(
+        toTsQuery(text),
+        text,
+        "%" + escaped + "%",
+        escaped + "%",
+        filter.categoryId(),
+        filter.brandId(),
+        filter.inStock(),
+        filter.isFeature(),
+        filter.hasPromotion(),
+        // Relevance decides the order
+        PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()));
+  }
+
+  // ── Helpers ───────────────────────────────────────────────────────────────
+
+  private static String normalize(String query) {
+    if (query == null) return "";
+    String text = query.strip().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    return text.length() > MAX_QUERY_LENGTH ? text.substring(0, MAX_QUERY_LENGTH) : text;
+  }
+
+  /**
+   * {@code "gaming lapt"} → {@code "gaming:* & lapt:*"}. Only letters, combining marks (Khmer
+   * vowels and signs) and digits are kept, so user input can never form tsquery syntax.
+   */
+  private static String toTsQuery(String text) {
+    return Arrays.stream(text.split(" "))
+        .map(term -> term.replaceAll("[^\\p{L}\\p{M}\\p{N}]", ""))
+        .filter(term -> !term.isEmpty())
+        .map(term -> term + ":*")
+        .collect(Collectors.joining(" & "));
+  }
+
+  private static String escapeLike(String text) {
+    return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+  }
+}
@@ -1,14 +1,12 @@
 package ecommerce_app.service.impl;
 
-import static ecommerce_app.util.ExcelCellUtils.*;
-
+import ecommerce_app.core.io.service.ImageSize;
 import ecommerce_app.constant.enums.WarrantyType;
 import ecommerce_app.core.io.service.FileManagerService;
 import ecommerce_app.core.io.service.StaticResourceService;
 import ecommerce_app.core.io.service.StorageConfig;
 import ecommerce_app.dto.request.ProductRequest;
 import ecommerce_app.dto.request.ProductVariantRequest;
-import ecommerce_app.dto.response.ImportProductFromExcelResponse;
 import ecommerce_app.dto.response.NearEmptyStockResponse;
 import ecommerce_app.dto.response.ProductResponse;
 import ecommerce_app.entity.Category;
@@ -28,9 +26,7 @@ import ecommerce_app.service.ProductVariantService;
 import ecommerce_app.service.SettingService;
 import ecommerce_app.specification.ProductSpecification;
 import ecommerce_app.util.AuthenticationUtils;
-import ecommerce_app.util.FileUtils;
 import ecommerce_app.util.ProductMapper;
-import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -39,10 +35,6 @@ import java.util.UUID;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.poi.ss.usermodel.Row;
-import org.apache.poi.ss.usermodel.Sheet;
-import org.apache.poi.ss.usermodel.Workbook;
-import org.apache.poi.ss.usermodel.WorkbookFactory;
 import org.modelmapper.ModelMapper;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.*;
@@ -66,6 +58,8 @@ public class ProductServiceImpl implements ProductService {
   private final BrandRepository brandRepository;
   private final ProductVariantService variantService;
   private final ProductVariantRepository variantRepository; // add to fields
+  private final ProductCardService productCardService;
+  private final ProductSuggestionIndex productSuggestionIndex;
 
   // -------------------------------------------------------------------------
   // CREATE
@@ -170,6 +164,8 @@ public class ProductServiceImpl implements ProductService {
                 .orElseThrow(() -> new ResourceNotFoundException("Product", finalSaved.getId()));
       }
 
+      productCardService.markStale(saved.getId());
+      productSuggestionIndex.markChanged(saved.getId());
       return ProductMapper.toProductResponse(saved);
 
     } catch (DataIntegrityViolationException e) {
@@ -247,6 +243,8 @@ public class ProductServiceImpl implements ProductService {
       handleSpecUpdate(productRequest, existingProduct);
       handleVariantUpdate(productRequest, existingProduct);
 
+      productCardService.markStale(id);
+      productSuggestionIndex.markChanged(id);
       return ProductMapper.toProductResponse(productRepository.save(existingProduct));
 
     } catch (DataIntegrityViolationException e) {
@@ -329,8 +327,7 @@ public class ProductServiceImpl implements ProductService {
           product.getImages().stream()
               .filter(img -> request.getRemoveImageIds().contains(img.getId()))
               .toList();
-      toRemove.forEach(
-          img -> fileManagerService.deleteFile(storageConfig.getProductPath(), img.getImagePath()));
+      toRemove.forEach(img -> deleteImageFile(img.getImagePath()));
       product.getImages().removeAll(toRemove);
     }
 
@@ -339,7 +336,7 @@ public class ProductServiceImpl implements ProductService {
     if (request.getImages() != null && !request.getImages().isEmpty()) {
       for (MultipartFile file : request.getImages()) {
         if (file == null || file.isEmpty()) continue;
-        String path = fileManagerService.saveFile(file, storageConfig.getProductPath());
+        String path = fileManagerService.saveImage(file, storageConfig.getProductPath());
         if (path != null) {
           ProductImage img = new ProductImage();
           img.setImagePath(path);
@@ -389,6 +386,8 @@ public class ProductServiceImpl implements ProductService {
     var product = getById(id);
     product.softDelete(AuthenticationUtils.getCurrentUserId());
     productRepository.save(product);
+    productCardService.markStale(id);
+    productSuggestionIndex.markChanged(id);
     log.info("Deleted product {}", id);
   }
 
@@ -460,70 +459,6 @@ public class ProductServiceImpl implements ProductService {
     return productRepository.findAll(specification, pageable).map(ProductMapper::toProductResponse);
   }
 
-  // -------------------------------------------------------------------------
-  // EXCEL IMPORT
-  // -------------------------------------------------------------------------
-
-  @Override
-  @Transactional(rollbackFor = Exception.class)
-  public ImportProductFromExcelResponse importProductFromExcel(MultipartFile file) {
-    log.info("Importing products from excel: {}", file.getOriginalFilename());
-    FileUtils.validateExcelFile(file);
-
-    ImportProductFromExcelResponse response = new ImportProductFromExcelResponse();
-    int totalRows = 0;
-    int successRows = 0;
-    int errorRows = 0;
-
-    try (InputStream is = file.getInputStream();
-        Workbook workbook = WorkbookFactory.create(is)) {
-
-      Sheet sheet = workbook.getSheetAt(0);
-      validateColumnHeader(sheet.getRow(0));
-
-      for (int i = 1; i <= sheet.getLastRowNum(); i++) {
-        Row row = sheet.getRow(i);
-        if (row == null) continue;
-        totalRows++;
-
-        try {
-          ProductRequest request = mapRowToProductRequest(row);
-          Product product = modelMapper.map(request, Product.class);
-          product.setId(null);
-          product.setImages(new ArrayList<>());
-          product.setCategory(
-              categoryRepository
-                  .findById(request.getCategoryId())
-                  .orElseThrow(
-                      () -> new ResourceNotFoundException("Category", request.getCategoryId())));
-
-          // Default image when Excel has no image column
-          addDefaultImageIfEmpty(product);
-
-          productRepository.save(product);
-          successRows++;
-
-        } catch (Exception ex) {
-          log.error("Error inserting product at row {}", row.getRowNum(), ex);
-          errorRows++;
-        }
-      }
-
-    } catch (Exception e) {
-      log.error("Import product from excel failed", e);
-      throw new BadRequestException("Import product from excel failed");
-    }
-
-    if (successRows == 0) {
-      throw new BadRequestException("Import product from excel failed all rows, please try again");
-    }
-
-    response.setTotalCount(totalRows);
-    response.setSuccessCount(successRows);
-    response.setErrorCount(errorRows);
-    return response;
-  }
-
   @Transactional(readOnly = true)
   @Override
   public List<NearEmptyStockResponse> getNearEmptyStockProducts() {
@@ -561,7 +496,9 @@ public class ProductServiceImpl implements ProductService {
         .id(product.getId())
         .name(product.getName())
         .price(product.getPrice())
-        .primaryImage(staticResourceService.getProductImageUrl(product.getPrimaryImagePath()))
+        .primaryImage(
+            staticResourceService.getProductImageUrl(
+                product.getPrimaryImagePath(), ImageSize.THUMB))
         .categoryName(product.getCategory().getName())
         .currentQuantity(product.getStockQuantity())
         .threshold(threshold)
@@ -601,7 +538,7 @@ public class ProductServiceImpl implements ProductService {
     int order = 0;
     for (MultipartFile file : files) {
       if (file == null || file.isEmpty()) continue;
-      String savedPath = fileManagerService.saveFile(file, storageConfig.getProductPath());
+      String savedPath = fileManagerService.saveImage(file, storageConfig.getProductPath());
       if (savedPath != null) {
         ProductImage img = new ProductImage();
         img.setImagePath(savedPath); // raw filename only
@@ -618,36 +555,13 @@ public class ProductServiceImpl implements ProductService {
    */
   private void deleteImageFiles(List<String> imagePaths) {
     if (imagePaths == null) return;
-    imagePaths.forEach(path -> fileManagerService.deleteFile(storageConfig.getProductPath(), path));
+    imagePaths.forEach(this::deleteImageFile);
   }
 
-  /**
-   * For Excel imports where no image is provided, assign a default image so the product always has
-   * at least one image.
-   */
-  private void addDefaultImageIfEmpty(Product product) {
-    if (product.getImages().isEmpty()) {
-      ProductImage defaultImg = new ProductImage();
-      defaultImg.setImagePath("default-product.png");
-      defaultImg.setSortOrder(0);
-      defaultImg.setProduct(product);
-      product.getImages().add(defaultImg);
-    }
-  }
-
-  void validateColumnHeader(Row row) {
-    // TODO: implement header validation
-  }
-
-  private ProductRequest mapRowToProductRequest(Row row) {
-    return ProductRequest.builder()
-        .name(getStringCell(row.getCell(0)))
-        .description(getStringCell(row.getCell(1)))
-        .price(getBigDecimalCell(row.getCell(2)))
-        .images(null) // images are not in Excel, handled by addDefaultImageIfEmpty
-        .categoryId(getLongCell(row.getCell(4)))
-        .isFeature(getBooleanCell(row.getCell(5)))
-        .build();
+  /** Images are named by content, so the same file may back another product's image. */
+  private void deleteImageFile(String imagePath) {
+    if (productRepository.countImagesByPath(imagePath) > 1) return;
+    fileManagerService.deleteImage(storageConfig.getProductPath(), imagePath);
   }
 
   private void saveProductSpecs(List<String> specTexts, Product product) {
@@ -0,0 +1,293 @@
+package ecommerce_app.service.impl;
+
+import ecommerce_app.projection.ProductSuggestionProjection;
+import ecommerce_app.repository.ProductRepository;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * In-memory prefix index behind search-as-you-type suggestions.
+ *
+ * <p>Every product name contributes one key per word — the lowercased name from that word on — so
+ * "pro" finds "MacBook Pro 14". Keys live in one sorted array; a lookup is a binary search plus a
+ * scan of the matching range, and prefixes of up to {@value #SHORT_PREFIX} characters (the widest
+ * ranges) have their answer precomputed. Suggestions are ordered by popularity: favorites, recent
+ * views and recent sales. Lookups never touch the database or a connection.
+ *
+ * <p>Writers call {@link #markChanged} for products they create, rename or delete. After commit
+ * the IDs are queued and applied every couple of seconds by merging the changed keys into a new
+ * snapshot. Popularity weights are reloaded hourly.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProductSuggestionIndex {
+
+  public static final int MIN_QUERY_LENGTH = 2;
+  public static final int MAX_SUGGESTIONS = 8;
+  private static final int SHORT_PREFIX = 3;
+  private static final int POPULARITY_DAYS = 30;
+
+  private final ProductRepository productRepository;
+
+  private final Set<Long> pending = ConcurrentHashMap.newKeySet();
+  private volatile Snapshot snapshot;
+
+  private record Item(long id, String name, long weight) {}
+
+  private static final Comparator<Item> BY_POPULARITY =
+      Comparator.comparingLong(Item::weight).reversed().thenComparing(Item::name);
+
+  /**
+   * {@code keys[i]} belongs to {@code owners[i]}. {@code shortPrefixes} holds the finished answer
+   * for every key prefix of {@value #MIN_QUERY_LENGTH}..{@value #SHORT_PREFIX} characters.
+   */
+  private record Snapshot(
+      Map<Long, Item> items,
+      String[] keys,
+      Item[] owners,
+      Map<String, List<String>> shortPrefixes) {}
+
+  // ── Read ──────────────────────────────────────────────────────────────────
+
+  /** Product names with a word starting with {@code query}, most popular first. */
+  public List<String> suggest(String query) {
+    Snapshot current = snapshot;
+    if (current == null || query == null) return List.of(); // still warming up
+
+    String prefix = query.strip().toLowerCase(Locale.ROOT);
+    if (prefix.length() < MIN_QUERY_LENGTH) return List.of();
+
+    if (prefix.length() <= SHORT_PREFIX) {
+      return current.shortPrefixes().getOrDefault(prefix, List.of());
+    }
+    return topNames(current.keys(), current.owners(), prefix);
+  }
+
+  // ── Maintenance ───────────────────────────────────────────────────────────
+
+  /** Re-index the given products once the current transaction commits. */
+  public void markChanged(Long productId) {
+    if (productId != null) {
+      markChanged(List.of(productId));
+    }
+  }
+
+  /** Re-index the given products once the current transaction commits. */
+  public void markChanged(Collection<Long> productIds) {
+    if (productIds == null || productIds.isEmpty()) return;
+    List<Long> ids = productIds.stream().filter(Objects::nonNull).toList();
+
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+              pending.addAll(ids);
+            }
+          });
+    } else {
+      pending.addAll(ids);
+    }
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void warmUp() {
+    reload();
+  }
+
+  // Run hourly — refresh popularity weights
+  @Scheduled(fixedDelay = 3600000, initialDelay = 3600000)
+  public synchronized void reload() {
+    LocalDateTime since = LocalDateTime.now().minusDays(POPULARITY_DAYS);
+    Map<Long, Item> items = new HashMap<>();
+    for (ProductSuggestionProjection row : productRepository.findSuggestionEntries(since)) {
+      items.put(row.getId(), toItem(row, 0L));
+    }
+    snapshot = build(items);
+    log.info("Indexed {} product names for suggestions", items.size());
+  }
+
+  // Run every 2 seconds — apply renames, creates and deletes queued by writers
+  @Scheduled(fixedDelay = 2000, initialDelay = 5000)
+  public synchronized void applyPending() {
+    if (pending.isEmpty() || snapshot == null) return;
+
+    List<Long> ids = new ArrayList<>(pending.size());
+    Iterator<Long> it = pending.iterator();
+    while (it.hasNext()) {
+      ids.add(it.next());
+      it.remove();
+    }
+
+    try {
+      List<Item> updated = new ArrayList<>();
+      for (ProductSuggestionProjection row : productRepository.findSuggestionEntriesByIdIn(ids)) {
+        // Keep the known popularity until the next hourly reload
+        Item previous = snapshot.items().get(row.getId());
+        updated.add(toItem(row, previous != null ? previous.weight() : 0L));
+      }
+      snapshot = merge(snapshot, Set.copyOf(ids), updated); // products that are gone stay removed
+    } catch (Exception e) {
+      log.error("Failed to update suggestions for products {}", ids, e);
+      pending.addAll(ids);
+    }
+  }
+
+  // ── Build ─────────────────────────────────────────────────────────────────
+
+  private static Item toItem(ProductSuggestionProjection row, long minWeight) {
+    long weight = row.getWeight() != null ? row.getWeight() : 0L;
+    return new Item(row.getId(), row.getName(), Math.max(weight, minWeight));
+  }
+
+  private record Key(String key, Item owner) {}
+
+  private static final Comparator<Key> BY_KEY = Comparator.comparing(Key::key);
+
+  private static Snapshot build(Map<Long, Item> items) {
+    List<Key> entries = keysOf(items.values());
+    String[] keys = new String[entries.size()];
+    Item[] owners = new Item[entries.size()];
+    for (int i = 0; i < keys.length; i++) {
+      keys[i] = entries.get(i).key();
+      owners[i] = entries.get(i).owner();
+    }
+
+    Map<String, List<String>> shortPrefixes = new HashMap<>();
+    for (String key : keys) {
+      for (String prefix : shortPrefixesOf(key)) {
+        shortPrefixes.computeIfAbsent(prefix, p -> topNames(keys, owners, p));
+      }
+    }
+    return new Snapshot(Map.copyOf(items), keys, owners, shortPrefixes);
+  }
+
+  /**
+   * A new snapshot with the keys of {@code changed} products replaced by those of {@code updated}.
+   * The sorted arrays are merged in one pass, and only the short prefixes the changed keys fall
+   * under are recomputed.
+   */
+  private static Snapshot merge(Snapshot base, Set<Long> changed, List<Item> updated) {
+    Map<Long, Item> items = new HashMap<>(base.items());
+    changed.forEach(items::remove);
+    updated.forEach(item -> items.put(item.id(), item));
+
+    List<Key> added = keysOf(updated);
+    Set<String> affected = new HashSet<>();
+    added.forEach(k -> affected.addAll(shortPrefixesOf(k.key())));
+
+    List<String> keys = new ArrayList<>(base.keys().length + added.size());
+    List<Item> owners = new ArrayList<>(keys.size());
+    int a = 0;
+    for (int i = 0; i < base.keys().length; i++) {
+      if (changed.contains(base.owners()[i].id())) {
+        affected.addAll(shortPrefixesOf(base.keys()[i]));
+        continue;
+      }
+      for (; a < added.size() && added.get(a).key().compareTo(base.keys()[i]) < 0; a++) {
+        keys.add(added.get(a).key());
+        owners.add(added.get(a).owner());
+      }
+      keys.add(base.keys()[i]);
+      owners.add(base.owners()[i]);
+    }
+    for (; a < added.size(); a++) {
+      keys.add(added.get(a).key());
+      owners.add(added.get(a).owner());
+    }
+
+    String[] keyArray = keys.toArray(String[]::new);
+    Item[] ownerArray = owners.toArray(Item[]::new);
+    Map<String, List<String>> shortPrefixes = new HashMap<>(base.shortPrefixes());
+    for (String prefix : affected) {
+      List<String> names = topNames(keyArray, ownerArray, prefix);
+      if (names.isEmpty()) {
+        shortPrefixes.remove(prefix);
+      } else {
+        shortPrefixes.put(prefix, names);
+      }
+    }
+    return new Snapshot(Map.copyOf(items), keyArray, ownerArray, shortPrefixes);
+  }
+
+  /** One key per word of each name — the lowercased name from that word on — sorted. */
+  private static List<Key> keysOf(Collection<Item> items) {
+    List<Key> entries = new ArrayList<>(items.size() * 3);
+    for (Item item : items) {
+      if (item.name() == null) continue;
+      String name = item.name().toLowerCase(Locale.ROOT);
+      for (int i = 0; i < name.length(); i++) {
+        boolean wordStart = i == 0 || Character.isWhitespace(name.charAt(i - 1));
+        if (wordStart && !Character.isWhitespace(name.charAt(i))) {
+          entries.add(new Key(name.substring(i), item));
+        }
+      }
+    }
+    entries.sort(BY_KEY);
+    return entries;
+  }
+
+  private static List<String> shortPrefixesOf(String key) {
+    List<String> prefixes = new ArrayList<>(SHORT_PREFIX);
+    for (int len = MIN_QUERY_LENGTH; len <= Math.min(SHORT_PREFIX, key.length()); len++) {
+      prefixes.add(key.substring(0, len));
+    }
+    return prefixes;
+  }
+
+  private static List<String> topNames(String[] keys, Item[] owners, String prefix) {
+    int from = lowerBound(keys, prefix);
+
+    Set<Item> matches = new LinkedHashSet<>();
+    for (int i = from; i < keys.length && keys[i].startsWith(prefix); i++) {
+      matches.add(owners[i]);
+    }
+    // Products sharing a name give one suggestion
+    return matches.stream()
+        .sorted(BY_POPULARITY)
+        .map(Item::name)
+        .distinct()
+        .limit(MAX_SUGGESTIONS)
+        .toList();
+  }
+
+  /**
+   * First index whose key is {@code >= prefix}. Unlike {@link Arrays#binarySearch}, lands on the
+   * first of several equal keys, so products sharing a name are not skipped.
+   */
+  private static int lowerBound(String[] keys, String prefix) {
+    int low = 0;
+    int high = keys.length;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (keys[mid].compareTo(prefix) < 0) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+}
@@ -35,6 +35,7 @@ public class ProductVariantServiceImpl implements ProductVariantService {
   private final ProductAttributeValueRepository attributeValueRepository;
   private final VariantStockMovementRepository stockMovementRepository;
   private final ProductVariantMapper variantMapper;
+  private final ProductCardService productCardService;
 
   // ── READ ─────────────────────────────────────────────────────────────────
 
@@ -113,6 +114,8 @@ public class ProductVariantServiceImpl implements ProductVariantService {
           "Initial stock on variant creation");
     }
 
+    productCardService.markStale(productId);
+
     log.info(
         "Created variant SKU='{}' for product {} (default={})",
         saved.getSku(),
@@ -172,6 +175,7 @@ public class ProductVariantServiceImpl implements ProductVariantService {
 
     log.info("Updated variant {} (default={})", variantId, variant.getIsDefault());
     ProductVariant saved = variantRepository.save(variant);
+    productCardService.markStale(variant.getProduct().getId());
     return variantMapper.toResponse(saved);
   }
 
@@ -183,6 +187,7 @@ public class ProductVariantServiceImpl implements ProductVariantService {
     ProductVariant variant = findVariantById(variantId);
     variant.setIsActive(false);
     variantRepository.save(variant);
+    productCardService.markStale(variant.getProduct().getId());
     log.info("Deactivated variant {}", variantId);
   }
 
@@ -231,6 +236,7 @@ public class ProductVariantServiceImpl implements ProductVariantService {
         request.getReferenceId(),
         request.getReferenceType(),
         request.getNote());
+    productCardService.markStale(variant.getProduct().getId());
 
     log.info(
         "Stock adjusted for variant '{}': {} → {} ({})",
@@ -0,0 +1,216 @@
+package ecommerce_app.service.impl;
+
+import ecommerce_app.entity.Promotion;
+import ecommerce_app.projection.PromotionProductProjection;
+import ecommerce_app.repository.PromotionRepository;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Stream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * In-memory index of promotions that are active now or scheduled to start, by product and by code.
+ *
+ * <p>Pricing on listing pages and at checkout reads from here instead of querying promotions per
+ * product. Entries carry their {@code startAt}/{@code endAt} and are filtered against the clock on
+ * every read, so a promotion starting or ending needs no query and no rebuild.
+ *
+ * <p>{@code PromotionServiceImpl} calls {@link #markChanged} for every promotion it writes; after
+ * the transaction commits, only that promotion and its product links are reloaded and swapped into
+ * a new snapshot. Readers never lock. A full reload every few minutes prunes expired entries and
+ * picks up writes made on other nodes.
+ *
+ * <p>Entries are detached copies without {@code products} or {@code usages} — usage limits are
+ * checked through {@code PromotionFacade}.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PromotionIndex {
+
+  private final PromotionRepository promotionRepository;
+
+  private volatile Snapshot snapshot;
+
+  private record Snapshot(
+      Map<Long, Promotion> promotions,
+      Map<Long, Set<Long>> productIdsByPromotion,
+      Map<Long, List<Promotion>> promotionsByProduct,
+      Map<String, Promotion> promotionsByCode) {
+
+    static Snapshot of(Map<Long, Promotion> promotions, Map<Long, Set<Long>> productIds) {
+      Map<Long, List<Promotion>> byProduct = new HashMap<>();
+      Map<String, Promotion> byCode = new HashMap<>();
+      promotions.values().stream()
+          .sorted(Comparator.comparing(Promotion::getId))
+          .forEach(
+              promotion -> {
+                if (promotion.getCode() != null) {
+                  byCode.put(promotion.getCode(), promotion);
+                }
+                for (Long productId : productIds.getOrDefault(promotion.getId(), Set.of())) {
+                  byProduct.computeIfAbsent(productId, _ -> new ArrayList<>()).add(promotion);
+                }
+              });
+      return new Snapshot(Map.copyOf(promotions), Map.copyOf(productIds), byProduct, byCode);
+    }
+  }
+
+  // ── Read ──────────────────────────────────────────────────────────────────
+
+  /** Promotions valid right now for the product, oldest first. Empty when there are none. */
+  public List<Promotion> findActive(Long productId) {
+    List<Promotion> candidates = snapshot().promotionsByProduct().get(productId);
+    if (candidates == null) return List.of();
+    return candidates.stream().filter(Promotion::isCurrentlyValid).toList();
+  }
+
+  /** The promotion with this code if it is valid right now, otherwise {@code null}. */
+  public Promotion findActiveByCode(String code) {
+    Promotion promotion = snapshot().promotionsByCode().get(code);
+    return promotion != null && promotion.isCurrentlyValid() ? promotion : null;
+  }
+
+  /**
+   * Whether the promotion covers the product, or {@code null} when the promotion is not indexed
+   * (inactive or expired) and the caller has to decide from the entity.
+   */
+  public Boolean covers(Long promotionId, Long productId) {
+    Set<Long> productIds = snapshot().productIdsByPromotion().get(promotionId);
+    if (productIds == null) return null;
+    // Same rule as PromotionFacade: a promotion without products applies to all of them
+    return productIds.isEmpty() || productIds.contains(productId);
+  }
+
+  /**
+   * The earliest future start or end among the product's promotions — the instant at which a
+   * computed discount stops being correct. {@code null} when nothing is scheduled.
+   */
+  public LocalDateTime nextBoundary(Long productId, LocalDateTime now) {
+    List<Promotion> candidates = snapshot().promotionsByProduct().get(productId);
+    if (candidates == null) return null;
+    return candidates.stream()
+        .flatMap(p -> Stream.of(p.getStartAt(), p.getEndAt()))
+        .filter(Objects::nonNull)
+        .filter(t -> t.isAfter(now))
+        .min(LocalDateTime::compareTo)
+        .orElse(null);
+  }
+
+  // ── Maintenance ───────────────────────────────────────────────────────────
+
+  /** Reload the promotion into the index once the current transaction commits. */
+  public void markChanged(Long promotionId) {
+    if (promotionId == null) return;
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+              refresh(promotionId);
+            }
+          });
+    } else {
+      refresh(promotionId);
+    }
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void warmUp() {
+    reload();
+  }
+
+  // Run every 5 minutes — prune expired promotions, pick up writes from other nodes
+  @Scheduled(fixedDelay = 300000, initialDelay = 300000)
+  public synchronized void reload() {
+    LocalDateTime now = LocalDateTime.now();
+    Map<Long, Promotion> promotions = new HashMap<>();
+    for (Promotion promotion : promotionRepository.findNotExpired(now)) {
+      promotions.put(promotion.getId(), copyOf(promotion));
+    }
+    snapshot = Snapshot.of(promotions, loadProductIds(promotions.keySet()));
+    log.info("Indexed {} promotions", promotions.size());
+  }
+
+  private synchronized void refresh(Long promotionId) {
+    if (snapshot == null) {
+      reload();
+      return;
+    }
+    try {
+      Map<Long, Promotion> promotions = new HashMap<>(snapshot.promotions());
+      Map<Long, Set<Long>> productIds = new HashMap<>(snapshot.productIdsByPromotion());
+      promotions.remove(promotionId);
+      productIds.remove(promotionId);
+
+      Promotion promotion = promotionRepository.findById(promotionId).orElse(null);
+      if (promotion != null
+          && Boolean.TRUE.equals(promotion.getActive())
+          && (promotion.getEndAt() == null || promotion.getEndAt().isAfter(LocalDateTime.now()))) {
+        promotions.put(promotionId, copyOf(promotion));
+        productIds.putAll(loadProductIds(Set.of(promotionId)));
+      }
+      snapshot = Snapshot.of(promotions, productIds);
+    } catch (Exception e) {
+      // The next full reload corrects the index
+      log.error("Failed to refresh promotion {} in the index", promotionId, e);
+    }
+  }
+
+  private Snapshot snapshot() {
+    Snapshot current = snapshot;
+    if (current == null) {
+      reload(); // first request before ApplicationReadyEvent
+      current = snapshot;
+    }
+    return current;
+  }
+
+  private Map<Long, Set<Long>> loadProductIds(Set<Long> promotionIds) {
+    Map<Long, Set<Long>> productIds = new HashMap<>();
+    promotionIds.forEach(id -> productIds.put(id, new HashSet<>()));
+    if (promotionIds.isEmpty()) return productIds;
+    for (PromotionProductProjection link : promotionRepository.findProductLinks(promotionIds)) {
+      productIds.get(link.getPromotionId()).add(link.getProductId());
+    }
+    productIds.replaceAll((_, ids) -> Set.copyOf(ids));
+    return productIds;
+  }
+
+  /** Scalar fields only — a detached entity must not reach its lazy collections. */
+  private static Promotion copyOf(Promotion promotion) {
+    Promotion copy =
+        Promotion.builder()
+            .id(promotion.getId())
+            .code(promotion.getCode())
+            .name(promotion.getName())
+            .discountType(promotion.getDiscountType())
+            .discountValue(promotion.getDiscountValue())
+            .buyQuantity(promotion.getBuyQuantity())
+            .getQuantity(promotion.getGetQuantity())
+            .active(promotion.getActive())
+            .startAt(promotion.getStartAt())
+            .endAt(promotion.getEndAt())
+            .maxUsage(promotion.getMaxUsage())
+            .maxUsagePerUser(promotion.getMaxUsagePerUser())
+            .minPurchaseAmount(promotion.getMinPurchaseAmount())
+            .applyToAll(promotion.getApplyToAll())
+            .build();
+    copy.setCreatedAt(promotion.getCreatedAt());
+    return copy;
+  }
+}
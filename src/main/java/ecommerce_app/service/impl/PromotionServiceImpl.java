@@ -8,7 +8,6 @@ import ecommerce_app.entity.Promotion;
 import ecommerce_app.exception.ResourceNotFoundException;
 import ecommerce_app.repository.ProductRepository;
 import ecommerce_app.repository.PromotionRepository;
-import ecommerce_app.repository.PromotionUsageRepository;
 import ecommerce_app.service.PromotionService;
 import ecommerce_app.specification.PromotionSpecification;
 import ecommerce_app.util.MessageSourceService;
@@ -36,9 +35,11 @@ public class PromotionServiceImpl implements PromotionService {
   private final PromotionRepository promotionRepository;
   private final ProductRepository productRepository;
   private final MessageSourceService messageSourceService;
-  private final PromotionUsageRepository promotionUsageRepository;
   private final PromotionNotificationService promotionNotificationService;
   private final PromotionValidator promotionValidator;
+  private final ProductCardService productCardService;
+  private final PromotionIndex promotionIndex;
+  private final HomeScreenCache homeScreenCache;
 
   @Override
   @Transactional(rollbackFor = Exception.class)
@@ -64,6 +65,9 @@ public class PromotionServiceImpl implements PromotionService {
 
     promotion.setMinPurchaseAmount(request.getMinPurchaseAmount());
     Promotion savedPromotion = promotionRepository.save(promotion);
+    markProductCardsStale(savedPromotion);
+    promotionIndex.markChanged(savedPromotion.getId());
+    homeScreenCache.invalidate(HomeScreenCache.Section.PROMOTIONS);
     log.info("Created promotion: {}", savedPromotion.getName());
 
     promotionNotificationService.notifyNewPromotion(savedPromotion);
@@ -84,6 +88,9 @@ public class PromotionServiceImpl implements PromotionService {
       throw new IllegalArgumentException("Promotion code already exists");
     }
 
+    // products dropped from the promotion lose their discount too
+    markProductCardsStale(promotion);
+
     mapRequestToEntity(request, promotion);
     if (!request.isApplyToAll() && !CollectionUtils.isEmpty(request.getProductIds())) {
       List<Product> products = productRepository.findAllById(request.getProductIds());
@@ -96,6 +103,9 @@ public class PromotionServiceImpl implements PromotionService {
     promotion.setApplyToAll(request.isApplyToAll());
 
     Promotion updatedPromotion = promotionRepository.save(promotion);
+    markProductCardsStale(updatedPromotion);
+    promotionIndex.markChanged(updatedPromotion.getId());
+    homeScreenCache.invalidate(HomeScreenCache.Section.PROMOTIONS);
     log.info("Updated promotion: {}", updatedPromotion.getName());
 
     return mapToResponse(updatedPromotion);
@@ -128,6 +138,10 @@ public class PromotionServiceImpl implements PromotionService {
   public void deletePromotion(Long id) {
     Promotion promotion = getById(id);
 
+    markProductCardsStale(promotion);
+    promotionIndex.markChanged(id);
+    homeScreenCache.invalidate(HomeScreenCache.Section.PROMOTIONS);
+
     // Remove associations
     promotion.getProducts().forEach(product -> product.getPromotions().remove(promotion));
     promotion.getProducts().clear();
@@ -143,6 +157,9 @@ public class PromotionServiceImpl implements PromotionService {
 
     promotion.setActive(active);
     Promotion updatedPromotion = promotionRepository.save(promotion);
+    markProductCardsStale(updatedPromotion);
+    promotionIndex.markChanged(updatedPromotion.getId());
+    homeScreenCache.invalidate(HomeScreenCache.Section.PROMOTIONS);
 
     log.info("{} promotion: {}", active ? "Activated" : "Deactivated", promotion.getName());
 
@@ -159,6 +176,11 @@ public class PromotionServiceImpl implements PromotionService {
         .collect(Collectors.toList());
   }
 
+  private void markProductCardsStale(Promotion promotion) {
+    if (promotion.getProducts() == null) return;
+    productCardService.markStale(promotion.getProducts().stream().map(Product::getId).toList());
+  }
+
   private Promotion getById(Long id) {
     return promotionRepository
         .findById(id)
@@ -198,11 +220,8 @@ public class PromotionServiceImpl implements PromotionService {
     }
 
     // Check usage limit
-    if (promotion.getMaxUsage() != null) {
-      long currentUsage = promotionUsageRepository.countByPromotionId(promotion.getId());
-      if (currentUsage >= promotion.getMaxUsage()) {
-        throw new IllegalStateException("Promotion usage limit reached");
-      }
+    if (promotion.hasReachedMaxUsage()) {
+      throw new IllegalStateException("Promotion usage limit reached");
     }
 
     return promotion;
@@ -254,8 +273,7 @@ public class PromotionServiceImpl implements PromotionService {
     response.setUpdatedAt(promotion.getUpdatedAt());
 
     // Get current usage
-    long currentUsage = promotionUsageRepository.countByPromotionId(promotion.getId());
-    response.setCurrentUsage((int) currentUsage);
+    response.setCurrentUsage(promotion.getUsedCount());
 
     // Map products
     if (promotion.getProducts() != null) {
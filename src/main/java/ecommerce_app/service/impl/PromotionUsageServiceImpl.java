@@ -3,47 +3,104 @@ package ecommerce_app.service.impl;
 import ecommerce_app.entity.Order;
 import ecommerce_app.entity.Promotion;
 import ecommerce_app.entity.PromotionUsage;
+import ecommerce_app.entity.User;
+import ecommerce_app.repository.PromotionRepository;
 import ecommerce_app.repository.PromotionUsageRepository;
+import ecommerce_app.repository.PromotionUserCounterRepository;
 import ecommerce_app.service.PromotionUsageService;
-import ecommerce_app.entity.User;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+/**
+ * Promotion redemptions backed by counters instead of counting {@link PromotionUsage} rows.
+ *
+ * <p>{@code promotions.used_count} and {@code promotion_user_counters} are incremented with
+ * conditional updates ({@code used < max}) in the checkout transaction, so a limit check is a
+ * primary-key read however many times the promotion was used, and two checkouts racing for the last
+ * use cannot both win. The usage row is still written for reporting, and the nightly {@link
+ * #reconcileCounters} raises any counter that fell below it.
+ */
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class PromotionUsageServiceImpl implements PromotionUsageService {
 
   private final PromotionUsageRepository promotionUsageRepository;
+  private final PromotionRepository promotionRepository;
+  private final PromotionUserCounterRepository userCounterRepository;
+
+  @Override
+  @Transactional(rollbackFor = Exception.class)
+  public boolean claimPromotionUsage(Promotion promotion, User user) {
+    // Global counter first, then the user's — same lock order for every checkout
+    if (promotionRepository.incrementUsedCount(promotion.getId()) == 0) {
+      return false;
+    }
+
+    int perUserLimit =
+        promotion.getMaxUsagePerUser() != null
+            ? promotion.getMaxUsagePerUser()
+            : Integer.MAX_VALUE; // still counted, in case a limit is added later
+    if (userCounterRepository.increment(promotion.getId(), user.getId(), perUserLimit) == 0) {
+      promotionRepository.decrementUsedCount(promotion.getId());
+      return false;
+    }
+    return true;
+  }
 
   @Override
-  @Transactional
-  public void recordPromotionUsage(Promotion promotion, Order order, User user) {
-    PromotionUsage usage = new PromotionUsage();
-    usage.setPromotion(promotion);
-    usage.setOrder(order);
-    usage.setUser(user);
-
-    promotionUsageRepository.save(usage);
+  @Transactional(rollbackFor = Exception.class)
+  public void recordPromotionUsage(
+      Promotion promotion, Order order, User user, BigDecimal discountAmount) {
+    promotionUsageRepository.save(
+        PromotionUsage.builder()
+            .promotion(promotionRepository.getReferenceById(promotion.getId()))
+            .order(order)
+            .user(user)
+            .usedAt(LocalDateTime.now())
+            .discountAmount(discountAmount != null ? discountAmount : BigDecimal.ZERO)
+            .build());
   }
 
   @Override
+  @Transactional(readOnly = true)
   public boolean canUsePromotion(Promotion promotion, User user) {
-    if (promotion.getMaxUsage() == null) {
-      return true;
+    if (promotion.getMaxUsage() != null
+        && getPromotionUsageCount(promotion.getId()) >= promotion.getMaxUsage()) {
+      return false;
     }
+    return promotion.getMaxUsagePerUser() == null
+        || user == null
+        || getUserUsageCount(promotion.getId(), user.getId()) < promotion.getMaxUsagePerUser();
+  }
 
-    long currentUsage = promotionUsageRepository.countByPromotionId(promotion.getId());
-      return currentUsage < promotion.getMaxUsage();
+  @Override
+  @Transactional(readOnly = true)
+  public Long getPromotionUsageCount(Long promotionId) {
+    return promotionRepository.findUsedCountById(promotionId).map(Long::valueOf).orElse(0L);
+  }
 
-    // Check per-user limit if needed
-    // Long userUsage = promotionUsageRepository.countByPromotionIdAndUserId(promotion.getId(),
-    // user.getId());
-    // return userUsage < promotion.getMaxUsagePerUser();
+  @Override
+  @Transactional(readOnly = true)
+  public long getUserUsageCount(Long promotionId, Long userId) {
+    return userCounterRepository.findUsedCount(promotionId, userId).orElse(0);
   }
 
   @Override
-  public Long getPromotionUsageCount(Long promotionId) {
-    return promotionUsageRepository.countByPromotionId(promotionId);
+  @Transactional(rollbackFor = Exception.class)
+  public int reconcileCounters() {
+    int promotions = promotionRepository.reconcileUsedCounts();
+    int users = userCounterRepository.reconcile();
+    if (promotions > 0 || users > 0) {
+      log.warn(
+          "Reconciled promotion usage counters - Promotions: {}, User counters: {}",
+          promotions,
+          users);
+    }
+    return promotions + users;
   }
 }
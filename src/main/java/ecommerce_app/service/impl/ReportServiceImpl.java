@@ -4,7 +4,6 @@ import ecommerce_app.dto.report.InvoiceReportDto;
 import ecommerce_app.dto.report.ReceiptReportDto;
 import ecommerce_app.dto.report.RecentOrderReportDto;
 import ecommerce_app.dto.response.RecentOrderResponse;
-import ecommerce_app.dto.response.SettingResponse;
 import ecommerce_app.entity.Order;
 import ecommerce_app.entity.PaymentTransaction;
 import ecommerce_app.exception.ReportGenerationException;
@@ -21,7 +20,6 @@ import java.time.format.DateTimeFormatter;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import net.sf.jasperreports.engine.*;
@@ -31,7 +29,6 @@ import net.sf.jasperreports.engine.export.JRPdfExporter;
 import net.sf.jasperreports.export.SimpleExporterInput;
 import net.sf.jasperreports.export.SimpleHtmlExporterOutput;
 import net.sf.jasperreports.export.SimpleOutputStreamExporterOutput;
-import org.springframework.core.io.ClassPathResource;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -52,6 +49,7 @@ public class ReportServiceImpl implements ReportService {
   private final PaymentTransactionRepository transactionRepository;
   private final ReportMapper reportMapper;
   private final SettingService settingService;
+  private final ReportTemplateRegistry reportTemplateRegistry;
 
   // ────────────────────────────────────────────────────────────────────
   // Invoice
@@ -113,14 +111,13 @@ public class ReportServiceImpl implements ReportService {
 
   private RecentOrderReportDto buildRecentOrderDto(
           List<RecentOrderResponse> orders, LocalDate fromDate, LocalDate toDate) {
-    Map<String, String> settings = settingService.getAll().stream()
-            .collect(Collectors.toMap(SettingResponse::getKey, SettingResponse::getValue));
+    Map<String, String> settings = settingService.getAllAsMap();
     return reportMapper.toRecentOrderReportDto(orders, fromDate, toDate, settings);
   }
 
   private JasperPrint fillRecentOrderReport(RecentOrderReportDto dto) {
     try {
-      JasperReport report = compileReport("reports/RecentOrders.jrxml");
+      JasperReport report = reportTemplateRegistry.get("RecentOrders");
       Map<String, Object> params = buildRecentOrderParams(dto);
       JRBeanCollectionDataSource ds = new JRBeanCollectionDataSource(dto.getRows());
       return JasperFillManager.fillReport(report, params, ds);
@@ -162,9 +159,7 @@ public class ReportServiceImpl implements ReportService {
         orderRepository
             .findByIdWithItemsAndUser(orderId)
             .orElseThrow(() -> new ResourceNotFoundException("Order not found: " + orderId));
-    Map<String, String> settings =
-        settingService.getAll().stream()
-            .collect(Collectors.toMap(SettingResponse::getKey, SettingResponse::getValue));
+    Map<String, String> settings = settingService.getAllAsMap();
     return reportMapper.toInvoiceDto(order, settings);
   }
 
@@ -178,9 +173,7 @@ public class ReportServiceImpl implements ReportService {
     // Use the most recent transaction
     PaymentTransaction transaction = transactions.getFirst();
 
-    Map<String, String> settings =
-        settingService.getAll().stream()
-            .collect(Collectors.toMap(SettingResponse::getKey, SettingResponse::getValue));
+    Map<String, String> settings = settingService.getAllAsMap();
     return reportMapper.toReceiptDto(transaction, settings);
   }
 
@@ -190,7 +183,7 @@ public class ReportServiceImpl implements ReportService {
 
   private JasperPrint fillInvoiceReport(InvoiceReportDto dto) {
     try {
-      JasperReport report = compileReport("reports/Invoice.jrxml");
+      JasperReport report = reportTemplateRegistry.get("Invoice");
       Map<String, Object> params = buildInvoiceParams(dto);
       JRBeanCollectionDataSource ds = new JRBeanCollectionDataSource(dto.getItems());
       return JasperFillManager.fillReport(report, params, ds);
@@ -202,7 +195,7 @@ public class ReportServiceImpl implements ReportService {
 
   private JasperPrint fillReceiptReport(ReceiptReportDto dto) {
     try {
-      JasperReport report = compileReport("reports/Receipt.jrxml");
+      JasperReport report = reportTemplateRegistry.get("receipt");
       Map<String, Object> params = buildReceiptParams(dto);
       JRBeanCollectionDataSource ds = new JRBeanCollectionDataSource(dto.getItems());
       return JasperFillManager.fillReport(report, params, ds);
@@ -354,16 +347,6 @@ public class ReportServiceImpl implements ReportService {
     }
   }
 
-  private JasperReport compileReport(String classpathLocation) throws JRException {
-    try {
-      ClassPathResource resource = new ClassPathResource(classpathLocation);
-      return JasperCompileManager.compileReport(resource.getInputStream());
-    } catch (Exception e) {
-      log.error(e.getMessage(), e);
-      throw new JRException("Could not load report: " + classpathLocation, e);
-    }
-  }
-
   private BigDecimal orZero(BigDecimal value) {
     return value != null ? value : BigDecimal.ZERO;
   }
@@ -0,0 +1,92 @@
+package ecommerce_app.service.impl;
+
+import java.io.InputStream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+import net.sf.jasperreports.engine.JRException;
+import net.sf.jasperreports.engine.JasperCompileManager;
+import net.sf.jasperreports.engine.JasperReport;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Component;
+
+/**
+ * Compiled Jasper templates, keyed by name ({@code reports/<name>.jrxml}).
+ *
+ * <p>Compiling a {@code .jrxml} costs far more than filling it, so each template is compiled once
+ * — all of them at startup — and the {@link JasperReport} is shared by every fill (it is immutable
+ * and thread-safe). When templates are served from the file system (IDE, exploded build) an
+ * edited template is recompiled on its next use; inside a jar templates only change on redeploy.
+ */
+@Slf4j
+@Component
+public class ReportTemplateRegistry {
+
+  private static final String TEMPLATE_LOCATION = "reports/%s.jrxml";
+
+  private final Map<String, Compiled> compiled = new ConcurrentHashMap<>();
+
+  private record Compiled(JasperReport report, long lastModified) {}
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void warmUp() {
+    long start = System.currentTimeMillis();
+    int count = 0;
+    try {
+      Resource[] templates =
+          new PathMatchingResourcePatternResolver().getResources("classpath:reports/*.jrxml");
+      for (Resource template : templates) {
+        String name = template.getFilename().replace(".jrxml", "");
+        try {
+          get(name);
+          count++;
+        } catch (JRException e) {
+          log.error("Failed to precompile report template {}", name, e);
+        }
+      }
+    } catch (Exception e) {
+      log.warn("Could not scan report templates: {}", e.getMessage());
+    }
+    log.info("Precompiled {} report templates in {} ms", count, System.currentTimeMillis() - start);
+  }
+
+  /** The compiled template for {@code reports/<name>.jrxml}. */
+  public JasperReport get(String name) throws JRException {
+    ClassPathResource resource = new ClassPathResource(String.format(TEMPLATE_LOCATION, name));
+    long lastModified = lastModified(resource);
+
+    Compiled cached = compiled.get(name);
+    if (cached != null && cached.lastModified() == lastModified) {
+      return cached.report();
+    }
+
+    // Concurrent first uses may compile twice; the last one wins and both results are valid
+    Compiled fresh = new Compiled(compile(resource), lastModified);
+    compiled.put(name, fresh);
+    log.debug("Compiled report template {}", name);
+    return fresh.report();
+  }
+
+  private JasperReport compile(ClassPathResource resource) throws JRException {
+    try (InputStream in = resource.getInputStream()) {
+      return JasperCompileManager.compileReport(in);
+    } catch (JRException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new JRException("Could not load report: " + resource.getPath(), e);
+    }
+  }
+
+  /** File modification time for exploded templates; 0 inside a jar, so no per-call jar lookup. */
+  private long lastModified(ClassPathResource resource) {
+    try {
+      return resource.isFile() ? resource.getFile().lastModified() : 0L;
+    } catch (Exception e) {
+      return 0L;
+    }
+  }
+}
@@ -0,0 +1,67 @@
+package ecommerce_app.service.impl;
+
+import ecommerce_app.projection.VersionStampProjection;
+import ecommerce_app.repository.BrandRepository;
+import ecommerce_app.repository.ProductRepository;
+import ecommerce_app.repository.SettingRepository;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Strong ETags for catalog and reference data, derived from version stamps that cost one
+ * aggregate query instead of rebuilding the response.
+ *
+ * <p>Stamps come from the database rather than in-process counters, so every node hands out the
+ * same ETag for the same data. The row count is part of the stamp so deletes change it too, and
+ * the request locale is, because response messages are localized.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class ResourceVersionService {
+
+  private final BrandRepository brandRepository;
+  private final SettingRepository settingRepository;
+  private final ProductRepository productRepository;
+
+  public String brands() {
+    return etag("brands", brandRepository.findVersionStamp());
+  }
+
+  public String storeLocation() {
+    return etag(
+        "store-location",
+        settingRepository.findVersionStampByKeys(StoreLocationService.STORE_KEYS));
+  }
+
+  public String settings() {
+    return etag("settings", settingRepository.findVersionStamp());
+  }
+
+  /** {@code null} for an unknown product — the request then runs and fails as usual. */
+  public String productDetail(Long productId) {
+    return productRepository
+        .findDetailVersion(productId)
+        .map(version -> etag("product-" + productId, version, 1))
+        .orElse(null);
+  }
+
+  private static String etag(String name, VersionStampProjection stamp) {
+    return etag(name, stamp.getLastModified(), stamp.getCount());
+  }
+
+  private static String etag(String name, LocalDateTime lastModified, long count) {
+    long micros =
+        lastModified != null
+            ? ChronoUnit.MICROS.between(Instant.EPOCH, lastModified.toInstant(ZoneOffset.UTC))
+            : 0;
+    return "\"%s-%d-%d-%s\""
+        .formatted(name, micros, count, LocaleContextHolder.getLocale().toLanguageTag());
+  }
+}
@@ -37,6 +37,7 @@ public class ReviewService {
   private final ProductRepository productRepository;
   private final MessageSourceService messageSourceService;
   private final ProductReviewSummaryRepository summaryRepository;
+  private final ProductCardService productCardService;
 
   // ================= CREATE REVIEW =================
   @Transactional
@@ -66,6 +67,7 @@ public class ReviewService {
 
     // update summary immediately on save (no need to wait for approval)
     updateSummary(product, review.getRating());
+    productCardService.markStale(productId);
   }
 
   // ================= GET PAGINATED REVIEWS =================
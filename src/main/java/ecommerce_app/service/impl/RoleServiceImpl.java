@@ -41,6 +41,7 @@ public class RoleServiceImpl extends ValidatePermission implements RoleService {
   private final MessageSourceService messageSourceService;
   private final PermissionRepository permissionRepository;
   private final ModelMapper modelMapper;
+  private final PrincipalCache principalCache;
 
   @Transactional(rollbackFor = Exception.class)
   @Override
@@ -82,6 +83,7 @@ public class RoleServiceImpl extends ValidatePermission implements RoleService {
               role.setPermissions(new HashSet<>(permissions));
               role.setDescription(updateRoleRequest.getDescription());
               roleRepository.save(role);
+              principalCache.evictAll();
             },
             () -> {
               throw new ResourceNotFoundException(
@@ -113,6 +115,7 @@ public class RoleServiceImpl extends ValidatePermission implements RoleService {
     // toggle status
     role.setActive(!role.isActive());
     roleRepository.save(role);
+    principalCache.evictAll();
 
     log.info("================== Updated status role id={} ===================", roleId);
   }
@@ -0,0 +1,101 @@
+package ecommerce_app.service.impl;
+
+import ecommerce_app.entity.DailySalesRollup;
+import ecommerce_app.entity.DailyProductSalesRollup;
+import ecommerce_app.repository.DailyProductSalesRollupRepository;
+import ecommerce_app.repository.DailySalesRollupRepository;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Maintains the {@link DailySalesRollup} and {@link DailyProductSalesRollup} tables.
+ *
+ * <p>Every order insert or update marks its order date dirty (see {@code OrderSalesRollupListener});
+ * the day is queued after the transaction commits and {@code SalesRollupScheduler} rebuilds queued
+ * days every few seconds. A rebuild deletes the day's rows and re-aggregates them from orders in
+ * one INSERT ... SELECT, so it is idempotent and a busy day costs one rebuild per drain, not one
+ * per status change.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SalesRollupService {
+
+  private final DailySalesRollupRepository salesRollupRepository;
+  private final DailyProductSalesRollupRepository productRollupRepository;
+
+  private final Set<LocalDate> pending = ConcurrentHashMap.newKeySet();
+
+  // ── Invalidation ──────────────────────────────────────────────────────────
+
+  /** Queue a rebuild of the given day once the current transaction commits. */
+  public void markDirty(LocalDate day) {
+    if (day == null) return;
+
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+              pending.add(day);
+            }
+          });
+    } else {
+      pending.add(day);
+    }
+  }
+
+  public void markDirty(Collection<LocalDate> days) {
+    days.forEach(this::markDirty);
+  }
+
+  /** Remove and return all queued days. */
+  public List<LocalDate> drainPending() {
+    List<LocalDate> drained = new ArrayList<>(pending.size());
+    Iterator<LocalDate> it = pending.iterator();
+    while (it.hasNext()) {
+      drained.add(it.next());
+      it.remove();
+    }
+    return drained;
+  }
+
+  // ── Rebuild ───────────────────────────────────────────────────────────────
+
+  /** Re-aggregate every day in {@code [fromDate, toDate]} from orders. */
+  @Transactional(rollbackFor = Exception.class)
+  public void rebuild(LocalDate fromDate, LocalDate toDate) {
+    salesRollupRepository.deleteRange(fromDate, toDate);
+    productRollupRepository.deleteRange(fromDate, toDate);
+
+    int statusRows =
+        salesRollupRepository.aggregateRange(
+            fromDate.atStartOfDay(), toDate.plusDays(1).atStartOfDay());
+    int productRows =
+        productRollupRepository.aggregateRange(
+            fromDate.atStartOfDay(), toDate.plusDays(1).atStartOfDay());
+
+    log.debug(
+        "Rebuilt sales rollups {}..{}: {} status rows, {} product rows",
+        fromDate,
+        toDate,
+        statusRows,
+        productRows);
+  }
+
+  @Transactional(readOnly = true)
+  public List<LocalDate> findDaysWithoutRollup() {
+    return salesRollupRepository.findDaysWithoutRollup();
+  }
+}
@@ -7,27 +7,47 @@ import ecommerce_app.entity.Setting;
 import ecommerce_app.repository.SettingRepository;
 import ecommerce_app.service.SettingService;
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import ecommerce_app.util.MessageSourceService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+/**
+ * Settings are read on hot paths (every invoice, receipt and stock check), so reads are served from
+ * an in-memory snapshot of the whole table. The snapshot is dropped after an update commits on this
+ * node and expires after {@link #SNAPSHOT_TTL}, which bounds how long other nodes serve a stale
+ * value.
+ */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class SettingServiceImpl implements SettingService {
+  private static final Duration SNAPSHOT_TTL = Duration.ofMinutes(1);
+
   private final MessageSourceService messageSourceService;
   private final SettingRepository settingRepository;
 
+  private volatile Snapshot snapshot;
+
+  private record Snapshot(Map<String, String> values, long loadedAt) {}
+
   @Override
-  @Cacheable(value = "settings", key = "#key")
   public String getString(String key) {
-    return find(key).getValue();
+    Map<String, String> values = getAllAsMap();
+    if (!values.containsKey(key)) {
+      throw new ResourceNotFoundException(
+          messageSourceService.getMessage("error.setting.not.found", key));
+    }
+    return values.get(key);
   }
 
   @Override
@@ -62,11 +82,12 @@ public class SettingServiceImpl implements SettingService {
 
   @Override
   @Transactional
-  @CacheEvict(value = "settings", key = "#key")
   public SettingResponse update(String key, String value) {
     Setting setting = find(key);
     setting.setValue(value);
-    return toResponse(settingRepository.save(setting));
+    SettingResponse response = toResponse(settingRepository.save(setting));
+    invalidateSnapshot();
+    return response;
   }
 
   @Override
@@ -81,6 +102,39 @@ public class SettingServiceImpl implements SettingService {
     return settingRepository.findAll().stream().map(this::toResponse).toList();
   }
 
+  @Override
+  public Map<String, String> getAllAsMap() {
+    Snapshot current = snapshot;
+    if (current == null
+        || System.currentTimeMillis() - current.loadedAt() > SNAPSHOT_TTL.toMillis()) {
+      current = loadSnapshot();
+      snapshot = current;
+    }
+    return current.values();
+  }
+
+  private Snapshot loadSnapshot() {
+    // HashMap, not Collectors.toMap — settings may hold null values
+    Map<String, String> values = new HashMap<>();
+    settingRepository.findAll().forEach(s -> values.put(s.getKey(), s.getValue()));
+    return new Snapshot(Collections.unmodifiableMap(values), System.currentTimeMillis());
+  }
+
+  /** Drop the snapshot once the current transaction commits. */
+  private void invalidateSnapshot() {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+              snapshot = null;
+            }
+          });
+    } else {
+      snapshot = null;
+    }
+  }
+
   private Setting find(String key) {
     return settingRepository
         .findById(key)
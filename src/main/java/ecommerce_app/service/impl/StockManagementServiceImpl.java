@@ -1,22 +1,27 @@
 package ecommerce_app.service.impl;
 
-import ecommerce_app.constant.enums.StockMovementType;
 import ecommerce_app.dto.request.StockAdjustmentRequest;
 import ecommerce_app.dto.response.*;
 import ecommerce_app.entity.*;
 import ecommerce_app.entity.ProductAttributeValue;
 import ecommerce_app.exception.BadRequestException;
 import ecommerce_app.exception.ResourceNotFoundException;
+import ecommerce_app.projection.StockMovementProjection;
 import ecommerce_app.repository.*;
 import ecommerce_app.service.StockManagementService;
+import ecommerce_app.util.PageCursor;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.*;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -25,9 +30,17 @@ import java.util.stream.Collectors;
 @Transactional(readOnly = true)
 public class StockManagementServiceImpl implements StockManagementService {
 
+  /**
+   * Ledger totals are exact up to this many rows; larger ranges report the cap as a lower bound and
+   * flag the page as {@link CappedPage#isTotalCapped() capped}.
+   */
+  private static final int LEDGER_COUNT_CAP = 100_000;
+
   private final ProductRepository productRepository;
   private final ProductVariantRepository variantRepository;
   private final VariantStockMovementRepository stockMovementRepository;
+  private final ProductCardService productCardService;
+  private final EntityManager entityManager;
 
   // ── Adjust stock (variant-only, works for ALL products) ────────────────
 
@@ -37,20 +50,14 @@ public class StockManagementServiceImpl implements StockManagementService {
     // Resolve which variant to adjust
     ProductVariant variant = getVariantForAdjustment(request);
 
-    int before = variant.getStockQuantity();
-    int after = calculateNewStock(before, request);
-
-    // Validate stock-out operations
-    if (request.getMovementType() == StockMovementType.OUT && before < request.getQuantity()) {
-      throw new BadRequestException(
-          String.format(
-              "Insufficient stock for variant '%s'. Available: %d, Requested: %d",
-              variant.getSku(), before, request.getQuantity()));
-    }
-
-    // Update stock
-    variant.setStockQuantity(after);
-    variantRepository.save(variant);
+    // Apply the change in the database; afterwards the entity holds the new quantity
+    int before =
+        switch (request.getMovementType()) {
+          case OUT -> decrementStock(variant, request.getQuantity());
+          case IN, RETURN -> incrementStock(variant, request.getQuantity());
+          case ADJUSTMENT -> overwriteStock(variant, request.getQuantity());
+        };
+    int after = variant.getStockQuantity();
 
     // Record movement
     stockMovementRepository.save(
@@ -65,6 +72,8 @@ public class StockManagementServiceImpl implements StockManagementService {
             .note(request.getNote())
             .build());
 
+    productCardService.markStale(variant.getProduct().getId());
+
     log.info(
         "Adjusted stock for variant '{}': {} → {} ({})",
         variant.getSku(),
@@ -141,45 +150,53 @@ public class StockManagementServiceImpl implements StockManagementService {
       LocalDateTime endDate,
       Pageable pageable) {
 
-    List<VariantStockMovement> movements;
-
-    if (variantId != null) {
-      // History for a specific variant
-      movements =
-          stockMovementRepository.findByVariantIdAndCreatedAtBetween(
-              variantId, startDate, endDate, pageable);
-    } else {
-      // History for all variants of a product
-      List<Long> variantIds =
-          variantRepository.findByProductId(productId).stream().map(ProductVariant::getId).toList();
-
-      movements =
-          variantIds.isEmpty()
-              ? List.of()
-              : stockMovementRepository.findByVariantIdInAndCreatedAtBetween(
-                  variantIds, startDate, endDate, pageable);
-    }
-
-    List<StockHistoryResponse> responses =
-        movements.stream()
-            .map(
-                m ->
-                    StockHistoryResponse.builder()
-                        .id(m.getId())
-                        .variantSku(m.getVariant().getSku())
-                        .movementType(m.getMovementType())
-                        .quantity(m.getQuantity())
-                        .quantityBefore(m.getQuantityBefore())
-                        .quantityAfter(m.getQuantityAfter())
-                        .referenceType(m.getReferenceType())
-                        .referenceId(m.getReferenceId()== null ? null : m.getReferenceId().toString())
-                        .note(m.getNote())
-                        .createdAt(m.getCreatedAt())
-                        .createdBy(m.getCreatedBy())
-                        .build())
+    // Sorting is fixed by the ledger query
+    Pageable unsorted = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+    List<StockHistoryResponse> content =
+        stockMovementRepository
+            .findLedger(productId, variantId, startDate, endDate, unsorted)
+            .stream()
+            .map(this::toHistoryResponse)
             .toList();
 
-    return new PageImpl<>(responses, pageable, responses.size());
+    // The count only runs when the page alone cannot tell the total
+    AtomicBoolean capped = new AtomicBoolean();
+    Page<StockHistoryResponse> page =
+        PageableExecutionUtils.getPage(
+            content,
+            unsorted,
+            () -> {
+              long count =
+                  stockMovementRepository.countLedger(
+                      productId, variantId, startDate, endDate, LEDGER_COUNT_CAP);
+              capped.set(count >= LEDGER_COUNT_CAP);
+              return count;
+            });
+    return CappedPage.of(page, capped.get());
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public CursorPage<StockHistoryResponse> scrollStockHistory(
+      Long productId,
+      Long variantId,
+      LocalDateTime startDate,
+      LocalDateTime endDate,
+      String cursor,
+      int pageSize) {
+    PageCursor after =
+        PageCursor.decodeOrStart(cursor, PageCursor.of(PageCursor.START_TIME, Long.MAX_VALUE));
+    List<StockMovementProjection> rows =
+        stockMovementRepository.findLedgerBefore(
+            productId,
+            variantId,
+            startDate,
+            endDate,
+            after.getDateTime(0),
+            after.getLong(1),
+            CursorPage.limit(pageSize));
+    return CursorPage.of(rows, pageSize, m -> PageCursor.of(m.getCreatedAt(), m.getId()))
+        .map(this::toHistoryResponse);
   }
 
   // ── Low stock alerts ───────────────────────────────────────────────────
@@ -210,6 +227,22 @@ public class StockManagementServiceImpl implements StockManagementService {
 
   // ── Private helpers ────────────────────────────────────────────────────
 
+  private StockHistoryResponse toHistoryResponse(StockMovementProjection m) {
+    return StockHistoryResponse.builder()
+        .id(m.getId())
+        .variantSku(m.getVariantSku())
+        .movementType(m.getMovementType())
+        .quantity(m.getQuantity())
+        .quantityBefore(m.getQuantityBefore())
+        .quantityAfter(m.getQuantityAfter())
+        .referenceType(m.getReferenceType())
+        .referenceId(m.getReferenceId() == null ? null : m.getReferenceId().toString())
+        .note(m.getNote())
+        .createdAt(m.getCreatedAt())
+        .createdBy(m.getCreatedBy())
+        .build();
+  }
+
   /**
    * For simple products (no variants), look up or create the default variant. For variant products,
    * variantId must be provided.
@@ -239,13 +272,43 @@ public class StockManagementServiceImpl implements StockManagementService {
                     "Product " + product.getId() + " has no default variant. Create one first."));
   }
 
-  private int calculateNewStock(int before, StockAdjustmentRequest request) {
-    return switch (request.getMovementType()) {
-      case IN -> before + request.getQuantity();
-      case OUT -> before - request.getQuantity();
-      case ADJUSTMENT -> request.getQuantity();
-      case RETURN -> before + request.getQuantity();
-    };
+  /**
+   * Conditional decrement ({@code stock >= qty}) executed as a single UPDATE. The row lock taken by
+   * the UPDATE is held until commit, so the refreshed quantity is exactly ours.
+   *
+   * @return quantity before the decrement
+   */
+  private int decrementStock(ProductVariant variant, int quantity) {
+    int updated = variantRepository.decrementStockIfAvailable(variant.getId(), quantity);
+    entityManager.refresh(variant);
+    if (updated == 0) {
+      throw new BadRequestException(
+          String.format(
+              "Insufficient stock for variant '%s'. Available: %d, Requested: %d",
+              variant.getSku(), variant.getStockQuantity(), quantity));
+    }
+    return variant.getStockQuantity() + quantity;
+  }
+
+  /** @return quantity before the increment */
+  private int incrementStock(ProductVariant variant, int quantity) {
+    variantRepository.incrementStock(variant.getId(), quantity);
+    entityManager.refresh(variant);
+    return variant.getStockQuantity() - quantity;
+  }
+
+  /**
+   * Manual correction to an absolute value. Locks the row first so the recorded "before" is not
+   * overwritten by a concurrent order.
+   *
+   * @return quantity before the correction
+   */
+  private int overwriteStock(ProductVariant variant, int quantity) {
+    entityManager.refresh(variant, LockModeType.PESSIMISTIC_WRITE);
+    int before = variant.getStockQuantity();
+    variant.setStockQuantity(quantity);
+    variantRepository.save(variant);
+    return before;
   }
 
   private StockAlertResponse buildVariantAlert(ProductVariant v) {
@@ -0,0 +1,311 @@
+package ecommerce_app.service.impl;
+
+import ecommerce_app.constant.enums.OrderStatus;
+import ecommerce_app.constant.enums.PaymentStatus;
+import ecommerce_app.constant.enums.ReservationStatus;
+import ecommerce_app.constant.enums.StockMovementType;
+import ecommerce_app.dto.request.StockAdjustmentRequest;
+import ecommerce_app.entity.Order;
+import ecommerce_app.entity.OrderStatusHistory;
+import ecommerce_app.entity.Payment;
+import ecommerce_app.entity.ProductVariant;
+import ecommerce_app.entity.StockReservation;
+import ecommerce_app.property.StockProperties;
+import ecommerce_app.repository.OrderRepository;
+import ecommerce_app.repository.OrderStatusHistoryRepository;
+import ecommerce_app.repository.PaymentRepository;
+import ecommerce_app.repository.StockReservationRepository;
+import ecommerce_app.service.StockManagementService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Takes stock for orders and gives it back.
+ *
+ * <p>Every line is decremented with a conditional UPDATE ({@code stock >= qty}) through {@link
+ * StockManagementService#adjustStock}, so two orders racing for the last unit cannot both win.
+ * Lines are processed in variant ID order, which makes every transaction lock variant rows in the
+ * same order — two multi-item carts sharing SKUs wait on each other instead of deadlocking.
+ *
+ * <p>Orders paid up front (COD, cash, POS) commit their reservation immediately. QR orders hold it
+ * for {@code app.stock.reservation-ttl}; a successful payment commits it, otherwise {@link
+ * #expire} releases the stock and cancels the order.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StockReservationService {
+
+  private final StockReservationRepository reservationRepository;
+  private final StockManagementService stockManagementService;
+  private final EntityManager entityManager;
+  private final OrderRepository orderRepository;
+  private final OrderStatusHistoryRepository orderStatusHistoryRepository;
+  private final PaymentRepository paymentRepository;
+  private final StockProperties stockProperties;
+
+  /** One order line to reserve. */
+  public record Line(ProductVariant variant, int quantity) {}
+
+  // ── Reserve ───────────────────────────────────────────────────────────────
+
+  /** Reserve stock until the order is paid or the hold expires. */
+  @Transactional(rollbackFor = Exception.class)
+  public void hold(Order order, List<Line> lines, String referenceType, String note, Long userId) {
+    LocalDateTime expiresAt = LocalDateTime.now().plus(stockProperties.getReservationTtl());
+    reserve(order, lines, ReservationStatus.RESERVED, expiresAt, referenceType, note, userId);
+  }
+
+  /** Reserve stock for an order that needs no payment confirmation. */
+  @Transactional(rollbackFor = Exception.class)
+  public void reserveAndCommit(
+      Order order, List<Line> lines, String referenceType, String note, Long userId) {
+    reserve(order, lines, ReservationStatus.COMMITTED, null, referenceType, note, userId);
+  }
+
+  private void reserve(
+      Order order,
+      List<Line> lines,
+      ReservationStatus status,
+      LocalDateTime expiresAt,
+      String referenceType,
+      String note,
+      Long userId) {
+    // Merge duplicate variants and sort by ID — fixed lock order across concurrent orders
+    Map<Long, Line> byVariant = new TreeMap<>();
+    for (Line line : lines) {
+      byVariant.merge(
+          line.variant().getId(),
+          line,
+          (a, b) -> new Line(a.variant(), a.quantity() + b.quantity()));
+    }
+
+    List<StockReservation> reservations = new ArrayList<>(byVariant.size());
+    for (Line line : byVariant.values()) {
+      ProductVariant variant = line.variant();
+
+      // Throws BadRequestException when stock is short; the caller's transaction rolls back
+      // every decrement made so far
+      stockManagementService.adjustStock(
+          StockAdjustmentRequest.builder()
+              .productId(variant.getProduct().getId())
+              .variantId(variant.getId())
+              .movementType(StockMovementType.OUT)
+              .quantity(line.quantity())
+              .referenceType(referenceType)
+              .referenceId(order.getId())
+              .note(note)
+              .build(),
+          userId);
+
+      reservations.add(
+          StockReservation.builder()
+              .variant(variant)
+              .order(order)
+              .quantity(line.quantity())
+              .status(status)
+              .expiresAt(expiresAt)
+              .referenceType(referenceType)
+              .build());
+    }
+    reservationRepository.saveAll(reservations);
+
+    log.info(
+        "Reserved {} variants for order #{} ({})",
+        reservations.size(),
+        order.getOrderNumber(),
+        status);
+  }
+
+  // ── Commit / release ──────────────────────────────────────────────────────
+
+  /**
+   * Turn the order's held stock into a sale. Safe to call more than once.
+   *
+   * <p>If the hold already expired, its stock was returned and may have been sold since. The lines
+   * are then taken again with the same conditional decrement as a new reservation, all or nothing.
+   *
+   * @return {@code false} if the hold was released and the stock is no longer available — the
+   *     caller must not confirm the order
+   */
+  @Transactional(rollbackFor = Exception.class)
+  public boolean commit(Order order) {
+    int committed =
+        reservationRepository.transitionByOrderId(
+            order.getId(), ReservationStatus.RESERVED, ReservationStatus.COMMITTED);
+    if (committed > 0) {
+      log.info("Committed {} reservations for order #{}", committed, order.getOrderNumber());
+      return true;
+    }
+
+    List<StockReservation> released =
+        reservationRepository.findByOrderIdAndStatusIn(
+            order.getId(), List.of(ReservationStatus.RELEASED));
+    if (released.isEmpty()) {
+      return true; // already committed, or placed before reservations existed
+    }
+    return retake(order, released);
+  }
+
+  private boolean retake(Order order, List<StockReservation> released) {
+    // Lock every variant first (released arrives in variant ID order) so either all lines are
+    // taken or none are; the decrements below run against rows we hold and cannot fail
+    for (StockReservation reservation : released) {
+      ProductVariant variant = reservation.getVariant();
+      entityManager.refresh(variant, LockModeType.PESSIMISTIC_WRITE);
+      if (variant.getStockQuantity() < reservation.getQuantity()) {
+        log.warn(
+            "Order #{} was paid after its stock hold was released and variant '{}' is no longer"
+                + " in stock",
+            order.getOrderNumber(),
+            variant.getSku());
+        return false;
+      }
+    }
+
+    for (StockReservation reservation : released) {
+      int updated =
+          reservationRepository.transition(
+              reservation.getId(), ReservationStatus.RELEASED, ReservationStatus.COMMITTED);
+      if (updated == 0) {
+        continue; // re-taken by another transaction
+      }
+
+      ProductVariant variant = reservation.getVariant();
+      stockManagementService.adjustStock(
+          StockAdjustmentRequest.builder()
+              .productId(variant.getProduct().getId())
+              .variantId(variant.getId())
+              .movementType(StockMovementType.OUT)
+              .quantity(reservation.getQuantity())
+              .referenceType(reservation.getReferenceType())
+              .referenceId(order.getId())
+              .note("Stock re-taken for order #" + order.getOrderNumber() + " paid after expiry")
+              .build(),
+          null // System action
+          );
+    }
+
+    log.info(
+        "Re-took {} released reservations for late-paid order #{}",
+        released.size(),
+        order.getOrderNumber());
+    return true;
+  }
+
+  /**
+   * Return the order's reserved or committed stock. Each reservation is released by a conditional
+   * status update, so a cancel racing the expiry job restores stock only once.
+   *
+   * @return {@code false} if the order has no reservations (placed before reservations existed)
+   */
+  @Transactional(rollbackFor = Exception.class)
+  public boolean release(Order order, String referenceType, String note) {
+    if (!reservationRepository.existsByOrderId(order.getId())) {
+      return false;
+    }
+    releaseInStatus(
+        order,
+        List.of(ReservationStatus.RESERVED, ReservationStatus.COMMITTED),
+        referenceType,
+        note);
+    return true;
+  }
+
+  private void releaseInStatus(
+      Order order, List<ReservationStatus> statuses, String referenceType, String note) {
+    List<StockReservation> active =
+        reservationRepository.findByOrderIdAndStatusIn(order.getId(), statuses);
+
+    int released = 0;
+    for (StockReservation reservation : active) {
+      int updated =
+          reservationRepository.transition(
+              reservation.getId(), reservation.getStatus(), ReservationStatus.RELEASED);
+      if (updated == 0) {
+        continue; // released or committed by another transaction
+      }
+      released++;
+
+      ProductVariant variant = reservation.getVariant();
+      stockManagementService.adjustStock(
+          StockAdjustmentRequest.builder()
+              .productId(variant.getProduct().getId())
+              .variantId(variant.getId())
+              .movementType(StockMovementType.RETURN)
+              .quantity(reservation.getQuantity())
+              .referenceType(referenceType)
+              .referenceId(order.getId())
+              .note(note)
+              .build(),
+          null // System action
+          );
+    }
+
+    log.info("Released {} reservations for order #{}", released, order.getOrderNumber());
+  }
+
+  // ── Expiry ────────────────────────────────────────────────────────────────
+
+  /** Orders whose stock hold has run out, oldest batch first. */
+  @Transactional(readOnly = true)
+  public List<Long> findExpiredOrderIds() {
+    return reservationRepository.findOrderIdsByStatusAndExpiresAtBefore(
+        ReservationStatus.RESERVED,
+        LocalDateTime.now(),
+        PageRequest.of(0, stockProperties.getReservationExpiryBatchSize()));
+  }
+
+  /**
+   * Release an unpaid order's stock hold and cancel the order.
+   *
+   * <p>The order row is locked first — a payment takes its locks in the same order, flushing the
+   * order as paid before committing its reservations — so a payment landing meanwhile is either
+   * seen here or waits for the release and re-takes the stock. Only held stock is released;
+   * committed stock belongs to a paid order and goes back only on an explicit cancel.
+   */
+  @Transactional(rollbackFor = Exception.class)
+  public void expire(Long orderId) {
+    Order order = entityManager.find(Order.class, orderId, LockModeType.PESSIMISTIC_WRITE);
+    if (order == null) return;
+
+    // Payment landed but the commit was missed — keep the stock
+    if (order.getPaymentStatus() == PaymentStatus.PAID) {
+      if (!commit(order)) {
+        log.error("Paid order #{} has no stock to commit", order.getOrderNumber());
+      }
+      return;
+    }
+
+    releaseInStatus(
+        order,
+        List.of(ReservationStatus.RESERVED),
+        "RESERVATION_EXPIRED",
+        "Stock hold expired for order #" + order.getOrderNumber());
+
+    if (order.getOrderStatus() == OrderStatus.PENDING) {
+      order.setOrderStatus(OrderStatus.CANCELLED);
+      order.setPaymentStatus(PaymentStatus.FAILED);
+      orderRepository.save(order);
+      orderStatusHistoryRepository.save(
+          OrderStatusHistory.builder().order(order).status(OrderStatus.CANCELLED).build());
+
+      for (Payment payment :
+          paymentRepository.findByOrderIdAndStatus(orderId, PaymentStatus.PENDING)) {
+        payment.setStatus(PaymentStatus.FAILED);
+        paymentRepository.save(payment);
+      }
+      log.info("Cancelled unpaid order #{} after stock hold expired", order.getOrderNumber());
+    }
+  }
+}
@@ -16,26 +16,28 @@ import java.util.stream.Collectors;
 @Slf4j
 @RequiredArgsConstructor
 public class StoreLocationService {
+  /** Settings the store location is built from. */
+  public static final List<String> STORE_KEYS =
+      List.of(
+          SettingKeys.STORE_LATITUDE,
+          SettingKeys.STORE_LONGITUDE,
+          SettingKeys.STORE_ADDRESS,
+          SettingKeys.STORE_WEBSITE,
+          SettingKeys.STORE_NAME,
+          SettingKeys.STORE_PHONE,
+          SettingKeys.STORE_EMAIL,
+          SettingKeys.STORE_WORKING_HOURS,
+          SettingKeys.STORE_LOGO_URL,
+          SettingKeys.STORE_CLOSE_AT,
+          SettingKeys.STORE_OPEN_AT,
+          SettingKeys.STORE_FACEBOOK_URL,
+          SettingKeys.STORE_TELEGRAM_URL);
+
   private final SettingRepository settingRepository;
 
   public StoreLocation getStoreLocation() {
     log.info("============= Fetching store location");
-    List<Setting> settings =
-        settingRepository.findByKeys(
-            List.of(
-                SettingKeys.STORE_LATITUDE,
-                SettingKeys.STORE_LONGITUDE,
-                SettingKeys.STORE_ADDRESS,
-                SettingKeys.STORE_WEBSITE,
-                SettingKeys.STORE_NAME,
-                SettingKeys.STORE_PHONE,
-                SettingKeys.STORE_EMAIL,
-                SettingKeys.STORE_WORKING_HOURS,
-                SettingKeys.STORE_LOGO_URL,
-                SettingKeys.STORE_CLOSE_AT,
-                SettingKeys.STORE_OPEN_AT,
-                SettingKeys.STORE_FACEBOOK_URL,
-                SettingKeys.STORE_TELEGRAM_URL));
+    List<Setting> settings = settingRepository.findByKeys(STORE_KEYS);
 
     Map<String, String> settingMap =
         settings.stream().collect(Collectors.toMap(Setting::getKey, Setting::getValue));
@@ -51,6 +51,7 @@ public class UserServiceImpl implements UserService {
   private final FileManagerService fileManagerService;
   private final UserMapper userMapper;
   private final MessageSourceService messageSourceService;
+  private final PrincipalCache principalCache;
 
   @Transactional(readOnly = true)
   @Override
@@ -129,6 +130,7 @@ public class UserServiceImpl implements UserService {
         user.setAvatar(saveFile);
       }
       userRepository.save(user);
+      principalCache.evict(user.getId());
       log.info("User updated: {}", user.getId());
     } catch (Exception ex) {
       log.error("FULL ERROR", ex);
@@ -192,6 +194,7 @@ public class UserServiceImpl implements UserService {
 
     // Delete from database
     this.userRepository.delete(user);
+    principalCache.evict(userId);
 
     log.info("Deleted user with id {} from database", userId);
 
@@ -232,6 +235,7 @@ public class UserServiceImpl implements UserService {
           messageSourceService.getMessage(MessageKeyConstant.USER_NOT_FOUND_ID, userId));
     }
 
+    principalCache.evict(userId);
     log.info("Updated status of user {} to {}", userId, status);
   }
 
@@ -297,6 +301,7 @@ public class UserServiceImpl implements UserService {
 
     user.setPassword(passwordEncoder.encode(changePasswordRequest.getNewPassword()));
     userRepository.save(user);
+    principalCache.evict(user.getId());
     log.info("Password changed successfully");
   }
 
@@ -340,6 +345,7 @@ public class UserServiceImpl implements UserService {
       user.getRoles().clear();
       user.getRoles().addAll(newRoles);
       userRepository.save(user);
+      principalCache.evict(userId);
 
       log.info("=== END assignRoles - SUCCESS for user: {}", userId);
 
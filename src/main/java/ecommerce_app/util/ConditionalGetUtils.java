@@ -0,0 +1,53 @@
+package ecommerce_app.util;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+import lombok.NoArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.ServletWebRequest;
+
+/**
+ * Conditional GET for read endpoints: answers {@code If-None-Match} with 304 before the response
+ * is built, and sets {@code ETag} and {@code Cache-Control} on full responses.
+ */
+@NoArgsConstructor(access = lombok.AccessLevel.PRIVATE)
+public class ConditionalGetUtils {
+
+  // ── Cache-Control policies ────────────────────────────────────────────────
+
+  /** Brands, store location — change a few times a day. */
+  public static final CacheControl REFERENCE_DATA =
+      CacheControl.maxAge(Duration.ofMinutes(5)).cachePrivate();
+
+  /** Product details and the home screen — prices and stock move, revalidate soon. */
+  public static final CacheControl CATALOG =
+      CacheControl.maxAge(Duration.ofSeconds(30)).cachePrivate();
+
+  /** Admin data — always revalidate, never stored by shared caches. */
+  public static final CacheControl ADMIN = CacheControl.noCache().cachePrivate();
+
+  /**
+   * Return 304 if the client already holds {@code etag}, otherwise the response built by {@code
+   * response}. A {@code null} etag skips validation — the response is built as usual.
+   *
+   * <p>Returning {@code null} from a handler after a matched validator tells Spring MVC the
+   * response is complete; status and {@code ETag} are already set on it.
+   */
+  public static <T> ResponseEntity<T> conditional(
+      ServletWebRequest request,
+      String etag,
+      CacheControl cacheControl,
+      Supplier<ResponseEntity<T>> response) {
+    if (etag == null) return response.get();
+
+    if (request.getResponse() != null) {
+      request.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, cacheControl.getHeaderValue());
+    }
+    if (request.checkNotModified(etag)) {
+      return null;
+    }
+    return response.get();
+  }
+}
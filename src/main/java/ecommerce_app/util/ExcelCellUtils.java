@@ -1,34 +1,58 @@
 package ecommerce_app.util;
 
+import ecommerce_app.exception.BadRequestException;
+import ecommerce_app.util.StreamingExcelReader.ExcelRow;
 import java.math.BigDecimal;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
-import org.apache.poi.ss.usermodel.Cell;
 
+/**
+ * Parsing for cell text from {@link StreamingExcelReader}. Values arrive as Excel displays them, so
+ * numbers may carry thousands separators or a currency sign. Invalid values throw {@link
+ * BadRequestException} with a message fit for the import error report.
+ */
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public class ExcelCellUtils {
-  public static String getStringCell(Cell cell) {
-    if (cell == null) return null;
-    return cell.getStringCellValue().trim();
+
+  public static String getRequiredCell(ExcelRow row, int column, String label) {
+    String value = row.get(column);
+    if (value == null) {
+      throw new BadRequestException(label + " is required");
+    }
+    return value;
   }
 
-  public static BigDecimal getBigDecimalCell(Cell cell) {
-    if (cell == null) return BigDecimal.ZERO;
-    return BigDecimal.valueOf(cell.getNumericCellValue());
+  public static void checkMaxLength(String value, int max, String label) {
+    if (value != null && value.length() > max) {
+      throw new BadRequestException(label + " must be at most " + max + " characters");
+    }
   }
 
-  public static Long getLongCell(Cell cell) {
-    if (cell == null) return null;
-    return (long) cell.getNumericCellValue();
+  public static BigDecimal getBigDecimalCell(String value, String label) {
+    if (value == null) return null;
+    try {
+      return new BigDecimal(value.replaceAll("[,\\s$៛]", ""));
+    } catch (NumberFormatException e) {
+      throw new BadRequestException(label + " is not a number: " + value);
+    }
   }
 
-  public static Boolean getBooleanCell(Cell cell) {
-    if (cell == null) return false;
-    return Boolean.valueOf(cell.getStringCellValue());
+  public static Long getLongCell(String value, String label) {
+    BigDecimal number = getBigDecimalCell(value, label);
+    if (number == null) return null;
+    try {
+      return number.longValueExact();
+    } catch (ArithmeticException e) {
+      throw new BadRequestException(label + " must be a whole number: " + value);
+    }
   }
 
-  public static Boolean getIntegerCell(Cell cell) {
-    if (cell == null) return false;
-    return Boolean.valueOf(cell.getStringCellValue());
+  public static boolean getBooleanCell(String value, String label) {
+    if (value == null) return false;
+    return switch (value.toLowerCase()) {
+      case "true", "yes", "y", "1" -> true;
+      case "false", "no", "n", "0" -> false;
+      default -> throw new BadRequestException(label + " must be TRUE or FALSE: " + value);
+    };
   }
 }
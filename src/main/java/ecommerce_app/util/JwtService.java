@@ -4,6 +4,7 @@ import ecommerce_app.property.AppProperty;
 import ecommerce_app.core.identify.custom.CustomUserDetails;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
@@ -23,6 +24,8 @@ public class JwtService {
 
   private final String issuer;
   private final AppProperty appProperty;
+  private final SecretKey signInKey;
+  private final JwtParser parser;
   public static final String FULL_NAME_CLAIM = "fullName";
   public static final String AUTHORITIES_CLAIM = "authorities";
   public static final String EMAIL_CLAIM = "email";
@@ -32,6 +35,10 @@ public class JwtService {
   public JwtService(AppProperty appProperty) {
     this.appProperty = appProperty;
     this.issuer = appProperty.getAppName();
+    // Decoded once — the secret does not change at runtime
+    this.signInKey =
+        Keys.hmacShaKeyFor(Decoders.BASE64.decode(appProperty.getJwt().getSecretKey()));
+    this.parser = Jwts.parser().verifyWith(signInKey).build();
   }
 
   public String generateAccessToken(CustomUserDetails userDetails) {
@@ -70,6 +77,19 @@ public class JwtService {
         .compact();
   }
 
+  /**
+   * Verify signature and expiry in one parse. Returns the claims, or {@code null} when the token is
+   * malformed, forged or expired.
+   */
+  public Claims verify(String token) {
+    try {
+      return parser.parseSignedClaims(token).getPayload();
+    } catch (JwtException | IllegalArgumentException e) {
+      log.warn("Token validation failed: {}", e.getMessage());
+      return null;
+    }
+  }
+
   /** Validate token - check if token is expired */
   public boolean isValidToken(String token) {
     try {
@@ -103,8 +123,7 @@ public class JwtService {
 
   /** Get signing key from secret */
   private SecretKey getSignInKey() {
-    byte[] keyBytes = Decoders.BASE64.decode(appProperty.getJwt().getSecretKey());
-    return Keys.hmacShaKeyFor(keyBytes);
+    return signInKey;
   }
 
   /** Check if token is expired */
@@ -119,11 +138,7 @@ public class JwtService {
 
   /** Extract all claims from token - UPDATED METHOD (No Deprecation) */
   private Claims extractAllClaims(String token) {
-    return Jwts.parser() // Updated from parserBuilder()
-        .verifyWith(getSignInKey()) // Updated API
-        .build()
-        .parseSignedClaims(token) // Updated from parseClaimsJws()
-        .getPayload(); // Updated from getBody()
+    return parser.parseSignedClaims(token).getPayload();
   }
 
   /** Extract username from token */
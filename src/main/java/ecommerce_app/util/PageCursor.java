@@ -0,0 +1,78 @@
+package ecommerce_app.util;
+
+import ecommerce_app.exception.BadRequestException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Position in a keyset-paginated feed: the sort key values and ID of the last row a client has
+ * seen. Clients get it as an opaque URL-safe string and send it back unchanged to fetch the next
+ * slice; the next query starts right after that row instead of skipping an OFFSET.
+ *
+ * <p>The first slice starts from {@link #START_TIME} / {@link Long#MAX_VALUE}, which sort above
+ * every real row, so first and later slices run the same query.
+ */
+public record PageCursor(List<String> keys) {
+
+  /** Later than any stored timestamp, within the PostgreSQL {@code timestamp} range. */
+  public static final LocalDateTime START_TIME = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
+  private static final String SEPARATOR = "|";
+
+  public static PageCursor of(Object... keys) {
+    return new PageCursor(Arrays.stream(keys).map(String::valueOf).toList());
+  }
+
+  public String encode() {
+    return Base64.getUrlEncoder()
+        .withoutPadding()
+        .encodeToString(String.join(SEPARATOR, keys).getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Decode a cursor sent by a client, or return {@code start} for the first slice.
+   *
+   * @throws BadRequestException if the cursor is malformed or belongs to a different feed
+   */
+  public static PageCursor decodeOrStart(String cursor, PageCursor start) {
+    if (cursor == null || cursor.isBlank()) return start;
+    try {
+      String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+      PageCursor parsed = new PageCursor(List.of(decoded.split("\\" + SEPARATOR, -1)));
+      if (parsed.keys().size() != start.keys().size()) {
+        throw new BadRequestException("Invalid cursor");
+      }
+      return parsed;
+    } catch (IllegalArgumentException e) {
+      throw new BadRequestException("Invalid cursor");
+    }
+  }
+
+  public long getLong(int index) {
+    try {
+      return Long.parseLong(keys.get(index));
+    } catch (NumberFormatException e) {
+      throw new BadRequestException("Invalid cursor");
+    }
+  }
+
+  public int getInt(int index) {
+    try {
+      return Integer.parseInt(keys.get(index));
+    } catch (NumberFormatException e) {
+      throw new BadRequestException("Invalid cursor");
+    }
+  }
+
+  public LocalDateTime getDateTime(int index) {
+    try {
+      return LocalDateTime.parse(keys.get(index));
+    } catch (DateTimeParseException e) {
+      throw new BadRequestException("Invalid cursor");
+    }
+  }
+}
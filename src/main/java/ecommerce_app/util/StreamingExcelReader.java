@@ -0,0 +1,105 @@
+package ecommerce_app.util;
+
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler.SheetContentsHandler;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.springframework.stereotype.Service;
+import org.xml.sax.InputSource;
+import org.xml.sax.XMLReader;
+
+/**
+ * Reads the first sheet of an XLSX file row by row with POI's SAX event API.
+ *
+ * <p>Unlike {@code WorkbookFactory.create}, the sheet is never built as an object tree — only the
+ * current row is in memory — so a 50k-row supplier catalog costs the same heap as a 50-row one.
+ * Cell values are returned as the text Excel would display.
+ */
+@Slf4j
+@Service
+public class StreamingExcelReader {
+
+  /** One sheet row; {@code rowNum} is 0-based, row 0 is normally the header. */
+  public record ExcelRow(int rowNum, List<String> cells) {
+
+    /** Trimmed cell text, or {@code null} when the cell is missing or blank. */
+    public String get(int column) {
+      if (column >= cells.size()) return null;
+      String value = cells.get(column);
+      return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    public boolean isBlank() {
+      return cells.stream().allMatch(c -> c == null || c.isBlank());
+    }
+  }
+
+  /** Stream every row of the first sheet to {@code consumer}. Returns the number of rows read. */
+  public int read(Path file, Consumer<ExcelRow> consumer) throws Exception {
+    try (OPCPackage pkg = OPCPackage.open(file.toFile(), PackageAccess.READ)) {
+      XSSFReader reader = new XSSFReader(pkg);
+      ReadOnlySharedStringsTable strings = new ReadOnlySharedStringsTable(pkg);
+      StylesTable styles = reader.getStylesTable();
+
+      XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) reader.getSheetsData();
+      if (!sheets.hasNext()) return 0;
+
+      RowCollector collector = new RowCollector(consumer);
+      try (InputStream sheet = sheets.next()) {
+        XMLReader parser = XMLHelper.newXMLReader();
+        parser.setContentHandler(
+            new XSSFSheetXMLHandler(styles, strings, collector, new DataFormatter(), false));
+        parser.parse(new InputSource(sheet));
+      }
+      return collector.rows;
+    }
+  }
+
+  private static class RowCollector implements SheetContentsHandler {
+    private final Consumer<ExcelRow> consumer;
+    private List<String> cells;
+    private int nextColumn;
+    private int rows;
+
+    RowCollector(Consumer<ExcelRow> consumer) {
+      this.consumer = consumer;
+    }
+
+    @Override
+    public void startRow(int rowNum) {
+      cells = new ArrayList<>();
+      nextColumn = 0;
+    }
+
+    @Override
+    public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+      // Blank cells are skipped by the parser — pad so values stay in their column
+      int column = cellReference != null ? new CellReference(cellReference).getCol() : nextColumn;
+      if (column > cells.size()) {
+        cells.addAll(Collections.nCopies(column - cells.size(), null));
+      }
+      cells.add(formattedValue);
+      nextColumn = column + 1;
+    }
+
+    @Override
+    public void endRow(int rowNum) {
+      consumer.accept(new ExcelRow(rowNum, cells));
+      rows++;
+    }
+  }
+}
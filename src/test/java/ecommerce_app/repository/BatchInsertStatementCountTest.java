@@ -0,0 +1,368 @@
+package ecommerce_app.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import ecommerce_app.constant.enums.AuthProvider;
+import ecommerce_app.constant.enums.CartStatus;
+import ecommerce_app.constant.enums.PaymentMethod;
+import ecommerce_app.constant.enums.ShippingMethod;
+import ecommerce_app.dto.request.CheckoutRequest;
+import ecommerce_app.entity.Address;
+import ecommerce_app.entity.Cart;
+import ecommerce_app.entity.CartItem;
+import ecommerce_app.entity.Category;
+import ecommerce_app.entity.Product;
+import ecommerce_app.entity.ProductVariant;
+import ecommerce_app.entity.User;
+import ecommerce_app.service.ExcelImportHandler;
+import ecommerce_app.service.OrderService;
+import ecommerce_app.service.impl.ProductExcelImportHandler;
+import ecommerce_app.util.StreamingExcelReader.ExcelRow;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Statements prepared by bulk inserts. With sequence IDs pooled by 50 and {@code batch_size} 50, a
+ * batch of rows of one table is prepared once, plus one sequence call per block of IDs. With
+ * IDENTITY every row was its own INSERT, so the number of rows inserted is the baseline each run
+ * is compared against.
+ *
+ * <p>Only statements prepared on the test's own thread are counted, so scheduled jobs running
+ * meanwhile do not skew the result.
+ */
+@Slf4j
+@SpringBootTest(
+    properties =
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+            + "ecommerce_app.repository.BatchInsertStatementCountTest$CountingInspector")
+class BatchInsertStatementCountTest {
+
+  private static final int BATCH_SIZE = 50;
+  private static final int ROWS = 200;
+  private static final int IMPORT_ROWS = 1000;
+  private static final int IMPORT_CHUNK = 500; // ImportJobServiceImpl.CHUNK_SIZE
+  private static final int CART_LINES = 10;
+
+  /** Statements prepared on one thread while {@link #count} runs. */
+  public static class Counts {
+    int statements;
+    int sequenceCalls;
+    final Map<String, Integer> inserts = new TreeMap<>();
+
+    int inserts() {
+      return inserts.values().stream().mapToInt(Integer::intValue).sum();
+    }
+
+    int inserts(String table) {
+      return inserts.getOrDefault(table, 0);
+    }
+
+    @Override
+    public String toString() {
+      return String.format(
+          "%d statements, %d INSERTs %s, %d sequence calls",
+          statements, inserts(), inserts, sequenceCalls);
+    }
+  }
+
+  /** Counts prepared statements of the thread that is inside {@link #count}, by kind. */
+  public static class CountingInspector implements StatementInspector {
+    private static final ThreadLocal<Counts> current = new ThreadLocal<>();
+
+    static Counts count(Runnable work) {
+      Counts counts = new Counts();
+      current.set(counts);
+      try {
+        work.run();
+      } finally {
+        current.remove();
+      }
+      return counts;
+    }
+
+    @Override
+    public String inspect(String sql) {
+      Counts counts = current.get();
+      if (counts == null) return sql;
+
+      String lower = sql.toLowerCase(Locale.ROOT).trim();
+      counts.statements++;
+      if (lower.startsWith("insert into ")) {
+        String table = lower.substring("insert into ".length()).split("[\\s(]", 2)[0];
+        counts.inserts.merge(table, 1, Integer::sum);
+      } else if (lower.contains("nextval")) {
+        counts.sequenceCalls++;
+      }
+      return sql;
+    }
+  }
+
+  @Autowired private CategoryRepository categoryRepository;
+  @Autowired private ProductRepository productRepository;
+  @Autowired private ProductVariantRepository variantRepository;
+  @Autowired private UserRepository userRepository;
+  @Autowired private AddressRepository addressRepository;
+  @Autowired private CartRepository cartRepository;
+  @Autowired private ProductExcelImportHandler productImportHandler;
+  @Autowired private OrderService orderService;
+  @Autowired private TransactionTemplate transactionTemplate;
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  private String suffix;
+  private Category category;
+  private final List<Category> saved = new ArrayList<>();
+  private User user;
+
+  @BeforeEach
+  void setUp() {
+    suffix = UUID.randomUUID().toString().substring(0, 8);
+    category = new Category();
+    category.setName("Batch " + suffix);
+    category = categoryRepository.save(category);
+    saved.add(category);
+  }
+
+  @AfterEach
+  void tearDown() {
+    if (user != null) {
+      deleteCheckout();
+    }
+    // Products are soft-deleted by the repository — remove the rows outright
+    String products = "SELECT id FROM products WHERE category_id = ?";
+    jdbcTemplate.update(
+        "DELETE FROM variant_stock_movements WHERE variant_id IN "
+            + "(SELECT id FROM product_variants WHERE product_id IN ("
+            + products
+            + "))",
+        category.getId());
+    for (String table : List.of("product_variants", "product_images", "product_cards")) {
+      jdbcTemplate.update(
+          "DELETE FROM " + table + " WHERE product_id IN (" + products + ")", category.getId());
+    }
+    jdbcTemplate.update("DELETE FROM products WHERE category_id = ?", category.getId());
+    transactionTemplate.executeWithoutResult(_ -> categoryRepository.deleteAllInBatch(saved));
+  }
+
+  @Test
+  void saveAllBatchesInsertsAndPoolsIds() {
+    List<Category> categories = new ArrayList<>(ROWS);
+    for (int i = 0; i < ROWS; i++) {
+      Category row = new Category();
+      row.setName("Batch " + suffix + " " + i);
+      categories.add(row);
+    }
+
+    Counts counts =
+        CountingInspector.count(
+            () ->
+                transactionTemplate.executeWithoutResult(
+                    _ -> saved.addAll(categoryRepository.saveAll(categories))));
+    log.info("saveAll of {} categories: {} (IDENTITY: {} INSERTs)", ROWS, counts, ROWS);
+
+    int blocks = ROWS / BATCH_SIZE;
+    assertThat(counts.inserts("categories")).as("INSERT batches").isBetween(1, blocks);
+    // The pooled optimizer may read the sequence once more when it starts
+    assertThat(counts.sequenceCalls).as("sequence calls").isLessThanOrEqualTo(blocks + 1);
+  }
+
+  @Test
+  void productImportOfThousandRowsBatchesInserts() {
+    // Parse, check and insert chunk by chunk, one transaction each — as ImportJobServiceImpl does
+    ExcelImportHandler.Session<ProductExcelImportHandler.Row> session = productImportHandler.open();
+    Counts counts =
+        CountingInspector.count(
+            () -> {
+              for (int from = 0; from < IMPORT_ROWS; from += IMPORT_CHUNK) {
+                List<ProductExcelImportHandler.Row> chunk = new ArrayList<>(IMPORT_CHUNK);
+                for (int i = from; i < from + IMPORT_CHUNK; i++) {
+                  chunk.add(session.parse(productRow(i)));
+                }
+                assertThat(session.check(chunk)).isEmpty();
+                transactionTemplate.executeWithoutResult(_ -> session.insert(chunk));
+              }
+            });
+
+    // Each product comes with a default image and a default variant
+    int rows = insertedImportRows();
+    log.info("Import of {} products: {} (IDENTITY: {} INSERTs)", IMPORT_ROWS, counts, rows);
+
+    assertThat(rows).isEqualTo(IMPORT_ROWS * 3);
+    int batchesPerTable = IMPORT_ROWS / BATCH_SIZE;
+    assertThat(counts.inserts("products")).isLessThanOrEqualTo(batchesPerTable);
+    assertThat(counts.inserts("product_images")).isLessThanOrEqualTo(batchesPerTable);
+    assertThat(counts.inserts("product_variants")).isLessThanOrEqualTo(batchesPerTable);
+  }
+
+  @Test
+  void checkoutBatchesOrderLines() {
+    Long userId = cartWithLines(CART_LINES);
+    CheckoutRequest request =
+        CheckoutRequest.builder()
+            .paymentMethod(PaymentMethod.COD)
+            .shippingMethod(ShippingMethod.STANDARD)
+            .build();
+
+    Long[] orderId = new Long[1];
+    Counts counts =
+        CountingInspector.count(() -> orderId[0] = orderService.checkout(request, userId).getId());
+    int rows = insertedCheckoutRows(orderId[0]);
+    log.info("Checkout of {} lines: {} (IDENTITY: {} INSERTs)", CART_LINES, counts, rows);
+
+    // Lines saved together are one statement, not one per line
+    assertThat(counts.inserts("order_items")).isEqualTo(1);
+    assertThat(counts.inserts("stock_reservations")).isEqualTo(1);
+    assertThat(counts.inserts()).isLessThan(rows);
+  }
+
+  // ── Helpers ───────────────────────────────────────────────────────────────
+
+  private ExcelRow productRow(int i) {
+    return new ExcelRow(
+        i + 2,
+        Arrays.asList(
+            "Import " + suffix + " " + i,
+            "Imported",
+            "10",
+            null,
+            String.valueOf(category.getId()),
+            "false"));
+  }
+
+  private int insertedImportRows() {
+    String products = "SELECT id FROM products WHERE category_id = ?";
+    int rows = count("SELECT COUNT(*) FROM products WHERE category_id = ?", category.getId());
+    for (String table : List.of("product_images", "product_variants")) {
+      rows +=
+          count(
+              "SELECT COUNT(*) FROM " + table + " WHERE product_id IN (" + products + ")",
+              category.getId());
+    }
+    return rows;
+  }
+
+  /** A customer with a default address and an active cart of one unit of each of many variants. */
+  private Long cartWithLines(int lines) {
+    user =
+        userRepository.save(
+            User.builder()
+                .email("batch-" + suffix + "@test.local")
+                .authProvider(AuthProvider.LOCAL)
+                .isActive(true)
+                .rememberMe(false)
+                .build());
+    addressRepository.save(
+        Address.builder()
+            .street("1 Batch Street")
+            .city("Phnom Penh")
+            .country("Cambodia")
+            .latitude(11.55)
+            .longitude(104.92)
+            .isDefault(true)
+            .user(user)
+            .build());
+
+    Product product =
+        productRepository.save(
+            Product.builder()
+                .name("Batch " + suffix)
+                .code("BATCH-" + suffix)
+                .price(BigDecimal.TEN)
+                .isFeature(false)
+                .favoritesCount(0)
+                .category(category)
+                .build());
+    Cart cart =
+        cartRepository.save(
+            Cart.builder().status(CartStatus.ACTIVE).uuid(UUID.randomUUID()).user(user).build());
+    List<CartItem> items = new ArrayList<>(lines);
+    for (int i = 0; i < lines; i++) {
+      ProductVariant variant =
+          variantRepository.save(
+              ProductVariant.builder()
+                  .product(product)
+                  .sku("BATCH-" + suffix + "-" + i)
+                  .price(BigDecimal.TEN)
+                  .stockQuantity(10)
+                  .build());
+      items.add(
+          CartItem.builder()
+              .cart(cart)
+              .product(product)
+              .variant(variant)
+              .quantity(1)
+              .price(BigDecimal.TEN)
+              .build());
+    }
+    cart.setCartItems(items);
+    cartRepository.save(cart);
+    return user.getId();
+  }
+
+  private int insertedCheckoutRows(Long orderId) {
+    int rows = 0;
+    for (String byOrder :
+        List.of(
+            "orders WHERE id = ?",
+            "order_items WHERE order_id = ?",
+            "order_status_histories WHERE order_id = ?",
+            "stock_reservations WHERE order_id = ?",
+            "variant_stock_movements WHERE reference_id = ?",
+            "payments WHERE order_id = ?",
+            "payment_transactions WHERE order_id = ?",
+            "promotion_usages WHERE order_id = ?",
+            "coupon_usages WHERE order_id = ?")) {
+      rows += count("SELECT COUNT(*) FROM " + byOrder, orderId);
+    }
+    return rows
+        + count("SELECT COUNT(*) FROM notifications WHERE user_id = ?", user.getId())
+        + count("SELECT COUNT(*) FROM notification_outbox WHERE user_id = ?", user.getId());
+  }
+
+  private void deleteCheckout() {
+    String orders = "SELECT id FROM orders WHERE user_id = ?";
+    for (String table :
+        List.of(
+            "payment_transactions",
+            "payments",
+            "promotion_usages",
+            "coupon_usages",
+            "stock_reservations",
+            "order_status_histories",
+            "order_items")) {
+      jdbcTemplate.update(
+          "DELETE FROM " + table + " WHERE order_id IN (" + orders + ")", user.getId());
+    }
+    jdbcTemplate.update("DELETE FROM orders WHERE user_id = ?", user.getId());
+    jdbcTemplate.update(
+        "DELETE FROM notification_logs WHERE notification_id IN "
+            + "(SELECT id FROM notifications WHERE user_id = ?)",
+        user.getId());
+    jdbcTemplate.update("DELETE FROM notification_outbox WHERE user_id = ?", user.getId());
+    jdbcTemplate.update("DELETE FROM notifications WHERE user_id = ?", user.getId());
+    jdbcTemplate.update(
+        "DELETE FROM cart_items WHERE cart_id IN (SELECT id FROM carts WHERE user_id = ?)",
+        user.getId());
+    jdbcTemplate.update("DELETE FROM carts WHERE user_id = ?", user.getId());
+    jdbcTemplate.update("DELETE FROM addresses WHERE user_id = ?", user.getId());
+    jdbcTemplate.update("DELETE FROM users WHERE id = ?", user.getId());
+  }
+
+  private int count(String sql, Long id) {
+    return jdbcTemplate.queryForObject(sql, Integer.class, id);
+  }
+}
@@ -0,0 +1,235 @@
+package ecommerce_app.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import ecommerce_app.config.BakongHttpClientConfig;
+import ecommerce_app.exception.PaymentGatewayUnavailableException;
+import ecommerce_app.property.KHQRConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+/**
+ * Failure paths of the Bakong client against a local stub server: timeouts, status-only retries,
+ * the circuit breaker opening and probing, and the bulkhead refusing calls.
+ */
+class BakongApiClientTest {
+
+  private static final Duration TIMEOUT = Duration.ofMillis(200);
+  private static final Duration OPEN_DURATION = Duration.ofMillis(300);
+  private static final int FAILURE_THRESHOLD = 3;
+  private static final int STATUS_ATTEMPTS = 3;
+
+  /** What the stub answers; swapped by each test. */
+  @FunctionalInterface
+  private interface Stub {
+    void handle(HttpExchange exchange) throws Exception;
+  }
+
+  private final AtomicInteger hits = new AtomicInteger();
+  private volatile Stub stub = exchange -> respond(exchange, 200, "{}");
+
+  private ExecutorService serverExecutor;
+  private HttpServer server;
+  private KHQRConfig khqrConfig;
+  private CloseableHttpClient httpClient;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    serverExecutor = Executors.newCachedThreadPool();
+    server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+    server.createContext(
+        "/",
+        exchange -> {
+          hits.incrementAndGet();
+          try (exchange) {
+            stub.handle(exchange);
+          } catch (Exception e) {
+            // The client gave up on this exchange
+          }
+        });
+    server.setExecutor(serverExecutor);
+    server.start();
+
+    khqrConfig = new KHQRConfig();
+    khqrConfig.setApiBaseUrl("http://127.0.0.1:" + server.getAddress().getPort());
+    khqrConfig.setApiKey("test-key");
+    KHQRConfig.Http http = khqrConfig.getHttp();
+    http.setPullTimeout(TIMEOUT);
+    http.setStatusTimeout(TIMEOUT);
+    http.setCancelTimeout(TIMEOUT);
+    http.setFailureThreshold(FAILURE_THRESHOLD);
+    http.setOpenDuration(OPEN_DURATION);
+    http.setStatusMaxAttempts(STATUS_ATTEMPTS);
+    http.setRetryInitialBackoff(Duration.ofMillis(10));
+    http.setRetryMaxBackoff(Duration.ofMillis(20));
+    http.setBulkheadWait(Duration.ofMillis(50));
+  }
+
+  @AfterEach
+  void tearDown() throws IOException {
+    if (httpClient != null) httpClient.close();
+    server.stop(0);
+    serverExecutor.shutdownNow();
+  }
+
+  @Test
+  void statusRetriesServerErrors() {
+    BakongApiClient client = client();
+    stub =
+        exchange -> {
+          if (hits.get() < STATUS_ATTEMPTS) {
+            respond(exchange, 503, "");
+          } else {
+            respond(exchange, 200, "{\"status\":\"SUCCESS\"}");
+          }
+        };
+
+    Map<String, Object> response = client.status("tx-1");
+
+    assertThat(response).containsEntry("status", "SUCCESS");
+    assertThat(hits).hasValue(STATUS_ATTEMPTS);
+  }
+
+  @Test
+  void pullAndCancelAreNotRetried() {
+    BakongApiClient client = client();
+    stub = exchange -> respond(exchange, 503, "");
+
+    assertThatThrownBy(() -> client.pull(Map.of("amount", 1), "signature"))
+        .isInstanceOf(HttpServerErrorException.class);
+    assertThatThrownBy(() -> client.cancel("tx-1")).isInstanceOf(HttpServerErrorException.class);
+    assertThat(hits).hasValue(2);
+  }
+
+  @Test
+  void slowResponseTimesOut() {
+    BakongApiClient client = client();
+    stub =
+        exchange -> {
+          Thread.sleep(TIMEOUT.multipliedBy(3).toMillis());
+          respond(exchange, 200, "{}");
+        };
+
+    assertThatThrownBy(() -> client.statusByMd5(List.of("md5")))
+        .isInstanceOf(ResourceAccessException.class);
+    assertThat(hits).hasValue(STATUS_ATTEMPTS);
+  }
+
+  @Test
+  void circuitOpensAfterConsecutiveFailures() {
+    BakongApiClient client = client();
+    stub = exchange -> respond(exchange, 500, "");
+    openCircuit(client);
+
+    assertThatThrownBy(() -> client.cancel("tx-1"))
+        .isInstanceOf(PaymentGatewayUnavailableException.class);
+    assertThat(hits).as("refused without a request").hasValue(FAILURE_THRESHOLD);
+  }
+
+  @Test
+  void clientErrorsDoNotOpenTheCircuit() {
+    BakongApiClient client = client();
+    stub = exchange -> respond(exchange, 404, "{}");
+
+    for (int i = 0; i < FAILURE_THRESHOLD + 1; i++) {
+      assertThatThrownBy(() -> client.cancel("tx-1"))
+          .isNotInstanceOf(PaymentGatewayUnavailableException.class);
+    }
+    assertThat(hits).hasValue(FAILURE_THRESHOLD + 1);
+  }
+
+  @Test
+  void successfulProbeClosesTheCircuit() throws InterruptedException {
+    BakongApiClient client = client();
+    stub = exchange -> respond(exchange, 500, "");
+    openCircuit(client);
+
+    stub = exchange -> respond(exchange, 200, "{}");
+    Thread.sleep(OPEN_DURATION.plusMillis(100).toMillis());
+    client.cancel("tx-1");
+    client.cancel("tx-2");
+
+    assertThat(hits).hasValue(FAILURE_THRESHOLD + 2);
+  }
+
+  @Test
+  void failedProbeReopensTheCircuit() throws InterruptedException {
+    BakongApiClient client = client();
+    stub = exchange -> respond(exchange, 500, "");
+    openCircuit(client);
+
+    Thread.sleep(OPEN_DURATION.plusMillis(100).toMillis());
+    assertThatThrownBy(() -> client.cancel("tx-1")).isInstanceOf(HttpServerErrorException.class);
+    assertThatThrownBy(() -> client.cancel("tx-2"))
+        .isInstanceOf(PaymentGatewayUnavailableException.class);
+
+    assertThat(hits).as("one probe only").hasValue(FAILURE_THRESHOLD + 1);
+  }
+
+  @Test
+  void bulkheadRefusesCallsBeyondTheLimit() throws Exception {
+    khqrConfig.getHttp().setMaxConcurrentCalls(1);
+    khqrConfig.getHttp().setCancelTimeout(Duration.ofSeconds(5));
+    BakongApiClient client = client();
+    CountDownLatch entered = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    stub =
+        exchange -> {
+          entered.countDown();
+          release.await();
+          respond(exchange, 200, "{}");
+        };
+
+    CompletableFuture<Void> inFlight = CompletableFuture.runAsync(() -> client.cancel("tx-1"));
+    assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+
+    assertThatThrownBy(() -> client.cancel("tx-2"))
+        .isInstanceOf(PaymentGatewayUnavailableException.class);
+
+    release.countDown();
+    inFlight.get(5, TimeUnit.SECONDS);
+    assertThat(hits).hasValue(1);
+  }
+
+  private BakongApiClient client() {
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    httpClient = new BakongHttpClientConfig().bakongHttpClient(khqrConfig, meterRegistry);
+    return new BakongApiClient(khqrConfig, httpClient, meterRegistry);
+  }
+
+  private void openCircuit(BakongApiClient client) {
+    for (int i = 0; i < FAILURE_THRESHOLD; i++) {
+      assertThatThrownBy(() -> client.cancel("tx-1"))
+          .isInstanceOf(HttpServerErrorException.class);
+    }
+  }
+
+  private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+    byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+    exchange.getResponseHeaders().set("Content-Type", "application/json");
+    exchange.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length);
+    if (bytes.length > 0) {
+      exchange.getResponseBody().write(bytes);
+    }
+  }
+}
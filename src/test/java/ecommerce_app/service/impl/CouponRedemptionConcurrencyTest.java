@@ -0,0 +1,204 @@
+package ecommerce_app.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import ecommerce_app.constant.enums.AuthProvider;
+import ecommerce_app.constant.enums.CouponDiscountType;
+import ecommerce_app.constant.enums.OrderStatus;
+import ecommerce_app.constant.enums.PaymentMethod;
+import ecommerce_app.constant.enums.PaymentStatus;
+import ecommerce_app.constant.enums.ShippingMethod;
+import ecommerce_app.entity.Coupon;
+import ecommerce_app.entity.Order;
+import ecommerce_app.entity.User;
+import ecommerce_app.exception.BadRequestException;
+import ecommerce_app.repository.CouponRepository;
+import ecommerce_app.repository.CouponTokenRepository;
+import ecommerce_app.repository.CouponUserCounterRepository;
+import ecommerce_app.repository.OrderRepository;
+import ecommerce_app.repository.UserRepository;
+import ecommerce_app.service.CouponService;
+import ecommerce_app.support.ConcurrentRun;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Coupon redemption under contention, against the database: many checkouts redeem the same coupon
+ * at once through {@link CouponService#redeemCoupon}, and the limits must hold exactly — never more
+ * redemptions than allowed, and no lost ones. Also compares throughput of a counter coupon and a
+ * token-pool coupon under the same load.
+ */
+@Slf4j
+@SpringBootTest
+class CouponRedemptionConcurrencyTest {
+
+  private static final int THREADS = 32;
+  private static final int ATTEMPTS_PER_THREAD = 10;
+  private static final int USAGE_LIMIT = 25;
+
+  @Autowired private CouponService couponService;
+  @Autowired private CouponRepository couponRepository;
+  @Autowired private CouponTokenRepository couponTokenRepository;
+  @Autowired private CouponUserCounterRepository userCounterRepository;
+  @Autowired private UserRepository userRepository;
+  @Autowired private OrderRepository orderRepository;
+  @Autowired private TransactionTemplate transactionTemplate;
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  private final List<Long> couponIds = new ArrayList<>();
+  private final List<User> users = new ArrayList<>();
+  private Order order;
+
+  @BeforeEach
+  void setUp() {
+    // One customer per thread; each can redeem once per attempt unless the test says otherwise
+    String suffix = UUID.randomUUID().toString().substring(0, 8);
+    for (int i = 0; i < THREADS; i++) {
+      users.add(
+          userRepository.save(
+              User.builder()
+                  .email("coupon-" + suffix + "-" + i + "@test.local")
+                  .authProvider(AuthProvider.LOCAL)
+                  .isActive(true)
+                  .rememberMe(false)
+                  .build()));
+    }
+    order =
+        orderRepository.save(
+            Order.builder()
+                .orderNumber(suffix + "-COUPON")
+                .user(users.getFirst())
+                .shippingMethod(ShippingMethod.STANDARD)
+                .shippingCost(BigDecimal.ZERO)
+                .totalAmount(BigDecimal.TEN)
+                .orderStatus(OrderStatus.PENDING)
+                .paymentMethod(PaymentMethod.COD)
+                .paymentStatus(PaymentStatus.PENDING)
+                .orderDate(LocalDateTime.now())
+                .build());
+  }
+
+  @AfterEach
+  void tearDown() {
+    transactionTemplate.executeWithoutResult(
+        _ ->
+            couponIds.forEach(
+                id -> {
+                  jdbcTemplate.update("DELETE FROM coupon_usages WHERE coupon_id = ?", id);
+                  couponTokenRepository.deleteByCouponId(id);
+                  userCounterRepository.deleteByCouponId(id);
+                  couponRepository.deleteById(id);
+                }));
+    jdbcTemplate.update("DELETE FROM orders WHERE id = ?", order.getId());
+    users.forEach(u -> jdbcTemplate.update("DELETE FROM users WHERE id = ?", u.getId()));
+  }
+
+  @Test
+  void usageLimitHoldsForCounterCoupons() throws Exception {
+    Coupon coupon = coupon(false, USAGE_LIMIT, ATTEMPTS_PER_THREAD);
+
+    ConcurrentRun.Result result = redeemFromEveryThread(coupon);
+
+    assertThat(result.succeeded()).isEqualTo(USAGE_LIMIT);
+    assertThat(couponRepository.findById(coupon.getId()).orElseThrow().getUsedCount())
+        .isEqualTo(USAGE_LIMIT);
+    assertThat(usageRows(coupon)).isEqualTo(USAGE_LIMIT);
+  }
+
+  @Test
+  void usageLimitHoldsForTokenPoolCoupons() throws Exception {
+    Coupon coupon = coupon(true, USAGE_LIMIT, ATTEMPTS_PER_THREAD);
+
+    ConcurrentRun.Result result = redeemFromEveryThread(coupon);
+
+    assertThat(result.succeeded()).isEqualTo(USAGE_LIMIT);
+    assertThat(couponTokenRepository.countByCouponIdAndUserIdIsNotNull(coupon.getId()))
+        .isEqualTo(USAGE_LIMIT);
+    assertThat(usageRows(coupon)).isEqualTo(USAGE_LIMIT);
+  }
+
+  @Test
+  void perUserLimitHoldsWhenOneCustomerRedeemsFromManyThreads() throws Exception {
+    int perUser = 2;
+    Coupon coupon = coupon(false, null, perUser);
+    Long userId = users.getFirst().getId();
+
+    ConcurrentRun.Result result =
+        ConcurrentRun.run(THREADS, ATTEMPTS_PER_THREAD, _ -> redeem(coupon, userId));
+
+    assertThat(result.succeeded()).isEqualTo(perUser);
+    assertThat(userCounterRepository.findUsedCount(coupon.getId(), userId)).contains(perUser);
+    // Refused redemptions roll back the global use they took first
+    assertThat(couponRepository.findById(coupon.getId()).orElseThrow().getUsedCount())
+        .isEqualTo(perUser);
+  }
+
+  @Test
+  void counterAndTokenPoolThroughputUnderTheSameLoad() throws Exception {
+    int attempts = THREADS * ATTEMPTS_PER_THREAD;
+    Coupon counter = coupon(false, attempts, ATTEMPTS_PER_THREAD);
+    Coupon pool = coupon(true, attempts, ATTEMPTS_PER_THREAD);
+
+    ConcurrentRun.Result counterResult = redeemFromEveryThread(counter);
+    ConcurrentRun.Result poolResult = redeemFromEveryThread(pool);
+    log.info("Coupon redemption - counter: {} | token pool: {}", counterResult, poolResult);
+
+    // Nothing may be refused or lost when the limit covers every attempt
+    assertThat(counterResult.succeeded()).isEqualTo(attempts);
+    assertThat(poolResult.succeeded()).isEqualTo(attempts);
+  }
+
+  // ── Helpers ───────────────────────────────────────────────────────────────
+
+  /** Every thread redeems as its own customer. */
+  private ConcurrentRun.Result redeemFromEveryThread(Coupon coupon) throws Exception {
+    return ConcurrentRun.run(
+        THREADS,
+        ATTEMPTS_PER_THREAD,
+        number -> redeem(coupon, users.get((number - 1) / ATTEMPTS_PER_THREAD).getId()));
+  }
+
+  private boolean redeem(Coupon coupon, Long userId) {
+    try {
+      couponService.redeemCoupon(coupon.getId(), userId, order.getId(), BigDecimal.ONE);
+      return true;
+    } catch (BadRequestException e) {
+      return false; // Limit reached
+    }
+  }
+
+  private Coupon coupon(boolean tokenPool, Integer usageLimit, int usagePerUser) {
+    Coupon coupon =
+        couponRepository.save(
+            Coupon.builder()
+                .code("RACE-" + UUID.randomUUID().toString().substring(0, 8))
+                .discountType(CouponDiscountType.FIXED_AMOUNT)
+                .discountValue(BigDecimal.ONE)
+                .usageLimit(usageLimit)
+                .usagePerUser(usagePerUser)
+                .tokenPool(tokenPool)
+                .build());
+    couponIds.add(coupon.getId());
+    if (tokenPool) {
+      transactionTemplate.executeWithoutResult(
+          _ -> couponTokenRepository.addSlots(coupon.getId(), 1, usageLimit));
+    }
+    return coupon;
+  }
+
+  private int usageRows(Coupon coupon) {
+    return jdbcTemplate.queryForObject(
+        "SELECT COUNT(*) FROM coupon_usages WHERE coupon_id = ?", Integer.class, coupon.getId());
+  }
+}
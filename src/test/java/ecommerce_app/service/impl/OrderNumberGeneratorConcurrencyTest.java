@@ -0,0 +1,145 @@
+package ecommerce_app.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import ecommerce_app.repository.OrderNumberCounterRepository;
+import ecommerce_app.repository.OrderRepository;
+import ecommerce_app.support.ConcurrentRun;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * The block allocator against the database, through the real {@link OrderNumberCounterRepository}:
+ * the {@code UPDATE … RETURNING} lease, the {@code ON CONFLICT} creation of the day's counter and
+ * the {@code REQUIRES_NEW} transactions that keep the counter row from being locked for a whole
+ * checkout. Separate generator instances stand in for application nodes sharing the counter.
+ */
+@Slf4j
+@SpringBootTest
+class OrderNumberGeneratorConcurrencyTest {
+
+  private static final int THREADS = 16;
+  private static final int PER_THREAD = 200;
+  private static final int NODES = 4;
+  private static final double MIN_THROUGHPUT = 500;
+
+  @Autowired private OrderRepository orderRepository;
+  @Autowired private OrderNumberCounterRepository counterRepository;
+  @Autowired private TransactionTemplate transactionTemplate;
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  private String prefix;
+  private String counterKey;
+
+  @BeforeEach
+  void setUp() {
+    // A prefix of its own — the real ORD/POS counters stay untouched. Its row does not exist yet,
+    // so the nodes also race to create the day's counter.
+    prefix = "T" + UUID.randomUUID().toString().substring(0, 6).toUpperCase(Locale.ROOT);
+    counterKey = prefix + "-" + LocalDate.now().format(DateTimeFormatter.ofPattern("yyyyMMdd"));
+  }
+
+  @AfterEach
+  void tearDown() {
+    jdbcTemplate.update("DELETE FROM order_number_counters WHERE counter_key = ?", counterKey);
+  }
+
+  @Test
+  void nodesSharingTheCounterNeverRepeatANumber() throws Exception {
+    List<OrderNumberGenerator> nodes = new ArrayList<>();
+    for (int i = 0; i < NODES; i++) {
+      nodes.add(new OrderNumberGenerator(orderRepository, counterRepository));
+    }
+    Map<Integer, Queue<String>> byThread = new ConcurrentHashMap<>();
+
+    ConcurrentRun.Result result =
+        ConcurrentRun.run(
+            THREADS,
+            PER_THREAD,
+            number -> {
+              int thread = (number - 1) / PER_THREAD;
+              byThread
+                  .computeIfAbsent(thread, _ -> new ConcurrentLinkedQueue<>())
+                  .add(nodes.get(thread % NODES).generateOrderNumber(prefix));
+              return true;
+            });
+    log.info("Order numbers from {} nodes: {}", NODES, result);
+    // One round trip per block of 20 numbers keeps allocation far ahead of checkout traffic
+    assertThat(result.throughput()).as("numbers/s").isGreaterThanOrEqualTo(MIN_THROUGHPUT);
+
+    List<String> numbers = byThread.values().stream().flatMap(Queue::stream).toList();
+    assertThat(numbers).hasSize(THREADS * PER_THREAD).doesNotHaveDuplicates();
+    // Each thread draws from one node's leased blocks, which only move forward
+    byThread.values().forEach(thread -> assertThat(new ArrayList<>(thread)).isSorted());
+    // Leases never overlap, so the counter covers every number handed out
+    assertThat(counterValue()).isGreaterThanOrEqualTo(highestSequence(numbers));
+  }
+
+  @Test
+  void leaseDoesNotHoldTheCounterRowForTheCallersTransaction() throws Exception {
+    OrderNumberGenerator first = new OrderNumberGenerator(orderRepository, counterRepository);
+    OrderNumberGenerator second = new OrderNumberGenerator(orderRepository, counterRepository);
+    CountDownLatch leased = new CountDownLatch(1);
+    CountDownLatch otherNodeDone = new CountDownLatch(1);
+
+    // A checkout leases a block and keeps its transaction open until the other node has leased too
+    CompletableFuture<Boolean> checkout =
+        CompletableFuture.supplyAsync(
+            () ->
+                transactionTemplate.execute(
+                    _ -> {
+                      first.generateOrderNumber(prefix);
+                      leased.countDown();
+                      try {
+                        return otherNodeDone.await(10, TimeUnit.SECONDS);
+                      } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return false;
+                      }
+                    }));
+
+    assertThat(leased.await(10, TimeUnit.SECONDS)).isTrue();
+    String other =
+        CompletableFuture.supplyAsync(() -> second.generateOrderNumber(prefix))
+            .get(5, TimeUnit.SECONDS);
+    otherNodeDone.countDown();
+
+    assertThat(checkout.get(10, TimeUnit.SECONDS)).isTrue();
+    assertThat(other).startsWith(counterKey);
+  }
+
+  // ── Helpers ───────────────────────────────────────────────────────────────
+
+  private long counterValue() {
+    return jdbcTemplate.queryForObject(
+        "SELECT next_value FROM order_number_counters WHERE counter_key = ?",
+        Long.class,
+        counterKey);
+  }
+
+  private static long highestSequence(List<String> numbers) {
+    return numbers.stream()
+        .mapToLong(n -> Long.parseLong(n.substring(n.lastIndexOf('-') + 1)))
+        .max()
+        .orElse(0);
+  }
+}
@@ -0,0 +1,68 @@
+package ecommerce_app.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import ecommerce_app.repository.OrderNumberCounterRepository;
+import ecommerce_app.repository.OrderRepository;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Numbering rules of the block allocator. The counter repository is replaced by an in-memory row
+ * with the same contract as the SQL — {@code advance} returns the new high value, {@code
+ * createIfAbsent} is a no-op when the row exists. Concurrency is covered against the database by
+ * {@link OrderNumberGeneratorConcurrencyTest}.
+ */
+class OrderNumberGeneratorTest {
+
+  private final Map<String, Long> counters = new ConcurrentHashMap<>();
+  private OrderNumberCounterRepository counterRepository;
+  private OrderRepository orderRepository;
+
+  @BeforeEach
+  void setUp() {
+    counterRepository = mock(OrderNumberCounterRepository.class);
+    orderRepository = mock(OrderRepository.class);
+
+    when(counterRepository.advance(anyString(), anyLong()))
+        .thenAnswer(
+            call ->
+                Optional.ofNullable(
+                    counters.computeIfPresent(
+                        call.getArgument(0), (_, value) -> value + call.<Long>getArgument(1))));
+    when(counterRepository.createIfAbsent(anyString(), anyLong()))
+        .thenAnswer(
+            call -> counters.putIfAbsent(call.getArgument(0), call.getArgument(1)) == null ? 1 : 0);
+    when(orderRepository.countOrdersCreatedTodayWithPrefix(any(), anyString())).thenReturn(0L);
+  }
+
+  @Test
+  void numbersStartAfterOrdersAlreadyIssuedToday() {
+    when(orderRepository.countOrdersCreatedTodayWithPrefix(any(), anyString())).thenReturn(41L);
+    OrderNumberGenerator generator = new OrderNumberGenerator(orderRepository, counterRepository);
+
+    assertThat(generator.generateOrderNumber()).endsWith("-0042");
+  }
+
+  @Test
+  void posAndOnlineNumbersUseSeparateCounters() {
+    OrderNumberGenerator generator = new OrderNumberGenerator(orderRepository, counterRepository);
+
+    Set<String> numbers = new HashSet<>();
+    numbers.add(generator.generateOrderNumber());
+    numbers.add(generator.generatePOSOrderNumber());
+
+    assertThat(numbers).anyMatch(n -> n.startsWith("ORD-") && n.endsWith("-0001"));
+    assertThat(numbers).anyMatch(n -> n.startsWith("POS-") && n.endsWith("-0001"));
+  }
+}
@@ -0,0 +1,102 @@
+package ecommerce_app.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import ecommerce_app.constant.enums.PromotionType;
+import ecommerce_app.entity.Promotion;
+import ecommerce_app.entity.User;
+import ecommerce_app.repository.PromotionRepository;
+import ecommerce_app.service.PromotionUsageService;
+import ecommerce_app.support.ConcurrentRun;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Promotion usage limits under contention, against the database: many checkouts claim the same
+ * promotion at once through {@link PromotionUsageService#claimPromotionUsage}, each in its own
+ * transaction, and the caps must hold exactly.
+ */
+@SpringBootTest
+class PromotionUsageConcurrencyTest {
+
+  private static final int THREADS = 32;
+  private static final int ATTEMPTS_PER_THREAD = 10;
+  private static final int MAX_USAGE = 25;
+
+  @Autowired private PromotionUsageService promotionUsageService;
+  @Autowired private PromotionRepository promotionRepository;
+  @Autowired private TransactionTemplate transactionTemplate;
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  private final List<Long> promotionIds = new ArrayList<>();
+
+  @AfterEach
+  void tearDown() {
+    promotionIds.forEach(
+        id -> {
+          jdbcTemplate.update("DELETE FROM promotion_user_counters WHERE promotion_id = ?", id);
+          jdbcTemplate.update("DELETE FROM promotions WHERE id = ?", id);
+        });
+  }
+
+  @Test
+  void globalLimitHoldsWhenManyCustomersCheckOutAtOnce() throws Exception {
+    Promotion promotion = promotion(MAX_USAGE, null);
+
+    // A different customer per attempt, so only the global cap can refuse
+    ConcurrentRun.Result result =
+        ConcurrentRun.run(THREADS, ATTEMPTS_PER_THREAD, number -> claim(promotion, number));
+
+    assertThat(result.succeeded()).isEqualTo(MAX_USAGE);
+    assertThat(usedCount(promotion)).isEqualTo(MAX_USAGE);
+  }
+
+  @Test
+  void perUserLimitHoldsAndGivesBackTheGlobalUse() throws Exception {
+    int perUser = 2;
+    Promotion promotion = promotion(MAX_USAGE, perUser);
+
+    ConcurrentRun.Result result =
+        ConcurrentRun.run(THREADS, ATTEMPTS_PER_THREAD, _ -> claim(promotion, 1));
+
+    assertThat(result.succeeded()).isEqualTo(perUser);
+    // Refused per-user claims must not keep the global use they took first
+    assertThat(usedCount(promotion)).isEqualTo(perUser);
+  }
+
+  private boolean claim(Promotion promotion, long userId) {
+    User user = new User();
+    user.setId(userId);
+    return Boolean.TRUE.equals(
+        transactionTemplate.execute(
+            _ -> promotionUsageService.claimPromotionUsage(promotion, user)));
+  }
+
+  private Promotion promotion(Integer maxUsage, Integer maxUsagePerUser) {
+    Promotion promotion =
+        promotionRepository.save(
+            Promotion.builder()
+                .code("RACE-" + UUID.randomUUID().toString().substring(0, 8))
+                .name("Race")
+                .discountType(PromotionType.FIXED_AMOUNT)
+                .discountValue(BigDecimal.ONE)
+                .active(true)
+                .maxUsage(maxUsage)
+                .maxUsagePerUser(maxUsagePerUser)
+                .build());
+    promotionIds.add(promotion.getId());
+    return promotion;
+  }
+
+  private int usedCount(Promotion promotion) {
+    return promotionUsageService.getPromotionUsageCount(promotion.getId()).intValue();
+  }
+}
@@ -0,0 +1,281 @@
+package ecommerce_app.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import ecommerce_app.constant.enums.AuthProvider;
+import ecommerce_app.constant.enums.OrderStatus;
+import ecommerce_app.constant.enums.PaymentMethod;
+import ecommerce_app.constant.enums.PaymentStatus;
+import ecommerce_app.constant.enums.ShippingMethod;
+import ecommerce_app.entity.Category;
+import ecommerce_app.entity.Order;
+import ecommerce_app.entity.Product;
+import ecommerce_app.entity.ProductVariant;
+import ecommerce_app.entity.User;
+import ecommerce_app.exception.BadRequestException;
+import ecommerce_app.repository.CategoryRepository;
+import ecommerce_app.repository.OrderRepository;
+import ecommerce_app.repository.ProductRepository;
+import ecommerce_app.repository.ProductVariantRepository;
+import ecommerce_app.repository.UserRepository;
+import ecommerce_app.service.impl.StockReservationService.Line;
+import ecommerce_app.support.ConcurrentRun;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Stock reservations under load, against the database, through {@link StockReservationService}.
+ * Hundreds of multi-line carts check out at once — half holding stock for payment, half committing
+ * it, half listing their variants in reverse — and expiry races late payments. Stock must never go
+ * below zero, every unit must be sold exactly once, and no checkout may deadlock.
+ */
+@Slf4j
+@SpringBootTest
+class StockReservationConcurrencyTest {
+
+  private static final int THREADS = 32;
+  private static final int ATTEMPTS_PER_THREAD = 10;
+  private static final int VARIANTS = 4;
+  private static final int STOCK = 100;
+
+  @Autowired private StockReservationService stockReservationService;
+  @Autowired private CategoryRepository categoryRepository;
+  @Autowired private ProductRepository productRepository;
+  @Autowired private ProductVariantRepository variantRepository;
+  @Autowired private UserRepository userRepository;
+  @Autowired private OrderRepository orderRepository;
+  @Autowired private TransactionTemplate transactionTemplate;
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  private String suffix;
+  private Category category;
+  private Product product;
+  private final List<ProductVariant> variants = new ArrayList<>();
+  private User user;
+
+  @BeforeEach
+  void setUp() {
+    suffix = UUID.randomUUID().toString().substring(0, 8);
+    category = new Category();
+    category.setName("Race " + suffix);
+    category = categoryRepository.save(category);
+    product =
+        productRepository.save(
+            Product.builder()
+                .name("Race " + suffix)
+                .code("RACE-" + suffix)
+                .price(BigDecimal.TEN)
+                .isFeature(false)
+                .favoritesCount(0)
+                .category(category)
+                .build());
+    for (int i = 0; i < VARIANTS; i++) {
+      variants.add(
+          variantRepository.save(
+              ProductVariant.builder()
+                  .product(product)
+                  .sku("RACE-" + suffix + "-" + i)
+                  .price(BigDecimal.TEN)
+                  .stockQuantity(STOCK)
+                  .build()));
+    }
+    user =
+        userRepository.save(
+            User.builder()
+                .email("race-" + suffix + "@test.local")
+                .authProvider(AuthProvider.LOCAL)
+                .isActive(true)
+                .rememberMe(false)
+                .build());
+  }
+
+  @AfterEach
+  void tearDown() {
+    // Products are soft-deleted by the repository — remove the rows outright
+    String orders = "SELECT id FROM orders WHERE user_id = ?";
+    jdbcTemplate.update(
+        "DELETE FROM order_status_histories WHERE order_id IN (" + orders + ")", user.getId());
+    jdbcTemplate.update(
+        "DELETE FROM stock_reservations WHERE order_id IN (" + orders + ")", user.getId());
+    jdbcTemplate.update("DELETE FROM orders WHERE user_id = ?", user.getId());
+    jdbcTemplate.update("DELETE FROM users WHERE id = ?", user.getId());
+    for (ProductVariant variant : variants) {
+      jdbcTemplate.update(
+          "DELETE FROM variant_stock_movements WHERE variant_id = ?", variant.getId());
+      jdbcTemplate.update("DELETE FROM product_variants WHERE id = ?", variant.getId());
+    }
+    jdbcTemplate.update("DELETE FROM products WHERE id = ?", product.getId());
+    jdbcTemplate.update("DELETE FROM categories WHERE id = ?", category.getId());
+  }
+
+  @Test
+  void concurrentMultiLineCheckoutsNeverOversellOrDeadlock() throws Exception {
+    // Every cart takes one of each variant, so exactly STOCK carts can succeed. A deadlock or any
+    // error other than "insufficient stock" fails the run.
+    ConcurrentRun.Result result =
+        ConcurrentRun.run(
+            THREADS,
+            ATTEMPTS_PER_THREAD,
+            number -> {
+              List<Line> cart = new ArrayList<>();
+              variants.forEach(v -> cart.add(new Line(v, 1)));
+              if (number % 2 == 1) Collections.reverse(cart);
+              try {
+                transactionTemplate.executeWithoutResult(
+                    _ -> {
+                      Order order = order("C" + number);
+                      if (number % 4 < 2) {
+                        stockReservationService.hold(order, cart, "TEST", null, null);
+                      } else {
+                        stockReservationService.reserveAndCommit(order, cart, "TEST", null, null);
+                      }
+                    });
+                return true;
+              } catch (BadRequestException e) {
+                return false; // Out of stock — expected once the variants are sold out
+              }
+            });
+    log.info("Concurrent checkouts of {} variants: {}", VARIANTS, result);
+
+    assertThat(result.succeeded()).isEqualTo(STOCK);
+    for (ProductVariant variant : variants) {
+      assertThat(stockLeft(variant)).isZero();
+      assertThat(movements(variant)).isEqualTo(STOCK);
+    }
+    assertThat(reservedUnits("RESERVED") + reservedUnits("COMMITTED"))
+        .isEqualTo(STOCK * VARIANTS);
+  }
+
+  @Test
+  void expiryRacingLatePaymentsTakesEachOrdersStockOnce() throws Exception {
+    int orders = 50;
+    List<Long> orderIds = new ArrayList<>(orders);
+    for (int i = 0; i < orders; i++) {
+      orderIds.add(holdOrder("E" + i, 1));
+    }
+    jdbcTemplate.update(
+        "UPDATE stock_reservations SET expires_at = ? WHERE order_id IN "
+            + "(SELECT id FROM orders WHERE user_id = ?)",
+        LocalDateTime.now().minusMinutes(1),
+        user.getId());
+
+    // First half of the attempts expire the orders, second half pay for them
+    ConcurrentRun.Result result =
+        ConcurrentRun.run(
+            orders * 2 / 5,
+            5,
+            number -> {
+              Long orderId = orderIds.get((number - 1) % orders);
+              if (number <= orders) {
+                stockReservationService.expire(orderId);
+              } else {
+                pay(orderId);
+              }
+              return true;
+            });
+    log.info("Expiry racing late payments: {}", result);
+
+    // Nothing else buys, so every late payment gets its stock back — and holds it exactly once
+    for (ProductVariant variant : variants) {
+      assertThat(stockLeft(variant)).isEqualTo(STOCK - orders);
+    }
+    assertThat(reservedUnits("COMMITTED")).isEqualTo(orders * VARIANTS);
+    assertThat(reservedUnits("RESERVED")).isZero();
+  }
+
+  @Test
+  void latePaymentIsRefusedWhenTheReleasedStockSoldOut() {
+    Long lateId = holdOrder("LATE", STOCK);
+    stockReservationService.expire(lateId);
+    List<Line> everything = variants.stream().map(v -> new Line(v, STOCK)).toList();
+    transactionTemplate.executeWithoutResult(
+        _ ->
+            stockReservationService.reserveAndCommit(
+                order("SOLD"), everything, "TEST", null, null));
+
+    boolean committed =
+        Boolean.TRUE.equals(
+            transactionTemplate.execute(
+                _ ->
+                    stockReservationService.commit(
+                        orderRepository.findById(lateId).orElseThrow())));
+
+    assertThat(committed).isFalse();
+    for (ProductVariant variant : variants) {
+      assertThat(stockLeft(variant)).isZero();
+    }
+  }
+
+  // ── Helpers ───────────────────────────────────────────────────────────────
+
+  /** Hold {@code quantity} of every variant for a new QR order. */
+  private Long holdOrder(String tag, int quantity) {
+    return transactionTemplate.execute(
+        _ -> {
+          Order order = order(tag);
+          List<Line> cart = variants.stream().map(v -> new Line(v, quantity)).toList();
+          stockReservationService.hold(order, cart, "TEST", null, null);
+          return order.getId();
+        });
+  }
+
+  /** What {@code PaymentServiceImpl} does when a QR payment settles. */
+  private void pay(Long orderId) {
+    transactionTemplate.executeWithoutResult(
+        _ -> {
+          Order order = orderRepository.findById(orderId).orElseThrow();
+          order.setPaymentStatus(PaymentStatus.PAID);
+          order.setOrderStatus(
+              stockReservationService.commit(order) ? OrderStatus.CONFIRMED : OrderStatus.CANCELLED);
+          orderRepository.save(order);
+        });
+  }
+
+  private Order order(String tag) {
+    return orderRepository.save(
+        Order.builder()
+            .orderNumber(suffix + "-" + tag)
+            .user(user)
+            .shippingMethod(ShippingMethod.STANDARD)
+            .shippingCost(BigDecimal.ZERO)
+            .totalAmount(BigDecimal.TEN)
+            .orderStatus(OrderStatus.PENDING)
+            .paymentMethod(PaymentMethod.QR_CODE)
+            .paymentStatus(PaymentStatus.PENDING)
+            .orderDate(LocalDateTime.now())
+            .build());
+  }
+
+  private int stockLeft(ProductVariant variant) {
+    return jdbcTemplate.queryForObject(
+        "SELECT stock_quantity FROM product_variants WHERE id = ?", Integer.class, variant.getId());
+  }
+
+  private int movements(ProductVariant variant) {
+    return jdbcTemplate.queryForObject(
+        "SELECT COUNT(*) FROM variant_stock_movements WHERE variant_id = ?",
+        Integer.class,
+        variant.getId());
+  }
+
+  private int reservedUnits(String status) {
+    return jdbcTemplate.queryForObject(
+        "SELECT COALESCE(SUM(r.quantity), 0) FROM stock_reservations r "
+            + "JOIN orders o ON o.id = r.order_id WHERE o.user_id = ? AND r.status = ?",
+        Integer.class,
+        user.getId(),
+        status);
+  }
+}
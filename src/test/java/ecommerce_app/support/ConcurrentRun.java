@@ -0,0 +1,77 @@
+package ecommerce_app.support;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Fires many attempts at once from a fixed thread pool for the concurrency tests. All threads wait
+ * on one latch so the attempts really overlap, and the run reports how many succeeded and how long
+ * it took.
+ */
+public final class ConcurrentRun {
+
+  private ConcurrentRun() {}
+
+  /** One attempt, numbered from 1. Returns whether it succeeded. */
+  @FunctionalInterface
+  public interface Attempt {
+    boolean run(int number) throws Exception;
+  }
+
+  public record Result(int attempts, int succeeded, Duration elapsed) {
+
+    /** Attempts finished per second, successful or not. */
+    public double throughput() {
+      return attempts * 1000.0 / Math.max(1, elapsed.toMillis());
+    }
+
+    @Override
+    public String toString() {
+      return String.format(
+          "%d/%d succeeded in %d ms (%.0f attempts/s)",
+          succeeded, attempts, elapsed.toMillis(), throughput());
+    }
+  }
+
+  /** Run {@code threads * attemptsPerThread} attempts, {@code threads} at a time. */
+  public static Result run(int threads, int attemptsPerThread, Attempt attempt) throws Exception {
+    ExecutorService pool = Executors.newFixedThreadPool(threads);
+    CountDownLatch start = new CountDownLatch(1);
+    try {
+      List<Future<Integer>> futures = new ArrayList<>(threads);
+      for (int t = 0; t < threads; t++) {
+        int first = t * attemptsPerThread + 1;
+        futures.add(
+            pool.submit(
+                () -> {
+                  start.await();
+                  int succeeded = 0;
+                  for (int number = first; number < first + attemptsPerThread; number++) {
+                    if (attempt.run(number)) {
+                      succeeded++;
+                    }
+                  }
+                  return succeeded;
+                }));
+      }
+
+      long started = System.nanoTime();
+      start.countDown();
+      int succeeded = 0;
+      for (Future<Integer> future : futures) {
+        succeeded += future.get();
+      }
+      return new Result(
+          threads * attemptsPerThread,
+          succeeded,
+          Duration.ofNanos(System.nanoTime() - started));
+    } finally {
+      pool.shutdownNow();
+    }
+  }
+}